@@ -2,6 +2,7 @@ package com.regattadesk.block;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.regattadesk.eventstore.EventEnvelope;
+import com.regattadesk.finance.event.FinanceProjectionHandler;
 import com.regattadesk.projection.ProjectionHandler;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -11,8 +12,10 @@ import org.slf4j.LoggerFactory;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.UUID;
 
 /**
  * Projection handler for Block read model.
@@ -29,6 +32,9 @@ public class BlockProjectionHandler implements ProjectionHandler {
     
     @Inject
     ObjectMapper objectMapper;
+
+    @Inject
+    FinanceProjectionHandler financeProjectionHandler;
     
     @Override
     public String getProjectionName() {
@@ -129,16 +135,25 @@ public class BlockProjectionHandler implements ProjectionHandler {
     }
     
     private void deleteBlock(BlockDeletedEvent event) {
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("DELETE FROM blocks WHERE id = ?")) {
-            
-            stmt.setObject(1, event.getBlockId());
-            
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected == 0) {
-                LOG.warn("No rows deleted for BlockDeleted event, block {} may not exist", event.getBlockId());
+        try (Connection conn = dataSource.getConnection()) {
+            // Entries of the block are deleted with it
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT regatta_id FROM blocks WHERE id = ?")) {
+                stmt.setObject(1, event.getBlockId());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        financeProjectionHandler.markRegattaSummaryStale(conn, (UUID) rs.getObject("regatta_id"));
+                    }
+                }
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM blocks WHERE id = ?")) {
+                stmt.setObject(1, event.getBlockId());
+
+                int rowsAffected = stmt.executeUpdate();
+                if (rowsAffected == 0) {
+                    LOG.warn("No rows deleted for BlockDeleted event, block {} may not exist", event.getBlockId());
+                }
             }
-            
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete block from read model", e);
         }
@@ -0,0 +1,56 @@
+package com.regattadesk.entry;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.regattadesk.eventstore.DomainEvent;
+
+import java.util.UUID;
+
+/**
+ * Event raised when marker evidence changes an entry's completion outcome (BC06-004).
+ *
+ * Carries the recomputed completion status and marker-derived start/finish times so
+ * results projections can follow completion changes without re-reading markers.
+ */
+public class EntryCompletionUpdatedEvent implements DomainEvent {
+    private final UUID entryId;
+    private final UUID regattaId;
+    private final String previousStatus;
+    private final String completionStatus;
+    private final Long markerStartTimeMs;
+    private final Long markerFinishTimeMs;
+
+    @JsonCreator
+    public EntryCompletionUpdatedEvent(
+        @JsonProperty("entryId") UUID entryId,
+        @JsonProperty("regattaId") UUID regattaId,
+        @JsonProperty("previousStatus") String previousStatus,
+        @JsonProperty("completionStatus") String completionStatus,
+        @JsonProperty("markerStartTimeMs") Long markerStartTimeMs,
+        @JsonProperty("markerFinishTimeMs") Long markerFinishTimeMs
+    ) {
+        this.entryId = entryId;
+        this.regattaId = regattaId;
+        this.previousStatus = previousStatus;
+        this.completionStatus = completionStatus;
+        this.markerStartTimeMs = markerStartTimeMs;
+        this.markerFinishTimeMs = markerFinishTimeMs;
+    }
+
+    @Override
+    public String getEventType() {
+        return "EntryCompletionUpdatedEvent";
+    }
+
+    @Override
+    public UUID getAggregateId() {
+        return entryId;
+    }
+
+    public UUID getEntryId() { return entryId; }
+    public UUID getRegattaId() { return regattaId; }
+    public String getPreviousStatus() { return previousStatus; }
+    public String getCompletionStatus() { return completionStatus; }
+    public Long getMarkerStartTimeMs() { return markerStartTimeMs; }
+    public Long getMarkerFinishTimeMs() { return markerFinishTimeMs; }
+}
@@ -2,6 +2,7 @@ package com.regattadesk.entry;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.regattadesk.eventstore.EventEnvelope;
+import com.regattadesk.finance.event.FinanceProjectionHandler;
 import com.regattadesk.projection.ProjectionHandler;
 import io.quarkus.logging.Log;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -10,9 +11,11 @@ import jakarta.inject.Inject;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.UUID;
 
 /**
  * Projection handler for Entry aggregate (BC03-004, BC08-001).
@@ -28,6 +31,9 @@ public class EntryProjectionHandler implements ProjectionHandler {
     @Inject
     ObjectMapper objectMapper;
 
+    @Inject
+    FinanceProjectionHandler financeProjectionHandler;
+
     @Override
     public String getProjectionName() {
         return "entry_projection";
@@ -61,6 +67,19 @@ public class EntryProjectionHandler implements ProjectionHandler {
         var event = parseEvent(envelope, EntryCreatedEvent.class);
 
         try (Connection conn = dataSource.getConnection()) {
+            UUID previousRegattaId = null;
+            String previousPaymentStatus = null;
+            try (PreparedStatement stmt = conn.prepareStatement(
+                     "SELECT regatta_id, payment_status FROM entries WHERE id = ?")) {
+                stmt.setObject(1, event.getEntryId());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        previousRegattaId = (UUID) rs.getObject("regatta_id");
+                        previousPaymentStatus = rs.getString("payment_status");
+                    }
+                }
+            }
+
             String sql = insertEntrySql(conn);
 
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -80,6 +99,13 @@ public class EntryProjectionHandler implements ProjectionHandler {
                 stmt.setTimestamp(13, now);
                 stmt.executeUpdate();
             }
+            if (previousRegattaId == null) {
+                financeProjectionHandler.applyEntryCreated(conn, event.getRegattaId());
+            } else if (!previousRegattaId.equals(event.getRegattaId()) || !"unpaid".equals(previousPaymentStatus)) {
+                // A replayed event reset an existing entry; recount instead of guessing the delta
+                financeProjectionHandler.markRegattaSummaryStale(conn, previousRegattaId);
+                financeProjectionHandler.markRegattaSummaryStale(conn, event.getRegattaId());
+            }
         }
     }
 
@@ -109,6 +135,16 @@ public class EntryProjectionHandler implements ProjectionHandler {
                         envelope.getEventId(),
                         event.getPaymentStatus()
                     );
+                    return;
+                }
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT regatta_id FROM entries WHERE id = ?")) {
+                stmt.setObject(1, event.getEntryId());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        financeProjectionHandler.markRegattaSummaryStale(conn, (UUID) rs.getObject("regatta_id"));
+                    }
                 }
             }
         }
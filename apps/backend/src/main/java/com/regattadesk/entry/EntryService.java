@@ -175,6 +175,9 @@ public class EntryService {
             if ("EntryPaymentStatusUpdatedEvent".equals(eventType)) {
                 return objectMapper.readValue(payload, EntryPaymentStatusUpdatedEvent.class);
             }
+            if ("EntryCompletionUpdatedEvent".equals(eventType)) {
+                return objectMapper.readValue(payload, EntryCompletionUpdatedEvent.class);
+            }
             throw new IllegalStateException("Unsupported entry event type: " + eventType);
         } catch (Exception e) {
             throw new IllegalStateException("Failed to deserialize entry event: " + eventType, e);
@@ -1,6 +1,8 @@
 package com.regattadesk.eventstore;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -27,6 +29,19 @@ public interface EventStore {
      */
     void append(UUID aggregateId, String aggregateType, long expectedVersion, 
                 List<DomainEvent> events, EventMetadata metadata);
+
+    /**
+     * Appends events to several aggregate streams in one transaction, with batched writes.
+     * 
+     * Every stream is checked against its expected version; a mismatch on any of them fails
+     * the whole append. All events share the given metadata.
+     * 
+     * @param appends the streams to append to, each aggregate at most once
+     * @param metadata the metadata for the events
+     * @throws ConcurrencyException if an expected version doesn't match the actual version
+     * @throws IllegalArgumentException if appends is empty, names an aggregate twice or has no events for a stream
+     */
+    void appendAll(List<StreamAppend> appends, EventMetadata metadata);
     
     /**
      * Reads all events for a specific aggregate in sequence order.
@@ -71,4 +86,12 @@ public interface EventStore {
      * @return the current version, or -1 if aggregate doesn't exist
      */
     long getCurrentVersion(UUID aggregateId);
+
+    /**
+     * Gets the current versions of several aggregates in one read.
+     * 
+     * @param aggregateIds the aggregate IDs
+     * @return the current versions by aggregate ID; aggregates that don't exist are absent
+     */
+    Map<UUID, Long> getCurrentVersions(Collection<UUID> aggregateIds);
 }
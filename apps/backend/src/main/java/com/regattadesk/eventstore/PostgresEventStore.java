@@ -10,9 +10,13 @@ import jakarta.transaction.Transactional;
 import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -33,6 +37,22 @@ import java.util.UUID;
 @ApplicationScoped
 public class PostgresEventStore implements EventStore {
     
+    /** Aggregate IDs per version lookup query. */
+    private static final int VERSION_LOOKUP_CHUNK_SIZE = 500;
+    
+    private static final String INSERT_AGGREGATE_SQL = """
+        INSERT INTO aggregates (id, aggregate_type, version, created_at, updated_at)
+        VALUES (?, ?, 0, now(), now())
+        """;
+    
+    private static final String INSERT_EVENT_SQL = """
+        INSERT INTO event_store (id, aggregate_id, event_type, sequence_number, payload,
+                                metadata, correlation_id, causation_id, created_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, now())
+        """;
+    
+    private static final String UPDATE_VERSION_SQL = "UPDATE aggregates SET version = ?, updated_at = now() WHERE id = ?";
+    
     @Inject
     DataSource dataSource;
     
@@ -93,6 +113,92 @@ public class PostgresEventStore implements EventStore {
         }
     }
     
+    /**
+     * Appends to all streams with three JDBC batches (new aggregates, events, versions)
+     * after one version lookup, instead of a round trip per statement and stream.
+     */
+    @Override
+    @Transactional
+    public void appendAll(List<StreamAppend> appends, EventMetadata metadata) {
+        if (appends == null || appends.isEmpty()) {
+            throw new IllegalArgumentException("Appends list cannot be null or empty");
+        }
+        Set<UUID> aggregateIds = new HashSet<>();
+        for (StreamAppend append : appends) {
+            if (append == null || append.aggregateId() == null) {
+                throw new IllegalArgumentException("aggregateId cannot be null");
+            }
+            if (append.aggregateType() == null || append.aggregateType().isBlank()) {
+                throw new IllegalArgumentException("aggregateType cannot be null or blank");
+            }
+            if (append.events() == null || append.events().isEmpty()) {
+                throw new IllegalArgumentException("Events list cannot be null or empty");
+            }
+            if (append.events().stream().anyMatch(e -> e == null)) {
+                throw new IllegalArgumentException("Events list cannot contain null values");
+            }
+            if (!aggregateIds.add(append.aggregateId())) {
+                throw new IllegalArgumentException("Aggregate appears more than once: " + append.aggregateId());
+            }
+        }
+        
+        try (Connection conn = dataSource.getConnection()) {
+            Map<UUID, Long> currentVersions = getCurrentVersions(conn, aggregateIds);
+            for (StreamAppend append : appends) {
+                long currentVersion = currentVersions.getOrDefault(append.aggregateId(), -1L);
+                if (append.expectedVersion() != currentVersion) {
+                    throw new ConcurrencyException(append.aggregateId(), append.expectedVersion(), currentVersion);
+                }
+            }
+            
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_AGGREGATE_SQL)) {
+                boolean any = false;
+                for (StreamAppend append : appends) {
+                    if (append.expectedVersion() == -1) {
+                        stmt.setObject(1, append.aggregateId());
+                        stmt.setString(2, append.aggregateType());
+                        stmt.addBatch();
+                        any = true;
+                    }
+                }
+                if (any) {
+                    stmt.executeBatch();
+                }
+            }
+            
+            String serializedMetadata = serializeMetadata(metadata);
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_EVENT_SQL)) {
+                for (StreamAppend append : appends) {
+                    long sequenceNumber = Math.max(append.expectedVersion(), 0) + 1;
+                    for (DomainEvent event : append.events()) {
+                        bindEvent(stmt, append.aggregateId(), event, sequenceNumber++, serializedMetadata, metadata);
+                        stmt.addBatch();
+                    }
+                }
+                stmt.executeBatch();
+            }
+            
+            try (PreparedStatement stmt = conn.prepareStatement(UPDATE_VERSION_SQL)) {
+                for (StreamAppend append : appends) {
+                    stmt.setLong(1, Math.max(append.expectedVersion(), 0) + append.events().size());
+                    stmt.setObject(2, append.aggregateId());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+            
+        } catch (SQLException e) {
+            // A concurrent writer created an aggregate or event first; see append()
+            String sqlState = e.getSQLState();
+            if ("23505".equals(sqlState) || "23000".equals(sqlState)) {
+                StreamAppend first = appends.get(0);
+                throw new ConcurrencyException(
+                    first.aggregateId(), first.expectedVersion(), getCurrentVersion(first.aggregateId()));
+            }
+            throw new RuntimeException("Failed to append events", e);
+        }
+    }
+    
     @Override
     public List<EventEnvelope> readStream(UUID aggregateId) {
         return readStream(aggregateId, 0);
@@ -203,6 +309,40 @@ public class PostgresEventStore implements EventStore {
         }
     }
 
+    @Override
+    public Map<UUID, Long> getCurrentVersions(Collection<UUID> aggregateIds) {
+        if (aggregateIds == null || aggregateIds.isEmpty()) {
+            return Map.of();
+        }
+        
+        try (Connection conn = dataSource.getConnection()) {
+            return getCurrentVersions(conn, aggregateIds);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get current versions for aggregates", e);
+        }
+    }
+    
+    private Map<UUID, Long> getCurrentVersions(Connection conn, Collection<UUID> aggregateIds) throws SQLException {
+        Map<UUID, Long> versions = new HashMap<>();
+        List<UUID> ids = new ArrayList<>(aggregateIds);
+        for (int start = 0; start < ids.size(); start += VERSION_LOOKUP_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(start, Math.min(start + VERSION_LOOKUP_CHUNK_SIZE, ids.size()));
+            String sql = "SELECT id, version FROM aggregates WHERE id IN (%s)"
+                .formatted(String.join(", ", Collections.nCopies(chunk.size(), "?")));
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setObject(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        versions.put((UUID) rs.getObject("id"), rs.getLong("version"));
+                    }
+                }
+            }
+        }
+        return versions;
+    }
+
     private long getCurrentVersion(Connection conn, UUID aggregateId) throws SQLException {
         String sql = "SELECT version FROM aggregates WHERE id = ?";
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -218,12 +358,7 @@ public class PostgresEventStore implements EventStore {
     }
     
     private void createAggregate(Connection conn, UUID aggregateId, String aggregateType) throws SQLException {
-        String sql = """
-            INSERT INTO aggregates (id, aggregate_type, version, created_at, updated_at)
-            VALUES (?, ?, 0, now(), now())
-            """;
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_AGGREGATE_SQL)) {
             stmt.setObject(1, aggregateId);
             stmt.setString(2, aggregateType);
             stmt.executeUpdate();
@@ -232,29 +367,26 @@ public class PostgresEventStore implements EventStore {
     
     private void appendEvent(Connection conn, UUID aggregateId, DomainEvent event,
                            long sequenceNumber, EventMetadata metadata) throws SQLException {
-        String sql = """
-            INSERT INTO event_store (id, aggregate_id, event_type, sequence_number, payload,
-                                    metadata, correlation_id, causation_id, created_at)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, now())
-            """;
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setObject(1, UUID.randomUUID());
-            stmt.setObject(2, aggregateId);
-            stmt.setString(3, event.getEventType());
-            stmt.setLong(4, sequenceNumber);
-            stmt.setString(5, serializePayload(event));
-            stmt.setString(6, serializeMetadata(metadata));
-            stmt.setObject(7, metadata != null ? metadata.getCorrelationId() : null);
-            stmt.setObject(8, metadata != null ? metadata.getCausationId() : null);
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_EVENT_SQL)) {
+            bindEvent(stmt, aggregateId, event, sequenceNumber, serializeMetadata(metadata), metadata);
             stmt.executeUpdate();
         }
     }
     
+    private void bindEvent(PreparedStatement stmt, UUID aggregateId, DomainEvent event, long sequenceNumber,
+                           String serializedMetadata, EventMetadata metadata) throws SQLException {
+        stmt.setObject(1, UUID.randomUUID());
+        stmt.setObject(2, aggregateId);
+        stmt.setString(3, event.getEventType());
+        stmt.setLong(4, sequenceNumber);
+        stmt.setString(5, serializePayload(event));
+        stmt.setString(6, serializedMetadata);
+        stmt.setObject(7, metadata != null ? metadata.getCorrelationId() : null);
+        stmt.setObject(8, metadata != null ? metadata.getCausationId() : null);
+    }
+    
     private void updateAggregateVersion(Connection conn, UUID aggregateId, long version) throws SQLException {
-        String sql = "UPDATE aggregates SET version = ?, updated_at = now() WHERE id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(UPDATE_VERSION_SQL)) {
             stmt.setLong(1, version);
             stmt.setObject(2, aggregateId);
             stmt.executeUpdate();
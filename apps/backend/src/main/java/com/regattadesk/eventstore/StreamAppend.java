@@ -0,0 +1,17 @@
+package com.regattadesk.eventstore;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Events to append to one aggregate stream as part of a multi-stream append.
+ *
+ * @param expectedVersion the expected current version of the aggregate (-1 for new aggregate)
+ */
+public record StreamAppend(
+    UUID aggregateId,
+    String aggregateType,
+    long expectedVersion,
+    List<DomainEvent> events
+) {
+}
@@ -0,0 +1,20 @@
+package com.regattadesk.finance;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record FinanceRegattaSummary(
+    UUID regattaId,
+    String currency,
+    int paidEntries,
+    int unpaidEntries,
+    int draftInvoices,
+    int sentInvoices,
+    int paidInvoices,
+    int cancelledInvoices,
+    BigDecimal outstandingAmount,
+    BigDecimal paidAmount,
+    Instant updatedAt
+) {
+}
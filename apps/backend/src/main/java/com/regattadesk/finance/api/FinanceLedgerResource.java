@@ -0,0 +1,91 @@
+package com.regattadesk.finance.api;
+
+import com.regattadesk.api.dto.ErrorResponse;
+import com.regattadesk.finance.service.FinanceLedgerExportService;
+import com.regattadesk.finance.service.FinanceLedgerExportService.LedgerFormat;
+import com.regattadesk.finance.service.FinanceLedgerExportService.LedgerQuery;
+import com.regattadesk.security.RequireRole;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.UUID;
+
+import static com.regattadesk.security.Role.FINANCIAL_MANAGER;
+import static com.regattadesk.security.Role.REGATTA_ADMIN;
+import static com.regattadesk.security.Role.SUPER_ADMIN;
+
+/**
+ * Finance ledger export across regattas, under the staff API.
+ */
+@Path("/api/v1/staff/finance/ledger")
+public class FinanceLedgerResource {
+
+    @Inject
+    FinanceLedgerExportService ledgerExportService;
+
+    @GET
+    @Produces({"text/csv", "application/x-ndjson", MediaType.APPLICATION_JSON})
+    @RequireRole({SUPER_ADMIN, REGATTA_ADMIN, FINANCIAL_MANAGER})
+    @Operation(summary = "Export the finance ledger")
+    @APIResponses({
+        @APIResponse(responseCode = "200", description = "OK",
+            content = {@Content(mediaType = "text/csv"), @Content(mediaType = "application/x-ndjson")}),
+        @APIResponse(responseCode = "400", description = "Bad Request",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public Response exportLedger(
+        @QueryParam("regatta_id") List<UUID> regattaIds,
+        @Parameter(description = "First entry creation date (UTC), ISO-8601")
+        @QueryParam("from") String from,
+        @Parameter(description = "Last entry creation date (UTC, inclusive), ISO-8601")
+        @QueryParam("to") String to,
+        @Parameter(schema = @Schema(enumeration = {"csv", "ndjson"}, defaultValue = "csv"))
+        @QueryParam("format") String format
+    ) {
+        LedgerFormat ledgerFormat;
+        LedgerQuery query;
+        try {
+            ledgerFormat = LedgerFormat.fromValue(format);
+            query = ledgerExportService.query(regattaIds, parseDate(from, "from"), parseDate(to, "to"));
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(ErrorResponse.badRequest(e.getMessage()))
+                .build();
+        }
+
+        StreamingOutput ledger = output -> ledgerExportService.writeLedger(query, ledgerFormat, output);
+        return Response.ok(ledger)
+            .type(ledgerFormat.mediaType() + ";charset=UTF-8")
+            .header("Content-Disposition",
+                "attachment; filename=\"finance-ledger." + ledgerFormat.fileExtension() + "\"")
+            .build();
+    }
+
+    private static LocalDate parseDate(String value, String name) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " must be an ISO-8601 date");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.regattadesk.finance.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.regattadesk.finance.FinanceRegattaSummary;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record FinanceRegattaSummaryResponse(
+    @JsonProperty("regatta_id")
+    UUID regattaId,
+    @JsonProperty("currency")
+    String currency,
+    @JsonProperty("billable_entries")
+    int billableEntries,
+    @JsonProperty("paid_entries")
+    int paidEntries,
+    @JsonProperty("unpaid_entries")
+    int unpaidEntries,
+    @JsonProperty("invoices")
+    InvoiceCounts invoices,
+    @JsonProperty("outstanding_amount")
+    BigDecimal outstandingAmount,
+    @JsonProperty("paid_amount")
+    BigDecimal paidAmount,
+    @JsonProperty("updated_at")
+    Instant updatedAt
+) {
+    public static FinanceRegattaSummaryResponse from(FinanceRegattaSummary summary) {
+        return new FinanceRegattaSummaryResponse(
+            summary.regattaId(),
+            summary.currency(),
+            summary.paidEntries() + summary.unpaidEntries(),
+            summary.paidEntries(),
+            summary.unpaidEntries(),
+            new InvoiceCounts(
+                summary.draftInvoices(),
+                summary.sentInvoices(),
+                summary.paidInvoices(),
+                summary.cancelledInvoices()
+            ),
+            summary.outstandingAmount(),
+            summary.paidAmount(),
+            summary.updatedAt()
+        );
+    }
+
+    public record InvoiceCounts(
+        @JsonProperty("draft")
+        int draft,
+        @JsonProperty("sent")
+        int sent,
+        @JsonProperty("paid")
+        int paid,
+        @JsonProperty("cancelled")
+        int cancelled
+    ) {
+    }
+}
@@ -21,7 +21,11 @@ public record InvoiceGenerationJobResponse(
     @JsonProperty("created_at")
     Instant createdAt,
     @JsonProperty("completed_at")
-    Instant completedAt
+    Instant completedAt,
+    @JsonProperty("total_clubs")
+    Integer totalClubs,
+    @JsonProperty("processed_clubs")
+    int processedClubs
 ) {
     public static InvoiceGenerationJobResponse from(InvoiceGenerationJob job) {
         return new InvoiceGenerationJobResponse(
@@ -30,7 +34,9 @@ public record InvoiceGenerationJobResponse(
             job.invoiceIds(),
             job.errorMessage(),
             job.createdAt(),
-            job.completedAt()
+            job.completedAt(),
+            job.totalClubs(),
+            job.processedClubs()
         );
     }
 }
@@ -1,7 +1,10 @@
 package com.regattadesk.finance.api;
 
 import com.regattadesk.api.dto.ErrorResponse;
+import com.regattadesk.finance.event.InvoiceGenerationJob;
+import com.regattadesk.finance.event.InvoiceGenerationJobStatus;
 import com.regattadesk.finance.model.InvoiceStatus;
+import com.regattadesk.finance.service.InvoicePdfService;
 import com.regattadesk.finance.service.InvoiceService;
 import com.regattadesk.security.RequireRole;
 import com.regattadesk.security.SecurityContext;
@@ -17,6 +20,7 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
@@ -25,6 +29,7 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static com.regattadesk.security.Role.FINANCIAL_MANAGER;
@@ -41,6 +46,9 @@ public class InvoiceResource {
     @Inject
     InvoiceService invoiceService;
 
+    @Inject
+    InvoicePdfService invoicePdfService;
+
     @Inject
     SecurityContext securityContext;
 
@@ -142,6 +150,58 @@ public class InvoiceResource {
         }
     }
 
+    @GET
+    @Path("/jobs/{job_id}/pdf")
+    @Produces("application/zip")
+    @RequireRole({SUPER_ADMIN, REGATTA_ADMIN, FINANCIAL_MANAGER})
+    @Operation(summary = "Download the invoice PDFs of a generation job as a ZIP archive")
+    @APIResponses({
+        @APIResponse(responseCode = "200", description = "OK",
+            content = @Content(mediaType = "application/zip")),
+        @APIResponse(responseCode = "404", description = "Not Found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+        @APIResponse(responseCode = "409", description = "Conflict",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public Response downloadGenerationJobPdfs(
+        @PathParam("regatta_id") UUID regattaId,
+        @PathParam("job_id") UUID jobId
+    ) {
+        try {
+            Optional<InvoiceGenerationJob> job = invoiceService.getJob(regattaId, jobId);
+            if (job.isEmpty()) {
+                return Response.status(Response.Status.NOT_FOUND)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(ErrorResponse.notFound("Invoice generation job not found"))
+                    .build();
+            }
+            InvoiceGenerationJobStatus status = job.get().status();
+            if (status == InvoiceGenerationJobStatus.PENDING || status == InvoiceGenerationJobStatus.RUNNING) {
+                return Response.status(Response.Status.CONFLICT)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(ErrorResponse.conflict("Invoice generation job has not finished"))
+                    .build();
+            }
+            Optional<InvoicePdfService.InvoiceBundle> bundle =
+                invoicePdfService.loadBundle(regattaId, job.get().invoiceIds());
+            if (bundle.isEmpty()) {
+                return Response.status(Response.Status.NOT_FOUND)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(ErrorResponse.notFound("Regatta not found"))
+                    .build();
+            }
+            StreamingOutput zip = output -> invoicePdfService.writeBundle(bundle.get(), output);
+            return Response.ok(zip)
+                .header("Content-Disposition", "attachment; filename=\"invoices-" + jobId + ".zip\"")
+                .build();
+        } catch (Exception e) {
+            return Response.serverError()
+                .type(MediaType.APPLICATION_JSON)
+                .entity(ErrorResponse.internalError("Failed to download invoice PDFs"))
+                .build();
+        }
+    }
+
     @GET
     @Path("/{invoice_id}")
     @RequireRole({SUPER_ADMIN, REGATTA_ADMIN, HEAD_OF_JURY, INFO_DESK, FINANCIAL_MANAGER})
@@ -170,6 +230,38 @@ public class InvoiceResource {
         }
     }
 
+    @GET
+    @Path("/{invoice_id}/pdf")
+    @Produces("application/pdf")
+    @RequireRole({SUPER_ADMIN, REGATTA_ADMIN, HEAD_OF_JURY, INFO_DESK, FINANCIAL_MANAGER})
+    @Operation(summary = "Download invoice PDF")
+    @APIResponses({
+        @APIResponse(responseCode = "200", description = "OK",
+            content = @Content(mediaType = "application/pdf")),
+        @APIResponse(responseCode = "404", description = "Not Found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public Response downloadInvoicePdf(
+        @PathParam("regatta_id") UUID regattaId,
+        @PathParam("invoice_id") UUID invoiceId
+    ) {
+        try {
+            return invoicePdfService.renderInvoice(regattaId, invoiceId)
+                .map(pdf -> Response.ok(pdf)
+                    .header("Content-Disposition", "attachment; filename=\"invoice-" + invoiceId + ".pdf\"")
+                    .build())
+                .orElseGet(() -> Response.status(Response.Status.NOT_FOUND)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(ErrorResponse.notFound("Invoice not found"))
+                    .build());
+        } catch (Exception e) {
+            return Response.serverError()
+                .type(MediaType.APPLICATION_JSON)
+                .entity(ErrorResponse.internalError("Failed to render invoice PDF"))
+                .build();
+        }
+    }
+
     @POST
     @Path("/{invoice_id}/mark_paid")
     @RequireRole({SUPER_ADMIN, REGATTA_ADMIN, FINANCIAL_MANAGER})
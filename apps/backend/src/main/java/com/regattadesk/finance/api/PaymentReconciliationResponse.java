@@ -0,0 +1,53 @@
+package com.regattadesk.finance.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.regattadesk.finance.model.PaymentReconciliationResult;
+
+import java.util.List;
+
+public record PaymentReconciliationResponse(
+    @JsonProperty("total_lines")
+    int totalLines,
+    @JsonProperty("matched_lines")
+    int matchedLines,
+    @JsonProperty("unmatched_count")
+    int unmatchedCount,
+    @JsonProperty("updated_count")
+    int updatedCount,
+    @JsonProperty("unchanged_count")
+    int unchangedCount,
+    @JsonProperty("failed_count")
+    int failedCount,
+    @JsonProperty("invoices_paid")
+    int invoicesPaid,
+    @JsonProperty("unmatched_lines")
+    List<UnmatchedLineResponse> unmatchedLines,
+    @JsonProperty("unmatched_truncated")
+    boolean unmatchedTruncated
+) {
+    public static PaymentReconciliationResponse from(PaymentReconciliationResult result) {
+        return new PaymentReconciliationResponse(
+            result.totalLines(),
+            result.matchedLines(),
+            result.unmatchedCount(),
+            result.updatedCount(),
+            result.unchangedCount(),
+            result.failedCount(),
+            result.invoicesPaid(),
+            result.unmatchedLines().stream()
+                .map(line -> new UnmatchedLineResponse(
+                    line.lineNumber(), line.reference(), line.amount(), line.reason()))
+                .toList(),
+            result.unmatchedTruncated()
+        );
+    }
+
+    public record UnmatchedLineResponse(
+        @JsonProperty("line_number")
+        int lineNumber,
+        String reference,
+        String amount,
+        String reason
+    ) {
+    }
+}
@@ -2,6 +2,7 @@ package com.regattadesk.finance.api;
 
 import com.regattadesk.api.dto.ErrorResponse;
 import com.regattadesk.finance.model.PaymentStatus;
+import com.regattadesk.finance.service.PaymentReconciliationService;
 import com.regattadesk.finance.service.PaymentStatusService;
 import com.regattadesk.security.RequireRole;
 import com.regattadesk.security.SecurityContext;
@@ -24,6 +25,7 @@ import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 
+import java.io.InputStream;
 import java.util.UUID;
 
 import static com.regattadesk.security.Role.FINANCIAL_MANAGER;
@@ -40,6 +42,9 @@ public class PaymentStatusResource {
     @Inject
     PaymentStatusService paymentStatusService;
 
+    @Inject
+    PaymentReconciliationService reconciliationService;
+
     @Inject
     SecurityContext securityContext;
 
@@ -125,6 +130,31 @@ public class PaymentStatusResource {
         }
     }
 
+    @GET
+    @Path("/finance/summary")
+    @RequireRole({SUPER_ADMIN, REGATTA_ADMIN, HEAD_OF_JURY, INFO_DESK, FINANCIAL_MANAGER})
+    @Operation(summary = "Get Regatta Finance Summary")
+    @APIResponses({
+        @APIResponse(responseCode = "200", description = "OK",
+            content = @Content(schema = @Schema(implementation = FinanceRegattaSummaryResponse.class))),
+        @APIResponse(responseCode = "404", description = "Not Found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public Response getFinanceSummary(@PathParam("regatta_id") UUID regattaId) {
+        try {
+            return paymentStatusService.getRegattaSummary(regattaId)
+                .map(FinanceRegattaSummaryResponse::from)
+                .map(payload -> Response.ok(payload).build())
+                .orElseGet(() -> Response.status(Response.Status.NOT_FOUND)
+                    .entity(ErrorResponse.notFound("Regatta not found"))
+                    .build());
+        } catch (Exception e) {
+            return Response.serverError()
+                .entity(ErrorResponse.internalError("Failed to get finance summary"))
+                .build();
+        }
+    }
+
     @GET
     @Path("/entries/{entry_id}/payment_status")
     @RequireRole({SUPER_ADMIN, REGATTA_ADMIN, HEAD_OF_JURY, INFO_DESK, FINANCIAL_MANAGER})
@@ -283,6 +313,46 @@ public class PaymentStatusResource {
         }
     }
 
+    @POST
+    @Path("/payments/reconcile")
+    @Consumes({"text/csv", MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM})
+    @RequireRole({SUPER_ADMIN, REGATTA_ADMIN, FINANCIAL_MANAGER})
+    @Operation(summary = "Reconcile Bank Statement",
+        description = "Matches a delimited bank statement export against invoice numbers and entry payment references and marks matches paid. "
+            + "A line only matches if its amount equals the invoice total or the entry fees; other lines are reported as AMOUNT_MISMATCH.")
+    @APIResponses({
+        @APIResponse(responseCode = "200", description = "OK",
+            content = @Content(schema = @Schema(implementation = PaymentReconciliationResponse.class))),
+        @APIResponse(responseCode = "400", description = "Bad Request",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public Response reconcilePayments(
+        @PathParam("regatta_id") UUID regattaId,
+        InputStream statement
+    ) {
+        try {
+            if (statement == null) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ErrorResponse.badRequest("Request body is required"))
+                    .build();
+            }
+            String actor = securityContext.getPrincipal() != null
+                ? securityContext.getPrincipal().getUsername()
+                : "unknown";
+
+            var result = reconciliationService.reconcile(regattaId, statement, actor);
+            return Response.ok(PaymentReconciliationResponse.from(result)).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(ErrorResponse.badRequest(e.getMessage()))
+                .build();
+        } catch (Exception e) {
+            return Response.serverError()
+                .entity(ErrorResponse.internalError("Failed to reconcile payments"))
+                .build();
+        }
+    }
+
     private String normalizeEntryPaymentStatus(String paymentStatus) {
         return normalizeQueryPaymentStatus(
             paymentStatus,
@@ -2,6 +2,7 @@ package com.regattadesk.finance.event;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.regattadesk.eventstore.EventEnvelope;
+import com.regattadesk.finance.model.InvoiceStatus;
 import com.regattadesk.finance.model.PaymentStatus;
 import com.regattadesk.projection.ProjectionHandler;
 import io.quarkus.logging.Log;
@@ -9,16 +10,42 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import javax.sql.DataSource;
+import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+/**
+ * Projects finance events into entry payment statuses, club payment statuses and the
+ * per-regatta finance summary.
+ *
+ * The summary ({@code finance_regatta_summaries}) is maintained incrementally: payment and
+ * invoice events apply deltas to the regatta's row, and so do newly created entries via
+ * {@link #applyEntryCreated}. Entries removed outside finance events mark the row stale via
+ * {@link #markRegattaSummaryStale}, and {@link #rebuildRegattaSummary} recounts it from
+ * {@code entries} and {@code invoices}.
+ */
 @ApplicationScoped
 public class FinanceProjectionHandler implements ProjectionHandler {
 
+    /** Rows per set-based entry payment update (5 parameters each). */
+    private static final int ENTRY_UPDATE_CHUNK_SIZE = 500;
+
+    /** Clubs per set-based club payment status recompute (3 parameters each). */
+    private static final int CLUB_RECOMPUTE_CHUNK_SIZE = 500;
+
     @Inject
     DataSource dataSource;
 
@@ -34,7 +61,9 @@ public class FinanceProjectionHandler implements ProjectionHandler {
     public boolean canHandle(EventEnvelope event) {
         String eventType = event.getEventType();
         return "EntryPaymentStatusUpdated".equals(eventType)
-            || "ClubPaymentStatusUpdateRequested".equals(eventType);
+            || "ClubPaymentStatusUpdateRequested".equals(eventType)
+            || "InvoiceGenerated".equals(eventType)
+            || "InvoiceMarkedPaid".equals(eventType);
     }
 
     @Override
@@ -44,6 +73,8 @@ public class FinanceProjectionHandler implements ProjectionHandler {
             switch (eventType) {
                 case "EntryPaymentStatusUpdated" -> handleEntryPaymentStatusUpdated(envelope);
                 case "ClubPaymentStatusUpdateRequested" -> handleClubPaymentStatusUpdateRequested(envelope);
+                case "InvoiceGenerated" -> handleInvoiceGenerated(envelope);
+                case "InvoiceMarkedPaid" -> handleInvoiceMarkedPaid(envelope);
                 default -> Log.debugf("Ignoring finance event type: %s", eventType);
             }
         } catch (Exception e) {
@@ -67,7 +98,9 @@ public class FinanceProjectionHandler implements ProjectionHandler {
                 stmt.setTimestamp(5, Timestamp.from(Instant.now()));
                 stmt.setObject(6, event.getEntryId());
                 stmt.setObject(7, event.getRegattaId());
-                stmt.executeUpdate();
+                if (stmt.executeUpdate() > 0) {
+                    adjustEntryCounts(conn, event.getRegattaId(), List.of(event));
+                }
             }
 
             if (event.getClubId() != null) {
@@ -84,60 +117,409 @@ public class FinanceProjectionHandler implements ProjectionHandler {
         }
     }
 
+    private void handleInvoiceGenerated(EventEnvelope envelope) throws Exception {
+        InvoiceGeneratedEvent event = parseEvent(envelope, InvoiceGeneratedEvent.class);
+
+        try (Connection conn = dataSource.getConnection()) {
+            applyInvoiceGenerated(conn, event);
+        }
+    }
+
+    private void handleInvoiceMarkedPaid(EventEnvelope envelope) throws Exception {
+        InvoiceMarkedPaidEvent event = parseEvent(envelope, InvoiceMarkedPaidEvent.class);
+
+        try (Connection conn = dataSource.getConnection()) {
+            applyInvoiceMarkedPaid(conn, event);
+        }
+    }
+
+    /**
+     * Project a batch of entry payment status updates at once: the entries of each regatta are
+     * updated with one set-based statement per chunk of {@value #ENTRY_UPDATE_CHUNK_SIZE}, and
+     * the affected clubs' statuses are recomputed together once. Equivalent to handling the
+     * events one by one, for callers that appended them together.
+     */
+    public void applyEntryPaymentStatusUpdates(List<EntryPaymentStatusUpdatedEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+        Map<UUID, List<EntryPaymentStatusUpdatedEvent>> byRegatta = new LinkedHashMap<>();
+        Map<UUID, Set<UUID>> clubsByRegatta = new LinkedHashMap<>();
+        for (EntryPaymentStatusUpdatedEvent event : events) {
+            byRegatta.computeIfAbsent(event.getRegattaId(), id -> new ArrayList<>()).add(event);
+            if (event.getClubId() != null) {
+                clubsByRegatta.computeIfAbsent(event.getRegattaId(), id -> new LinkedHashSet<>()).add(event.getClubId());
+            }
+        }
+
+        try (Connection conn = dataSource.getConnection()) {
+            boolean postgres = isPostgres(conn);
+            Timestamp now = Timestamp.from(Instant.now());
+            for (Map.Entry<UUID, List<EntryPaymentStatusUpdatedEvent>> regatta : byRegatta.entrySet()) {
+                List<EntryPaymentStatusUpdatedEvent> updates = regatta.getValue();
+                for (int start = 0; start < updates.size(); start += ENTRY_UPDATE_CHUNK_SIZE) {
+                    List<EntryPaymentStatusUpdatedEvent> chunk =
+                        updates.subList(start, Math.min(start + ENTRY_UPDATE_CHUNK_SIZE, updates.size()));
+                    updateEntryPaymentStatuses(conn, postgres, regatta.getKey(), chunk, now);
+                }
+                adjustEntryCounts(conn, regatta.getKey(), updates);
+            }
+            for (Map.Entry<UUID, Set<UUID>> regatta : clubsByRegatta.entrySet()) {
+                recomputeClubPaymentStatuses(conn, regatta.getKey(), regatta.getValue());
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to apply entry payment status updates", e);
+        }
+    }
+
+    private void updateEntryPaymentStatuses(
+        Connection conn,
+        boolean postgres,
+        UUID regattaId,
+        List<EntryPaymentStatusUpdatedEvent> updates,
+        Timestamp now
+    ) throws Exception {
+        String row = postgres
+            ? "(CAST(? AS UUID), CAST(? AS VARCHAR), CAST(? AS TIMESTAMPTZ), CAST(? AS VARCHAR), CAST(? AS VARCHAR))"
+            : "(CAST(? AS UUID), CAST(? AS VARCHAR), CAST(? AS TIMESTAMP), CAST(? AS VARCHAR), CAST(? AS VARCHAR))";
+        String values = String.join(", ", Collections.nCopies(updates.size(), row));
+        String sql = postgres
+            ? """
+                UPDATE entries AS e
+                SET payment_status = v.payment_status, paid_at = v.paid_at, paid_by = v.paid_by,
+                    payment_reference = v.payment_reference, updated_at = ?
+                FROM (VALUES %s) AS v(id, payment_status, paid_at, paid_by, payment_reference)
+                WHERE e.id = v.id AND e.regatta_id = ?
+                """.formatted(values)
+            : """
+                MERGE INTO entries AS e
+                USING (VALUES %s) AS v(id, payment_status, paid_at, paid_by, payment_reference)
+                ON e.id = v.id AND e.regatta_id = ?
+                WHEN MATCHED THEN UPDATE SET
+                    payment_status = v.payment_status, paid_at = v.paid_at, paid_by = v.paid_by,
+                    payment_reference = v.payment_reference, updated_at = ?
+                """.formatted(values);
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            if (postgres) {
+                stmt.setTimestamp(index++, now);
+            }
+            for (EntryPaymentStatusUpdatedEvent event : updates) {
+                stmt.setObject(index++, event.getEntryId());
+                stmt.setString(index++, event.getNewStatus());
+                stmt.setTimestamp(index++, toTimestamp(event.getPaidAt()));
+                stmt.setString(index++, event.getPaidBy());
+                stmt.setString(index++, event.getPaymentReference());
+            }
+            stmt.setObject(index++, regattaId);
+            if (!postgres) {
+                stmt.setTimestamp(index, now);
+            }
+            stmt.executeUpdate();
+        }
+    }
+
     public void recomputeClubPaymentStatus(Connection conn, UUID regattaId, UUID clubId) throws Exception {
-        int billableCount = 0;
-        int paidCount = 0;
+        recomputeClubPaymentStatuses(conn, regattaId, List.of(clubId));
+    }
+
+    /**
+     * Recounts the billable and paid entries of the given clubs of a regatta and upserts their
+     * statuses with one {@code INSERT ... SELECT ... GROUP BY} per chunk of
+     * {@value #CLUB_RECOMPUTE_CHUNK_SIZE} clubs. An entry is billed to its billing club, or
+     * else to the club of its non-composite crew. Clubs without billable entries are written
+     * as unpaid with zero counts.
+     */
+    public void recomputeClubPaymentStatuses(Connection conn, UUID regattaId, Collection<UUID> clubIds) throws Exception {
+        if (clubIds == null || clubIds.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = List.copyOf(clubIds);
+        boolean postgres = isPostgres(conn);
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int start = 0; start < ids.size(); start += CLUB_RECOMPUTE_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(start, Math.min(start + CLUB_RECOMPUTE_CHUNK_SIZE, ids.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            try (PreparedStatement stmt = conn.prepareStatement(
+                     recomputeClubPaymentStatusesSql(postgres).formatted(placeholders, placeholders, placeholders))) {
+                int index = 1;
+                stmt.setObject(index++, regattaId);
+                stmt.setTimestamp(index++, now);
+                stmt.setObject(index++, regattaId);
+                for (UUID clubId : chunk) {
+                    stmt.setObject(index++, clubId);
+                }
+                for (UUID clubId : chunk) {
+                    stmt.setObject(index++, clubId);
+                }
+                for (UUID clubId : chunk) {
+                    stmt.setObject(index++, clubId);
+                }
+                stmt.executeUpdate();
+            }
+        }
+    }
 
+    /**
+     * Adds a generated invoice to its regatta's summary, in the transaction that created it.
+     */
+    public void applyInvoiceGenerated(Connection conn, InvoiceGeneratedEvent event) throws SQLException {
         try (PreparedStatement stmt = conn.prepareStatement("""
-            SELECT
-                COUNT(*) AS billable_count,
-                COALESCE(SUM(CASE WHEN e.payment_status = 'paid' THEN 1 ELSE 0 END), 0) AS paid_count
-            FROM entries e
-            JOIN crews c ON c.id = e.crew_id
-            WHERE e.regatta_id = ?
-              AND (
-                    e.billing_club_id = ?
-                 OR (
-                        e.billing_club_id IS NULL
-                    AND c.is_composite = FALSE
-                    AND c.club_id = ?
-                 )
-              )
+            UPDATE finance_regatta_summaries
+            SET draft_invoice_count = draft_invoice_count + 1,
+                outstanding_amount = outstanding_amount + ?,
+                updated_at = ?
+            WHERE regatta_id = ?
             """)) {
-            stmt.setObject(1, regattaId);
-            stmt.setObject(2, clubId);
-            stmt.setObject(3, clubId);
+            stmt.setBigDecimal(1, event.totalAmount() == null ? BigDecimal.ZERO : event.totalAmount());
+            stmt.setTimestamp(2, Timestamp.from(Instant.now()));
+            stmt.setObject(3, event.regattaId());
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Moves a paid invoice from its previous status to paid in its regatta's summary.
+     * Events recorded without the previous status and amount mark the summary stale instead.
+     */
+    public void applyInvoiceMarkedPaid(Connection conn, InvoiceMarkedPaidEvent event) throws SQLException {
+        InvoiceStatus previousStatus = event.previousStatus() == null
+            ? null
+            : InvoiceStatus.fromValue(event.previousStatus());
+        if (event.totalAmount() == null
+            || (previousStatus != InvoiceStatus.DRAFT && previousStatus != InvoiceStatus.SENT)) {
+            markRegattaSummaryStale(conn, event.regattaId());
+            return;
+        }
+
+        String countColumn = previousStatus.value() + "_invoice_count";
+        try (PreparedStatement stmt = conn.prepareStatement("""
+            UPDATE finance_regatta_summaries
+            SET %1$s = %1$s - 1,
+                paid_invoice_count = paid_invoice_count + 1,
+                outstanding_amount = outstanding_amount - ?,
+                paid_amount = paid_amount + ?,
+                updated_at = ?
+            WHERE regatta_id = ?
+            """.formatted(countColumn))) {
+            stmt.setBigDecimal(1, event.totalAmount());
+            stmt.setBigDecimal(2, event.totalAmount());
+            stmt.setTimestamp(3, Timestamp.from(Instant.now()));
+            stmt.setObject(4, event.regattaId());
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Counts a newly created (unpaid) entry in its regatta's summary. A regatta without a
+     * summary row yet is skipped; its first read builds the row.
+     */
+    public void applyEntryCreated(Connection conn, UUID regattaId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("""
+            UPDATE finance_regatta_summaries
+            SET unpaid_entry_count = unpaid_entry_count + 1,
+                updated_at = ?
+            WHERE regatta_id = ?
+            """)) {
+            stmt.setTimestamp(1, Timestamp.from(Instant.now()));
+            stmt.setObject(2, regattaId);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Marks a regatta's summary for rebuilding on its next read. For writers that change the
+     * regatta's entries or invoices without a finance event.
+     */
+    public void markRegattaSummaryStale(Connection conn, UUID regattaId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                 "UPDATE finance_regatta_summaries SET stale = TRUE, updated_at = ? WHERE regatta_id = ?")) {
+            stmt.setTimestamp(1, Timestamp.from(Instant.now()));
+            stmt.setObject(2, regattaId);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Recounts a regatta's summary from its entries and invoices, creating the row if missing.
+     * The row is locked before counting, so a concurrent writer's delta is either included in
+     * the counts or applied on top of them after the rebuild commits.
+     */
+    public void rebuildRegattaSummary(UUID regattaId) {
+        try (Connection conn = dataSource.getConnection()) {
+            ensureRegattaSummary(conn, regattaId);
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(
+                         "SELECT regatta_id FROM finance_regatta_summaries WHERE regatta_id = ? FOR UPDATE")) {
+                    stmt.setObject(1, regattaId);
+                    stmt.executeQuery().close();
+                }
+
+                int unpaidEntries = 0;
+                int paidEntries = 0;
+                try (PreparedStatement stmt = conn.prepareStatement("""
+                    SELECT
+                        COALESCE(SUM(CASE WHEN payment_status = 'unpaid' THEN 1 ELSE 0 END), 0) AS unpaid_count,
+                        COALESCE(SUM(CASE WHEN payment_status = 'paid' THEN 1 ELSE 0 END), 0) AS paid_count
+                    FROM entries
+                    WHERE regatta_id = ?
+                    """)) {
+                    stmt.setObject(1, regattaId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next()) {
+                            unpaidEntries = rs.getInt("unpaid_count");
+                            paidEntries = rs.getInt("paid_count");
+                        }
+                    }
+                }
 
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    billableCount = rs.getInt("billable_count");
-                    paidCount = rs.getInt("paid_count");
+                Map<InvoiceStatus, Integer> invoiceCounts = new LinkedHashMap<>();
+                BigDecimal outstandingAmount = BigDecimal.ZERO;
+                BigDecimal paidAmount = BigDecimal.ZERO;
+                try (PreparedStatement stmt = conn.prepareStatement("""
+                    SELECT status, COUNT(*) AS invoice_count, COALESCE(SUM(total_amount), 0) AS amount
+                    FROM invoices
+                    WHERE regatta_id = ?
+                    GROUP BY status
+                    """)) {
+                    stmt.setObject(1, regattaId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            InvoiceStatus status = InvoiceStatus.fromValue(rs.getString("status"));
+                            invoiceCounts.put(status, rs.getInt("invoice_count"));
+                            if (status == InvoiceStatus.DRAFT || status == InvoiceStatus.SENT) {
+                                outstandingAmount = outstandingAmount.add(rs.getBigDecimal("amount"));
+                            } else if (status == InvoiceStatus.PAID) {
+                                paidAmount = rs.getBigDecimal("amount");
+                            }
+                        }
+                    }
                 }
+
+                try (PreparedStatement stmt = conn.prepareStatement("""
+                    UPDATE finance_regatta_summaries
+                    SET unpaid_entry_count = ?,
+                        paid_entry_count = ?,
+                        draft_invoice_count = ?,
+                        sent_invoice_count = ?,
+                        paid_invoice_count = ?,
+                        cancelled_invoice_count = ?,
+                        outstanding_amount = ?,
+                        paid_amount = ?,
+                        stale = FALSE,
+                        updated_at = ?
+                    WHERE regatta_id = ?
+                    """)) {
+                    stmt.setInt(1, unpaidEntries);
+                    stmt.setInt(2, paidEntries);
+                    stmt.setInt(3, invoiceCounts.getOrDefault(InvoiceStatus.DRAFT, 0));
+                    stmt.setInt(4, invoiceCounts.getOrDefault(InvoiceStatus.SENT, 0));
+                    stmt.setInt(5, invoiceCounts.getOrDefault(InvoiceStatus.PAID, 0));
+                    stmt.setInt(6, invoiceCounts.getOrDefault(InvoiceStatus.CANCELLED, 0));
+                    stmt.setBigDecimal(7, outstandingAmount);
+                    stmt.setBigDecimal(8, paidAmount);
+                    stmt.setTimestamp(9, Timestamp.from(Instant.now()));
+                    stmt.setObject(10, regattaId);
+                    stmt.executeUpdate();
+                }
+                conn.commit();
+            } catch (Exception e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to rebuild finance summary", e);
         }
+    }
 
-        PaymentStatus derivedStatus = billableCount > 0 && paidCount == billableCount
-            ? PaymentStatus.PAID
-            : PaymentStatus.UNPAID;
-
-        String sql = upsertClubPaymentStatusSql(conn);
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            Timestamp now = Timestamp.from(Instant.now());
+    private void ensureRegattaSummary(Connection conn, UUID regattaId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("""
+            INSERT INTO finance_regatta_summaries (regatta_id, stale, updated_at)
+            SELECT ?, TRUE, ?
+            WHERE NOT EXISTS (SELECT 1 FROM finance_regatta_summaries WHERE regatta_id = ?)
+            """)) {
             stmt.setObject(1, regattaId);
-            stmt.setObject(2, clubId);
-            stmt.setString(3, derivedStatus.value());
-            stmt.setInt(4, billableCount);
-            stmt.setInt(5, paidCount);
-            stmt.setTimestamp(6, now);
+            stmt.setTimestamp(2, Timestamp.from(Instant.now()));
+            stmt.setObject(3, regattaId);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            // Created concurrently by another rebuild
+            if (!"23505".equals(e.getSQLState()) && !"23000".equals(e.getSQLState())) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Applies the payment status transitions of one regatta's events to its summary counts.
+     * A regatta without a summary row yet is skipped; its first read builds the row.
+     */
+    private void adjustEntryCounts(
+        Connection conn,
+        UUID regattaId,
+        List<EntryPaymentStatusUpdatedEvent> events
+    ) throws SQLException {
+        int paidDelta = 0;
+        for (EntryPaymentStatusUpdatedEvent event : events) {
+            paidDelta += paidCount(event.getNewStatus()) - paidCount(event.getPreviousStatus());
+        }
+        if (paidDelta == 0) {
+            return;
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement("""
+            UPDATE finance_regatta_summaries
+            SET paid_entry_count = paid_entry_count + ?,
+                unpaid_entry_count = unpaid_entry_count - ?,
+                updated_at = ?
+            WHERE regatta_id = ?
+            """)) {
+            stmt.setInt(1, paidDelta);
+            stmt.setInt(2, paidDelta);
+            stmt.setTimestamp(3, Timestamp.from(Instant.now()));
+            stmt.setObject(4, regattaId);
             stmt.executeUpdate();
         }
     }
 
-    private String upsertClubPaymentStatusSql(Connection conn) throws Exception {
-        if (isPostgres(conn)) {
+    private static int paidCount(String paymentStatus) {
+        return PaymentStatus.PAID.value().equals(paymentStatus) ? 1 : 0;
+    }
+
+    /**
+     * Club payment statuses recomputed from {@code entries}; the three {@code %s} take the
+     * club id placeholders.
+     */
+    private static String recomputeClubPaymentStatusesSql(boolean postgres) {
+        String select = """
+            SELECT
+                CAST(? AS UUID),
+                cl.id,
+                CASE WHEN COUNT(b.club_id) > 0 AND SUM(b.paid) = COUNT(b.club_id) THEN 'paid' ELSE 'unpaid' END,
+                COUNT(b.club_id),
+                COALESCE(SUM(b.paid), 0),
+                CAST(? AS TIMESTAMP WITH TIME ZONE)
+            FROM clubs cl
+            LEFT JOIN (
+                SELECT
+                    COALESCE(e.billing_club_id, CASE WHEN c.is_composite = FALSE THEN c.club_id END) AS club_id,
+                    CASE WHEN e.payment_status = 'paid' THEN 1 ELSE 0 END AS paid
+                FROM entries e
+                JOIN crews c ON c.id = e.crew_id
+                WHERE e.regatta_id = ?
+                  AND (e.billing_club_id IN (%s) OR (e.billing_club_id IS NULL AND c.club_id IN (%s)))
+            ) b ON b.club_id = cl.id
+            WHERE cl.id IN (%s)
+            GROUP BY cl.id
+            """;
+        if (postgres) {
             return """
                 INSERT INTO club_payment_statuses (regatta_id, club_id, payment_status, billable_entry_count, paid_entry_count, updated_at)
-                VALUES (?, ?, ?, ?, ?, ?)
+                """ + select + """
                 ON CONFLICT (regatta_id, club_id)
                 DO UPDATE SET
                     payment_status = EXCLUDED.payment_status,
@@ -151,8 +533,7 @@ public class FinanceProjectionHandler implements ProjectionHandler {
             MERGE INTO club_payment_statuses
                 (regatta_id, club_id, payment_status, billable_entry_count, paid_entry_count, updated_at)
             KEY (regatta_id, club_id)
-            VALUES (?, ?, ?, ?, ?, ?)
-            """;
+            """ + select;
     }
 
     private boolean isPostgres(Connection conn) throws Exception {
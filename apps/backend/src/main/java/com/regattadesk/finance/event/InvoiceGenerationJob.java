@@ -11,6 +11,8 @@ public record InvoiceGenerationJob(
     List<UUID> invoiceIds,
     String errorMessage,
     Instant createdAt,
-    Instant completedAt
+    Instant completedAt,
+    Integer totalClubs,
+    int processedClubs
 ) {
 }
@@ -3,6 +3,7 @@ package com.regattadesk.finance.event;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.regattadesk.eventstore.DomainEvent;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -18,7 +19,11 @@ public record InvoiceMarkedPaidEvent(
     @JsonProperty("paid_by")
     String paidBy,
     @JsonProperty("payment_reference")
-    String paymentReference
+    String paymentReference,
+    @JsonProperty("previous_status")
+    String previousStatus,
+    @JsonProperty("total_amount")
+    BigDecimal totalAmount
 ) implements DomainEvent {
     @Override
     public String getEventType() {
@@ -0,0 +1,23 @@
+package com.regattadesk.finance.model;
+
+import java.util.List;
+
+public record PaymentReconciliationResult(
+    int totalLines,
+    int matchedLines,
+    int unmatchedCount,
+    int updatedCount,
+    int unchangedCount,
+    int failedCount,
+    int invoicesPaid,
+    List<UnmatchedStatementLine> unmatchedLines,
+    boolean unmatchedTruncated
+) {
+    public record UnmatchedStatementLine(
+        int lineNumber,
+        String reference,
+        String amount,
+        String reason
+    ) {
+    }
+}
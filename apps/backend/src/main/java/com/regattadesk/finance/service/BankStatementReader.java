@@ -0,0 +1,179 @@
+package com.regattadesk.finance.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Reads a delimited bank statement export one line at a time.
+ *
+ * The first non-blank line is the header; its most frequent delimiter of {@code ;},
+ * {@code ,} and tab is used for the file. The reference is taken from the first header
+ * column named like a remittance field, amount and booking date are optional. Quoted fields
+ * may contain the delimiter and doubled quotes, but not line breaks.
+ */
+final class BankStatementReader implements Closeable {
+
+    private static final Set<String> REFERENCE_COLUMNS = Set.of(
+        "reference", "payment_reference", "remittance_information", "remittance", "description",
+        "purpose", "details", "communication");
+    private static final Set<String> AMOUNT_COLUMNS = Set.of("amount", "credit", "credit_amount");
+    private static final Set<String> DATE_COLUMNS = Set.of("booking_date", "value_date", "date");
+
+    private final BufferedReader reader;
+    private char delimiter;
+    private int referenceColumn = -1;
+    private int amountColumn = -1;
+    private int dateColumn = -1;
+    private int lineNumber;
+
+    BankStatementReader(InputStream statement) {
+        this.reader = new BufferedReader(new InputStreamReader(statement, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the next non-blank line after the header, or null at the end of the statement
+     * @throws IllegalArgumentException if the statement has no header or no reference column
+     */
+    StatementLine next() throws IOException {
+        if (referenceColumn < 0) {
+            readHeader();
+        }
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = split(line);
+            return new StatementLine(
+                lineNumber,
+                field(fields, referenceColumn),
+                field(fields, amountColumn),
+                field(fields, dateColumn)
+            );
+        }
+        return null;
+    }
+
+    private void readHeader() throws IOException {
+        String header;
+        do {
+            header = reader.readLine();
+            lineNumber++;
+            if (header == null) {
+                throw new IllegalArgumentException("Statement is empty");
+            }
+        } while (header.isBlank());
+
+        if (header.charAt(0) == '\uFEFF') {
+            header = header.substring(1);
+        }
+        delimiter = detectDelimiter(header);
+        List<String> columns = split(header);
+        for (int i = 0; i < columns.size(); i++) {
+            String column = columns.get(i).trim().toLowerCase(Locale.ROOT).replace(' ', '_');
+            if (referenceColumn < 0 && REFERENCE_COLUMNS.contains(column)) {
+                referenceColumn = i;
+            } else if (amountColumn < 0 && AMOUNT_COLUMNS.contains(column)) {
+                amountColumn = i;
+            } else if (dateColumn < 0 && DATE_COLUMNS.contains(column)) {
+                dateColumn = i;
+            }
+        }
+        if (referenceColumn < 0) {
+            throw new IllegalArgumentException("Statement header has no reference column");
+        }
+    }
+
+    private static char detectDelimiter(String header) {
+        char best = ',';
+        long bestCount = -1;
+        for (char candidate : new char[]{';', ',', '\t'}) {
+            long count = header.chars().filter(c -> c == candidate).count();
+            if (count > bestCount) {
+                best = candidate;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    private List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String field(List<String> fields, int column) {
+        if (column < 0 || column >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Parses a statement amount such as {@code 12,50}, {@code 1.234,56}, {@code 1,234.56} or
+     * {@code EUR -5.00}. The last separator is the decimal separator if one or two digits
+     * follow it; all other separators group thousands.
+     *
+     * @return the amount, or null if the value is missing or not a number
+     */
+    static BigDecimal parseAmount(String amount) {
+        if (amount == null) {
+            return null;
+        }
+        String value = amount.replaceAll("[^0-9,.\\-]", "");
+        boolean negative = value.startsWith("-");
+        value = value.replace("-", "");
+        int separator = Math.max(value.lastIndexOf(','), value.lastIndexOf('.'));
+        int decimals = value.length() - separator - 1;
+        String normalized = separator >= 0 && decimals >= 1 && decimals <= 2
+            ? value.substring(0, separator).replaceAll("[,.]", "") + "." + value.substring(separator + 1)
+            : value.replaceAll("[,.]", "");
+        if (normalized.isEmpty() || normalized.startsWith(".")) {
+            return null;
+        }
+        BigDecimal parsed = new BigDecimal(normalized);
+        return negative ? parsed.negate() : parsed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    record StatementLine(int lineNumber, String reference, String amount, String bookingDate) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.regattadesk.finance.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position of a finance list: the sort key and id of the last row of a page,
+ * encoded as URL-safe base64 of {@code id:sortKey}.
+ *
+ * Numeric cursors issued before keyset paging are still accepted as row offsets; the page
+ * they return carries a keyset cursor again, so clients move over on their next request.
+ *
+ * @param legacyOffset row offset of a numeric cursor; only meaningful if {@code id} is null
+ */
+record FinanceCursor(String sortKey, UUID id, int legacyOffset) {
+
+    FinanceCursor(String sortKey, UUID id) {
+        this(sortKey, id, 0);
+    }
+
+    /**
+     * @return true for a numeric offset cursor, false for a keyset position
+     */
+    boolean isLegacyOffset() {
+        return id == null;
+    }
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((id + ":" + sortKey).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return null for a missing or blank cursor (first page)
+     * @throws IllegalArgumentException if the cursor is neither a numeric offset nor was
+     *                                  produced by {@link #encode()}
+     */
+    static FinanceCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String trimmed = cursor.trim();
+        if (trimmed.chars().allMatch(Character::isDigit)) {
+            try {
+                return new FinanceCursor(null, null, Integer.parseInt(trimmed));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("cursor is invalid", e);
+            }
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(trimmed), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("cursor is invalid");
+            }
+            return new FinanceCursor(
+                decoded.substring(separator + 1),
+                UUID.fromString(decoded.substring(0, separator))
+            );
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("cursor is invalid", e);
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.regattadesk.finance.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Finance ledger export: one row per entry and invoice line, across regattas.
+ *
+ * Rows are read through a forward-only cursor of
+ * {@code regattadesk.finance.ledger-export.fetch-size} rows (a server-side cursor on
+ * PostgreSQL, which needs the read to run in a transaction) and written to the output
+ * stream as they arrive, so memory use does not depend on the size of the export. A slow
+ * client blocks the writer, which stops fetching until the client catches up.
+ *
+ * Entries are ordered by creation time and id; an entry on several invoices (for example
+ * a cancelled and a reissued one) has one row per invoice, an entry never invoiced one row
+ * without invoice columns.
+ */
+@ApplicationScoped
+public class FinanceLedgerExportService {
+
+    private static final Logger LOG = Logger.getLogger(FinanceLedgerExportService.class);
+
+    static final List<String> COLUMNS = List.of(
+        "regatta_id",
+        "regatta_name",
+        "entry_id",
+        "bib",
+        "club_id",
+        "club_name",
+        "crew_name",
+        "event_name",
+        "entry_status",
+        "payment_status",
+        "paid_at",
+        "paid_by",
+        "payment_reference",
+        "invoice_id",
+        "invoice_number",
+        "invoice_status",
+        "invoice_generated_at",
+        "invoice_paid_at",
+        "line_amount",
+        "currency"
+    );
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "regattadesk.finance.ledger-export.fetch-size", defaultValue = "500")
+    int fetchSize;
+
+    /**
+     * Validates a ledger export request.
+     *
+     * @param regattaIds regattas to export, or empty for all
+     * @param from       first entry creation date (UTC), or null
+     * @param to         last entry creation date (UTC, inclusive), or null
+     * @throws IllegalArgumentException if {@code from} is after {@code to}
+     */
+    public LedgerQuery query(List<UUID> regattaIds, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        List<UUID> ids = regattaIds == null
+            ? List.of()
+            : regattaIds.stream().filter(id -> id != null).distinct().toList();
+        return new LedgerQuery(ids, from, to);
+    }
+
+    /**
+     * Streams the ledger rows of the query to {@code out}. The output stream is flushed but
+     * not closed.
+     */
+    public void writeLedger(LedgerQuery query, LedgerFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        LedgerWriter ledgerWriter = format == LedgerFormat.NDJSON
+            ? new NdjsonLedgerWriter(objectMapper, writer)
+            : new CsvLedgerWriter(writer);
+        long rows = 0;
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(
+                     ledgerSql(query), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                stmt.setFetchSize(Math.max(1, fetchSize));
+                bindParams(stmt, query);
+                ledgerWriter.writeHeader();
+                try (ResultSet rs = stmt.executeQuery()) {
+                    Object[] values = new Object[COLUMNS.size()];
+                    while (rs.next()) {
+                        readRow(rs, values);
+                        ledgerWriter.writeRow(values);
+                        rows++;
+                    }
+                }
+                ledgerWriter.finish();
+                conn.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to export finance ledger", e);
+        }
+        writer.flush();
+        LOG.debugf("Exported %d finance ledger rows", rows);
+    }
+
+    private static String ledgerSql(LedgerQuery query) {
+        StringBuilder sql = new StringBuilder("""
+            SELECT
+                r.id AS regatta_id,
+                r.name AS regatta_name,
+                e.id AS entry_id,
+                e.bib,
+                cl.id AS club_id,
+                cl.name AS club_name,
+                cr.display_name AS crew_name,
+                ev.name AS event_name,
+                e.status AS entry_status,
+                e.payment_status,
+                e.paid_at,
+                e.paid_by,
+                e.payment_reference,
+                i.id AS invoice_id,
+                i.invoice_number,
+                i.status AS invoice_status,
+                i.generated_at AS invoice_generated_at,
+                i.paid_at AS invoice_paid_at,
+                ie.amount AS line_amount,
+                COALESCE(i.currency, r.currency) AS currency
+            FROM entries e
+            JOIN regattas r ON r.id = e.regatta_id
+            JOIN crews cr ON cr.id = e.crew_id
+            JOIN events ev ON ev.id = e.event_id
+            LEFT JOIN clubs cl
+                ON cl.id = COALESCE(e.billing_club_id, CASE WHEN cr.is_composite = FALSE THEN cr.club_id END)
+            LEFT JOIN invoice_entries ie ON ie.entry_id = e.id
+            LEFT JOIN invoices i ON i.id = ie.invoice_id
+            WHERE 1 = 1
+            """);
+        if (!query.regattaIds().isEmpty()) {
+            sql.append(" AND e.regatta_id IN (")
+                .append(String.join(", ", Collections.nCopies(query.regattaIds().size(), "?")))
+                .append(")");
+        }
+        if (query.from() != null) {
+            sql.append(" AND e.created_at >= ?");
+        }
+        if (query.to() != null) {
+            sql.append(" AND e.created_at < ?");
+        }
+        // Follows idx_entries_created_at (created_at, id)
+        sql.append(" ORDER BY e.created_at, e.id, ie.invoice_id");
+        return sql.toString();
+    }
+
+    private static void bindParams(PreparedStatement stmt, LedgerQuery query) throws SQLException {
+        List<Object> params = new ArrayList<>(query.regattaIds());
+        if (query.from() != null) {
+            params.add(Timestamp.from(query.from().atStartOfDay(ZoneOffset.UTC).toInstant()));
+        }
+        if (query.to() != null) {
+            params.add(Timestamp.from(query.to().plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant()));
+        }
+        for (int i = 0; i < params.size(); i++) {
+            stmt.setObject(i + 1, params.get(i));
+        }
+    }
+
+    private static void readRow(ResultSet rs, Object[] values) throws SQLException {
+        int index = 0;
+        values[index++] = rs.getObject("regatta_id");
+        values[index++] = rs.getString("regatta_name");
+        values[index++] = rs.getObject("entry_id");
+        int bib = rs.getInt("bib");
+        values[index++] = rs.wasNull() ? null : bib;
+        values[index++] = rs.getObject("club_id");
+        values[index++] = rs.getString("club_name");
+        values[index++] = rs.getString("crew_name");
+        values[index++] = rs.getString("event_name");
+        values[index++] = rs.getString("entry_status");
+        values[index++] = rs.getString("payment_status");
+        values[index++] = timestamp(rs, "paid_at");
+        values[index++] = rs.getString("paid_by");
+        values[index++] = rs.getString("payment_reference");
+        values[index++] = rs.getObject("invoice_id");
+        values[index++] = rs.getString("invoice_number");
+        values[index++] = rs.getString("invoice_status");
+        values[index++] = timestamp(rs, "invoice_generated_at");
+        values[index++] = timestamp(rs, "invoice_paid_at");
+        values[index++] = rs.getBigDecimal("line_amount");
+        values[index] = rs.getString("currency");
+    }
+
+    private static String timestamp(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp == null ? null : timestamp.toInstant().toString();
+    }
+
+    public enum LedgerFormat {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String mediaType;
+        private final String fileExtension;
+
+        LedgerFormat(String mediaType, String fileExtension) {
+            this.mediaType = mediaType;
+            this.fileExtension = fileExtension;
+        }
+
+        public String mediaType() {
+            return mediaType;
+        }
+
+        public String fileExtension() {
+            return fileExtension;
+        }
+
+        public static LedgerFormat fromValue(String value) {
+            if (value == null || value.isBlank()) {
+                return CSV;
+            }
+            String normalized = value.trim().toLowerCase(Locale.ROOT);
+            for (LedgerFormat format : values()) {
+                if (format.fileExtension.equals(normalized)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported ledger format: " + value);
+        }
+    }
+
+    /**
+     * A validated ledger export request; entry creation dates are taken in UTC.
+     */
+    public record LedgerQuery(List<UUID> regattaIds, LocalDate from, LocalDate to) {
+    }
+
+    private interface LedgerWriter {
+        void writeHeader() throws IOException;
+
+        void writeRow(Object[] values) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * RFC 4180 CSV with a header row; fields containing a comma, quote or line break are
+     * quoted.
+     */
+    private static final class CsvLedgerWriter implements LedgerWriter {
+        private final Writer writer;
+
+        private CsvLedgerWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void writeRow(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeField(values[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() {
+        }
+
+        private void writeField(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            String text = value instanceof BigDecimal amount ? amount.toPlainString() : value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    /**
+     * One JSON object per line, keyed by column name; amounts are JSON numbers.
+     */
+    private static final class NdjsonLedgerWriter implements LedgerWriter {
+        private final JsonGenerator generator;
+
+        private NdjsonLedgerWriter(ObjectMapper objectMapper, Writer writer) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Buffered output reaches the client when the writer's buffer fills, not per row
+            this.generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            // Rows are separated by the newline written after each object
+            this.generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+        }
+
+        @Override
+        public void writeHeader() {
+        }
+
+        @Override
+        public void writeRow(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                String name = COLUMNS.get(i);
+                if (value == null) {
+                    generator.writeNullField(name);
+                } else if (value instanceof BigDecimal amount) {
+                    generator.writeNumberField(name, amount);
+                } else if (value instanceof Integer number) {
+                    generator.writeNumberField(name, number);
+                } else {
+                    generator.writeStringField(name, value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+}
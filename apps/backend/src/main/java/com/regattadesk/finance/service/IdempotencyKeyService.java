@@ -0,0 +1,209 @@
+package com.regattadesk.finance.service;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Idempotency keys of finance operations, indexed by {@code (scope, actor, key)}.
+ *
+ * Each key stores the fingerprint of the request it was used for and a pointer to the
+ * operation's result, so a replay is one primary-key lookup plus one read of the result.
+ * Keys are recorded in the operation's transaction and expire after
+ * {@code regattadesk.finance.idempotency.ttl}; a scheduled sweep deletes expired keys.
+ * Reusing a key for a different request replaces it.
+ */
+@ApplicationScoped
+public class IdempotencyKeyService {
+
+    private static final Logger LOG = Logger.getLogger(IdempotencyKeyService.class);
+
+    public static final String BULK_PAYMENT_OPERATION = "payments.mark_bulk";
+    public static final String INVOICE_GENERATION_OPERATION = "invoices.generate";
+
+    @Inject
+    DataSource dataSource;
+
+    @ConfigProperty(name = "regattadesk.finance.idempotency.ttl", defaultValue = "P7D")
+    Duration ttl;
+
+    Clock clock = Clock.systemUTC();
+
+    /**
+     * Scope of an operation within one regatta.
+     */
+    public static String scope(String operation, UUID regattaId) {
+        return operation + ":" + regattaId;
+    }
+
+    /**
+     * SHA-256 hex digest of the given request parts, for use as a request fingerprint.
+     */
+    public static String fingerprint(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(String.join("|", parts).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to compute request fingerprint", e);
+        }
+    }
+
+    /**
+     * Finds the unexpired key, whatever request it was used for.
+     */
+    public Optional<StoredKey> find(String scope, String actor, String key) {
+        String sql = """
+            SELECT request_fingerprint, result_id, result_sequence
+            FROM idempotency_keys
+            WHERE scope = ? AND actor = ? AND idempotency_key = ? AND expires_at > ?
+            """;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, scope);
+            stmt.setString(2, actor);
+            stmt.setString(3, key);
+            stmt.setTimestamp(4, Timestamp.from(clock.instant()));
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                return Optional.of(new StoredKey(
+                    rs.getString("request_fingerprint"),
+                    (UUID) rs.getObject("result_id"),
+                    rs.getObject("result_sequence", Long.class)
+                ));
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to look up idempotency key", e);
+        }
+    }
+
+    /**
+     * Records a key on a connection of the current transaction (or the caller's own).
+     *
+     * @param resultSequence sequence number of the result event in stream {@code resultId},
+     *                       or null if {@code resultId} identifies the result itself
+     */
+    public void record(
+        Connection conn,
+        String scope,
+        String actor,
+        String key,
+        String requestFingerprint,
+        UUID resultId,
+        Long resultSequence
+    ) throws Exception {
+        Instant now = clock.instant();
+        try (PreparedStatement stmt = conn.prepareStatement(upsertSql(conn))) {
+            stmt.setString(1, scope);
+            stmt.setString(2, actor);
+            stmt.setString(3, key);
+            stmt.setString(4, requestFingerprint);
+            stmt.setObject(5, resultId);
+            if (resultSequence == null) {
+                stmt.setNull(6, Types.BIGINT);
+            } else {
+                stmt.setLong(6, resultSequence);
+            }
+            stmt.setTimestamp(7, Timestamp.from(now));
+            stmt.setTimestamp(8, Timestamp.from(now.plus(ttl)));
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Records a key within the current transaction.
+     */
+    public void record(
+        String scope,
+        String actor,
+        String key,
+        String requestFingerprint,
+        UUID resultId,
+        Long resultSequence
+    ) {
+        try (Connection conn = dataSource.getConnection()) {
+            record(conn, scope, actor, key, requestFingerprint, resultId, resultSequence);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to record idempotency key", e);
+        }
+    }
+
+    public int purgeExpired(Instant now) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM idempotency_keys WHERE expires_at <= ?")) {
+            stmt.setTimestamp(1, Timestamp.from(now));
+            return stmt.executeUpdate();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to purge expired idempotency keys", e);
+        }
+    }
+
+    @Scheduled(
+        cron = "{regattadesk.finance.idempotency.cleanup.cron:0 30 * * * ?}",
+        identity = "finance-idempotency-key-cleanup",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    void sweep() {
+        try {
+            int purged = purgeExpired(clock.instant());
+            if (purged > 0) {
+                LOG.infof("Purged %d expired idempotency keys", purged);
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Failed to purge expired idempotency keys", e);
+        }
+    }
+
+    private String upsertSql(Connection conn) throws Exception {
+        if (conn.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres")) {
+            return """
+                INSERT INTO idempotency_keys (
+                    scope, actor, idempotency_key, request_fingerprint, result_id, result_sequence,
+                    created_at, expires_at
+                ) VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                ON CONFLICT (scope, actor, idempotency_key) DO UPDATE SET
+                    request_fingerprint = EXCLUDED.request_fingerprint,
+                    result_id = EXCLUDED.result_id,
+                    result_sequence = EXCLUDED.result_sequence,
+                    created_at = EXCLUDED.created_at,
+                    expires_at = EXCLUDED.expires_at
+                """;
+        }
+        return """
+            MERGE INTO idempotency_keys (
+                scope, actor, idempotency_key, request_fingerprint, result_id, result_sequence,
+                created_at, expires_at
+            ) KEY (scope, actor, idempotency_key)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    }
+
+    /**
+     * A recorded key: the request it was used for and where its result is stored.
+     */
+    public record StoredKey(String requestFingerprint, UUID resultId, Long resultSequence) {
+
+        public boolean matches(String fingerprint) {
+            return requestFingerprint.equals(fingerprint);
+        }
+    }
+}
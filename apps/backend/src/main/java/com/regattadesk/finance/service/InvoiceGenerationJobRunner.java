@@ -0,0 +1,409 @@
+package com.regattadesk.finance.service;
+
+import com.regattadesk.finance.event.InvoiceGenerationJobStatus;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Database-backed queue of invoice generation jobs, shared by all replicas.
+ *
+ * Each replica claims pending jobs with {@code SELECT ... FOR UPDATE SKIP LOCKED}, so
+ * concurrent claims never block on or double-claim a job, and runs at most
+ * {@code regattadesk.finance.invoice-generation.max-concurrent-jobs} of them at a time.
+ * A claimed job is held under a lease that the replica renews while the job runs; a job
+ * whose lease expires, because its replica stopped, is claimed again by any replica. Club
+ * invoices only commit while their replica still holds the lease, so a stalled replica
+ * whose job was reclaimed stops at its next invoice instead of invoicing entries twice.
+ *
+ * A failed attempt is retried after an exponential backoff until
+ * {@code regattadesk.finance.invoice-generation.max-attempts} attempts have been made. Jobs
+ * interrupted by a shutdown are released without counting the attempt, so a rolling deploy
+ * hands them to the remaining replicas straight away.
+ */
+@ApplicationScoped
+public class InvoiceGenerationJobRunner {
+
+    private static final Logger LOG = Logger.getLogger(InvoiceGenerationJobRunner.class);
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    InvoiceService invoiceService;
+
+    @ConfigProperty(name = "regattadesk.finance.invoice-generation.max-concurrent-jobs", defaultValue = "2")
+    int maxConcurrentJobs;
+
+    @ConfigProperty(name = "regattadesk.finance.invoice-generation.max-attempts", defaultValue = "3")
+    int maxAttempts;
+
+    @ConfigProperty(name = "regattadesk.finance.invoice-generation.lease-duration", defaultValue = "PT1M")
+    Duration leaseDuration;
+
+    @ConfigProperty(name = "regattadesk.finance.invoice-generation.retry-backoff", defaultValue = "PT5S")
+    Duration retryBackoff;
+
+    @ConfigProperty(name = "regattadesk.finance.invoice-generation.max-retry-backoff", defaultValue = "PT5M")
+    Duration maxRetryBackoff;
+
+    Clock clock = Clock.systemUTC();
+
+    private final String leaseOwner = "invoice-runner-" + UUID.randomUUID();
+    private final Set<UUID> runningJobs = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock pollLock = new ReentrantLock();
+    private final ExecutorService jobExecutor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("invoice-job-", 0).factory());
+    private Semaphore jobSlots;
+
+    @PostConstruct
+    void initJobSlots() {
+        jobSlots = new Semaphore(Math.max(1, maxConcurrentJobs));
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        jobExecutor.shutdownNow();
+    }
+
+    /**
+     * Polls for claimable jobs in the background, for example right after a job was queued.
+     */
+    public void wakeUp() {
+        try {
+            jobExecutor.submit(this::poll);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the remaining replicas pick the job up
+        }
+    }
+
+    @Scheduled(
+        every = "{regattadesk.finance.invoice-generation.poll-interval:5s}",
+        identity = "finance-invoice-generation-poll",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    void poll() {
+        try {
+            pollJobs();
+        } catch (RuntimeException e) {
+            LOG.error("Failed to poll invoice generation jobs", e);
+        }
+    }
+
+    @Scheduled(
+        every = "{regattadesk.finance.invoice-generation.heartbeat-interval:15s}",
+        identity = "finance-invoice-generation-heartbeat",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    void heartbeat() {
+        if (runningJobs.isEmpty()) {
+            return;
+        }
+        try {
+            renewLeases();
+        } catch (RuntimeException e) {
+            LOG.error("Failed to renew invoice generation job leases", e);
+        }
+    }
+
+    /**
+     * Claims as many jobs as this replica has free slots for and starts them.
+     *
+     * @return the number of jobs started
+     */
+    public int pollJobs() {
+        pollLock.lock();
+        try {
+            int freeSlots = jobSlots.availablePermits();
+            if (freeSlots == 0) {
+                return 0;
+            }
+            List<ClaimedJob> claimed = claimJobs(freeSlots);
+            for (ClaimedJob job : claimed) {
+                jobSlots.acquireUninterruptibly();
+                runningJobs.add(job.jobId());
+                jobExecutor.submit(() -> run(job));
+            }
+            return claimed.size();
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    private void run(ClaimedJob job) {
+        try {
+            invoiceService.generateInvoices(
+                job.jobId(), job.regattaId(), job.requestedClubIds(), job.requestedBy(), leaseOwner);
+            finish(job, InvoiceGenerationJobStatus.COMPLETED, null);
+        } catch (InvoiceService.GenerationLeaseLostException e) {
+            // The job's new owner finishes it; its attempt skips the entries invoiced so far
+            LOG.warnf("Lost the lease of invoice generation job %s while it ran", job.jobId());
+        } catch (InterruptedException e) {
+            release(job);
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            String message = InvoiceService.rootCauseMessage(e);
+            if (job.attempt() < maxAttempts) {
+                Duration backoff = backoff(job.attempt());
+                LOG.warnf(e, "Invoice generation job %s failed on attempt %d, retrying in %s",
+                    job.jobId(), job.attempt(), backoff);
+                retry(job, backoff, message);
+            } else {
+                LOG.errorf(e, "Invoice generation job %s failed after %d attempts", job.jobId(), job.attempt());
+                finish(job, InvoiceGenerationJobStatus.FAILED, message);
+            }
+        } finally {
+            runningJobs.remove(job.jobId());
+            jobSlots.release();
+        }
+        wakeUp();
+    }
+
+    Duration backoff(int attempt) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(Math.max(attempt - 1, 0), 20));
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+
+    /**
+     * Claims up to {@code limit} jobs: pending jobs that are due, and running jobs whose lease
+     * has expired. A reclaimed job that already used all its attempts is failed instead.
+     * Jobs of a regatta that already has a job running under an unexpired lease are left for
+     * a later poll, and at most one job per regatta is claimed at a time, so a regatta's jobs
+     * run one after another.
+     */
+    private List<ClaimedJob> claimJobs(int limit) {
+        Instant now = clock.instant();
+        List<ClaimedJob> claimed = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<ClaimedJob> candidates = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement("""
+                         SELECT j.job_id, j.regatta_id, j.requested_by, j.requested_club_ids_json, j.attempts
+                         FROM invoice_generation_jobs j
+                         WHERE ((j.status = 'pending' AND (j.next_attempt_at IS NULL OR j.next_attempt_at <= ?))
+                             OR (j.status = 'running' AND (j.lease_expires_at IS NULL OR j.lease_expires_at <= ?)))
+                           AND NOT EXISTS (
+                               SELECT 1
+                               FROM invoice_generation_jobs r
+                               WHERE r.regatta_id = j.regatta_id
+                                 AND r.status = 'running'
+                                 AND r.lease_expires_at > ?
+                           )
+                         ORDER BY j.created_at, j.job_id
+                         LIMIT ?
+                         FOR UPDATE SKIP LOCKED
+                         """)) {
+                    stmt.setTimestamp(1, Timestamp.from(now));
+                    stmt.setTimestamp(2, Timestamp.from(now));
+                    stmt.setTimestamp(3, Timestamp.from(now));
+                    stmt.setInt(4, limit);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            candidates.add(new ClaimedJob(
+                                (UUID) rs.getObject("job_id"),
+                                (UUID) rs.getObject("regatta_id"),
+                                rs.getString("requested_by"),
+                                invoiceService.readUuidList(rs.getString("requested_club_ids_json")),
+                                rs.getInt("attempts") + 1
+                            ));
+                        }
+                    }
+                }
+
+                try (PreparedStatement claimStmt = conn.prepareStatement("""
+                         UPDATE invoice_generation_jobs
+                         SET status = 'running', attempts = ?, lease_owner = ?, lease_expires_at = ?,
+                             next_attempt_at = NULL, updated_at = ?
+                         WHERE job_id = ?
+                         """);
+                     PreparedStatement abandonStmt = conn.prepareStatement("""
+                         UPDATE invoice_generation_jobs
+                         SET status = 'failed', error_message = ?, lease_owner = NULL, lease_expires_at = NULL,
+                             completed_at = ?, updated_at = ?
+                         WHERE job_id = ?
+                         """)) {
+                    Set<UUID> claimedRegattas = new HashSet<>();
+                    for (ClaimedJob job : candidates) {
+                        if (job.attempt() > maxAttempts) {
+                            abandonStmt.setString(1, "Invoice generation was abandoned after " + maxAttempts + " attempts");
+                            abandonStmt.setTimestamp(2, Timestamp.from(now));
+                            abandonStmt.setTimestamp(3, Timestamp.from(now));
+                            abandonStmt.setObject(4, job.jobId());
+                            abandonStmt.addBatch();
+                            LOG.warnf("Invoice generation job %s abandoned after %d attempts", job.jobId(), maxAttempts);
+                            continue;
+                        }
+                        if (!claimedRegattas.add(job.regattaId())) {
+                            continue;
+                        }
+                        claimStmt.setInt(1, job.attempt());
+                        claimStmt.setString(2, leaseOwner);
+                        claimStmt.setTimestamp(3, Timestamp.from(now.plus(leaseDuration)));
+                        claimStmt.setTimestamp(4, Timestamp.from(now));
+                        claimStmt.setObject(5, job.jobId());
+                        claimStmt.addBatch();
+                        claimed.add(job);
+                    }
+                    claimStmt.executeBatch();
+                    abandonStmt.executeBatch();
+                }
+                conn.commit();
+            } catch (Exception e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to claim invoice generation jobs", e);
+        }
+        return claimed;
+    }
+
+    private void renewLeases() {
+        Instant now = clock.instant();
+        String sql = """
+            UPDATE invoice_generation_jobs
+            SET lease_expires_at = ?, updated_at = ?
+            WHERE lease_owner = ? AND status = 'running'
+            """;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.from(now.plus(leaseDuration)));
+            stmt.setTimestamp(2, Timestamp.from(now));
+            stmt.setString(3, leaseOwner);
+            stmt.executeUpdate();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to renew invoice generation job leases", e);
+        }
+    }
+
+    /**
+     * Completes or fails the job with all invoices its attempts created. Ignored if the lease
+     * was lost to another replica, which then owns the outcome.
+     */
+    private void finish(ClaimedJob job, InvoiceGenerationJobStatus status, String errorMessage) {
+        Instant now = clock.instant();
+        try (Connection conn = dataSource.getConnection()) {
+            List<UUID> invoiceIds = loadJobInvoiceIds(conn, job.jobId());
+            try (PreparedStatement stmt = conn.prepareStatement("""
+                     UPDATE invoice_generation_jobs
+                     SET status = ?, invoice_ids_json = ?, error_message = ?, completed_at = ?,
+                         lease_owner = NULL, lease_expires_at = NULL, updated_at = ?
+                     WHERE job_id = ? AND lease_owner = ?
+                     """)) {
+                stmt.setString(1, status.value());
+                stmt.setString(2, invoiceService.toJson(invoiceIds));
+                if (errorMessage == null || errorMessage.isBlank()) {
+                    stmt.setNull(3, Types.CLOB);
+                } else {
+                    stmt.setString(3, errorMessage);
+                }
+                stmt.setTimestamp(4, Timestamp.from(now));
+                stmt.setTimestamp(5, Timestamp.from(now));
+                stmt.setObject(6, job.jobId());
+                stmt.setString(7, leaseOwner);
+                if (stmt.executeUpdate() == 0) {
+                    LOG.warnf("Lost the lease of invoice generation job %s before it finished", job.jobId());
+                }
+            }
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to finish invoice generation job %s", job.jobId());
+        }
+    }
+
+    private void retry(ClaimedJob job, Duration backoff, String errorMessage) {
+        Instant now = clock.instant();
+        String sql = """
+            UPDATE invoice_generation_jobs
+            SET status = 'pending', error_message = ?, next_attempt_at = ?,
+                lease_owner = NULL, lease_expires_at = NULL, updated_at = ?
+            WHERE job_id = ? AND lease_owner = ?
+            """;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, errorMessage);
+            stmt.setTimestamp(2, Timestamp.from(now.plus(backoff)));
+            stmt.setTimestamp(3, Timestamp.from(now));
+            stmt.setObject(4, job.jobId());
+            stmt.setString(5, leaseOwner);
+            stmt.executeUpdate();
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to schedule retry of invoice generation job %s", job.jobId());
+        }
+    }
+
+    /**
+     * Hands an interrupted job back to the queue without counting the attempt.
+     */
+    private void release(ClaimedJob job) {
+        Instant now = clock.instant();
+        String sql = """
+            UPDATE invoice_generation_jobs
+            SET status = 'pending', attempts = attempts - 1, next_attempt_at = NULL,
+                lease_owner = NULL, lease_expires_at = NULL, updated_at = ?
+            WHERE job_id = ? AND lease_owner = ?
+            """;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.from(now));
+            stmt.setObject(2, job.jobId());
+            stmt.setString(3, leaseOwner);
+            stmt.executeUpdate();
+            LOG.infof("Released interrupted invoice generation job %s", job.jobId());
+        } catch (Exception e) {
+            // The lease expires and another replica reclaims the job
+            LOG.warnf(e, "Failed to release invoice generation job %s", job.jobId());
+        }
+    }
+
+    private static List<UUID> loadJobInvoiceIds(Connection conn, UUID jobId) throws SQLException {
+        List<UUID> invoiceIds = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT id FROM invoices WHERE generation_job_id = ? ORDER BY invoice_number")) {
+            stmt.setObject(1, jobId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    invoiceIds.add((UUID) rs.getObject("id"));
+                }
+            }
+        }
+        return invoiceIds;
+    }
+
+    private record ClaimedJob(
+        UUID jobId,
+        UUID regattaId,
+        String requestedBy,
+        List<UUID> requestedClubIds,
+        int attempt
+    ) {
+    }
+}
@@ -0,0 +1,269 @@
+package com.regattadesk.finance.service;
+
+import com.regattadesk.pdf.InvoicePdfGenerator;
+import com.regattadesk.pdf.InvoicePdfGenerator.InvoiceDocument;
+import com.regattadesk.pdf.InvoicePdfGenerator.InvoiceLine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Printable invoice PDFs, one at a time or as a ZIP bundle.
+ *
+ * Invoice content is loaded up front with one query for the invoices and one for their
+ * lines. A bundle renders its invoices in parallel, at most
+ * {@code regattadesk.finance.invoice-pdf.max-concurrency} at a time across all downloads,
+ * and writes each PDF to the ZIP stream in invoice number order as soon as it is ready;
+ * only the PDFs rendered ahead of the one being written are held in memory.
+ */
+@ApplicationScoped
+public class InvoicePdfService {
+
+    private static final Logger LOG = Logger.getLogger(InvoicePdfService.class);
+
+    static final Locale DEFAULT_LOCALE = Locale.ENGLISH;
+
+    @Inject
+    DataSource dataSource;
+
+    @ConfigProperty(name = "regattadesk.finance.invoice-pdf.max-concurrency", defaultValue = "4")
+    int maxConcurrency;
+
+    Clock clock = Clock.systemUTC();
+
+    private final ExecutorService renderExecutor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("invoice-pdf-", 0).factory());
+    private Semaphore renderPermits;
+
+    @PostConstruct
+    void initRenderPermits() {
+        renderPermits = new Semaphore(Math.max(1, maxConcurrency));
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        renderExecutor.shutdownNow();
+    }
+
+    /**
+     * Renders one invoice.
+     *
+     * @return empty if the regatta or the invoice does not exist
+     */
+    public Optional<byte[]> renderInvoice(UUID regattaId, UUID invoiceId) {
+        return loadBundle(regattaId, List.of(invoiceId))
+            .filter(bundle -> !bundle.invoices().isEmpty())
+            .map(bundle -> {
+                try {
+                    return InvoicePdfGenerator.generateInvoicePdf(
+                        bundle.invoices().get(0), DEFAULT_LOCALE, bundle.timeZone(), clock);
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to render invoice PDF", e);
+                }
+            });
+    }
+
+    /**
+     * Loads the content of the given invoices of a regatta; ids of other regattas' or
+     * missing invoices are skipped.
+     *
+     * @return empty if the regatta does not exist
+     */
+    public Optional<InvoiceBundle> loadBundle(UUID regattaId, List<UUID> invoiceIds) {
+        try (Connection conn = dataSource.getConnection()) {
+            String regattaName;
+            ZoneId timeZone;
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT name, time_zone FROM regattas WHERE id = ?")) {
+                stmt.setObject(1, regattaId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) {
+                        return Optional.empty();
+                    }
+                    regattaName = rs.getString("name");
+                    timeZone = ZoneId.of(rs.getString("time_zone"));
+                }
+            }
+            if (invoiceIds.isEmpty()) {
+                return Optional.of(new InvoiceBundle(timeZone, List.of()));
+            }
+
+            Map<UUID, List<InvoiceLine>> linesByInvoiceId = loadLines(conn, regattaId, invoiceIds);
+            List<InvoiceDocument> invoices = new ArrayList<>(invoiceIds.size());
+            StringBuilder sql = new StringBuilder("""
+                SELECT i.id, i.invoice_number, i.currency, i.total_amount, i.generated_at, i.paid_at,
+                       c.name AS club_name
+                FROM invoices i
+                LEFT JOIN clubs c ON c.id = i.club_id
+                WHERE i.regatta_id = ? AND i.id IN (
+                """);
+            appendPlaceholders(sql, invoiceIds.size());
+            sql.append(") ORDER BY i.invoice_number");
+            try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+                bindIds(stmt, regattaId, invoiceIds);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        invoices.add(new InvoiceDocument(
+                            regattaName,
+                            rs.getString("invoice_number"),
+                            rs.getString("club_name"),
+                            rs.getString("currency"),
+                            rs.getBigDecimal("total_amount"),
+                            toInstant(rs.getTimestamp("generated_at")),
+                            toInstant(rs.getTimestamp("paid_at")),
+                            linesByInvoiceId.getOrDefault((UUID) rs.getObject("id"), List.of())
+                        ));
+                    }
+                }
+            }
+            return Optional.of(new InvoiceBundle(timeZone, invoices));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load invoices for PDF rendering", e);
+        }
+    }
+
+    /**
+     * Renders the bundle's invoices in parallel and streams them into a ZIP archive, one
+     * {@code <invoice number>.pdf} entry per invoice. The output stream is finished but not
+     * closed.
+     */
+    public void writeBundle(InvoiceBundle bundle, OutputStream out) throws IOException {
+        List<InvoiceDocument> invoices = bundle.invoices();
+        int window = Math.max(1, maxConcurrency);
+        Deque<Future<byte[]>> rendering = new ArrayDeque<>(window);
+        int submitted = 0;
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        // PDF streams are already compressed
+        zip.setLevel(Deflater.BEST_SPEED);
+        try {
+            for (InvoiceDocument invoice : invoices) {
+                while (submitted < invoices.size() && rendering.size() < window) {
+                    InvoiceDocument next = invoices.get(submitted++);
+                    rendering.add(renderExecutor.submit(() -> render(next, bundle.timeZone())));
+                }
+                byte[] pdf = await(rendering.poll(), invoice);
+                zip.putNextEntry(new ZipEntry(fileName(invoice)));
+                zip.write(pdf);
+                zip.closeEntry();
+            }
+            zip.finish();
+        } finally {
+            rendering.forEach(future -> future.cancel(true));
+        }
+        LOG.debugf("Wrote invoice PDF bundle with %d invoices", invoices.size());
+    }
+
+    private byte[] render(InvoiceDocument invoice, ZoneId timeZone) throws Exception {
+        renderPermits.acquire();
+        try {
+            return InvoicePdfGenerator.generateInvoicePdf(invoice, DEFAULT_LOCALE, timeZone, clock);
+        } finally {
+            renderPermits.release();
+        }
+    }
+
+    private static byte[] await(Future<byte[]> future, InvoiceDocument invoice) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while rendering invoice " + invoice.invoiceNumber());
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to render invoice " + invoice.invoiceNumber(), e.getCause());
+        }
+    }
+
+    static String fileName(InvoiceDocument invoice) {
+        return invoice.invoiceNumber().replaceAll("[^A-Za-z0-9-]", "-") + ".pdf";
+    }
+
+    private Map<UUID, List<InvoiceLine>> loadLines(Connection conn, UUID regattaId, List<UUID> invoiceIds) throws Exception {
+        Map<UUID, List<InvoiceLine>> linesByInvoiceId = new HashMap<>();
+        StringBuilder sql = new StringBuilder("""
+            SELECT ie.invoice_id, ie.amount, e.bib, cr.display_name AS crew_name, ev.name AS event_name
+            FROM invoice_entries ie
+            JOIN invoices i ON i.id = ie.invoice_id
+            LEFT JOIN entries e ON e.id = ie.entry_id
+            LEFT JOIN crews cr ON cr.id = e.crew_id
+            LEFT JOIN events ev ON ev.id = e.event_id
+            WHERE i.regatta_id = ? AND ie.invoice_id IN (
+            """);
+        appendPlaceholders(sql, invoiceIds.size());
+        sql.append(") ORDER BY ie.invoice_id, e.bib, ie.entry_id");
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            bindIds(stmt, regattaId, invoiceIds);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int bib = rs.getInt("bib");
+                    Integer nullableBib = rs.wasNull() ? null : bib;
+                    linesByInvoiceId.computeIfAbsent((UUID) rs.getObject("invoice_id"), ignored -> new ArrayList<>())
+                        .add(new InvoiceLine(
+                            nullableBib,
+                            rs.getString("crew_name"),
+                            rs.getString("event_name"),
+                            rs.getBigDecimal("amount")
+                        ));
+                }
+            }
+        }
+        return linesByInvoiceId;
+    }
+
+    private static void bindIds(PreparedStatement stmt, UUID regattaId, List<UUID> invoiceIds) throws Exception {
+        stmt.setObject(1, regattaId);
+        for (int i = 0; i < invoiceIds.size(); i++) {
+            stmt.setObject(i + 2, invoiceIds.get(i));
+        }
+    }
+
+    private static void appendPlaceholders(StringBuilder sql, int count) {
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("?");
+        }
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+
+    /**
+     * Invoices to render, in invoice number order, with the regatta's time zone.
+     */
+    public record InvoiceBundle(ZoneId timeZone, List<InvoiceDocument> invoices) {
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.regattadesk.eventstore.DomainEvent;
 import com.regattadesk.eventstore.EventMetadata;
 import com.regattadesk.eventstore.EventStore;
+import com.regattadesk.finance.event.FinanceProjectionHandler;
 import com.regattadesk.finance.event.InvoiceGeneratedEvent;
 import com.regattadesk.finance.event.InvoiceGenerationJob;
 import com.regattadesk.finance.event.InvoiceGenerationJobStatus;
@@ -18,11 +19,12 @@ import com.regattadesk.finance.model.InvoiceEntryLine;
 import com.regattadesk.finance.model.InvoiceRecord;
 import com.regattadesk.finance.model.InvoiceStatus;
 import com.regattadesk.finance.model.PaymentStatus;
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
-import org.jboss.logging.Logger;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import javax.sql.DataSource;
 import java.nio.charset.StandardCharsets;
@@ -30,15 +32,18 @@ import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.security.MessageDigest;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -49,11 +54,13 @@ import java.util.UUID;
 import java.util.HexFormat;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class InvoiceService {
-    private static final Logger LOG = Logger.getLogger(InvoiceService.class);
 
     private static final int DEFAULT_LIMIT = 20;
     private static final int MAX_LIMIT = 100;
@@ -72,11 +79,30 @@ public class InvoiceService {
     @Inject
     ObjectMapper objectMapper;
 
-    private final ExecutorService generationExecutor = Executors.newSingleThreadExecutor(new InvoiceThreadFactory());
+    @Inject
+    IdempotencyKeyService idempotencyKeys;
+
+    @Inject
+    FinanceProjectionHandler projectionHandler;
+
+    @Inject
+    InvoiceGenerationJobRunner jobRunner;
+
+    @ConfigProperty(name = "regattadesk.finance.invoice-generation.max-concurrency", defaultValue = "8")
+    int maxConcurrency;
+
+    private final ExecutorService generationExecutor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("invoice-generation-", 0).factory());
+    private Semaphore generationPermits;
+
+    @PostConstruct
+    void initGenerationPermits() {
+        generationPermits = new Semaphore(Math.max(1, maxConcurrency));
+    }
 
     public InvoiceListResult listInvoices(UUID regattaId, String cursor, Integer limit, UUID clubId, InvoiceStatus status) {
         int normalizedLimit = normalizeLimit(limit);
-        int offset = parseCursor(cursor);
+        FinanceCursor after = FinanceCursor.decode(cursor);
         List<InvoiceRecord> items = new ArrayList<>();
 
         StringBuilder sql = new StringBuilder("""
@@ -96,9 +122,18 @@ public class InvoiceService {
             sql.append(" AND status = ?");
             params.add(status.value());
         }
-        sql.append(" ORDER BY generated_at DESC, id DESC LIMIT ? OFFSET ?");
+        if (after != null && !after.isLegacyOffset()) {
+            // Keyset on idx_invoices_regatta (regatta_id, generated_at DESC, id DESC)
+            sql.append(" AND (generated_at, id) < (?, ?)");
+            params.add(Timestamp.from(parseCursorInstant(after)));
+            params.add(after.id());
+        }
+        sql.append(" ORDER BY generated_at DESC, id DESC LIMIT ?");
         params.add(normalizedLimit + 1);
-        params.add(offset);
+        if (after != null && after.isLegacyOffset()) {
+            sql.append(" OFFSET ?");
+            params.add(after.legacyOffset());
+        }
 
         try (Connection conn = dataSource.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
@@ -137,7 +172,12 @@ public class InvoiceService {
                     invoice.paymentReference()
                 ))
                 .toList();
-            return new InvoiceListResult(withEntries, hasMore ? String.valueOf(offset + normalizedLimit) : null);
+            String nextCursor = null;
+            if (hasMore) {
+                InvoiceRecord last = items.get(items.size() - 1);
+                nextCursor = new FinanceCursor(last.generatedAt().toString(), last.id()).encode();
+            }
+            return new InvoiceListResult(withEntries, nextCursor);
         } catch (Exception e) {
             throw new RuntimeException("Failed to list invoice entries", e);
         }
@@ -193,31 +233,59 @@ public class InvoiceService {
         Instant now = Instant.now();
         String clubIdsJson = toJson(normalizedClubIds);
 
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("""
-                 INSERT INTO invoice_generation_jobs (
-                     job_id, regatta_id, status, requested_by, idempotency_key,
-                     request_fingerprint, requested_club_ids_json, created_at, updated_at
-                 ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-                 """)) {
-            stmt.setObject(1, jobId);
-            stmt.setObject(2, regattaId);
-            stmt.setString(3, InvoiceGenerationJobStatus.PENDING.value());
-            stmt.setString(4, normalizedActor);
-            if (normalizedIdempotencyKey == null) {
-                stmt.setNull(5, Types.VARCHAR);
-            } else {
-                stmt.setString(5, normalizedIdempotencyKey);
-            }
-            stmt.setString(6, requestFingerprint);
-            if (clubIdsJson == null) {
-                stmt.setNull(7, Types.CLOB);
-            } else {
-                stmt.setString(7, clubIdsJson);
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement("""
+                     INSERT INTO invoice_generation_jobs (
+                         job_id, regatta_id, status, requested_by, idempotency_key,
+                         request_fingerprint, requested_club_ids_json, created_at, updated_at
+                     ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                     """)) {
+                stmt.setObject(1, jobId);
+                stmt.setObject(2, regattaId);
+                stmt.setString(3, InvoiceGenerationJobStatus.PENDING.value());
+                stmt.setString(4, normalizedActor);
+                if (normalizedIdempotencyKey == null) {
+                    stmt.setNull(5, Types.VARCHAR);
+                } else {
+                    stmt.setString(5, normalizedIdempotencyKey);
+                }
+                stmt.setString(6, requestFingerprint);
+                if (clubIdsJson == null) {
+                    stmt.setNull(7, Types.CLOB);
+                } else {
+                    stmt.setString(7, clubIdsJson);
+                }
+                stmt.setTimestamp(8, Timestamp.from(now));
+                stmt.setTimestamp(9, Timestamp.from(now));
+                stmt.executeUpdate();
+
+                if (normalizedIdempotencyKey != null) {
+                    idempotencyKeys.record(
+                        conn,
+                        IdempotencyKeyService.scope(IdempotencyKeyService.INVOICE_GENERATION_OPERATION, regattaId),
+                        normalizedActor,
+                        normalizedIdempotencyKey,
+                        requestFingerprint,
+                        jobId,
+                        null
+                    );
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                if (!isUniqueViolation(e)) {
+                    throw e;
+                }
+                // Same key and request as a job whose idempotency key has expired
+                return findJobByRequest(regattaId, normalizedActor, normalizedIdempotencyKey, requestFingerprint)
+                    .orElseThrow(() -> e);
+            } catch (Exception e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
-            stmt.setTimestamp(8, Timestamp.from(now));
-            stmt.setTimestamp(9, Timestamp.from(now));
-            stmt.executeUpdate();
         } catch (Exception e) {
             throw new RuntimeException("Failed to create invoice generation job", e);
         }
@@ -226,13 +294,14 @@ public class InvoiceService {
             new InvoiceGenerationRequestedEvent(jobId, regattaId, normalizedActor, normalizedClubIds, normalizedIdempotencyKey, now)
         ), normalizedActor);
 
-        generationExecutor.submit(() -> processGenerationJob(jobId, regattaId, normalizedClubIds, normalizedActor));
-        return new InvoiceGenerationJob(jobId, regattaId, InvoiceGenerationJobStatus.PENDING, List.of(), null, now, null);
+        jobRunner.wakeUp();
+        return new InvoiceGenerationJob(jobId, regattaId, InvoiceGenerationJobStatus.PENDING, List.of(), null, now, null, null, 0);
     }
 
     public Optional<InvoiceGenerationJob> getJob(UUID regattaId, UUID jobId) {
         String sql = """
-            SELECT job_id, regatta_id, status, invoice_ids_json, error_message, created_at, completed_at
+            SELECT job_id, regatta_id, status, invoice_ids_json, error_message, created_at, completed_at,
+                   total_clubs, processed_clubs
             FROM invoice_generation_jobs
             WHERE regatta_id = ? AND job_id = ?
             """;
@@ -251,7 +320,9 @@ public class InvoiceService {
                     readUuidList(rs.getString("invoice_ids_json")),
                     rs.getString("error_message"),
                     toInstant(rs.getTimestamp("created_at")),
-                    toInstant(rs.getTimestamp("completed_at"))
+                    toInstant(rs.getTimestamp("completed_at")),
+                    (Integer) rs.getObject("total_clubs"),
+                    rs.getInt("processed_clubs")
                 ));
             }
         } catch (Exception e) {
@@ -267,6 +338,34 @@ public class InvoiceService {
         Instant paidAt,
         String paymentReference,
         String actor
+    ) {
+        return markPaid(regattaId, invoiceId, paidBy, paidAt, paymentReference, actor, true);
+    }
+
+    /**
+     * Marks an invoice paid whose entries the caller has already marked paid, such as a
+     * bank statement reconciliation batch, so only the invoice itself is updated.
+     */
+    @Transactional
+    public InvoiceRecord markReconciledPaid(
+        UUID regattaId,
+        UUID invoiceId,
+        String paidBy,
+        Instant paidAt,
+        String paymentReference,
+        String actor
+    ) {
+        return markPaid(regattaId, invoiceId, paidBy, paidAt, paymentReference, actor, false);
+    }
+
+    private InvoiceRecord markPaid(
+        UUID regattaId,
+        UUID invoiceId,
+        String paidBy,
+        Instant paidAt,
+        String paymentReference,
+        String actor,
+        boolean markEntries
     ) {
         String normalizedPaidBy = normalizeRequiredText(paidBy, "paid_by");
         String normalizedActor = normalizeRequiredText(actor, "actor");
@@ -283,16 +382,28 @@ public class InvoiceService {
             throw new InvoiceConflictException("Cancelled invoices cannot be paid");
         }
 
-        for (InvoiceEntryLine line : invoice.entries()) {
-            paymentStatusService.updateEntryPaymentStatus(
-                regattaId,
-                line.entryId(),
-                PaymentStatus.PAID,
-                normalizedReference,
-                normalizedPaidBy
-            );
+        if (markEntries) {
+            for (InvoiceEntryLine line : invoice.entries()) {
+                paymentStatusService.updateEntryPaymentStatus(
+                    regattaId,
+                    line.entryId(),
+                    PaymentStatus.PAID,
+                    normalizedReference,
+                    normalizedPaidBy
+                );
+            }
         }
 
+        InvoiceMarkedPaidEvent event = new InvoiceMarkedPaidEvent(
+            invoiceId,
+            regattaId,
+            invoice.clubId(),
+            effectivePaidAt,
+            normalizedPaidBy,
+            normalizedReference,
+            invoice.status().value(),
+            invoice.totalAmount()
+        );
         Instant now = Instant.now();
         try (Connection conn = dataSource.getConnection();
              PreparedStatement stmt = conn.prepareStatement("""
@@ -312,13 +423,12 @@ public class InvoiceService {
             stmt.setObject(6, regattaId);
             stmt.setObject(7, invoiceId);
             stmt.executeUpdate();
+            projectionHandler.applyInvoiceMarkedPaid(conn, event);
         } catch (Exception e) {
             throw new RuntimeException("Failed to mark invoice paid", e);
         }
 
-        appendEvent(invoiceId, "Invoice", List.of(
-            new InvoiceMarkedPaidEvent(invoiceId, regattaId, invoice.clubId(), effectivePaidAt, normalizedPaidBy, normalizedReference)
-        ), normalizedActor);
+        appendEvent(invoiceId, "Invoice", List.of(event), normalizedActor);
 
         return getInvoice(regattaId, invoiceId)
             .orElseThrow(() -> new IllegalStateException("Invoice disappeared after mark-paid update"));
@@ -329,58 +439,121 @@ public class InvoiceService {
         generationExecutor.shutdownNow();
     }
 
-    private void processGenerationJob(UUID jobId, UUID regattaId, List<UUID> requestedClubIds, String actor) {
+    /**
+     * Runs one attempt of a claimed generation job: creates one invoice per club with
+     * invoiceable entries. Clubs are invoiced in parallel, at most
+     * {@code regattadesk.finance.invoice-generation.max-concurrency} at a time across all
+     * jobs, and each finished club is counted in the job's progress. A failed club fails the
+     * attempt once the other clubs are done; their invoices are kept and linked to the job.
+     *
+     * Invoiced entries are no longer candidates, so a retried attempt only invoices the clubs
+     * the previous attempts did not finish. Overlapping jobs for the same regatta may select
+     * the same candidates; each club invoice re-checks its entries once it holds the regatta's
+     * invoice number sequence, and leaves out the ones another job invoiced meanwhile. Each
+     * club invoice commits only while
+     * {@code leaseOwner} still holds the job's lease, so a replica whose lease expired and was
+     * reclaimed cannot invoice the same entries as the new owner.
+     *
+     * @return the invoices created by this attempt
+     * @throws GenerationLeaseLostException if the job was reclaimed by another lease owner
+     */
+    List<UUID> generateInvoices(
+        UUID jobId,
+        UUID regattaId,
+        List<UUID> requestedClubIds,
+        String actor,
+        String leaseOwner
+    ) throws Exception {
+        List<CandidateEntry> candidates = loadCandidates(regattaId, requestedClubIds);
+        RegattaPricing pricing = loadPricing(regattaId);
+
+        List<List<CandidateEntry>> clubs = candidates.stream()
+            .collect(Collectors.groupingBy(CandidateEntry::clubId))
+            .entrySet()
+            .stream()
+            .sorted(Comparator.comparing(entry -> entry.getKey().toString()))
+            .map(entry -> entry.getValue().stream()
+                .sorted(Comparator.comparing(CandidateEntry::entryId))
+                .toList())
+            .filter(clubEntries -> !clubEntries.isEmpty())
+            .toList();
+        updateJobClubs(jobId, clubs.size());
+        if (!clubs.isEmpty()) {
+            ensureInvoiceNumberSequence(regattaId);
+        }
+
+        List<Future<UUID>> futures = new ArrayList<>(clubs.size());
         try {
-            updateJobStatus(jobId, InvoiceGenerationJobStatus.RUNNING, null, null);
-            List<CandidateEntry> candidates = loadCandidates(regattaId, requestedClubIds);
-            BigDecimal entryFee = loadEntryFee(regattaId);
-            String currency = loadCurrency(regattaId);
-            List<UUID> invoiceIds = new ArrayList<>();
-
-            candidates.stream()
-                .collect(java.util.stream.Collectors.groupingBy(CandidateEntry::clubId))
-                .entrySet()
-                .stream()
-                .sorted(Comparator.comparing(entry -> entry.getKey().toString()))
-                .forEach(entry -> {
-                    UUID clubId = entry.getKey();
-                    List<CandidateEntry> clubEntries = entry.getValue().stream()
-                        .sorted(Comparator.comparing(CandidateEntry::entryId))
-                        .toList();
-                    if (clubEntries.isEmpty()) {
-                        return;
+            for (List<CandidateEntry> clubEntries : clubs) {
+                futures.add(generationExecutor.submit(() -> {
+                    generationPermits.acquire();
+                    try {
+                        UUID invoiceId = createInvoice(
+                            jobId, leaseOwner, regattaId, clubEntries.get(0).clubId(), clubEntries, pricing, actor);
+                        incrementJobProgress(jobId);
+                        return invoiceId;
+                    } finally {
+                        generationPermits.release();
                     }
-                    UUID invoiceId = createInvoice(regattaId, clubId, clubEntries, entryFee, currency, actor);
-                    invoiceIds.add(invoiceId);
-                });
+                }));
+            }
 
-            updateJobStatus(jobId, InvoiceGenerationJobStatus.COMPLETED, invoiceIds, null);
-        } catch (Exception e) {
-            LOG.errorf(e, "Invoice generation job %s failed", jobId);
-            updateJobStatus(jobId, InvoiceGenerationJobStatus.FAILED, List.of(), rootCauseMessage(e));
+            List<UUID> invoiceIds = new ArrayList<>(futures.size());
+            Throwable failure = null;
+            for (Future<UUID> future : futures) {
+                try {
+                    UUID invoiceId = future.get();
+                    if (invoiceId != null) {
+                        invoiceIds.add(invoiceId);
+                    }
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                }
+            }
+            if (failure instanceof Exception exception) {
+                throw exception;
+            }
+            if (failure != null) {
+                throw new RuntimeException("Failed to create invoice: " + rootCauseMessage(failure), failure);
+            }
+            return invoiceIds;
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
         }
     }
 
+    /**
+     * Creates the club's invoice for the given candidates.
+     *
+     * @return the invoice, or null if another job invoiced all of the candidates meanwhile
+     */
     private UUID createInvoice(
+        UUID jobId,
+        String leaseOwner,
         UUID regattaId,
         UUID clubId,
         List<CandidateEntry> clubEntries,
-        BigDecimal entryFee,
-        String currency,
+        RegattaPricing pricing,
         String actor
     ) {
         UUID invoiceId = UUID.randomUUID();
         Instant now = Instant.now();
+        BigDecimal entryFee = pricing.entryFee();
+        String currency = pricing.currency();
         BigDecimal totalAmount = entryFee.multiply(BigDecimal.valueOf(clubEntries.size()));
-        String invoiceNumber = nextInvoiceNumber(regattaId, invoiceId);
+        List<UUID> entryIds = clubEntries.stream().map(CandidateEntry::entryId).toList();
+        InvoiceGeneratedEvent event;
 
         try (Connection conn = dataSource.getConnection()) {
             conn.setAutoCommit(false);
             try (PreparedStatement invoiceStmt = conn.prepareStatement("""
                      INSERT INTO invoices (
                          id, regatta_id, club_id, invoice_number, total_amount, currency,
-                         status, generated_at, created_at, updated_at
-                     ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                         status, generated_at, created_at, updated_at, generation_job_id
+                     ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
                      """);
                  PreparedStatement entryStmt = conn.prepareStatement("""
                      INSERT INTO invoice_entries (invoice_id, entry_id, amount, created_at)
@@ -389,23 +562,56 @@ public class InvoiceService {
                 invoiceStmt.setObject(1, invoiceId);
                 invoiceStmt.setObject(2, regattaId);
                 invoiceStmt.setObject(3, clubId);
-                invoiceStmt.setString(4, invoiceNumber);
+                // Provisional unique number, replaced by the allocated one right before commit
+                invoiceStmt.setString(4, invoiceId.toString());
                 invoiceStmt.setBigDecimal(5, totalAmount);
                 invoiceStmt.setString(6, currency);
                 invoiceStmt.setString(7, InvoiceStatus.DRAFT.value());
                 invoiceStmt.setTimestamp(8, Timestamp.from(now));
                 invoiceStmt.setTimestamp(9, Timestamp.from(now));
                 invoiceStmt.setTimestamp(10, Timestamp.from(now));
+                invoiceStmt.setObject(11, jobId);
                 invoiceStmt.executeUpdate();
 
-                for (CandidateEntry clubEntry : clubEntries) {
+                for (UUID entryId : entryIds) {
                     entryStmt.setObject(1, invoiceId);
-                    entryStmt.setObject(2, clubEntry.entryId());
+                    entryStmt.setObject(2, entryId);
                     entryStmt.setBigDecimal(3, entryFee);
                     entryStmt.setTimestamp(4, Timestamp.from(now));
                     entryStmt.addBatch();
                 }
                 entryStmt.executeBatch();
+
+                checkGenerationLease(conn, jobId, leaseOwner);
+                String invoiceNumber = allocateInvoiceNumber(conn, regattaId, invoiceId, now);
+                // The sequence row lock orders this commit after every other invoice of the
+                // regatta, so entries they invoiced are visible now
+                Set<UUID> taken = removeEntriesInvoicedElsewhere(conn, invoiceId);
+                if (!taken.isEmpty()) {
+                    entryIds = entryIds.stream().filter(entryId -> !taken.contains(entryId)).toList();
+                    if (entryIds.isEmpty()) {
+                        conn.rollback();
+                        return null;
+                    }
+                    totalAmount = entryFee.multiply(BigDecimal.valueOf(entryIds.size()));
+                    try (PreparedStatement stmt = conn.prepareStatement(
+                             "UPDATE invoices SET total_amount = ? WHERE id = ?")) {
+                        stmt.setBigDecimal(1, totalAmount);
+                        stmt.setObject(2, invoiceId);
+                        stmt.executeUpdate();
+                    }
+                }
+                event = new InvoiceGeneratedEvent(
+                    invoiceId,
+                    regattaId,
+                    clubId,
+                    invoiceNumber,
+                    entryIds,
+                    totalAmount,
+                    currency,
+                    now
+                );
+                projectionHandler.applyInvoiceGenerated(conn, event);
                 conn.commit();
             } catch (Exception e) {
                 conn.rollback();
@@ -413,25 +619,81 @@ public class InvoiceService {
             } finally {
                 conn.setAutoCommit(true);
             }
+        } catch (GenerationLeaseLostException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to create invoice: " + rootCauseMessage(e), e);
         }
 
-        appendEvent(invoiceId, "Invoice", List.of(
-            new InvoiceGeneratedEvent(
-                invoiceId,
-                regattaId,
-                clubId,
-                invoiceNumber,
-                clubEntries.stream().map(CandidateEntry::entryId).toList(),
-                totalAmount,
-                currency,
-                now
-            )
-        ), actor);
+        appendEvent(invoiceId, "Invoice", List.of(event), actor);
         return invoiceId;
     }
 
+    /**
+     * Fences a club invoice against a reclaimed job: locks the job row in share mode if
+     * {@code leaseOwner} still holds its lease, so a concurrent reclaim waits for this commit.
+     * H2 has no share locks and takes the row lock exclusively.
+     */
+    private void checkGenerationLease(Connection conn, UUID jobId, String leaseOwner) throws SQLException {
+        boolean postgres = conn.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres");
+        String sql = """
+            SELECT job_id FROM invoice_generation_jobs
+            WHERE job_id = ? AND lease_owner = ?
+            """ + (postgres ? "FOR SHARE" : "FOR UPDATE");
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setObject(1, jobId);
+            stmt.setString(2, leaseOwner);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new GenerationLeaseLostException(
+                        "Lost the lease of invoice generation job " + jobId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the invoice's entries that are on another non-cancelled invoice by now.
+     *
+     * @return the removed entry IDs
+     */
+    private Set<UUID> removeEntriesInvoicedElsewhere(Connection conn, UUID invoiceId) throws SQLException {
+        Set<UUID> taken = new HashSet<>();
+        try (PreparedStatement stmt = conn.prepareStatement("""
+                 SELECT ie.entry_id
+                 FROM invoice_entries ie
+                 WHERE ie.invoice_id = ?
+                   AND EXISTS (
+                       SELECT 1
+                       FROM invoice_entries other
+                       JOIN invoices i ON i.id = other.invoice_id
+                       WHERE other.entry_id = ie.entry_id
+                         AND other.invoice_id <> ie.invoice_id
+                         AND i.status <> 'cancelled'
+                   )
+                 """)) {
+            stmt.setObject(1, invoiceId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    taken.add((UUID) rs.getObject("entry_id"));
+                }
+            }
+        }
+        if (taken.isEmpty()) {
+            return taken;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(
+                 "DELETE FROM invoice_entries WHERE invoice_id = ? AND entry_id = ?")) {
+            for (UUID entryId : taken) {
+                stmt.setObject(1, invoiceId);
+                stmt.setObject(2, entryId);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        return taken;
+    }
+
     private List<CandidateEntry> loadCandidates(UUID regattaId, List<UUID> requestedClubIds) {
         StringBuilder sql = new StringBuilder("""
             SELECT e.id, e.billing_club_id
@@ -475,16 +737,8 @@ public class InvoiceService {
         return entries;
     }
 
-    private BigDecimal loadEntryFee(UUID regattaId) {
-        return loadRegattaValue(regattaId, "entry_fee", rs -> rs.getBigDecimal("entry_fee"));
-    }
-
-    private String loadCurrency(UUID regattaId) {
-        return loadRegattaValue(regattaId, "currency", rs -> rs.getString("currency"));
-    }
-
-    private <T> T loadRegattaValue(UUID regattaId, String column, ResultReader<T> reader) {
-        String sql = "SELECT " + column + " FROM regattas WHERE id = ?";
+    private RegattaPricing loadPricing(UUID regattaId) {
+        String sql = "SELECT entry_fee, currency FROM regattas WHERE id = ?";
         try (Connection conn = dataSource.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setObject(1, regattaId);
@@ -492,77 +746,158 @@ public class InvoiceService {
                 if (!rs.next()) {
                     throw new IllegalArgumentException("Regatta not found");
                 }
-                return reader.read(rs);
+                return new RegattaPricing(rs.getBigDecimal("entry_fee"), rs.getString("currency"));
             }
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception e) {
-            throw new RuntimeException("Failed to load regatta " + column, e);
+            throw new RuntimeException("Failed to load regatta pricing", e);
         }
     }
 
-    private String nextInvoiceNumber(UUID regattaId, UUID invoiceId) {
-        String sql = "SELECT COUNT(*) AS c FROM invoices WHERE regatta_id = ?";
+    /**
+     * Creates the regatta's invoice number sequence if missing, continuing after its
+     * existing invoices. Runs before invoices are created in parallel so that allocation only
+     * has to increment an existing row.
+     */
+    private void ensureInvoiceNumberSequence(UUID regattaId) {
+        String sql = """
+            INSERT INTO invoice_number_sequences (regatta_id, last_number, updated_at)
+            SELECT ?, (SELECT COUNT(*) FROM invoices WHERE regatta_id = ?), ?
+            WHERE NOT EXISTS (SELECT 1 FROM invoice_number_sequences WHERE regatta_id = ?)
+            """;
         try (Connection conn = dataSource.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setObject(1, regattaId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                rs.next();
-                long next = rs.getLong("c") + 1;
-                return "INV-"
-                    + INVOICE_NUMBER_DATE.format(Instant.now())
-                    + "-"
-                    + regattaId.toString().substring(0, 8).toUpperCase(Locale.ROOT)
-                    + "-"
-                    + String.format(Locale.ROOT, "%04d", next)
-                    + "-"
-                    + invoiceId.toString().substring(0, 8).toUpperCase(Locale.ROOT);
+            stmt.setObject(2, regattaId);
+            stmt.setTimestamp(3, Timestamp.from(Instant.now()));
+            stmt.setObject(4, regattaId);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            // Created concurrently by another job
+            if (!isUniqueViolation(e)) {
+                throw new RuntimeException("Failed to create invoice number sequence", e);
             }
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to allocate invoice number", e);
         }
     }
 
-    private void updateJobStatus(UUID jobId, InvoiceGenerationJobStatus status, List<UUID> invoiceIds, String errorMessage) {
-        Instant now = Instant.now();
-        boolean terminal = status == InvoiceGenerationJobStatus.COMPLETED || status == InvoiceGenerationJobStatus.FAILED;
+    /**
+     * Takes the next number of the regatta's sequence within the caller's transaction and
+     * sets it on the invoice. Called at the end of the transaction: the increment locks the
+     * sequence row until commit, so concurrent club invoices only serialize on their final
+     * steps, and a rollback returns the number, so numbers are unique and gap-free.
+     */
+    private String allocateInvoiceNumber(Connection conn, UUID regattaId, UUID invoiceId, Instant now) throws SQLException {
+        long next = incrementInvoiceNumberSequence(conn, regattaId, now);
+        String invoiceNumber = "INV-"
+            + INVOICE_NUMBER_DATE.format(now)
+            + "-"
+            + regattaId.toString().substring(0, 8).toUpperCase(Locale.ROOT)
+            + "-"
+            + String.format(Locale.ROOT, "%04d", next)
+            + "-"
+            + invoiceId.toString().substring(0, 8).toUpperCase(Locale.ROOT);
+        try (PreparedStatement stmt = conn.prepareStatement(
+                 "UPDATE invoices SET invoice_number = ? WHERE id = ?")) {
+            stmt.setString(1, invoiceNumber);
+            stmt.setObject(2, invoiceId);
+            stmt.executeUpdate();
+        }
+        return invoiceNumber;
+    }
+
+    private long incrementInvoiceNumberSequence(Connection conn, UUID regattaId, Instant now) throws SQLException {
+        String sql = """
+            UPDATE invoice_number_sequences
+            SET last_number = last_number + 1, updated_at = ?
+            WHERE regatta_id = ?
+            """;
+        boolean postgres = conn.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres");
+        try (PreparedStatement stmt = conn.prepareStatement(postgres ? sql + "RETURNING last_number" : sql)) {
+            stmt.setTimestamp(1, Timestamp.from(now));
+            stmt.setObject(2, regattaId);
+            if (postgres) {
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getLong("last_number");
+                    }
+                }
+            } else if (stmt.executeUpdate() > 0) {
+                // The update holds the row lock, so the read sees this transaction's increment
+                try (PreparedStatement select = conn.prepareStatement(
+                         "SELECT last_number FROM invoice_number_sequences WHERE regatta_id = ?")) {
+                    select.setObject(1, regattaId);
+                    try (ResultSet rs = select.executeQuery()) {
+                        if (rs.next()) {
+                            return rs.getLong("last_number");
+                        }
+                    }
+                }
+            }
+        }
+        throw new IllegalStateException("Invoice number sequence missing for regatta " + regattaId);
+    }
+
+    /**
+     * Sets the job's club counts for a new attempt: the clubs invoiced by earlier attempts are
+     * already processed, the remaining ones are still to do.
+     */
+    private void updateJobClubs(UUID jobId, int remainingClubs) {
         String sql = """
             UPDATE invoice_generation_jobs
-            SET status = ?, invoice_ids_json = ?, error_message = ?, completed_at = ?, updated_at = ?
+            SET processed_clubs = (SELECT COUNT(*) FROM invoices WHERE generation_job_id = ?),
+                total_clubs = ? + (SELECT COUNT(*) FROM invoices WHERE generation_job_id = ?),
+                updated_at = ?
             WHERE job_id = ?
             """;
         try (Connection conn = dataSource.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, status.value());
-            String invoiceIdsJson = invoiceIds == null ? null : toJson(invoiceIds);
-            if (invoiceIdsJson == null) {
-                stmt.setNull(2, Types.CLOB);
-            } else {
-                stmt.setString(2, invoiceIdsJson);
-            }
-            if (errorMessage == null || errorMessage.isBlank()) {
-                stmt.setNull(3, Types.CLOB);
-            } else {
-                stmt.setString(3, errorMessage);
-            }
-            if (terminal) {
-                stmt.setTimestamp(4, Timestamp.from(now));
-            } else {
-                stmt.setNull(4, Types.TIMESTAMP);
-            }
-            stmt.setTimestamp(5, Timestamp.from(now));
-            stmt.setObject(6, jobId);
+            stmt.setObject(1, jobId);
+            stmt.setInt(2, remainingClubs);
+            stmt.setObject(3, jobId);
+            stmt.setTimestamp(4, Timestamp.from(Instant.now()));
+            stmt.setObject(5, jobId);
             stmt.executeUpdate();
         } catch (Exception e) {
             throw new RuntimeException("Failed to update invoice generation job", e);
         }
     }
 
+    private void incrementJobProgress(UUID jobId) {
+        String sql = """
+            UPDATE invoice_generation_jobs
+            SET processed_clubs = processed_clubs + 1, updated_at = ?
+            WHERE job_id = ?
+            """;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.from(Instant.now()));
+            stmt.setObject(2, jobId);
+            stmt.executeUpdate();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to update invoice generation job progress", e);
+        }
+    }
+
     private Optional<InvoiceGenerationJob> findJobByIdempotencyKey(
         UUID regattaId,
         String actor,
         String idempotencyKey,
         String requestFingerprint
+    ) {
+        return idempotencyKeys.find(
+                IdempotencyKeyService.scope(IdempotencyKeyService.INVOICE_GENERATION_OPERATION, regattaId),
+                actor,
+                idempotencyKey)
+            .filter(stored -> stored.matches(requestFingerprint))
+            .flatMap(stored -> getJob(regattaId, stored.resultId()));
+    }
+
+    private Optional<InvoiceGenerationJob> findJobByRequest(
+        UUID regattaId,
+        String actor,
+        String idempotencyKey,
+        String requestFingerprint
     ) {
         String sql = """
             SELECT job_id
@@ -571,8 +906,6 @@ public class InvoiceService {
               AND requested_by = ?
               AND idempotency_key = ?
               AND request_fingerprint = ?
-            ORDER BY created_at DESC
-            LIMIT 1
             """;
         try (Connection conn = dataSource.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -591,6 +924,10 @@ public class InvoiceService {
         }
     }
 
+    private static boolean isUniqueViolation(SQLException e) {
+        return "23505".equals(e.getSQLState()) || "23000".equals(e.getSQLState());
+    }
+
     private String computeRequestFingerprint(List<UUID> requestedClubIds) {
         String payload = requestedClubIds.stream()
             .map(UUID::toString)
@@ -706,14 +1043,11 @@ public class InvoiceService {
         return Math.max(1, Math.min(limit, MAX_LIMIT));
     }
 
-    private int parseCursor(String cursor) {
-        if (cursor == null || cursor.isBlank()) {
-            return 0;
-        }
+    private Instant parseCursorInstant(FinanceCursor cursor) {
         try {
-            return Math.max(Integer.parseInt(cursor.trim()), 0);
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("cursor must be a numeric offset");
+            return Instant.parse(cursor.sortKey());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("cursor is invalid", e);
         }
     }
 
@@ -746,7 +1080,7 @@ public class InvoiceService {
         return trimmed.isEmpty() ? null : trimmed;
     }
 
-    private String toJson(List<UUID> values) {
+    String toJson(List<UUID> values) {
         try {
             return objectMapper.writeValueAsString(values);
         } catch (Exception e) {
@@ -754,7 +1088,7 @@ public class InvoiceService {
         }
     }
 
-    private List<UUID> readUuidList(String json) {
+    List<UUID> readUuidList(String json) {
         if (json == null || json.isBlank()) {
             return List.of();
         }
@@ -770,7 +1104,7 @@ public class InvoiceService {
         return timestamp == null ? null : timestamp.toInstant();
     }
 
-    private String rootCauseMessage(Throwable throwable) {
+    static String rootCauseMessage(Throwable throwable) {
         Throwable cursor = throwable;
         while (cursor.getCause() != null) {
             cursor = cursor.getCause();
@@ -796,23 +1130,24 @@ public class InvoiceService {
         }
     }
 
+    /**
+     * The generation job was reclaimed by another lease owner while an attempt was running.
+     */
+    public static class GenerationLeaseLostException extends RuntimeException {
+        public GenerationLeaseLostException(String message) {
+            super(message);
+        }
+    }
+
     private record CandidateEntry(
         UUID entryId,
         UUID clubId
     ) {
     }
 
-    @FunctionalInterface
-    private interface ResultReader<T> {
-        T read(ResultSet rs) throws Exception;
-    }
-
-    private static final class InvoiceThreadFactory implements ThreadFactory {
-        @Override
-        public Thread newThread(Runnable runnable) {
-            Thread thread = new Thread(runnable, "invoice-generation-worker");
-            thread.setDaemon(true);
-            return thread;
-        }
+    private record RegattaPricing(
+        BigDecimal entryFee,
+        String currency
+    ) {
     }
 }
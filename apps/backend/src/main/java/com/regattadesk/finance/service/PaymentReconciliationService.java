@@ -0,0 +1,333 @@
+package com.regattadesk.finance.service;
+
+import com.regattadesk.finance.model.BulkPaymentMarkResult;
+import com.regattadesk.finance.model.InvoiceStatus;
+import com.regattadesk.finance.model.PaymentReconciliationResult;
+import com.regattadesk.finance.model.PaymentReconciliationResult.UnmatchedStatementLine;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Reconciles a bank statement against a regatta's invoices and entry payment references.
+ *
+ * The statement is read line by line and never held in memory. References are looked up in
+ * a hash index of the regatta's invoice numbers and entry payment references, built once per
+ * run: first the whole reference, then each of its words, so remittance text such as
+ * {@code "Invoice RD-2026-0004 Club X"} matches. A matched line only counts if its amount
+ * equals the invoice total, or the entry fee times the entries sharing the payment
+ * reference; missing, short, excess or negative amounts are reported as unmatched with reason
+ * {@code AMOUNT_MISMATCH}. Matched entries are marked paid through the bulk payment path in
+ * batches of {@code regattadesk.finance.reconciliation.batch-size}; matched invoices are
+ * marked paid once their entries are. Each batch commits on its own, so a failed run keeps the
+ * batches before it and can be repeated: entries already paid are left unchanged.
+ */
+@ApplicationScoped
+public class PaymentReconciliationService {
+
+    private static final Logger LOG = Logger.getLogger(PaymentReconciliationService.class);
+
+    private static final int MAX_REPORTED_UNMATCHED_LINES = 1000;
+    private static final int MAX_REFERENCE_LENGTH = 255;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[\\s,;:()\\[\\]]+");
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    PaymentStatusService paymentStatusService;
+
+    @Inject
+    InvoiceService invoiceService;
+
+    @ConfigProperty(name = "regattadesk.finance.reconciliation.batch-size", defaultValue = "500")
+    int batchSize;
+
+    public PaymentReconciliationResult reconcile(UUID regattaId, InputStream statement, String actor) {
+        String normalizedActor = (actor == null || actor.isBlank()) ? "unknown" : actor.trim();
+        ReferenceIndex index = loadReferenceIndex(regattaId);
+        Run run = new Run(regattaId, normalizedActor, Math.max(1, batchSize));
+
+        try (BankStatementReader reader = new BankStatementReader(statement)) {
+            BankStatementReader.StatementLine line;
+            while ((line = reader.next()) != null) {
+                run.totalLines++;
+                if (line.reference() == null) {
+                    run.unmatched(line, "NO_REFERENCE");
+                    continue;
+                }
+                Match match = index.match(line.reference());
+                if (match == null) {
+                    run.unmatched(line, "NO_MATCH");
+                    continue;
+                }
+                BigDecimal amount = BankStatementReader.parseAmount(line.amount());
+                if (amount == null || amount.compareTo(match.expectedAmount()) != 0) {
+                    run.unmatched(line, "AMOUNT_MISMATCH");
+                    continue;
+                }
+                run.matched(line, match);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read bank statement", e);
+        }
+        run.flush();
+
+        LOG.infof("Reconciled bank statement for regatta %s: %d lines, %d matched, %d entries updated",
+            regattaId, run.totalLines, run.matchedLines, run.updatedCount);
+        return new PaymentReconciliationResult(
+            run.totalLines,
+            run.matchedLines,
+            run.unmatchedCount,
+            run.updatedCount,
+            run.unchangedCount,
+            run.failedCount,
+            run.invoicesPaid,
+            List.copyOf(run.unmatchedLines),
+            run.unmatchedCount > run.unmatchedLines.size()
+        );
+    }
+
+    private ReferenceIndex loadReferenceIndex(UUID regattaId) {
+        Map<String, InvoiceMatch> invoices = new HashMap<>();
+        Map<String, EntryMatch> entries = new HashMap<>();
+        BigDecimal entryFee = BigDecimal.ZERO;
+        try (Connection conn = dataSource.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                     "SELECT entry_fee FROM regattas WHERE id = ?")) {
+                stmt.setObject(1, regattaId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next() && rs.getBigDecimal("entry_fee") != null) {
+                        entryFee = rs.getBigDecimal("entry_fee");
+                    }
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement("""
+                SELECT i.id, i.invoice_number, i.status, i.total_amount, ie.entry_id
+                FROM invoices i
+                JOIN invoice_entries ie ON ie.invoice_id = i.id
+                WHERE i.regatta_id = ? AND i.status <> 'cancelled'
+                """)) {
+                stmt.setObject(1, regattaId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        UUID invoiceId = (UUID) rs.getObject("id");
+                        InvoiceStatus status = InvoiceStatus.fromValue(rs.getString("status"));
+                        BigDecimal totalAmount = rs.getBigDecimal("total_amount");
+                        invoices.computeIfAbsent(normalizeReference(rs.getString("invoice_number")),
+                                number -> new InvoiceMatch(invoiceId, totalAmount, status == InvoiceStatus.PAID))
+                            .entryIds.add((UUID) rs.getObject("entry_id"));
+                    }
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement("""
+                SELECT id, payment_reference
+                FROM entries
+                WHERE regatta_id = ? AND payment_reference IS NOT NULL
+                """)) {
+                stmt.setObject(1, regattaId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        String reference = rs.getString("payment_reference");
+                        entries.computeIfAbsent(normalizeReference(reference), key -> new EntryMatch(reference))
+                            .entryIds.add((UUID) rs.getObject("id"));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load reconciliation references", e);
+        }
+        return new ReferenceIndex(invoices, entries, entryFee);
+    }
+
+    private static String normalizeReference(String reference) {
+        return reference == null ? "" : reference.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static Instant parseBookingDate(String bookingDate) {
+        if (bookingDate == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(bookingDate).atStartOfDay(ZoneOffset.UTC).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String truncate(String value) {
+        return value.length() <= MAX_REFERENCE_LENGTH ? value : value.substring(0, MAX_REFERENCE_LENGTH);
+    }
+
+    private record ReferenceIndex(
+        Map<String, InvoiceMatch> invoices,
+        Map<String, EntryMatch> entries,
+        BigDecimal entryFee
+    ) {
+
+        /**
+         * Looks up the whole reference, then its words; invoice numbers win over entry
+         * payment references.
+         */
+        Match match(String reference) {
+            Match match = lookup(normalizeReference(reference));
+            if (match != null) {
+                return match;
+            }
+            for (String word : WORD_SEPARATOR.split(reference)) {
+                match = lookup(normalizeReference(word));
+                if (match != null) {
+                    return match;
+                }
+            }
+            return null;
+        }
+
+        private Match lookup(String key) {
+            if (key.isEmpty()) {
+                return null;
+            }
+            InvoiceMatch invoice = invoices.get(key);
+            if (invoice != null) {
+                return new Match(invoice, invoice.entryIds, null, invoice.totalAmount);
+            }
+            EntryMatch entry = entries.get(key);
+            return entry == null
+                ? null
+                : new Match(null, entry.entryIds, entry.reference,
+                    entryFee.multiply(BigDecimal.valueOf(entry.entryIds.size())));
+        }
+    }
+
+    private static final class InvoiceMatch {
+        private final UUID invoiceId;
+        private final BigDecimal totalAmount;
+        private final List<UUID> entryIds = new ArrayList<>();
+        private boolean paid;
+
+        private InvoiceMatch(UUID invoiceId, BigDecimal totalAmount, boolean paid) {
+            this.invoiceId = invoiceId;
+            this.totalAmount = totalAmount;
+            this.paid = paid;
+        }
+    }
+
+    private static final class EntryMatch {
+        private final String reference;
+        private final List<UUID> entryIds = new ArrayList<>();
+
+        private EntryMatch(String reference) {
+            this.reference = reference;
+        }
+    }
+
+    /**
+     * Entries matched by a statement line. Entries matched on their own payment reference
+     * keep it; entries of a matched invoice take the statement reference, as the invoice does.
+     *
+     * @param expectedAmount amount the statement line has to pay
+     */
+    private record Match(InvoiceMatch invoice, List<UUID> entryIds, String entryReference, BigDecimal expectedAmount) {
+    }
+
+    /**
+     * State of one reconciliation: counters and the batch of matches not yet applied.
+     */
+    private final class Run {
+        private final UUID regattaId;
+        private final String actor;
+        private final int batchSize;
+        private final Map<UUID, String> pendingEntries = new LinkedHashMap<>();
+        private final Map<InvoiceMatch, BankStatementReader.StatementLine> pendingInvoices = new LinkedHashMap<>();
+        private final List<UnmatchedStatementLine> unmatchedLines = new ArrayList<>();
+        private int totalLines;
+        private int matchedLines;
+        private int unmatchedCount;
+        private int updatedCount;
+        private int unchangedCount;
+        private int failedCount;
+        private int invoicesPaid;
+
+        private Run(UUID regattaId, String actor, int batchSize) {
+            this.regattaId = regattaId;
+            this.actor = actor;
+            this.batchSize = batchSize;
+        }
+
+        void unmatched(BankStatementReader.StatementLine line, String reason) {
+            unmatchedCount++;
+            if (unmatchedLines.size() < MAX_REPORTED_UNMATCHED_LINES) {
+                unmatchedLines.add(new UnmatchedStatementLine(
+                    line.lineNumber(), line.reference(), line.amount(), reason));
+            }
+        }
+
+        void matched(BankStatementReader.StatementLine line, Match match) {
+            matchedLines++;
+            String reference = match.entryReference() != null
+                ? match.entryReference()
+                : truncate(line.reference());
+            for (UUID entryId : match.entryIds()) {
+                pendingEntries.putIfAbsent(entryId, reference);
+            }
+            if (match.invoice() != null && !match.invoice().paid) {
+                pendingInvoices.putIfAbsent(match.invoice(), line);
+            }
+            if (pendingEntries.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!pendingEntries.isEmpty()) {
+                BulkPaymentMarkResult result =
+                    paymentStatusService.markReconciledPayments(regattaId, pendingEntries, actor);
+                updatedCount += result.updatedCount();
+                unchangedCount += result.unchangedCount();
+                failedCount += result.failedCount();
+                pendingEntries.clear();
+            }
+            for (Map.Entry<InvoiceMatch, BankStatementReader.StatementLine> pending : pendingInvoices.entrySet()) {
+                InvoiceMatch invoice = pending.getKey();
+                BankStatementReader.StatementLine line = pending.getValue();
+                try {
+                    // The invoice's entries were marked paid with the batch above
+                    invoiceService.markReconciledPaid(
+                        regattaId,
+                        invoice.invoiceId,
+                        actor,
+                        parseBookingDate(line.bookingDate()),
+                        truncate(line.reference()),
+                        actor
+                    );
+                    invoicesPaid++;
+                } catch (InvoiceService.InvoiceConflictException e) {
+                    LOG.debugf("Invoice %s matched on line %d was already settled", invoice.invoiceId, line.lineNumber());
+                }
+                invoice.paid = true;
+            }
+            pendingInvoices.clear();
+        }
+    }
+}
@@ -5,8 +5,10 @@ import com.regattadesk.eventstore.DomainEvent;
 import com.regattadesk.eventstore.EventEnvelope;
 import com.regattadesk.eventstore.EventMetadata;
 import com.regattadesk.eventstore.EventStore;
+import com.regattadesk.eventstore.StreamAppend;
 import com.regattadesk.finance.FinanceClubSummary;
 import com.regattadesk.finance.FinanceEntrySummary;
+import com.regattadesk.finance.FinanceRegattaSummary;
 import com.regattadesk.finance.event.BulkPaymentStatusMarkedEvent;
 import com.regattadesk.finance.event.ClubPaymentStatusUpdateRequestedEvent;
 import com.regattadesk.finance.event.EntryPaymentStatusUpdatedEvent;
@@ -28,8 +30,10 @@ import java.sql.ResultSet;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
@@ -37,6 +41,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 @ApplicationScoped
 public class PaymentStatusService {
@@ -56,6 +61,9 @@ public class PaymentStatusService {
     @Inject
     ObjectMapper objectMapper;
 
+    @Inject
+    IdempotencyKeyService idempotencyKeys;
+
     public Optional<EntryPaymentStatusDetails> getEntryPaymentStatus(UUID regattaId, UUID entryId) {
         String sql = """
             SELECT
@@ -105,11 +113,12 @@ public class PaymentStatusService {
         String normalizedSearch = normalizeLikeFilter(search);
         String normalizedStatus = normalizeLowercaseText(paymentStatus);
         int normalizedLimit = normalizeDiscoveryLimit(limit);
-        int offset = parseCursor(cursor);
+        FinanceCursor after = decodeCursor(cursor);
         String sql = """
             SELECT
                 e.id AS entry_id,
                 c.display_name AS crew_name,
+                LOWER(c.display_name) AS sort_name,
                 COALESCE(billing_club.name, crew_club.name, 'Composite / Unassigned') AS club_name,
                 e.payment_status
             FROM entries e
@@ -123,9 +132,14 @@ public class PaymentStatusService {
                  OR LOWER(COALESCE(billing_club.name, crew_club.name, '')) LIKE ?
               )
               AND (? IS NULL OR e.payment_status = ?)
+            %s
             ORDER BY LOWER(c.display_name), e.id
-            LIMIT ? OFFSET ?
-            """;
+            LIMIT ?%s
+            """.formatted(
+                after != null && !after.isLegacyOffset() ? "AND (LOWER(c.display_name), e.id) > (?, ?)" : "",
+                after != null && after.isLegacyOffset() ? " OFFSET ?" : ""
+            );
+        String lastSortName = null;
         try (Connection conn = dataSource.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setObject(1, regattaId);
@@ -134,10 +148,20 @@ public class PaymentStatusService {
             stmt.setString(4, normalizedSearch);
             stmt.setString(5, normalizedStatus);
             stmt.setString(6, normalizedStatus);
-            stmt.setInt(7, normalizedLimit + 1);
-            stmt.setInt(8, offset);
+            int index = 7;
+            if (after != null && !after.isLegacyOffset()) {
+                stmt.setString(index++, after.sortKey());
+                stmt.setObject(index++, after.id());
+            }
+            stmt.setInt(index++, normalizedLimit + 1);
+            if (after != null && after.isLegacyOffset()) {
+                stmt.setInt(index, after.legacyOffset());
+            }
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
+                    if (entries.size() < normalizedLimit) {
+                        lastSortName = rs.getString("sort_name");
+                    }
                     entries.add(new FinanceEntrySummary(
                         (UUID) rs.getObject("entry_id"),
                         rs.getString("crew_name"),
@@ -157,7 +181,7 @@ public class PaymentStatusService {
 
         return new FinanceEntryListResult(
             List.copyOf(entries),
-            hasMore ? String.valueOf(offset + normalizedLimit) : null
+            hasMore ? new FinanceCursor(lastSortName, entries.get(entries.size() - 1).entryId()).encode() : null
         );
     }
 
@@ -264,7 +288,7 @@ public class PaymentStatusService {
         String normalizedSearch = normalizeLikeFilter(search);
         String normalizedStatus = normalizeLowercaseText(paymentStatus);
         int normalizedLimit = normalizeDiscoveryLimit(limit);
-        int offset = parseCursor(cursor);
+        FinanceCursor after = decodeCursor(cursor);
         String sql = """
             WITH club_totals AS (
                 SELECT
@@ -284,6 +308,7 @@ public class PaymentStatusService {
             SELECT
                 club_id,
                 club_name,
+                LOWER(club_name) AS sort_name,
                 CASE
                     WHEN paid_entries = 0 THEN 'unpaid'
                     WHEN unpaid_entries = 0 THEN 'paid'
@@ -302,9 +327,14 @@ public class PaymentStatusService {
                         ELSE 'partial'
                     END = ?
               )
+              %s
             ORDER BY LOWER(club_name), club_id
-            LIMIT ? OFFSET ?
-            """;
+            LIMIT ?%s
+            """.formatted(
+                after != null && !after.isLegacyOffset() ? "AND (LOWER(club_name), club_id) > (?, ?)" : "",
+                after != null && after.isLegacyOffset() ? " OFFSET ?" : ""
+            );
+        String lastSortName = null;
         try (Connection conn = dataSource.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setObject(1, regattaId);
@@ -312,10 +342,20 @@ public class PaymentStatusService {
             stmt.setString(3, normalizedSearch);
             stmt.setString(4, normalizedStatus);
             stmt.setString(5, normalizedStatus);
-            stmt.setInt(6, normalizedLimit + 1);
-            stmt.setInt(7, offset);
+            int index = 6;
+            if (after != null && !after.isLegacyOffset()) {
+                stmt.setString(index++, after.sortKey());
+                stmt.setObject(index++, after.id());
+            }
+            stmt.setInt(index++, normalizedLimit + 1);
+            if (after != null && after.isLegacyOffset()) {
+                stmt.setInt(index, after.legacyOffset());
+            }
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
+                    if (clubs.size() < normalizedLimit) {
+                        lastSortName = rs.getString("sort_name");
+                    }
                     clubs.add(new FinanceClubSummary(
                         (UUID) rs.getObject("club_id"),
                         rs.getString("club_name"),
@@ -336,10 +376,77 @@ public class PaymentStatusService {
 
         return new FinanceClubListResult(
             List.copyOf(clubs),
-            hasMore ? String.valueOf(offset + normalizedLimit) : null
+            hasMore ? new FinanceCursor(lastSortName, clubs.get(clubs.size() - 1).clubId()).encode() : null
         );
     }
 
+    /**
+     * Reads the regatta's finance summary row, which the finance projection keeps current.
+     * A missing or stale row is rebuilt from entries and invoices once, on this read.
+     */
+    public Optional<FinanceRegattaSummary> getRegattaSummary(UUID regattaId) {
+        Optional<StoredRegattaSummary> stored = loadRegattaSummary(regattaId);
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+        if (!stored.get().current()) {
+            projectionHandler.rebuildRegattaSummary(regattaId);
+            stored = loadRegattaSummary(regattaId);
+        }
+        return stored.map(StoredRegattaSummary::summary);
+    }
+
+    private Optional<StoredRegattaSummary> loadRegattaSummary(UUID regattaId) {
+        String sql = """
+            SELECT
+                r.currency,
+                s.regatta_id AS summary_regatta_id,
+                s.paid_entry_count,
+                s.unpaid_entry_count,
+                s.draft_invoice_count,
+                s.sent_invoice_count,
+                s.paid_invoice_count,
+                s.cancelled_invoice_count,
+                s.outstanding_amount,
+                s.paid_amount,
+                s.stale,
+                s.updated_at
+            FROM regattas r
+            LEFT JOIN finance_regatta_summaries s ON s.regatta_id = r.id
+            WHERE r.id = ?
+            """;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setObject(1, regattaId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                if (rs.getObject("summary_regatta_id") == null) {
+                    return Optional.of(new StoredRegattaSummary(null, false));
+                }
+                return Optional.of(new StoredRegattaSummary(
+                    new FinanceRegattaSummary(
+                        regattaId,
+                        rs.getString("currency"),
+                        rs.getInt("paid_entry_count"),
+                        rs.getInt("unpaid_entry_count"),
+                        rs.getInt("draft_invoice_count"),
+                        rs.getInt("sent_invoice_count"),
+                        rs.getInt("paid_invoice_count"),
+                        rs.getInt("cancelled_invoice_count"),
+                        rs.getBigDecimal("outstanding_amount"),
+                        rs.getBigDecimal("paid_amount"),
+                        toInstant(rs.getTimestamp("updated_at"))
+                    ),
+                    !rs.getBoolean("stale")
+                ));
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load finance summary", e);
+        }
+    }
+
     @Transactional
     public ClubPaymentStatusDetails updateClubPaymentStatus(
         UUID regattaId,
@@ -353,48 +460,29 @@ public class PaymentStatusService {
         }
 
         List<EntryPaymentRow> rows = listClubEntryPaymentRows(regattaId, clubId);
-        int changedCount = 0;
-        for (EntryPaymentRow row : rows) {
-            EntryPaymentStatusModel model = new EntryPaymentStatusModel(
-                row.paymentStatus(),
-                row.paidAt(),
-                row.paidBy(),
-                row.paymentReference()
-            );
-            EntryPaymentStatusModel.TransitionResult transition = model.transitionTo(
-                targetStatus,
-                paymentReference,
-                actor,
-                Instant.now()
-            );
-            if (!transition.changed()) {
-                continue;
-            }
-
-            changedCount++;
-            EntryPaymentStatusUpdatedEvent entryEvent = new EntryPaymentStatusUpdatedEvent(
-                row.entryId(),
-                regattaId,
-                row.effectiveClubId(),
-                transition.previousStatus().value(),
-                transition.nextStatus().value(),
-                transition.nextPaidAt(),
-                transition.nextPaidBy(),
-                transition.nextPaymentReference(),
-                "club_update"
-            );
-            appendAndProject(row.entryId(), "EntryPayment", List.of(entryEvent), actor);
-        }
+        Map<UUID, EntryPaymentRow> rowsByEntryId = new LinkedHashMap<>();
+        rows.forEach(row -> rowsByEntryId.put(row.entryId(), row));
+        EntryTransitions transitions = transitionEntries(
+            regattaId,
+            rowsByEntryId.keySet(),
+            rowsByEntryId,
+            targetStatus,
+            row -> paymentReference,
+            actor,
+            "club_update",
+            new ArrayList<>()
+        );
 
         ClubPaymentStatusUpdateRequestedEvent clubEvent = new ClubPaymentStatusUpdateRequestedEvent(
             clubId,
             regattaId,
             targetStatus.value(),
-            changedCount,
+            transitions.events().size(),
             actor,
             paymentReference
         );
-        appendAndProject(clubId, "ClubPayment", List.of(clubEvent), actor);
+        // The club's status is recomputed once with its entries' updates, not per entry
+        appendBulkAndProject(clubId, "ClubPayment", transitions.events(), clubEvent, actor);
 
         return getClubPaymentStatus(regattaId, clubId)
             .orElseThrow(() -> new IllegalStateException("Club disappeared during payment status update"));
@@ -443,62 +531,40 @@ public class PaymentStatusService {
         List<BulkPaymentFailure> failures = new ArrayList<>();
         int missingClubCount = 0;
 
+        Map<UUID, EntryPaymentRow> rowsByEntryId = new HashMap<>();
+        Map<UUID, List<EntryPaymentRow>> rowsByClubId = listClubsEntryPaymentRows(regattaId, normalizedClubIds);
         for (UUID clubId : normalizedClubIds) {
-            if (!clubExists(clubId)) {
+            List<EntryPaymentRow> clubRows = rowsByClubId.get(clubId);
+            if (clubRows == null) {
                 failures.add(new BulkPaymentFailure("club", clubId, "CLUB_NOT_FOUND", "Club not found"));
                 missingClubCount++;
                 continue;
             }
-            listClubEntryPaymentRows(regattaId, clubId).stream()
-                .map(EntryPaymentRow::entryId)
-                .forEach(targetEntryIds::add);
+            for (EntryPaymentRow row : clubRows) {
+                targetEntryIds.add(row.entryId());
+                rowsByEntryId.put(row.entryId(), row);
+            }
         }
         targetEntryIds.addAll(normalizedEntryIds);
         // totalRequested reflects the actual expanded set: entries after club resolution + unresolvable clubs
         int totalRequested = targetEntryIds.size() + missingClubCount;
-        Map<UUID, EntryPaymentRow> rowsByEntryId = loadEntryPaymentRows(regattaId, targetEntryIds);
-
-        int updatedCount = 0;
-        int unchangedCount = 0;
-        for (UUID entryId : targetEntryIds) {
-            EntryPaymentRow row = rowsByEntryId.get(entryId);
-            if (row == null) {
-                failures.add(new BulkPaymentFailure("entry", entryId, "ENTRY_NOT_FOUND", "Entry not found"));
-                continue;
-            }
+        Set<UUID> unresolvedEntryIds = new LinkedHashSet<>(normalizedEntryIds);
+        unresolvedEntryIds.removeAll(rowsByEntryId.keySet());
+        rowsByEntryId.putAll(loadEntryPaymentRows(regattaId, unresolvedEntryIds));
 
-            EntryPaymentStatusModel model = new EntryPaymentStatusModel(
-                row.paymentStatus(),
-                row.paidAt(),
-                row.paidBy(),
-                row.paymentReference()
-            );
-            EntryPaymentStatusModel.TransitionResult transition = model.transitionTo(
-                targetStatus,
-                normalizedReference,
-                normalizedActor,
-                Instant.now()
-            );
-
-            if (!transition.changed()) {
-                unchangedCount++;
-                continue;
-            }
-
-            updatedCount++;
-            EntryPaymentStatusUpdatedEvent entryEvent = new EntryPaymentStatusUpdatedEvent(
-                row.entryId(),
-                regattaId,
-                row.effectiveClubId(),
-                transition.previousStatus().value(),
-                transition.nextStatus().value(),
-                transition.nextPaidAt(),
-                transition.nextPaidBy(),
-                transition.nextPaymentReference(),
-                "bulk_update"
-            );
-            appendAndProject(row.entryId(), "EntryPayment", List.of(entryEvent), normalizedActor);
-        }
+        EntryTransitions transitions = transitionEntries(
+            regattaId,
+            targetEntryIds,
+            rowsByEntryId,
+            targetStatus,
+            row -> normalizedReference,
+            normalizedActor,
+            "bulk_update",
+            failures
+        );
+        int updatedCount = transitions.events().size();
+        int unchangedCount = transitions.unchangedCount();
+        List<EntryPaymentStatusUpdatedEvent> entryEvents = transitions.events();
 
         int processedCount = updatedCount + unchangedCount;
         int failedCount = failures.size();
@@ -533,11 +599,185 @@ public class PaymentStatusService {
             normalizedIdempotencyKey,
             requestFingerprint
         );
-        appendAndProject(regattaId, "BulkPayment", List.of(summaryEvent), normalizedActor);
+        long summarySequence = appendBulkAndProject(regattaId, "BulkPayment", entryEvents, summaryEvent, normalizedActor);
+        if (normalizedIdempotencyKey != null) {
+            idempotencyKeys.record(
+                IdempotencyKeyService.scope(IdempotencyKeyService.BULK_PAYMENT_OPERATION, regattaId),
+                normalizedActor,
+                normalizedIdempotencyKey,
+                IdempotencyKeyService.fingerprint(targetStatus.value(), requestFingerprint),
+                regattaId,
+                summarySequence
+            );
+        }
 
         return result;
     }
 
+    /**
+     * Marks entries matched by bank reconciliation paid, each with the statement reference it
+     * was matched on. Goes through the bulk payment path: one multi-stream append and one
+     * set-based projection per call.
+     */
+    @Transactional
+    public BulkPaymentMarkResult markReconciledPayments(
+        UUID regattaId,
+        Map<UUID, String> referencesByEntryId,
+        String actor
+    ) {
+        if (referencesByEntryId == null || referencesByEntryId.isEmpty()) {
+            throw new IllegalArgumentException("At least one entry_id is required");
+        }
+        String normalizedActor = (actor == null || actor.isBlank()) ? "unknown" : actor.trim();
+
+        List<BulkPaymentFailure> failures = new ArrayList<>();
+        EntryTransitions transitions = transitionEntries(
+            regattaId,
+            referencesByEntryId.keySet(),
+            loadEntryPaymentRows(regattaId, referencesByEntryId.keySet()),
+            PaymentStatus.PAID,
+            // Entries paid before keep their payment, so repeated statement lines are no-ops
+            row -> row.paymentStatus() == PaymentStatus.PAID
+                ? row.paymentReference()
+                : normalizeText(referencesByEntryId.get(row.entryId())),
+            normalizedActor,
+            "bank_reconciliation",
+            failures
+        );
+
+        int updatedCount = transitions.events().size();
+        int processedCount = updatedCount + transitions.unchangedCount();
+        BulkPaymentMarkResult result = new BulkPaymentMarkResult(
+            failures.isEmpty(),
+            failures.isEmpty()
+                ? "Reconciled payments applied"
+                : "Reconciled payments applied with partial failures",
+            referencesByEntryId.size(),
+            processedCount,
+            updatedCount,
+            transitions.unchangedCount(),
+            failures.size(),
+            List.copyOf(failures),
+            null,
+            false
+        );
+
+        BulkPaymentStatusMarkedEvent summaryEvent = new BulkPaymentStatusMarkedEvent(
+            regattaId,
+            PaymentStatus.PAID.value(),
+            result.totalRequested(),
+            processedCount,
+            updatedCount,
+            result.unchangedCount(),
+            result.failedCount(),
+            result.failures(),
+            normalizedActor,
+            null,
+            null,
+            null
+        );
+        appendBulkAndProject(regattaId, "BulkPayment", transitions.events(), summaryEvent, normalizedActor);
+        return result;
+    }
+
+    /**
+     * Applies the target status to each entry in order, collecting the resulting events.
+     * Entries without a row are reported as ENTRY_NOT_FOUND failures.
+     */
+    private EntryTransitions transitionEntries(
+        UUID regattaId,
+        Collection<UUID> targetEntryIds,
+        Map<UUID, EntryPaymentRow> rowsByEntryId,
+        PaymentStatus targetStatus,
+        Function<EntryPaymentRow, String> referenceFor,
+        String actor,
+        String reason,
+        List<BulkPaymentFailure> failures
+    ) {
+        int unchangedCount = 0;
+        Instant now = Instant.now();
+        List<EntryPaymentStatusUpdatedEvent> entryEvents = new ArrayList<>();
+        for (UUID entryId : targetEntryIds) {
+            EntryPaymentRow row = rowsByEntryId.get(entryId);
+            if (row == null) {
+                failures.add(new BulkPaymentFailure("entry", entryId, "ENTRY_NOT_FOUND", "Entry not found"));
+                continue;
+            }
+
+            EntryPaymentStatusModel model = new EntryPaymentStatusModel(
+                row.paymentStatus(),
+                row.paidAt(),
+                row.paidBy(),
+                row.paymentReference()
+            );
+            EntryPaymentStatusModel.TransitionResult transition = model.transitionTo(
+                targetStatus,
+                referenceFor.apply(row),
+                actor,
+                now
+            );
+
+            if (!transition.changed()) {
+                unchangedCount++;
+                continue;
+            }
+
+            entryEvents.add(new EntryPaymentStatusUpdatedEvent(
+                row.entryId(),
+                regattaId,
+                row.effectiveClubId(),
+                transition.previousStatus().value(),
+                transition.nextStatus().value(),
+                transition.nextPaidAt(),
+                transition.nextPaidBy(),
+                transition.nextPaymentReference(),
+                reason
+            ));
+        }
+        return new EntryTransitions(entryEvents, unchangedCount);
+    }
+
+    /**
+     * Appends the entry updates and the summary event of one bulk or club operation in a
+     * single multi-stream write, then projects the entry updates with one set-based update.
+     *
+     * @param summaryStreamId stream of the summary event: the regatta's bulk payment stream
+     *                        or the club's payment stream
+     * @return sequence number of the summary event in its stream
+     */
+    private long appendBulkAndProject(
+        UUID summaryStreamId,
+        String summaryStreamType,
+        List<EntryPaymentStatusUpdatedEvent> entryEvents,
+        DomainEvent summaryEvent,
+        String actor
+    ) {
+        List<UUID> aggregateIds = new ArrayList<>(entryEvents.size() + 1);
+        entryEvents.forEach(event -> aggregateIds.add(event.getEntryId()));
+        aggregateIds.add(summaryStreamId);
+        Map<UUID, Long> versions = eventStore.getCurrentVersions(aggregateIds);
+
+        List<StreamAppend> appends = new ArrayList<>(entryEvents.size() + 1);
+        for (EntryPaymentStatusUpdatedEvent event : entryEvents) {
+            appends.add(new StreamAppend(
+                event.getEntryId(),
+                "EntryPayment",
+                versions.getOrDefault(event.getEntryId(), -1L),
+                List.of(event)
+            ));
+        }
+        long summaryVersion = versions.getOrDefault(summaryStreamId, -1L);
+        appends.add(new StreamAppend(summaryStreamId, summaryStreamType, summaryVersion, List.of(summaryEvent)));
+        EventMetadata metadata = EventMetadata.builder()
+            .correlationId(UUID.randomUUID())
+            .addData("actor", actor)
+            .build();
+
+        eventStore.appendAll(appends, metadata);
+        projectionHandler.applyEntryPaymentStatusUpdates(entryEvents);
+        return Math.max(summaryVersion, 0) + 1;
+    }
+
     private Optional<EntryPaymentRow> loadEntryPaymentRow(UUID regattaId, UUID entryId) {
         String sql = """
             SELECT
@@ -682,6 +922,75 @@ public class PaymentStatusService {
         return rows;
     }
 
+    /**
+     * Resolves the entries billed to each of the given clubs with one query per chunk of
+     * clubs; clubs that don't exist are absent from the result, existing clubs without
+     * entries map to an empty list.
+     */
+    private Map<UUID, List<EntryPaymentRow>> listClubsEntryPaymentRows(UUID regattaId, Set<UUID> clubIds) {
+        if (clubIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, List<EntryPaymentRow>> rowsByClubId = new HashMap<>();
+        List<UUID> idList = new ArrayList<>(clubIds);
+        for (int i = 0; i < idList.size(); i += IN_CLAUSE_CHUNK_SIZE) {
+            List<UUID> chunk = idList.subList(i, Math.min(i + IN_CLAUSE_CHUNK_SIZE, idList.size()));
+            String sql = """
+                SELECT
+                    cl.id AS requested_club_id,
+                    x.id,
+                    x.regatta_id,
+                    x.billing_club_id,
+                    x.payment_status,
+                    x.paid_at,
+                    x.paid_by,
+                    x.payment_reference,
+                    x.crew_id,
+                    x.crew_club_id,
+                    x.is_composite
+                FROM clubs cl
+                LEFT JOIN (
+                    SELECT
+                        e.id,
+                        e.regatta_id,
+                        e.billing_club_id,
+                        e.payment_status,
+                        e.paid_at,
+                        e.paid_by,
+                        e.payment_reference,
+                        c.id AS crew_id,
+                        c.club_id AS crew_club_id,
+                        c.is_composite
+                    FROM entries e
+                    JOIN crews c ON c.id = e.crew_id
+                    WHERE e.regatta_id = ?
+                ) x ON x.billing_club_id = cl.id
+                    OR (x.billing_club_id IS NULL AND x.is_composite = FALSE AND x.crew_club_id = cl.id)
+                WHERE cl.id IN (%s)
+                """.formatted(String.join(", ", Collections.nCopies(chunk.size(), "?")));
+            try (Connection conn = dataSource.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setObject(1, regattaId);
+                int parameterIndex = 2;
+                for (UUID clubId : chunk) {
+                    stmt.setObject(parameterIndex++, clubId);
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        List<EntryPaymentRow> rows = rowsByClubId.computeIfAbsent(
+                            (UUID) rs.getObject("requested_club_id"), id -> new ArrayList<>());
+                        if (rs.getObject("id") != null) {
+                            rows.add(mapEntryPaymentRow(rs));
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to list club entry payments", e);
+            }
+        }
+        return rowsByClubId;
+    }
+
     private EntryPaymentRow mapEntryPaymentRow(ResultSet rs) throws Exception {
         UUID billingClubId = (UUID) rs.getObject("billing_club_id");
         UUID crewClubId = (UUID) rs.getObject("crew_club_id");
@@ -731,42 +1040,26 @@ public class PaymentStatusService {
         PaymentStatus targetStatus,
         String requestFingerprint
     ) {
-        try (Connection conn = dataSource.getConnection()) {
-            if (isPostgres(conn)) {
-                return findBulkOperationReplayPostgres(conn, regattaId, actor, idempotencyKey, targetStatus, requestFingerprint);
-            }
-            return findBulkOperationReplayFallback(conn, regattaId, actor, idempotencyKey, targetStatus, requestFingerprint);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to resolve idempotency replay", e);
+        Optional<IdempotencyKeyService.StoredKey> stored = idempotencyKeys.find(
+            IdempotencyKeyService.scope(IdempotencyKeyService.BULK_PAYMENT_OPERATION, regattaId),
+            actor,
+            idempotencyKey
+        );
+        if (stored.isEmpty()
+            || stored.get().resultSequence() == null
+            || !stored.get().matches(IdempotencyKeyService.fingerprint(targetStatus.value(), requestFingerprint))) {
+            return Optional.empty();
         }
-    }
 
-    private Optional<BulkPaymentMarkResult> findBulkOperationReplayPostgres(
-        Connection conn,
-        UUID regattaId,
-        String actor,
-        String idempotencyKey,
-        PaymentStatus targetStatus,
-        String requestFingerprint
-    ) throws Exception {
         String sql = """
             SELECT payload
             FROM event_store
-            WHERE aggregate_id = ?
-              AND event_type = 'BulkPaymentStatusMarked'
-              AND payload ->> 'idempotencyKey' = ?
-              AND payload ->> 'requestedBy' = ?
-              AND payload ->> 'targetStatus' = ?
-              AND payload ->> 'requestFingerprint' = ?
-            ORDER BY created_at DESC
-            LIMIT 1
+            WHERE aggregate_id = ? AND sequence_number = ? AND event_type = 'BulkPaymentStatusMarked'
             """;
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setObject(1, regattaId);
-            stmt.setString(2, idempotencyKey);
-            stmt.setString(3, actor);
-            stmt.setString(4, targetStatus.value());
-            stmt.setString(5, requestFingerprint);
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setObject(1, stored.get().resultId());
+            stmt.setLong(2, stored.get().resultSequence());
             try (ResultSet rs = stmt.executeQuery()) {
                 if (!rs.next()) {
                     return Optional.empty();
@@ -777,55 +1070,11 @@ public class PaymentStatusService {
                 );
                 return Optional.of(toReplayResult(event));
             }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to resolve idempotency replay", e);
         }
     }
 
-    private Optional<BulkPaymentMarkResult> findBulkOperationReplayFallback(
-        Connection conn,
-        UUID regattaId,
-        String actor,
-        String idempotencyKey,
-        PaymentStatus targetStatus,
-        String requestFingerprint
-    ) throws Exception {
-        String sql = """
-            SELECT payload
-            FROM event_store
-            WHERE aggregate_id = ?
-              AND event_type = 'BulkPaymentStatusMarked'
-            ORDER BY created_at DESC
-            """;
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setObject(1, regattaId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    BulkPaymentStatusMarkedEvent event = objectMapper.readValue(
-                        rs.getString("payload"),
-                        BulkPaymentStatusMarkedEvent.class
-                    );
-                    if (idempotencyKey.equals(event.getIdempotencyKey())
-                        && actor.equals(event.getRequestedBy())
-                        && targetStatus.value().equals(event.getTargetStatus())
-                        && requestFingerprint.equals(event.getRequestFingerprint())) {
-                        return Optional.of(new BulkPaymentMarkResult(
-                            event.getFailedCount() == 0,
-                            "Replayed previous bulk payment update",
-                            event.getTotalRequested(),
-                            event.getProcessedCount(),
-                            event.getUpdatedCount(),
-                            event.getUnchangedCount(),
-                            event.getFailedCount(),
-                            event.getFailures() == null ? List.of() : List.copyOf(event.getFailures()),
-                            event.getIdempotencyKey(),
-                            true
-                        ));
-                    }
-                }
-            }
-        }
-        return Optional.empty();
-    }
-
     private BulkPaymentMarkResult toReplayResult(BulkPaymentStatusMarkedEvent event) {
         return new BulkPaymentMarkResult(
             event.getFailedCount() == 0,
@@ -841,10 +1090,6 @@ public class PaymentStatusService {
         );
     }
 
-    private boolean isPostgres(Connection conn) throws Exception {
-        return conn.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres");
-    }
-
     private Set<UUID> normalizeIds(List<UUID> ids) {
         if (ids == null || ids.isEmpty()) {
             return Set.of();
@@ -899,24 +1144,18 @@ public class PaymentStatusService {
         return limit;
     }
 
-    private int parseCursor(String cursor) {
-        String normalizedCursor = normalizeText(cursor);
-        if (normalizedCursor == null) {
-            return 0;
-        }
-        try {
-            int offset = Integer.parseInt(normalizedCursor);
-            if (offset < 0 || offset > MAX_DISCOVERY_CURSOR_OFFSET) {
-                throw new IllegalArgumentException(
-                    "cursor must be a non-negative integer no greater than " + MAX_DISCOVERY_CURSOR_OFFSET
-                );
-            }
-            return offset;
-        } catch (NumberFormatException e) {
+    /**
+     * Decodes a keyset cursor; numeric offset cursors from before keyset paging keep their
+     * previous bounds.
+     */
+    private FinanceCursor decodeCursor(String cursor) {
+        FinanceCursor decoded = FinanceCursor.decode(cursor);
+        if (decoded != null && decoded.isLegacyOffset() && decoded.legacyOffset() > MAX_DISCOVERY_CURSOR_OFFSET) {
             throw new IllegalArgumentException(
                 "cursor must be a non-negative integer no greater than " + MAX_DISCOVERY_CURSOR_OFFSET
             );
         }
+        return decoded;
     }
 
     private Instant toInstant(Timestamp timestamp) {
@@ -936,6 +1175,12 @@ public class PaymentStatusService {
         }
     }
 
+    private record EntryTransitions(List<EntryPaymentStatusUpdatedEvent> events, int unchangedCount) {
+    }
+
+    private record StoredRegattaSummary(FinanceRegattaSummary summary, boolean current) {
+    }
+
     private record EntryPaymentRow(
         UUID entryId,
         UUID regattaId,
@@ -1,15 +1,20 @@
 package com.regattadesk.linescan.api;
 
 import com.regattadesk.api.dto.ErrorResponse;
-import com.regattadesk.linescan.config.MinioStorageAdapter;
 import com.regattadesk.linescan.model.LineScanManifest;
 import com.regattadesk.linescan.model.LineScanManifestTile;
 import com.regattadesk.linescan.service.LineScanManifestService;
+import com.regattadesk.linescan.service.LineScanStorageUsageService;
+import com.regattadesk.linescan.service.LineScanStripRenderService;
+import com.regattadesk.linescan.service.LineScanTileIndexService;
+import com.regattadesk.linescan.service.LineScanTileService;
+import com.regattadesk.linescan.storage.TileStorage;
 import com.regattadesk.operator.OperatorTokenService;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.jboss.logging.Logger;
@@ -25,6 +30,10 @@ import java.util.stream.Collectors;
  * Implements endpoints:
  * - POST /api/v1/regattas/{regatta_id}/line_scan/manifests (OperatorTokenAuth)
  * - GET /api/v1/regattas/{regatta_id}/line_scan/manifests/{manifest_id} (OperatorTokenAuth or StaffProxyAuth)
+ * - GET /api/v1/regattas/{regatta_id}/line_scan/manifests/{manifest_id}/tile_urls (OperatorTokenAuth or StaffProxyAuth)
+ * - GET /api/v1/regattas/{regatta_id}/line_scan/manifests/tile_window (OperatorTokenAuth or StaffProxyAuth)
+ * - GET /api/v1/regattas/{regatta_id}/line_scan/manifests/strip (OperatorTokenAuth or StaffProxyAuth)
+ * - GET /api/v1/regattas/{regatta_id}/line_scan/manifests/storage_usage (OperatorTokenAuth or StaffProxyAuth)
  */
 @Path("/api/v1/regattas/{regatta_id}/line_scan/manifests")
 @Produces(MediaType.APPLICATION_JSON)
@@ -35,13 +44,25 @@ public class LineScanManifestResource {
     private static final String LINE_SCAN_STATION = "line-scan";
     
     private final LineScanManifestService manifestService;
+    private final LineScanTileService tileService;
+    private final LineScanTileIndexService tileIndexService;
+    private final LineScanStripRenderService stripRenderService;
+    private final LineScanStorageUsageService storageUsageService;
     private final OperatorTokenService operatorTokenService;
     
     @Inject
     public LineScanManifestResource(
             LineScanManifestService manifestService,
+            LineScanTileService tileService,
+            LineScanTileIndexService tileIndexService,
+            LineScanStripRenderService stripRenderService,
+            LineScanStorageUsageService storageUsageService,
             OperatorTokenService operatorTokenService) {
         this.manifestService = manifestService;
+        this.tileService = tileService;
+        this.tileIndexService = tileIndexService;
+        this.stripRenderService = stripRenderService;
+        this.storageUsageService = storageUsageService;
         this.operatorTokenService = operatorTokenService;
     }
     
@@ -90,8 +111,8 @@ public class LineScanManifestResource {
                 .entity(new LineScanManifestResponse(saved))
                 .build();
                 
-        } catch (MinioStorageAdapter.MinioStorageException e) {
-            LOG.error("MinIO storage error during manifest upsert", e);
+        } catch (TileStorage.TileStorageException e) {
+            LOG.error("Tile storage error during manifest upsert", e);
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                 .entity(ErrorResponse.internalError("Internal storage error"))
                 .build();
@@ -148,6 +169,223 @@ public class LineScanManifestResource {
         }
     }
 
+    /**
+     * Resolve download URLs for the tiles of a viewport in one request.
+     * Auth: OperatorTokenAuth or StaffProxyAuth (via x_operator_token or forwarded headers)
+     *
+     * Returns presigned storage URLs when presigned downloads are enabled, so the client
+     * fetches the imagery directly from object storage instead of through the backend.
+     */
+    @GET
+    @Path("/{manifest_id}/tile_urls")
+    public Response getTileUrls(
+            @PathParam("regatta_id") UUID regattaId,
+            @PathParam("manifest_id") UUID manifestId,
+            @QueryParam("tile_id") List<String> tileIds,
+            @HeaderParam("X-Operator-Token") String operatorToken,
+            @HeaderParam("X-Forwarded-User") String forwardedUser) {
+        
+        boolean hasStaffAuth = forwardedUser != null && !forwardedUser.isBlank();
+        if (!hasStaffAuth && !isValidOperatorToken(operatorToken, regattaId)) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                .entity(new ErrorResponse("UNAUTHORIZED", "Authentication required"))
+                .build();
+        }
+        if (tileIds == null || tileIds.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(ErrorResponse.badRequest("At least one tile_id is required"))
+                .build();
+        }
+        if (tileIds.size() > LineScanTileService.MAX_TILE_URL_BATCH) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(ErrorResponse.badRequest(
+                    "At most " + LineScanTileService.MAX_TILE_URL_BATCH + " tile_id values are allowed"))
+                .build();
+        }
+        
+        try {
+            LineScanTileService.TileUrlBatch batch = tileService.tileUrls(regattaId, manifestId, tileIds);
+            return Response.ok(LineScanTileUrlsResponse.from(batch))
+                .header("Cache-Control", "no-store")
+                .build();
+        } catch (LineScanTileService.TileNotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                .entity(ErrorResponse.notFound("Manifest not found in this regatta"))
+                .build();
+        } catch (TileStorage.TileStorageException e) {
+            LOG.error("Tile storage error while resolving tile URLs", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity(ErrorResponse.internalError("Internal storage error"))
+                .build();
+        } catch (Exception e) {
+            LOG.error("Unexpected error while resolving tile URLs", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity(ErrorResponse.internalError("Internal error"))
+                .build();
+        }
+    }
+
+    /**
+     * Find the tiles of a capture session covering {@code [start_ms, end_ms)}.
+     * Auth: OperatorTokenAuth or StaffProxyAuth (via x_operator_token or forwarded headers)
+     *
+     * Answered from a cached per-manifest time index; the result fits one tile_urls request.
+     */
+    @GET
+    @Path("/tile_window")
+    public Response getTileWindow(
+            @PathParam("regatta_id") UUID regattaId,
+            @QueryParam("capture_session_id") UUID captureSessionId,
+            @QueryParam("start_ms") Long startMs,
+            @QueryParam("end_ms") Long endMs,
+            @HeaderParam("X-Operator-Token") String operatorToken,
+            @HeaderParam("X-Forwarded-User") String forwardedUser) {
+        
+        boolean hasStaffAuth = forwardedUser != null && !forwardedUser.isBlank();
+        if (!hasStaffAuth && !isValidOperatorToken(operatorToken, regattaId)) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                .entity(new ErrorResponse("UNAUTHORIZED", "Authentication required"))
+                .build();
+        }
+        if (captureSessionId == null || startMs == null || endMs == null || endMs <= startMs) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(ErrorResponse.badRequest(
+                    "capture_session_id, start_ms and end_ms are required and end_ms must be after start_ms"))
+                .build();
+        }
+        
+        try {
+            Optional<LineScanTileIndexService.TileWindow> window =
+                tileIndexService.tilesCovering(regattaId, captureSessionId, startMs, endMs);
+            if (window.isEmpty()) {
+                return Response.status(Response.Status.NOT_FOUND)
+                    .entity(ErrorResponse.notFound("Manifest not found for this capture session"))
+                    .build();
+            }
+            return Response.ok(LineScanTileWindowResponse.from(window.get(), startMs, endMs)).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(ErrorResponse.badRequest(e.getMessage()))
+                .build();
+        } catch (Exception e) {
+            LOG.error("Unexpected error while resolving tile window", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity(ErrorResponse.internalError("Internal error"))
+                .build();
+        }
+    }
+
+    /**
+     * Render the tiles of a capture session covering {@code [start_ms, end_ms)} as one PNG strip.
+     * Auth: OperatorTokenAuth or StaffProxyAuth (via x_operator_token or forwarded headers)
+     *
+     * {@code max_width} downscales the strip server-side. Strips carry an ETag and honour
+     * If-None-Match; {@code X-Missing-Tiles} counts tiles not uploaded yet (left transparent).
+     */
+    @GET
+    @Path("/strip")
+    @Produces({LineScanStripRenderService.CONTENT_TYPE, MediaType.APPLICATION_JSON})
+    public Response renderStrip(
+            @PathParam("regatta_id") UUID regattaId,
+            @QueryParam("capture_session_id") UUID captureSessionId,
+            @QueryParam("start_ms") Long startMs,
+            @QueryParam("end_ms") Long endMs,
+            @QueryParam("max_width") Integer maxWidth,
+            @HeaderParam("X-Operator-Token") String operatorToken,
+            @HeaderParam("X-Forwarded-User") String forwardedUser,
+            @HeaderParam("If-None-Match") String ifNoneMatch) {
+        
+        boolean hasStaffAuth = forwardedUser != null && !forwardedUser.isBlank();
+        if (!hasStaffAuth && !isValidOperatorToken(operatorToken, regattaId)) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                .entity(new ErrorResponse("UNAUTHORIZED", "Authentication required"))
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+        }
+        if (captureSessionId == null || startMs == null || endMs == null || endMs <= startMs
+                || (maxWidth != null && maxWidth < 1)) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(ErrorResponse.badRequest(
+                    "capture_session_id, start_ms and end_ms are required, end_ms must be after start_ms"
+                        + " and max_width must be positive"))
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+        }
+        
+        try {
+            Optional<LineScanStripRenderService.RenderedStrip> rendered = stripRenderService.render(
+                regattaId, captureSessionId, startMs, endMs, maxWidth, ifNoneMatch);
+            if (rendered.isEmpty()) {
+                return Response.status(Response.Status.NOT_FOUND)
+                    .entity(ErrorResponse.notFound("Manifest not found for this capture session"))
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
+            }
+            LineScanStripRenderService.RenderedStrip strip = rendered.get();
+            EntityTag etag = new EntityTag(strip.etag());
+            if (strip.notModified()) {
+                return Response.notModified(etag)
+                    .header("Cache-Control", "private, no-cache")
+                    .build();
+            }
+            return Response.ok(strip.data())
+                .type(LineScanStripRenderService.CONTENT_TYPE)
+                .tag(etag)
+                .header("Cache-Control", "private, no-cache")
+                .header("X-Missing-Tiles", strip.missingTiles())
+                .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(ErrorResponse.badRequest(e.getMessage()))
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+        } catch (TileStorage.TileStorageException e) {
+            LOG.error("Tile storage error while rendering strip", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity(ErrorResponse.internalError("Internal storage error"))
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+        } catch (Exception e) {
+            LOG.error("Unexpected error while rendering strip", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity(ErrorResponse.internalError("Internal error"))
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+        }
+    }
+
+    /**
+     * Get the line-scan storage usage of the regatta and each of its manifests.
+     * Auth: OperatorTokenAuth or StaffProxyAuth (via x_operator_token or forwarded headers)
+     *
+     * Read from incrementally maintained counters, not computed from the tile metadata.
+     */
+    @GET
+    @Path("/storage_usage")
+    public Response getStorageUsage(
+            @PathParam("regatta_id") UUID regattaId,
+            @HeaderParam("X-Operator-Token") String operatorToken,
+            @HeaderParam("X-Forwarded-User") String forwardedUser) {
+
+        boolean hasStaffAuth = forwardedUser != null && !forwardedUser.isBlank();
+        if (!hasStaffAuth && !isValidOperatorToken(operatorToken, regattaId)) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                .entity(new ErrorResponse("UNAUTHORIZED", "Authentication required"))
+                .build();
+        }
+
+        try {
+            return Response.ok(LineScanStorageUsageResponse.from(storageUsageService.regattaUsage(regattaId)))
+                .header("Cache-Control", "no-store")
+                .build();
+        } catch (Exception e) {
+            LOG.error("Unexpected error while reading storage usage", e);
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity(ErrorResponse.internalError("Internal error"))
+                .build();
+        }
+    }
+
     private boolean isValidOperatorToken(String operatorToken, UUID regattaId) {
         try {
             return operatorToken != null
@@ -0,0 +1,68 @@
+package com.regattadesk.linescan.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.regattadesk.linescan.model.StorageUsage;
+import com.regattadesk.linescan.service.LineScanStorageUsageService;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for the line-scan storage usage of a regatta and its manifests.
+ */
+public record LineScanStorageUsageResponse(
+    @JsonProperty("regatta_id")
+    UUID regattaId,
+
+    @JsonProperty("tile_count")
+    long tileCount,
+
+    @JsonProperty("stored_bytes")
+    long storedBytes,
+
+    @JsonProperty("pruned_tile_count")
+    long prunedTileCount,
+
+    @JsonProperty("pruned_bytes")
+    long prunedBytes,
+
+    List<ManifestUsageDto> manifests
+) {
+    public static LineScanStorageUsageResponse from(LineScanStorageUsageService.RegattaUsage usage) {
+        StorageUsage totals = usage.totals();
+        return new LineScanStorageUsageResponse(
+            totals.regattaId(),
+            totals.tileCount(),
+            totals.storedBytes(),
+            totals.prunedTileCount(),
+            totals.prunedBytes(),
+            usage.manifests().stream()
+                .map(manifest -> new ManifestUsageDto(
+                    manifest.manifestId(),
+                    manifest.tileCount(),
+                    manifest.storedBytes(),
+                    manifest.prunedTileCount(),
+                    manifest.prunedBytes()
+                ))
+                .toList()
+        );
+    }
+
+    public record ManifestUsageDto(
+        @JsonProperty("manifest_id")
+        UUID manifestId,
+
+        @JsonProperty("tile_count")
+        long tileCount,
+
+        @JsonProperty("stored_bytes")
+        long storedBytes,
+
+        @JsonProperty("pruned_tile_count")
+        long prunedTileCount,
+
+        @JsonProperty("pruned_bytes")
+        long prunedBytes
+    ) {
+    }
+}
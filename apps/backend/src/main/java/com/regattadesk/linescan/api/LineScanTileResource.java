@@ -1,13 +1,16 @@
 package com.regattadesk.linescan.api;
 
-import com.regattadesk.linescan.config.MinioStorageAdapter;
 import com.regattadesk.linescan.service.LineScanTileService;
+import com.regattadesk.linescan.storage.TileStorage;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.jboss.logging.Logger;
 
+import java.net.URI;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -16,12 +19,14 @@ import java.util.UUID;
  * Implements endpoints:
  * - PUT /api/v1/regattas/{regatta_id}/line_scan/tiles/{tile_id} (OperatorTokenAuth)
  * - GET /api/v1/regattas/{regatta_id}/line_scan/tiles/{tile_id} (OperatorTokenAuth or StaffProxyAuth)
+ *
+ * Large tiles over unreliable links can be uploaded in resumable chunks via
+ * {@link LineScanTileUploadResource}.
  */
 @Path("/api/v1/regattas/{regatta_id}/line_scan/tiles/{tile_id}")
 public class LineScanTileResource {
     
     private static final Logger LOG = Logger.getLogger(LineScanTileResource.class);
-    private static final int MAX_TILE_SIZE_BYTES = 10 * 1024 * 1024;
     
     private final LineScanTileService tileService;
     
@@ -64,24 +69,27 @@ public class LineScanTileResource {
                 .entity(new OperationResult("error", "Tile data is required"))
                 .build();
         }
-        if (tileData.length > MAX_TILE_SIZE_BYTES) {
+        if (tileData.length > LineScanTileService.MAX_TILE_SIZE_BYTES) {
             return Response.status(Response.Status.BAD_REQUEST)
                 .entity(new OperationResult("error", "Tile data exceeds maximum size of 10MB"))
                 .build();
         }
         
         try {
-            tileService.storeTile(regattaId, tileId, tileData, contentType);
+            LineScanTileService.StoreResult result =
+                tileService.storeTile(regattaId, tileId, tileData, contentType);
+            String message = result.written() ? "Tile stored successfully" : "Identical tile already stored";
             
-            return Response.ok(new OperationResult("success", "Tile stored successfully"))
+            return Response.ok(new OperationResult("success", message))
+                .tag(new EntityTag(result.contentSha256()))
                 .build();
                 
         } catch (LineScanTileService.TileNotFoundException e) {
             return Response.status(Response.Status.NOT_FOUND)
                 .entity(new OperationResult("error", e.getMessage()))
                 .build();
-        } catch (MinioStorageAdapter.MinioStorageException e) {
-            LOG.error("MinIO storage error during tile upload", e);
+        } catch (TileStorage.TileStorageException e) {
+            LOG.error("Tile storage error during tile upload", e);
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                 .entity(new OperationResult("error", "Storage error"))
                 .build();
@@ -96,6 +104,11 @@ public class LineScanTileResource {
     /**
      * Download a line-scan tile.
      * Auth: OperatorTokenAuth or StaffProxyAuth (via x_operator_token or forwarded headers)
+     *
+     * When presigned downloads are enabled, responds with a 302 redirect to a short-lived
+     * storage URL instead of streaming the tile through the backend. Streamed tiles carry
+     * their content hash as ETag and honour If-None-Match. Clients listing image/webp in
+     * Accept get the transcoded WebP variant of PNG uploads once it exists.
      */
     @GET
     @Produces({"image/webp", "image/png", MediaType.APPLICATION_OCTET_STREAM})
@@ -103,7 +116,9 @@ public class LineScanTileResource {
             @PathParam("regatta_id") UUID regattaId,
             @PathParam("tile_id") String tileId,
             @HeaderParam("X-Operator-Token") String operatorToken,
-            @HeaderParam("X-Forwarded-User") String forwardedUser) {
+            @HeaderParam("X-Forwarded-User") String forwardedUser,
+            @HeaderParam("Accept") String accept,
+            @HeaderParam("If-None-Match") String ifNoneMatch) {
         
         // Auth check: either operator token or staff proxy auth
         if ((operatorToken == null || operatorToken.isBlank()) && 
@@ -115,10 +130,31 @@ public class LineScanTileResource {
         }
         
         try {
-            MinioStorageAdapter.TileData tileData = tileService.retrieveTile(regattaId, tileId);
+            Optional<URI> presignedUrl = tileService.presignedTileUrl(regattaId, tileId, accept);
+            if (presignedUrl.isPresent()) {
+                return Response.status(Response.Status.FOUND)
+                    .location(presignedUrl.get())
+                    .header("Cache-Control", "no-store")
+                    .header("Vary", "Accept")
+                    .build();
+            }
+
+            LineScanTileService.TileDownload download =
+                tileService.downloadTile(regattaId, tileId, accept, ifNoneMatch);
+            EntityTag etag = download.etag() != null ? new EntityTag(download.etag()) : null;
+            if (download.notModified()) {
+                return Response.notModified(etag)
+                    .header("Cache-Control", "private, no-cache")
+                    .header("Vary", "Accept")
+                    .build();
+            }
             
+            TileStorage.TileData tileData = download.data();
             return Response.ok(tileData.getData())
                 .type(tileData.getContentType())
+                .tag(etag)
+                .header("Cache-Control", "private, no-cache")
+                .header("Vary", "Accept")
                 .build();
                 
         } catch (LineScanTileService.TileNotFoundException e) {
@@ -126,13 +162,13 @@ public class LineScanTileResource {
                 .entity("Tile not found")
                 .type(MediaType.TEXT_PLAIN)
                 .build();
-        } catch (MinioStorageAdapter.TileNotFoundException e) {
+        } catch (TileStorage.TileNotFoundException e) {
             return Response.status(Response.Status.NOT_FOUND)
                 .entity("Tile data not found in storage")
                 .type(MediaType.TEXT_PLAIN)
                 .build();
-        } catch (MinioStorageAdapter.MinioStorageException e) {
-            LOG.error("MinIO storage error during tile download", e);
+        } catch (TileStorage.TileStorageException e) {
+            LOG.error("Tile storage error during tile download", e);
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                 .entity("Storage error")
                 .type(MediaType.TEXT_PLAIN)
@@ -146,7 +182,7 @@ public class LineScanTileResource {
         }
     }
 
-    private boolean isSupportedImageContentType(String contentType) {
+    static boolean isSupportedImageContentType(String contentType) {
         if (contentType == null || contentType.isBlank()) {
             return false;
         }
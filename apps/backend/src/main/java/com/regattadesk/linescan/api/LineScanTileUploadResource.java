@@ -0,0 +1,201 @@
+package com.regattadesk.linescan.api;
+
+import com.regattadesk.linescan.model.TileUploadSession;
+import com.regattadesk.linescan.service.LineScanTileService;
+import com.regattadesk.linescan.service.LineScanTileUploadService;
+import com.regattadesk.linescan.storage.TileStorage;
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * REST resource for resumable chunked tile uploads.
+ *
+ * Implements endpoints (all OperatorTokenAuth):
+ * - POST   .../line_scan/tiles/{tile_id}/uploads                    open an upload
+ * - GET    .../line_scan/tiles/{tile_id}/uploads/{upload_id}        current offset, to resume
+ * - PUT    .../line_scan/tiles/{tile_id}/uploads/{upload_id}        append a chunk at Upload-Offset
+ * - POST   .../line_scan/tiles/{tile_id}/uploads/{upload_id}/commit store the assembled tile
+ * - DELETE .../line_scan/tiles/{tile_id}/uploads/{upload_id}        abort
+ *
+ * Offsets are reported in the body and the {@code Upload-Offset} header. A chunk sent at a
+ * stale offset is rejected with 409 and the current offset.
+ */
+@Path("/api/v1/regattas/{regatta_id}/line_scan/tiles/{tile_id}/uploads")
+@Produces(MediaType.APPLICATION_JSON)
+public class LineScanTileUploadResource {
+
+    private static final Logger LOG = Logger.getLogger(LineScanTileUploadResource.class);
+    static final String UPLOAD_OFFSET_HEADER = "Upload-Offset";
+
+    private final LineScanTileUploadService uploadService;
+
+    @Inject
+    public LineScanTileUploadResource(LineScanTileUploadService uploadService) {
+        this.uploadService = uploadService;
+    }
+
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    public Response create(
+            @PathParam("regatta_id") UUID regattaId,
+            @PathParam("tile_id") String tileId,
+            @HeaderParam("X-Operator-Token") String operatorToken,
+            @Context UriInfo uriInfo,
+            @Valid @NotNull(message = "request body is required") TileUploadCreateRequest request) {
+        if (operatorToken == null || operatorToken.isBlank()) {
+            return unauthorized();
+        }
+        if (!LineScanTileResource.isSupportedImageContentType(request.contentType())) {
+            return error(Response.Status.BAD_REQUEST, "content_type must be image/webp or image/png");
+        }
+
+        try {
+            String contentType = request.contentType().toLowerCase().split(";", 2)[0].trim();
+            TileUploadSession session = uploadService.create(
+                regattaId, tileId, contentType, request.totalBytes(), request.sha256());
+            return Response.created(uriInfo.getAbsolutePathBuilder().path(session.id().toString()).build())
+                .header(UPLOAD_OFFSET_HEADER, session.receivedBytes())
+                .entity(TileUploadResponse.from(session))
+                .build();
+        } catch (LineScanTileService.TileNotFoundException e) {
+            return error(Response.Status.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return error(Response.Status.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            LOG.error("Unexpected error opening tile upload", e);
+            return error(Response.Status.INTERNAL_SERVER_ERROR, "Internal error");
+        }
+    }
+
+    @GET
+    @Path("/{upload_id}")
+    public Response status(
+            @PathParam("regatta_id") UUID regattaId,
+            @PathParam("tile_id") String tileId,
+            @PathParam("upload_id") UUID uploadId,
+            @HeaderParam("X-Operator-Token") String operatorToken) {
+        if (operatorToken == null || operatorToken.isBlank()) {
+            return unauthorized();
+        }
+        return uploadService.find(regattaId, tileId, uploadId)
+            .map(session -> Response.ok(TileUploadResponse.from(session))
+                .header(UPLOAD_OFFSET_HEADER, session.receivedBytes())
+                .header("Cache-Control", "no-store")
+                .build())
+            .orElseGet(() -> error(Response.Status.NOT_FOUND, "Upload not found"));
+    }
+
+    @PUT
+    @Path("/{upload_id}")
+    @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+    public Response appendChunk(
+            @PathParam("regatta_id") UUID regattaId,
+            @PathParam("tile_id") String tileId,
+            @PathParam("upload_id") UUID uploadId,
+            @HeaderParam("X-Operator-Token") String operatorToken,
+            @HeaderParam(UPLOAD_OFFSET_HEADER) Long offset,
+            InputStream chunk) {
+        if (operatorToken == null || operatorToken.isBlank()) {
+            return unauthorized();
+        }
+        if (offset == null || offset < 0) {
+            return error(Response.Status.BAD_REQUEST, UPLOAD_OFFSET_HEADER + " header is required");
+        }
+
+        try {
+            TileUploadSession session = uploadService.appendChunk(regattaId, tileId, uploadId, offset, chunk);
+            return Response.ok(TileUploadResponse.from(session))
+                .header(UPLOAD_OFFSET_HEADER, session.receivedBytes())
+                .build();
+        } catch (LineScanTileUploadService.UploadNotFoundException e) {
+            return error(Response.Status.NOT_FOUND, e.getMessage());
+        } catch (LineScanTileUploadService.OffsetMismatchException e) {
+            return Response.status(Response.Status.CONFLICT)
+                .header(UPLOAD_OFFSET_HEADER, e.currentOffset())
+                .entity(new LineScanTileResource.OperationResult("error", e.getMessage()))
+                .build();
+        } catch (IllegalArgumentException e) {
+            return error(Response.Status.BAD_REQUEST, e.getMessage());
+        } catch (IOException e) {
+            LOG.warnf("Tile upload %s chunk at offset %d was not received completely: %s",
+                uploadId, offset, e.getMessage());
+            return error(Response.Status.BAD_REQUEST, "Chunk was not received completely");
+        } catch (Exception e) {
+            LOG.error("Unexpected error appending tile upload chunk", e);
+            return error(Response.Status.INTERNAL_SERVER_ERROR, "Internal error");
+        }
+    }
+
+    @POST
+    @Path("/{upload_id}/commit")
+    public Response commit(
+            @PathParam("regatta_id") UUID regattaId,
+            @PathParam("tile_id") String tileId,
+            @PathParam("upload_id") UUID uploadId,
+            @HeaderParam("X-Operator-Token") String operatorToken) {
+        if (operatorToken == null || operatorToken.isBlank()) {
+            return unauthorized();
+        }
+
+        try {
+            LineScanTileService.StoreResult result = uploadService.commit(regattaId, tileId, uploadId);
+            String message = result.written() ? "Tile stored successfully" : "Identical tile already stored";
+            return Response.ok(new LineScanTileResource.OperationResult("success", message))
+                .tag(new EntityTag(result.contentSha256()))
+                .build();
+        } catch (LineScanTileUploadService.UploadNotFoundException | LineScanTileService.TileNotFoundException e) {
+            return error(Response.Status.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            return error(Response.Status.CONFLICT, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return error(Response.Status.BAD_REQUEST, e.getMessage());
+        } catch (TileStorage.TileStorageException e) {
+            LOG.error("Tile storage error during tile upload commit", e);
+            return error(Response.Status.INTERNAL_SERVER_ERROR, "Storage error");
+        } catch (Exception e) {
+            LOG.error("Unexpected error committing tile upload", e);
+            return error(Response.Status.INTERNAL_SERVER_ERROR, "Internal error");
+        }
+    }
+
+    @DELETE
+    @Path("/{upload_id}")
+    public Response abort(
+            @PathParam("regatta_id") UUID regattaId,
+            @PathParam("tile_id") String tileId,
+            @PathParam("upload_id") UUID uploadId,
+            @HeaderParam("X-Operator-Token") String operatorToken) {
+        if (operatorToken == null || operatorToken.isBlank()) {
+            return unauthorized();
+        }
+
+        try {
+            uploadService.abort(regattaId, tileId, uploadId);
+            return Response.noContent().build();
+        } catch (LineScanTileUploadService.UploadNotFoundException e) {
+            return error(Response.Status.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    private static Response unauthorized() {
+        return error(Response.Status.UNAUTHORIZED, "Missing or invalid operator token");
+    }
+
+    private static Response error(Response.Status status, String message) {
+        return Response.status(status)
+            .entity(new LineScanTileResource.OperationResult("error", message))
+            .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.regattadesk.linescan.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.regattadesk.linescan.service.LineScanTileService;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Response DTO for a batch of tile download URLs.
+ *
+ * {@code direct} URLs are presigned storage URLs valid until {@code expires_at}; other URLs
+ * are relative paths of the tile download endpoint.
+ */
+public record LineScanTileUrlsResponse(
+    List<TileUrlDto> tiles,
+
+    @JsonProperty("missing_tile_ids")
+    List<String> missingTileIds,
+
+    @JsonProperty("expires_at")
+    Instant expiresAt
+) {
+    public static LineScanTileUrlsResponse from(LineScanTileService.TileUrlBatch batch) {
+        return new LineScanTileUrlsResponse(
+            batch.tiles().stream()
+                .map(t -> new TileUrlDto(t.tileId(), t.url(), t.direct()))
+                .toList(),
+            batch.missingTileIds(),
+            batch.expiresAt()
+        );
+    }
+
+    public record TileUrlDto(
+        @JsonProperty("tile_id")
+        String tileId,
+
+        String url,
+
+        boolean direct
+    ) {
+    }
+}
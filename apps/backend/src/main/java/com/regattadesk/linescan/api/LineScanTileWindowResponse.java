@@ -0,0 +1,78 @@
+package com.regattadesk.linescan.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.regattadesk.linescan.service.LineScanTileIndexService;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for the tiles covering a time window of a capture session, ordered by time.
+ */
+public record LineScanTileWindowResponse(
+    @JsonProperty("manifest_id")
+    UUID manifestId,
+
+    @JsonProperty("capture_session_id")
+    UUID captureSessionId,
+
+    @JsonProperty("tile_size_px")
+    int tileSizePx,
+
+    @JsonProperty("x_origin_timestamp_ms")
+    long xOriginTimestampMs,
+
+    @JsonProperty("ms_per_pixel")
+    double msPerPixel,
+
+    @JsonProperty("start_ms")
+    long startMs,
+
+    @JsonProperty("end_ms")
+    long endMs,
+
+    List<TileSpanDto> tiles
+) {
+    public static LineScanTileWindowResponse from(
+        LineScanTileIndexService.TileWindow window,
+        long startMs,
+        long endMs
+    ) {
+        return new LineScanTileWindowResponse(
+            window.manifest().getId(),
+            window.manifest().getCaptureSessionId(),
+            window.manifest().getTileSizePx(),
+            window.manifest().getXOriginTimestampMs(),
+            window.manifest().getMsPerPixel(),
+            startMs,
+            endMs,
+            window.tiles().stream()
+                .map(span -> new TileSpanDto(
+                    span.tile().getTileId(),
+                    span.tile().getTileX(),
+                    span.tile().getTileY(),
+                    span.startMs(),
+                    span.endMs()
+                ))
+                .toList()
+        );
+    }
+
+    public record TileSpanDto(
+        @JsonProperty("tile_id")
+        String tileId,
+
+        @JsonProperty("tile_x")
+        int tileX,
+
+        @JsonProperty("tile_y")
+        int tileY,
+
+        @JsonProperty("start_ms")
+        long startMs,
+
+        @JsonProperty("end_ms")
+        long endMs
+    ) {
+    }
+}
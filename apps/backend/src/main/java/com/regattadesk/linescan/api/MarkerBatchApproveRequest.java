@@ -0,0 +1,19 @@
+package com.regattadesk.linescan.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk approval of linked markers, e.g. all markers of a heat after review.
+ */
+public record MarkerBatchApproveRequest(
+    @JsonProperty("marker_ids")
+    @NotNull(message = "marker_ids is required")
+    @Size(min = 1, max = 1000, message = "marker_ids must contain between 1 and 1000 items")
+    List<@NotNull(message = "marker_id is required") UUID> markerIds
+) {
+}
@@ -0,0 +1,45 @@
+package com.regattadesk.linescan.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk marker ingest for one capture session, used by operator devices flushing an offline backlog.
+ */
+public record MarkerBatchCreateRequest(
+    @JsonProperty("capture_session_id")
+    @NotNull(message = "capture_session_id is required")
+    UUID captureSessionId,
+
+    @NotNull(message = "markers is required")
+    @Size(min = 1, max = 1000, message = "markers must contain between 1 and 1000 items")
+    List<@Valid @NotNull(message = "marker is required") Item> markers
+) {
+    public record Item(
+        @JsonProperty("frame_offset")
+        @NotNull(message = "frame_offset is required")
+        @Min(value = 0, message = "frame_offset must be >= 0")
+        Long frameOffset,
+
+        @JsonProperty("timestamp_ms")
+        @NotNull(message = "timestamp_ms is required")
+        @Min(value = 0, message = "timestamp_ms must be >= 0")
+        Long timestampMs,
+
+        @JsonProperty("tile_id")
+        String tileId,
+
+        @JsonProperty("tile_x")
+        Integer tileX,
+
+        @JsonProperty("tile_y")
+        Integer tileY
+    ) {
+    }
+}
@@ -1,6 +1,39 @@
 package com.regattadesk.linescan.api;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.util.List;
+import java.util.UUID;
+
+/**
+ * Marker list. Paged listings carry {@code pagination}; the first page and delta sync responses
+ * carry {@code next_since}, the change feed position to pass as {@code since} on the next sync.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MarkerListResponse(
+    @JsonProperty("data")
+    List<MarkerResponse> data,
+
+    @JsonProperty("deleted_ids")
+    List<UUID> deletedIds,
+
+    @JsonProperty("pagination")
+    PaginationInfo pagination,
+
+    @JsonProperty("next_since")
+    Long nextSince
+) {
+    public MarkerListResponse(List<MarkerResponse> data) {
+        this(data, null, null, null);
+    }
+
+    public record PaginationInfo(
+        @JsonProperty("has_more")
+        boolean hasMore,
 
-public record MarkerListResponse(List<MarkerResponse> data) {
+        @JsonProperty("next_cursor")
+        String nextCursor
+    ) {
+    }
 }
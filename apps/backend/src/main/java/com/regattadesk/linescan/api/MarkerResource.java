@@ -44,10 +44,18 @@ public class MarkerResource {
         this.operatorTokenService = operatorTokenService;
     }
 
+    /**
+     * List markers ordered by timestamp, continuing after {@code cursor}. Without {@code limit} all
+     * markers are returned in one response, otherwise at most {@code limit} per page.
+     * With {@code since}, lists only markers changed (and ids deleted) after that change feed position.
+     */
     @GET
     public Response list(
         @PathParam("regatta_id") UUID regattaId,
         @QueryParam("capture_session_id") UUID captureSessionId,
+        @QueryParam("limit") Integer limit,
+        @QueryParam("cursor") String cursor,
+        @QueryParam("since") Long since,
         @HeaderParam("X-Operator-Token") String operatorToken
     ) {
         if (!isValidOperatorToken(operatorToken, regattaId)) {
@@ -55,12 +63,36 @@ public class MarkerResource {
                 .entity(new ErrorResponse("UNAUTHORIZED", "Missing or invalid operator token"))
                 .build();
         }
+        if (since != null && (since < 0 || cursor != null)) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(ErrorResponse.badRequest("since must be >= 0 and cannot be combined with cursor"))
+                .build();
+        }
 
-        List<MarkerResponse> data = markerService.listByRegatta(regattaId, captureSessionId).stream()
-            .map(MarkerResponse::from)
-            .toList();
+        try {
+            if (since != null) {
+                TimingMarkerService.MarkerChanges changes =
+                    markerService.listChangesSince(regattaId, captureSessionId, since, limit);
+                return Response.ok(new MarkerListResponse(
+                    changes.markers().stream().map(MarkerResponse::from).toList(),
+                    changes.deletedIds(),
+                    new MarkerListResponse.PaginationInfo(changes.hasMore(), null),
+                    changes.nextSince()
+                )).build();
+            }
 
-        return Response.ok(new MarkerListResponse(data)).build();
+            TimingMarkerService.MarkerPage page = markerService.listPage(regattaId, captureSessionId, cursor, limit);
+            return Response.ok(new MarkerListResponse(
+                page.markers().stream().map(MarkerResponse::from).toList(),
+                null,
+                new MarkerListResponse.PaginationInfo(page.nextCursor() != null, page.nextCursor()),
+                page.changeSeq()
+            )).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(ErrorResponse.badRequest(e.getMessage()))
+                .build();
+        }
     }
 
     @POST
@@ -96,6 +128,81 @@ public class MarkerResource {
         }
     }
 
+    /**
+     * Create up to 1000 markers of one capture session in one request and one transaction.
+     * Either all markers are created or none.
+     */
+    @POST
+    @Path("/batch")
+    public Response createBatch(
+        @PathParam("regatta_id") UUID regattaId,
+        @HeaderParam("X-Operator-Token") String operatorToken,
+        @Valid @NotNull(message = "request body is required") MarkerBatchCreateRequest request
+    ) {
+        if (!isValidOperatorToken(operatorToken, regattaId)) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                .entity(new ErrorResponse("UNAUTHORIZED", "Missing or invalid operator token"))
+                .build();
+        }
+
+        try {
+            List<TimingMarkerService.NewMarker> markers = request.markers().stream()
+                .map(item -> new TimingMarkerService.NewMarker(
+                    item.frameOffset(),
+                    item.timestampMs(),
+                    item.tileId(),
+                    item.tileX(),
+                    item.tileY()
+                ))
+                .toList();
+            List<MarkerResponse> data = markerService.createBatch(regattaId, request.captureSessionId(), markers)
+                .stream()
+                .map(MarkerResponse::from)
+                .toList();
+            return Response.status(Response.Status.CREATED).entity(new MarkerListResponse(data)).build();
+        } catch (TimingMarkerService.NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                .entity(ErrorResponse.notFound(e.getMessage()))
+                .build();
+        } catch (Exception e) {
+            LOG.error("Failed to create marker batch", e);
+            return Response.serverError().entity(ErrorResponse.internalError("Failed to create markers")).build();
+        }
+    }
+
+    @POST
+    @Path("/approve")
+    public Response approveBatch(
+        @PathParam("regatta_id") UUID regattaId,
+        @HeaderParam("X-Operator-Token") String operatorToken,
+        @Valid @NotNull(message = "request body is required") MarkerBatchApproveRequest request
+    ) {
+        if (!isValidOperatorToken(operatorToken, regattaId)) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                .entity(new ErrorResponse("UNAUTHORIZED", "Missing or invalid operator token"))
+                .build();
+        }
+
+        try {
+            List<MarkerResponse> data = markerService.approveBatch(regattaId, request.markerIds())
+                .stream()
+                .map(MarkerResponse::from)
+                .toList();
+            return Response.ok(new MarkerListResponse(data)).build();
+        } catch (TimingMarkerService.NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                .entity(ErrorResponse.notFound(e.getMessage()))
+                .build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                .entity(ErrorResponse.conflict(e.getMessage()))
+                .build();
+        } catch (Exception e) {
+            LOG.error("Failed to approve markers", e);
+            return Response.serverError().entity(ErrorResponse.internalError("Failed to approve markers")).build();
+        }
+    }
+
     @PATCH
     @Path("/{marker_id}")
     public Response update(
@@ -33,7 +33,11 @@ public record MarkerResponse(
     Integer tileX,
 
     @JsonProperty("tile_y")
-    Integer tileY
+    Integer tileY,
+
+    String source,
+
+    Double confidence
 ) {
     public static MarkerResponse from(TimingMarker marker) {
         return new MarkerResponse(
@@ -46,7 +50,9 @@ public record MarkerResponse(
             marker.isApproved(),
             marker.tileId(),
             marker.tileX(),
-            marker.tileY()
+            marker.tileY(),
+            marker.source(),
+            marker.confidence()
         );
     }
 }
@@ -0,0 +1,25 @@
+package com.regattadesk.linescan.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request to open a resumable tile upload.
+ *
+ * {@code sha256} is the optional hex SHA-256 of the complete tile, verified on commit.
+ */
+public record TileUploadCreateRequest(
+    @JsonProperty("content_type")
+    @NotBlank(message = "content_type is required")
+    String contentType,
+
+    @JsonProperty("total_bytes")
+    @NotNull(message = "total_bytes is required")
+    @Min(value = 1, message = "total_bytes must be >= 1")
+    Integer totalBytes,
+
+    String sha256
+) {
+}
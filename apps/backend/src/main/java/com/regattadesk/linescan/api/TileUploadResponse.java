@@ -0,0 +1,40 @@
+package com.regattadesk.linescan.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.regattadesk.linescan.model.TileUploadSession;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * State of a resumable tile upload; the next chunk must start at {@code offset}.
+ */
+public record TileUploadResponse(
+    @JsonProperty("upload_id")
+    UUID uploadId,
+
+    @JsonProperty("tile_id")
+    String tileId,
+
+    @JsonProperty("content_type")
+    String contentType,
+
+    long offset,
+
+    @JsonProperty("total_bytes")
+    int totalBytes,
+
+    @JsonProperty("expires_at")
+    Instant expiresAt
+) {
+    public static TileUploadResponse from(TileUploadSession session) {
+        return new TileUploadResponse(
+            session.id(),
+            session.tileId(),
+            session.contentType(),
+            session.receivedBytes(),
+            session.totalBytes(),
+            session.expiresAt()
+        );
+    }
+}
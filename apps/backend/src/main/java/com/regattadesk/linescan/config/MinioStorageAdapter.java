@@ -7,16 +7,30 @@ import io.minio.errors.InternalException;
 import io.minio.errors.InvalidResponseException;
 import io.minio.errors.ServerException;
 import io.minio.errors.XmlParserException;
+import io.minio.http.Method;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import com.regattadesk.linescan.storage.TileStorage;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Typed;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.net.URI;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
-import java.util.Arrays;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Storage adapter for line-scan manifests and tiles using MinIO.
@@ -24,10 +38,13 @@ import java.util.UUID;
  * Handles object storage operations including bucket creation, tile upload/retrieval.
  */
 @ApplicationScoped
-public class MinioStorageAdapter {
+@Typed(MinioStorageAdapter.class)
+public class MinioStorageAdapter implements TileStorage {
     
     private static final Logger LOG = Logger.getLogger(MinioStorageAdapter.class);
     private static final long MAX_RETRIEVABLE_TILE_BYTES = 10L * 1024 * 1024;
+    /** S3 SigV4 presigned URLs are valid for at most seven days. */
+    private static final Duration MAX_PRESIGNED_URL_TTL = Duration.ofDays(7);
     
     private final MinioClient minioClient;
     private final MinioConfiguration config;
@@ -41,7 +58,8 @@ public class MinioStorageAdapter {
     /**
      * Ensure bucket exists for the given regatta, creating it if necessary.
      */
-    public void ensureBucket(UUID regattaId) throws MinioStorageException {
+    @Override
+    public void ensureBucket(UUID regattaId) throws TileStorageException {
         String bucketName = config.getBucketName(regattaId.toString());
         try {
             boolean exists = minioClient.bucketExists(
@@ -64,23 +82,24 @@ public class MinioStorageAdapter {
                         LOG.debugf("MinIO bucket already exists: %s", bucketName);
                         return;
                     }
-                    throw new MinioStorageException("Failed to ensure bucket exists: " + bucketName, e);
+                    throw new TileStorageException("Failed to ensure bucket exists: " + bucketName, e);
                 }
             }
         } catch (ErrorResponseException e) {
-            throw new MinioStorageException("Failed to ensure bucket exists: " + bucketName, e);
+            throw new TileStorageException("Failed to ensure bucket exists: " + bucketName, e);
         } catch (InsufficientDataException | InternalException |
                  InvalidKeyException | InvalidResponseException | IOException |
                  NoSuchAlgorithmException | ServerException | XmlParserException e) {
-            throw new MinioStorageException("Failed to ensure bucket exists: " + bucketName, e);
+            throw new TileStorageException("Failed to ensure bucket exists: " + bucketName, e);
         }
     }
     
     /**
      * Store a tile in MinIO.
      */
+    @Override
     public void storeTile(UUID regattaId, UUID captureSessionId, String tileId, 
-                         byte[] tileData, String contentType) throws MinioStorageException {
+                         byte[] tileData, String contentType) throws TileStorageException {
         String bucketName = config.getBucketName(regattaId.toString());
         String objectKey = config.getTileObjectKey(captureSessionId.toString(), tileId);
         
@@ -97,15 +116,16 @@ public class MinioStorageAdapter {
         } catch (ErrorResponseException | InsufficientDataException | InternalException |
                  InvalidKeyException | InvalidResponseException | IOException |
                  NoSuchAlgorithmException | ServerException | XmlParserException e) {
-            throw new MinioStorageException("Failed to store tile: " + objectKey, e);
+            throw new TileStorageException("Failed to store tile: " + objectKey, e);
         }
     }
     
     /**
      * Retrieve a tile from MinIO.
      */
+    @Override
     public TileData retrieveTile(UUID regattaId, UUID captureSessionId, String tileId) 
-            throws MinioStorageException {
+            throws TileStorageException {
         String bucketName = config.getBucketName(regattaId.toString());
         String objectKey = config.getTileObjectKey(captureSessionId.toString(), tileId);
         
@@ -118,7 +138,7 @@ public class MinioStorageAdapter {
                     .build()
             );
             if (stat.size() > MAX_RETRIEVABLE_TILE_BYTES) {
-                throw new MinioStorageException(
+                throw new TileStorageException(
                     "Tile exceeds maximum retrievable size of " + MAX_RETRIEVABLE_TILE_BYTES + " bytes: " + objectKey,
                     null
                 );
@@ -145,19 +165,20 @@ public class MinioStorageAdapter {
             if (e.errorResponse().code().equals("NoSuchKey")) {
                 throw new TileNotFoundException("Tile not found: " + objectKey);
             }
-            throw new MinioStorageException("Failed to retrieve tile: " + objectKey, e);
+            throw new TileStorageException("Failed to retrieve tile: " + objectKey, e);
         } catch (InsufficientDataException | InternalException | InvalidKeyException |
                  InvalidResponseException | IOException | NoSuchAlgorithmException |
                  ServerException | XmlParserException e) {
-            throw new MinioStorageException("Failed to retrieve tile: " + objectKey, e);
+            throw new TileStorageException("Failed to retrieve tile: " + objectKey, e);
         }
     }
     
     /**
      * Check if a tile exists in MinIO.
      */
+    @Override
     public boolean tileExists(UUID regattaId, UUID captureSessionId, String tileId)
-            throws MinioStorageException {
+            throws TileStorageException {
         String bucketName = config.getBucketName(regattaId.toString());
         String objectKey = config.getTileObjectKey(captureSessionId.toString(), tileId);
         
@@ -173,18 +194,19 @@ public class MinioStorageAdapter {
             if ("NoSuchKey".equals(e.errorResponse().code())) {
                 return false;
             }
-            throw new MinioStorageException("Failed to check tile existence: " + objectKey, e);
+            throw new TileStorageException("Failed to check tile existence: " + objectKey, e);
         } catch (InsufficientDataException | InternalException | InvalidKeyException |
                  InvalidResponseException | IOException | NoSuchAlgorithmException |
                  ServerException | XmlParserException e) {
-            throw new MinioStorageException("Failed to check tile existence: " + objectKey, e);
+            throw new TileStorageException("Failed to check tile existence: " + objectKey, e);
         }
     }
 
     /**
      * Delete a tile object. Missing objects are treated as already deleted.
      */
-    public void deleteTile(UUID regattaId, UUID captureSessionId, String tileId) throws MinioStorageException {
+    @Override
+    public void deleteTile(UUID regattaId, UUID captureSessionId, String tileId) throws TileStorageException {
         String bucketName = config.getBucketName(regattaId.toString());
         String objectKey = config.getTileObjectKey(captureSessionId.toString(), tileId);
         try {
@@ -198,50 +220,89 @@ public class MinioStorageAdapter {
             if ("NoSuchKey".equals(e.errorResponse().code())) {
                 return;
             }
-            throw new MinioStorageException("Failed to delete tile: " + objectKey, e);
+            throw new TileStorageException("Failed to delete tile: " + objectKey, e);
         } catch (InsufficientDataException | InternalException | InvalidKeyException |
                  InvalidResponseException | IOException | NoSuchAlgorithmException |
                  ServerException | XmlParserException e) {
-            throw new MinioStorageException("Failed to delete tile: " + objectKey, e);
+            throw new TileStorageException("Failed to delete tile: " + objectKey, e);
         }
     }
     
     /**
-     * Container for tile binary data and content type.
+     * Delete several tile objects of one capture session with a single multi-object delete request.
+     * Missing objects are treated as already deleted.
+     *
+     * @return tile IDs whose objects could not be deleted
      */
-    public static class TileData {
-        private final byte[] data;
-        private final String contentType;
-        
-        public TileData(byte[] data, String contentType) {
-            this.data = Arrays.copyOf(data, data.length);
-            this.contentType = contentType;
-        }
-        
-        public byte[] getData() {
-            return Arrays.copyOf(data, data.length);
+    @Override
+    public Set<String> deleteTiles(UUID regattaId, UUID captureSessionId, List<String> tileIds)
+            throws TileStorageException {
+        if (tileIds.isEmpty()) {
+            return Set.of();
         }
-        
-        public String getContentType() {
-            return contentType;
+        String bucketName = config.getBucketName(regattaId.toString());
+        Map<String, String> tileIdsByObjectKey = new HashMap<>();
+        List<DeleteObject> objects = new ArrayList<>(tileIds.size());
+        for (String tileId : tileIds) {
+            String objectKey = config.getTileObjectKey(captureSessionId.toString(), tileId);
+            tileIdsByObjectKey.put(objectKey, tileId);
+            objects.add(new DeleteObject(objectKey));
         }
-    }
-    
-    /**
-     * Exception thrown when MinIO storage operations fail.
-     */
-    public static class MinioStorageException extends Exception {
-        public MinioStorageException(String message, Throwable cause) {
-            super(message, cause);
+
+        Set<String> failedTileIds = new HashSet<>();
+        try {
+            // Results are lazy: the delete requests are only sent while iterating.
+            Iterable<Result<DeleteError>> results = minioClient.removeObjects(
+                RemoveObjectsArgs.builder()
+                    .bucket(bucketName)
+                    .objects(objects)
+                    .build()
+            );
+            for (Result<DeleteError> result : results) {
+                DeleteError error = result.get();
+                if ("NoSuchKey".equals(error.code())) {
+                    continue;
+                }
+                LOG.warnf("Failed to delete tile object: bucket=%s, key=%s, code=%s",
+                    bucketName, error.objectName(), error.code());
+                failedTileIds.add(tileIdsByObjectKey.getOrDefault(error.objectName(), error.objectName()));
+            }
+        } catch (ErrorResponseException | InsufficientDataException | InternalException |
+                 InvalidKeyException | InvalidResponseException | IOException |
+                 NoSuchAlgorithmException | ServerException | XmlParserException e) {
+            throw new TileStorageException("Failed to delete tiles from bucket: " + bucketName, e);
         }
+        LOG.debugf("Deleted %d tile objects: bucket=%s, failed=%d",
+            (Object) (tileIds.size() - failedTileIds.size()), bucketName, failedTileIds.size());
+        return failedTileIds;
     }
-    
+
     /**
-     * Exception thrown when a tile is not found in storage.
+     * Create a presigned GET URL for a tile object.
+     *
+     * The URL host is the configured MinIO endpoint, so it must be reachable by the
+     * clients that follow it.
      */
-    public static class TileNotFoundException extends MinioStorageException {
-        public TileNotFoundException(String message) {
-            super(message, null);
+    @Override
+    public Optional<URI> presignedDownloadUrl(UUID regattaId, UUID captureSessionId, String tileId, Duration ttl)
+            throws TileStorageException {
+        String bucketName = config.getBucketName(regattaId.toString());
+        String objectKey = config.getTileObjectKey(captureSessionId.toString(), tileId);
+        long expirySeconds = Math.max(1, Math.min(ttl.toSeconds(), MAX_PRESIGNED_URL_TTL.toSeconds()));
+        try {
+            String url = minioClient.getPresignedObjectUrl(
+                GetPresignedObjectUrlArgs.builder()
+                    .method(Method.GET)
+                    .bucket(bucketName)
+                    .object(objectKey)
+                    .expiry((int) expirySeconds, TimeUnit.SECONDS)
+                    .build()
+            );
+            return Optional.of(URI.create(url));
+        } catch (ErrorResponseException | InsufficientDataException | InternalException |
+                 InvalidKeyException | InvalidResponseException | IOException |
+                 NoSuchAlgorithmException | ServerException | XmlParserException e) {
+            throw new TileStorageException("Failed to presign tile URL: " + objectKey, e);
         }
     }
 }
@@ -17,12 +17,16 @@ public class LineScanTileMetadata {
     private final int tileY;
     private final String contentType;
     private final Integer byteSize;
+    private final String contentSha256;
     private final UploadState uploadState;
     private final Integer uploadAttempts;
     private final String lastUploadError;
     private final Instant lastUploadAttemptAt;
     private final String minioBucket;
     private final String minioObjectKey;
+    private final String variantContentType;
+    private final Integer variantByteSize;
+    private final String variantSha256;
     private final Instant createdAt;
     private final Instant updatedAt;
     
@@ -34,12 +38,16 @@ public class LineScanTileMetadata {
         this.tileY = builder.tileY;
         this.contentType = builder.contentType;
         this.byteSize = builder.byteSize;
+        this.contentSha256 = builder.contentSha256;
         this.uploadState = builder.uploadState;
         this.uploadAttempts = builder.uploadAttempts;
         this.lastUploadError = builder.lastUploadError;
         this.lastUploadAttemptAt = builder.lastUploadAttemptAt;
         this.minioBucket = builder.minioBucket;
         this.minioObjectKey = builder.minioObjectKey;
+        this.variantContentType = builder.variantContentType;
+        this.variantByteSize = builder.variantByteSize;
+        this.variantSha256 = builder.variantSha256;
         this.createdAt = builder.createdAt;
         this.updatedAt = builder.updatedAt;
     }
@@ -72,6 +80,13 @@ public class LineScanTileMetadata {
         return byteSize;
     }
 
+    /**
+     * Hex-encoded SHA-256 of the stored tile bytes, or null until the tile is uploaded.
+     */
+    public String getContentSha256() {
+        return contentSha256;
+    }
+
     public UploadState getUploadState() {
         return uploadState;
     }
@@ -95,6 +110,21 @@ public class LineScanTileMetadata {
     public String getMinioObjectKey() {
         return minioObjectKey;
     }
+
+    /**
+     * Content type of the transcoded variant, or null if the tile has no usable variant.
+     */
+    public String getVariantContentType() {
+        return variantContentType;
+    }
+
+    public Integer getVariantByteSize() {
+        return variantByteSize;
+    }
+
+    public String getVariantSha256() {
+        return variantSha256;
+    }
     
     public Instant getCreatedAt() {
         return createdAt;
@@ -116,12 +146,16 @@ public class LineScanTileMetadata {
         private int tileY;
         private String contentType;
         private Integer byteSize;
+        private String contentSha256;
         private UploadState uploadState;
         private Integer uploadAttempts;
         private String lastUploadError;
         private Instant lastUploadAttemptAt;
         private String minioBucket;
         private String minioObjectKey;
+        private String variantContentType;
+        private Integer variantByteSize;
+        private String variantSha256;
         private Instant createdAt;
         private Instant updatedAt;
         
@@ -160,6 +194,11 @@ public class LineScanTileMetadata {
             return this;
         }
 
+        public Builder contentSha256(String contentSha256) {
+            this.contentSha256 = contentSha256;
+            return this;
+        }
+
         public Builder uploadState(UploadState uploadState) {
             this.uploadState = uploadState;
             return this;
@@ -190,6 +229,21 @@ public class LineScanTileMetadata {
             return this;
         }
         
+        public Builder variantContentType(String variantContentType) {
+            this.variantContentType = variantContentType;
+            return this;
+        }
+
+        public Builder variantByteSize(Integer variantByteSize) {
+            this.variantByteSize = variantByteSize;
+            return this;
+        }
+
+        public Builder variantSha256(String variantSha256) {
+            this.variantSha256 = variantSha256;
+            return this;
+        }
+        
         public Builder createdAt(Instant createdAt) {
             this.createdAt = createdAt;
             return this;
@@ -0,0 +1,46 @@
+package com.regattadesk.linescan.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Tile object queued for deletion from object storage after its metadata was pruned or dropped
+ * from the manifest.
+ *
+ * @param usage storage usage released once the object is deleted, null if none is tracked
+ * @param replaced true if a live tile was stored under the same key since the object was
+ *                 queued; the object is then already overwritten and must not be deleted
+ */
+public record PendingTileDeletion(
+    UUID id,
+    UUID regattaId,
+    UUID captureSessionId,
+    String tileId,
+    int attempts,
+    Instant nextAttemptAt,
+    UsageRelease usage,
+    boolean replaced
+) {
+    /**
+     * Create a new queue entry without usage tracking that is due immediately.
+     */
+    public static PendingTileDeletion of(UUID regattaId, UUID captureSessionId, String tileId, Instant now) {
+        return of(regattaId, captureSessionId, tileId, null, now);
+    }
+
+    /**
+     * Create a new queue entry that is due immediately and releases {@code usage} once deleted.
+     */
+    public static PendingTileDeletion of(UUID regattaId, UUID captureSessionId, String tileId,
+                                         UsageRelease usage, Instant now) {
+        return new PendingTileDeletion(UUID.randomUUID(), regattaId, captureSessionId, tileId, 0, now, usage, false);
+    }
+
+    /**
+     * Storage usage an object accounts for in its manifest's counters.
+     *
+     * @param pruned true to move the usage to the pruned counters instead of dropping it
+     */
+    public record UsageRelease(UUID manifestId, int tiles, long bytes, boolean pruned) {
+    }
+}
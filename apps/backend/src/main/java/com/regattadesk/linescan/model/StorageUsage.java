@@ -0,0 +1,25 @@
+package com.regattadesk.linescan.model;
+
+import java.util.UUID;
+
+/**
+ * Tile storage counters of a manifest, or summed over a regatta's manifests.
+ *
+ * @param manifestId manifest the counters belong to, null for regatta totals
+ * @param tileCount uploaded tiles currently stored
+ * @param storedBytes bytes of those tiles, originals plus transcoded variants
+ * @param prunedTileCount uploaded tiles removed by pruning
+ * @param prunedBytes bytes freed by pruning
+ */
+public record StorageUsage(
+    UUID manifestId,
+    UUID regattaId,
+    long tileCount,
+    long storedBytes,
+    long prunedTileCount,
+    long prunedBytes
+) {
+    public static StorageUsage empty(UUID regattaId) {
+        return new StorageUsage(null, regattaId, 0, 0, 0, 0);
+    }
+}
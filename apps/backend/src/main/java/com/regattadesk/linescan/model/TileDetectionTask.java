@@ -0,0 +1,23 @@
+package com.regattadesk.linescan.model;
+
+import java.util.UUID;
+
+/**
+ * Uploaded tile queued for crossing detection, with the time mapping of its manifest.
+ *
+ * @param id line_scan_tiles row ID
+ * @param contentSha256 hash of the uploaded content the task was read for
+ */
+public record TileDetectionTask(
+    UUID id,
+    UUID regattaId,
+    UUID captureSessionId,
+    String tileId,
+    int tileX,
+    int tileY,
+    String contentSha256,
+    long xOriginTimestampMs,
+    double msPerPixel,
+    int attempts
+) {
+}
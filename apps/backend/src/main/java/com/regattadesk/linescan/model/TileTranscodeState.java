@@ -0,0 +1,14 @@
+package com.regattadesk.linescan.model;
+
+/**
+ * Current transcode state of a tile and the variant it records, if any.
+ *
+ * @param transcodeState {@code pending}, {@code ready}, {@code skipped}, {@code failed}, or
+ *                       null if the tile needs no transcoding
+ */
+public record TileTranscodeState(String transcodeState, String variantSha256, Integer variantByteSize) {
+
+    public boolean isPending() {
+        return "pending".equals(transcodeState);
+    }
+}
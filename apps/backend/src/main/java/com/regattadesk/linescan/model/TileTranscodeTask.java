@@ -0,0 +1,25 @@
+package com.regattadesk.linescan.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Uploaded tile queued for transcoding into its manifest's primary format.
+ *
+ * @param id line_scan_tiles row ID
+ * @param contentSha256 hash of the uploaded content the task was read for
+ * @param claimedUntil end of the worker's claim on the task; results are only recorded while
+ *                     the tile is still claimed with this value
+ */
+public record TileTranscodeTask(
+    UUID id,
+    UUID manifestId,
+    UUID regattaId,
+    UUID captureSessionId,
+    String tileId,
+    String contentType,
+    String contentSha256,
+    int attempts,
+    Instant claimedUntil
+) {
+}
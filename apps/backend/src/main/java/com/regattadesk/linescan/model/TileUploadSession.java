@@ -0,0 +1,24 @@
+package com.regattadesk.linescan.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Open resumable upload of one tile; {@code receivedBytes} is the offset the next chunk must start at.
+ *
+ * @param expectedSha256 content hash the client announced, checked on commit; may be null
+ */
+public record TileUploadSession(
+    UUID id,
+    UUID regattaId,
+    String tileId,
+    String contentType,
+    int totalBytes,
+    int receivedBytes,
+    String expectedSha256,
+    Instant expiresAt
+) {
+    public boolean complete() {
+        return receivedBytes == totalBytes;
+    }
+}
@@ -4,6 +4,10 @@ import java.util.UUID;
 
 /**
  * Immutable timing marker model for BC06 marker workflows.
+ *
+ * @param source {@link #SOURCE_MANUAL} for operator-placed markers, {@link #SOURCE_DETECTED}
+ *               for crossing candidates found in line-scan tiles
+ * @param confidence detector confidence in {@code [0, 1]}, null for manual markers
  */
 public record TimingMarker(
     UUID id,
@@ -15,6 +19,26 @@ public record TimingMarker(
     boolean isApproved,
     String tileId,
     Integer tileX,
-    Integer tileY
+    Integer tileY,
+    String source,
+    Double confidence
 ) {
+    public static final String SOURCE_MANUAL = "manual";
+    public static final String SOURCE_DETECTED = "detected";
+
+    public TimingMarker(
+        UUID id,
+        UUID captureSessionId,
+        UUID entryId,
+        long frameOffset,
+        long timestampMs,
+        boolean isLinked,
+        boolean isApproved,
+        String tileId,
+        Integer tileX,
+        Integer tileY
+    ) {
+        this(id, captureSessionId, entryId, frameOffset, timestampMs, isLinked, isApproved, tileId, tileX, tileY,
+            SOURCE_MANUAL, null);
+    }
 }
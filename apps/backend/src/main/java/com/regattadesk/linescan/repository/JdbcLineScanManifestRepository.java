@@ -116,6 +116,33 @@ public class JdbcLineScanManifestRepository implements LineScanManifestRepositor
         }
     }
     
+    @Override
+    public Optional<LineScanManifest> findHeaderById(UUID manifestId) {
+        String sql = """
+            SELECT id, regatta_id, capture_session_id, tile_size_px, primary_format,
+                fallback_format, x_origin_timestamp_ms, ms_per_pixel, retention_days,
+                prune_window_seconds, retention_state, prune_eligible_at, pruned_at,
+                created_at, updated_at
+            FROM line_scan_manifests
+            WHERE id = ?
+            """;
+        
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setObject(1, manifestId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                return Optional.of(mapResultSetToManifest(rs, List.of()));
+            }
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error finding manifest header by ID", e);
+        }
+    }
+    
     @Override
     public Optional<LineScanManifest> findByCaptureSessionId(UUID captureSessionId) {
         String sql = """
@@ -142,6 +169,33 @@ public class JdbcLineScanManifestRepository implements LineScanManifestRepositor
         }
     }
     
+    @Override
+    public Optional<LineScanManifest> findHeaderByCaptureSessionId(UUID captureSessionId) {
+        String sql = """
+            SELECT id, regatta_id, capture_session_id, tile_size_px, primary_format,
+                fallback_format, x_origin_timestamp_ms, ms_per_pixel, retention_days,
+                prune_window_seconds, retention_state, prune_eligible_at, pruned_at,
+                created_at, updated_at
+            FROM line_scan_manifests
+            WHERE capture_session_id = ?
+            """;
+        
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setObject(1, captureSessionId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                return Optional.of(mapResultSetToManifest(rs, List.of()));
+            }
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error finding manifest header by capture session", e);
+        }
+    }
+    
     private Optional<LineScanManifest> mapManifestWithTiles(ResultSet rs) throws SQLException {
         if (!rs.next()) {
             return Optional.empty();
@@ -243,4 +297,100 @@ public class JdbcLineScanManifestRepository implements LineScanManifestRepositor
             throw new RuntimeException("Database error finding manifests by retention states", e);
         }
     }
+
+    @Override
+    public List<UUID> findRegattaIdsWithRetentionStateIn(
+        List<LineScanManifest.RetentionState> states,
+        UUID afterRegattaId,
+        int limit
+    ) {
+        if (states == null || states.isEmpty()) {
+            return List.of();
+        }
+
+        String placeholders = String.join(",", states.stream()
+            .map(s -> "?")
+            .toList());
+
+        String sql = """
+            SELECT DISTINCT regatta_id
+            FROM line_scan_manifests
+            WHERE retention_state IN (%s)%s
+            ORDER BY regatta_id
+            LIMIT ?
+            """.formatted(placeholders, afterRegattaId != null ? " AND regatta_id > ?" : "");
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            for (LineScanManifest.RetentionState state : states) {
+                stmt.setString(index++, state.getValue());
+            }
+            if (afterRegattaId != null) {
+                stmt.setObject(index++, afterRegattaId);
+            }
+            stmt.setInt(index, limit);
+
+            ResultSet rs = stmt.executeQuery();
+            List<UUID> regattaIds = new ArrayList<>();
+            while (rs.next()) {
+                regattaIds.add(rs.getObject("regatta_id", UUID.class));
+            }
+            return regattaIds;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error finding regattas by manifest retention states", e);
+        }
+    }
+
+    @Override
+    public List<LineScanManifest> findByRegattaIdsAndRetentionStateIn(
+        List<UUID> regattaIds,
+        List<LineScanManifest.RetentionState> states
+    ) {
+        if (regattaIds == null || regattaIds.isEmpty() || states == null || states.isEmpty()) {
+            return List.of();
+        }
+
+        String regattaPlaceholders = String.join(",", regattaIds.stream()
+            .map(id -> "?")
+            .toList());
+        String statePlaceholders = String.join(",", states.stream()
+            .map(s -> "?")
+            .toList());
+
+        String sql = """
+            SELECT id, regatta_id, capture_session_id, tile_size_px, primary_format,
+                fallback_format, x_origin_timestamp_ms, ms_per_pixel, retention_days,
+                prune_window_seconds, retention_state, prune_eligible_at, pruned_at,
+                created_at, updated_at
+            FROM line_scan_manifests
+            WHERE regatta_id IN (%s)
+              AND retention_state IN (%s)
+            ORDER BY regatta_id, created_at ASC
+            """.formatted(regattaPlaceholders, statePlaceholders);
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            for (UUID regattaId : regattaIds) {
+                stmt.setObject(index++, regattaId);
+            }
+            for (LineScanManifest.RetentionState state : states) {
+                stmt.setString(index++, state.getValue());
+            }
+
+            ResultSet rs = stmt.executeQuery();
+            List<LineScanManifest> manifests = new ArrayList<>();
+            while (rs.next()) {
+                manifests.add(mapResultSetToManifest(rs, List.of()));
+            }
+            return manifests;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error finding manifests by regattas and retention states", e);
+        }
+    }
 }
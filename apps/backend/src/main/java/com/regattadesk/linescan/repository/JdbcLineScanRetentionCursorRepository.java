@@ -0,0 +1,89 @@
+package com.regattadesk.linescan.repository;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * JDBC implementation of LineScanRetentionCursorRepository.
+ */
+@ApplicationScoped
+public class JdbcLineScanRetentionCursorRepository implements LineScanRetentionCursorRepository {
+
+    private final DataSource dataSource;
+
+    @Inject
+    public JdbcLineScanRetentionCursorRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public Optional<UUID> findLastRegattaId(String jobName) {
+        String sql = """
+            SELECT last_regatta_id FROM line_scan_retention_cursors WHERE job_name = ?
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, jobName);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return Optional.of(rs.getObject("last_regatta_id", UUID.class));
+            }
+            return Optional.empty();
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error reading retention cursor", e);
+        }
+    }
+
+    @Override
+    public void saveLastRegattaId(String jobName, UUID regattaId) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(saveCursorSql(conn))) {
+            stmt.setString(1, jobName);
+            stmt.setObject(2, regattaId);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error saving retention cursor", e);
+        }
+    }
+
+    @Override
+    public void clear(String jobName) {
+        String sql = "DELETE FROM line_scan_retention_cursors WHERE job_name = ?";
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, jobName);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error clearing retention cursor", e);
+        }
+    }
+
+    private String saveCursorSql(Connection conn) throws SQLException {
+        String databaseName = conn.getMetaData().getDatabaseProductName();
+        if ("PostgreSQL".equalsIgnoreCase(databaseName)) {
+            return """
+                INSERT INTO line_scan_retention_cursors (job_name, last_regatta_id, updated_at)
+                VALUES (?, ?, now())
+                ON CONFLICT (job_name) DO UPDATE
+                SET last_regatta_id = EXCLUDED.last_regatta_id,
+                    updated_at = now()
+                """;
+        }
+
+        return """
+            MERGE INTO line_scan_retention_cursors (job_name, last_regatta_id, updated_at)
+            KEY (job_name)
+            VALUES (?, ?, now())
+            """;
+    }
+}
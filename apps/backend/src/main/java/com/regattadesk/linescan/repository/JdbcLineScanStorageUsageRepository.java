@@ -0,0 +1,174 @@
+package com.regattadesk.linescan.repository;
+
+import com.regattadesk.linescan.model.StorageUsage;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * JDBC implementation of LineScanStorageUsageRepository.
+ *
+ * Counters are adjusted with relative updates ({@code x = x + ?}), so concurrent writers
+ * never overwrite each other's deltas.
+ */
+@ApplicationScoped
+public class JdbcLineScanStorageUsageRepository implements LineScanStorageUsageRepository {
+
+    private final DataSource dataSource;
+
+    @Inject
+    public JdbcLineScanStorageUsageRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void ensure(UUID manifestId) {
+        String sql = """
+            INSERT INTO line_scan_storage_usage (manifest_id, regatta_id)
+            SELECT m.id, m.regatta_id
+            FROM line_scan_manifests m
+            WHERE m.id = ?
+              AND NOT EXISTS (SELECT 1 FROM line_scan_storage_usage u WHERE u.manifest_id = m.id)
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setObject(1, manifestId);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error creating storage usage counters", e);
+        }
+    }
+
+    @Override
+    public void addStored(UUID manifestId, long tileDelta, long byteDelta) {
+        String sql = """
+            UPDATE line_scan_storage_usage
+            SET tile_count = tile_count + ?, stored_bytes = stored_bytes + ?, updated_at = ?
+            WHERE manifest_id = ?
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, tileDelta);
+            stmt.setLong(2, byteDelta);
+            stmt.setTimestamp(3, Timestamp.from(Instant.now()));
+            stmt.setObject(4, manifestId);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error updating storage usage", e);
+        }
+    }
+
+    @Override
+    public void recordPruned(UUID manifestId, long tiles, long bytes) {
+        String sql = """
+            UPDATE line_scan_storage_usage
+            SET tile_count = tile_count - ?, stored_bytes = stored_bytes - ?,
+                pruned_tile_count = pruned_tile_count + ?, pruned_bytes = pruned_bytes + ?,
+                updated_at = ?
+            WHERE manifest_id = ?
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, tiles);
+            stmt.setLong(2, bytes);
+            stmt.setLong(3, tiles);
+            stmt.setLong(4, bytes);
+            stmt.setTimestamp(5, Timestamp.from(Instant.now()));
+            stmt.setObject(6, manifestId);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error recording pruned storage", e);
+        }
+    }
+
+    @Override
+    public Optional<StorageUsage> findByManifestId(UUID manifestId) {
+        String sql = """
+            SELECT manifest_id, regatta_id, tile_count, stored_bytes, pruned_tile_count, pruned_bytes
+            FROM line_scan_storage_usage
+            WHERE manifest_id = ?
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setObject(1, manifestId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? Optional.of(map(rs, rs.getObject("manifest_id", UUID.class))) : Optional.empty();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error finding storage usage of manifest", e);
+        }
+    }
+
+    @Override
+    public List<StorageUsage> findByRegattaId(UUID regattaId) {
+        String sql = """
+            SELECT manifest_id, regatta_id, tile_count, stored_bytes, pruned_tile_count, pruned_bytes
+            FROM line_scan_storage_usage
+            WHERE regatta_id = ?
+            ORDER BY manifest_id
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setObject(1, regattaId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                List<StorageUsage> usage = new ArrayList<>();
+                while (rs.next()) {
+                    usage.add(map(rs, rs.getObject("manifest_id", UUID.class)));
+                }
+                return usage;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error finding storage usage of regatta", e);
+        }
+    }
+
+    @Override
+    public List<StorageUsage> totalsByRegatta() {
+        String sql = """
+            SELECT regatta_id,
+                SUM(tile_count) AS tile_count, SUM(stored_bytes) AS stored_bytes,
+                SUM(pruned_tile_count) AS pruned_tile_count, SUM(pruned_bytes) AS pruned_bytes
+            FROM line_scan_storage_usage
+            GROUP BY regatta_id
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            List<StorageUsage> totals = new ArrayList<>();
+            while (rs.next()) {
+                totals.add(map(rs, null));
+            }
+            return totals;
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error summing storage usage", e);
+        }
+    }
+
+    private static StorageUsage map(ResultSet rs, UUID manifestId) throws SQLException {
+        return new StorageUsage(
+            manifestId,
+            rs.getObject("regatta_id", UUID.class),
+            rs.getLong("tile_count"),
+            rs.getLong("stored_bytes"),
+            rs.getLong("pruned_tile_count"),
+            rs.getLong("pruned_bytes")
+        );
+    }
+}
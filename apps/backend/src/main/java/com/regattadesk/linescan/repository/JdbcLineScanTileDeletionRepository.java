@@ -0,0 +1,181 @@
+package com.regattadesk.linescan.repository;
+
+import com.regattadesk.linescan.model.PendingTileDeletion;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC implementation of LineScanTileDeletionRepository.
+ */
+@ApplicationScoped
+public class JdbcLineScanTileDeletionRepository implements LineScanTileDeletionRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final DataSource dataSource;
+
+    @Inject
+    public JdbcLineScanTileDeletionRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void enqueueAll(List<PendingTileDeletion> deletions) {
+        if (deletions == null || deletions.isEmpty()) {
+            return;
+        }
+
+        String sql = """
+            INSERT INTO line_scan_tile_deletions (
+                id, regatta_id, capture_session_id, tile_id, attempts, next_attempt_at, created_at,
+                manifest_id, released_tiles, released_bytes, pruned
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            Timestamp now = Timestamp.from(Instant.now());
+            for (PendingTileDeletion deletion : deletions) {
+                stmt.setObject(1, deletion.id());
+                stmt.setObject(2, deletion.regattaId());
+                stmt.setObject(3, deletion.captureSessionId());
+                stmt.setString(4, deletion.tileId());
+                stmt.setInt(5, deletion.attempts());
+                stmt.setTimestamp(6, Timestamp.from(deletion.nextAttemptAt()));
+                stmt.setTimestamp(7, now);
+                PendingTileDeletion.UsageRelease usage = deletion.usage();
+                stmt.setObject(8, usage != null ? usage.manifestId() : null);
+                stmt.setInt(9, usage != null ? usage.tiles() : 0);
+                stmt.setLong(10, usage != null ? usage.bytes() : 0);
+                stmt.setBoolean(11, usage != null && usage.pruned());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error enqueueing tile deletions", e);
+        }
+    }
+
+    @Override
+    public List<PendingTileDeletion> findDue(Instant now, int limit) {
+        String sql = """
+            SELECT d.id, d.regatta_id, d.capture_session_id, d.tile_id, d.attempts, d.next_attempt_at,
+                   d.manifest_id, d.released_tiles, d.released_bytes, d.pruned,
+                   EXISTS (
+                       SELECT 1
+                       FROM line_scan_tiles t
+                       JOIN line_scan_manifests m ON m.id = t.manifest_id
+                       WHERE m.capture_session_id = d.capture_session_id
+                         AND t.upload_state = 'ready'
+                         AND (t.tile_id = d.tile_id
+                              OR (t.tile_id || '.webp' = d.tile_id
+                                  AND (t.variant_content_type IS NOT NULL OR t.transcode_state = 'pending')))
+                   ) AS replaced
+            FROM line_scan_tile_deletions d
+            WHERE d.next_attempt_at <= ?
+            ORDER BY d.next_attempt_at, d.id
+            LIMIT ?
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.from(now));
+            stmt.setInt(2, limit);
+            ResultSet rs = stmt.executeQuery();
+
+            List<PendingTileDeletion> deletions = new ArrayList<>();
+            while (rs.next()) {
+                deletions.add(new PendingTileDeletion(
+                    rs.getObject("id", UUID.class),
+                    rs.getObject("regatta_id", UUID.class),
+                    rs.getObject("capture_session_id", UUID.class),
+                    rs.getString("tile_id"),
+                    rs.getInt("attempts"),
+                    rs.getTimestamp("next_attempt_at").toInstant(),
+                    mapUsage(rs),
+                    rs.getBoolean("replaced")
+                ));
+            }
+            return deletions;
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error finding due tile deletions", e);
+        }
+    }
+
+    @Override
+    public List<UUID> deleteByIds(List<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        String sql = "DELETE FROM line_scan_tile_deletions WHERE id = ?";
+        List<UUID> deleted = new ArrayList<>(ids.size());
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < ids.size(); i += BATCH_SIZE) {
+                List<UUID> batch = ids.subList(i, Math.min(i + BATCH_SIZE, ids.size()));
+                for (UUID id : batch) {
+                    stmt.setObject(1, id);
+                    stmt.addBatch();
+                }
+                // Per-row counts tell which entries a concurrent worker removed first
+                int[] counts = stmt.executeBatch();
+                for (int j = 0; j < batch.size(); j++) {
+                    if (counts[j] > 0) {
+                        deleted.add(batch.get(j));
+                    }
+                }
+            }
+            return deleted;
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error removing completed tile deletions", e);
+        }
+    }
+
+    @Override
+    public void markFailed(List<UUID> ids, String error, Instant nextAttemptAt) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+
+        String sql = """
+            UPDATE line_scan_tile_deletions
+            SET attempts = attempts + 1, last_error = ?, next_attempt_at = ?
+            WHERE id = ?
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            Timestamp next = Timestamp.from(nextAttemptAt);
+            for (UUID id : ids) {
+                stmt.setString(1, error);
+                stmt.setTimestamp(2, next);
+                stmt.setObject(3, id);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error rescheduling tile deletions", e);
+        }
+    }
+
+    private static PendingTileDeletion.UsageRelease mapUsage(ResultSet rs) throws SQLException {
+        UUID manifestId = rs.getObject("manifest_id", UUID.class);
+        if (manifestId == null) {
+            return null;
+        }
+        return new PendingTileDeletion.UsageRelease(
+            manifestId, rs.getInt("released_tiles"), rs.getLong("released_bytes"), rs.getBoolean("pruned"));
+    }
+}
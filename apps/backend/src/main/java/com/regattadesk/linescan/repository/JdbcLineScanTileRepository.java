@@ -1,6 +1,9 @@
 package com.regattadesk.linescan.repository;
 
 import com.regattadesk.linescan.model.LineScanTileMetadata;
+import com.regattadesk.linescan.model.TileDetectionTask;
+import com.regattadesk.linescan.model.TileTranscodeState;
+import com.regattadesk.linescan.model.TileTranscodeTask;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
@@ -8,6 +11,7 @@ import javax.sql.DataSource;
 import java.sql.*;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -30,14 +34,15 @@ public class JdbcLineScanTileRepository implements LineScanTileRepository {
         String sql = """
             INSERT INTO line_scan_tiles (
                 id, manifest_id, tile_id, tile_x, tile_y, content_type,
-                byte_size, upload_state, upload_attempts, last_upload_error, last_upload_attempt_at,
+                byte_size, content_sha256, upload_state, upload_attempts, last_upload_error, last_upload_attempt_at,
                 minio_bucket, minio_object_key, created_at, updated_at
-            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
             ON CONFLICT (manifest_id, tile_id) DO UPDATE SET
                 tile_x = EXCLUDED.tile_x,
                 tile_y = EXCLUDED.tile_y,
                 content_type = EXCLUDED.content_type,
                 byte_size = EXCLUDED.byte_size,
+                content_sha256 = EXCLUDED.content_sha256,
                 upload_state = EXCLUDED.upload_state,
                 upload_attempts = EXCLUDED.upload_attempts,
                 last_upload_error = EXCLUDED.last_upload_error,
@@ -46,8 +51,9 @@ public class JdbcLineScanTileRepository implements LineScanTileRepository {
                 minio_object_key = EXCLUDED.minio_object_key,
                 updated_at = EXCLUDED.updated_at
             RETURNING id, manifest_id, tile_id, tile_x, tile_y, content_type,
-                byte_size, upload_state, upload_attempts, last_upload_error, last_upload_attempt_at,
-                minio_bucket, minio_object_key, created_at, updated_at
+                byte_size, content_sha256, upload_state, upload_attempts, last_upload_error, last_upload_attempt_at,
+                minio_bucket, minio_object_key, variant_content_type, variant_byte_size, variant_sha256,
+                created_at, updated_at
             """;
         
         try (Connection conn = dataSource.getConnection();
@@ -65,18 +71,19 @@ public class JdbcLineScanTileRepository implements LineScanTileRepository {
             stmt.setInt(5, metadata.getTileY());
             stmt.setString(6, metadata.getContentType());
             stmt.setObject(7, metadata.getByteSize());
-            stmt.setString(8, metadata.getUploadState() != null
+            stmt.setString(8, metadata.getContentSha256());
+            stmt.setString(9, metadata.getUploadState() != null
                 ? metadata.getUploadState().getValue()
                 : LineScanTileMetadata.UploadState.PENDING.getValue());
-            stmt.setObject(9, metadata.getUploadAttempts() != null ? metadata.getUploadAttempts() : 0);
-            stmt.setString(10, metadata.getLastUploadError());
-            stmt.setTimestamp(11, metadata.getLastUploadAttemptAt() != null
+            stmt.setObject(10, metadata.getUploadAttempts() != null ? metadata.getUploadAttempts() : 0);
+            stmt.setString(11, metadata.getLastUploadError());
+            stmt.setTimestamp(12, metadata.getLastUploadAttemptAt() != null
                 ? Timestamp.from(metadata.getLastUploadAttemptAt())
                 : null);
-            stmt.setString(12, metadata.getMinioBucket());
-            stmt.setString(13, metadata.getMinioObjectKey());
-            stmt.setTimestamp(14, Timestamp.from(createdAt));
-            stmt.setTimestamp(15, Timestamp.from(updatedAt));
+            stmt.setString(13, metadata.getMinioBucket());
+            stmt.setString(14, metadata.getMinioObjectKey());
+            stmt.setTimestamp(15, Timestamp.from(createdAt));
+            stmt.setTimestamp(16, Timestamp.from(updatedAt));
             
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -98,20 +105,28 @@ public class JdbcLineScanTileRepository implements LineScanTileRepository {
         String sql = """
             INSERT INTO line_scan_tiles (
                 id, manifest_id, tile_id, tile_x, tile_y, content_type,
-                byte_size, upload_state, upload_attempts, last_upload_error, last_upload_attempt_at,
+                byte_size, content_sha256, upload_state, upload_attempts, last_upload_error, last_upload_attempt_at,
                 minio_bucket, minio_object_key, created_at, updated_at
-            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
             ON CONFLICT (manifest_id, tile_id) DO UPDATE SET
                 tile_x = EXCLUDED.tile_x,
                 tile_y = EXCLUDED.tile_y,
                 content_type = EXCLUDED.content_type,
                 byte_size = EXCLUDED.byte_size,
+                content_sha256 = EXCLUDED.content_sha256,
                 upload_state = EXCLUDED.upload_state,
                 upload_attempts = EXCLUDED.upload_attempts,
                 last_upload_error = EXCLUDED.last_upload_error,
                 last_upload_attempt_at = EXCLUDED.last_upload_attempt_at,
                 minio_bucket = EXCLUDED.minio_bucket,
                 minio_object_key = EXCLUDED.minio_object_key,
+                transcode_state = NULL,
+                transcode_attempts = 0,
+                transcode_error = NULL,
+                transcode_next_attempt_at = NULL,
+                variant_content_type = NULL,
+                variant_byte_size = NULL,
+                variant_sha256 = NULL,
                 updated_at = EXCLUDED.updated_at
             """;
 
@@ -128,18 +143,19 @@ public class JdbcLineScanTileRepository implements LineScanTileRepository {
                 stmt.setInt(5, metadata.getTileY());
                 stmt.setString(6, metadata.getContentType());
                 stmt.setObject(7, metadata.getByteSize());
-                stmt.setString(8, metadata.getUploadState() != null
+                stmt.setString(8, metadata.getContentSha256());
+                stmt.setString(9, metadata.getUploadState() != null
                     ? metadata.getUploadState().getValue()
                     : LineScanTileMetadata.UploadState.PENDING.getValue());
-                stmt.setObject(9, metadata.getUploadAttempts() != null ? metadata.getUploadAttempts() : 0);
-                stmt.setString(10, metadata.getLastUploadError());
-                stmt.setTimestamp(11, metadata.getLastUploadAttemptAt() != null
+                stmt.setObject(10, metadata.getUploadAttempts() != null ? metadata.getUploadAttempts() : 0);
+                stmt.setString(11, metadata.getLastUploadError());
+                stmt.setTimestamp(12, metadata.getLastUploadAttemptAt() != null
                     ? Timestamp.from(metadata.getLastUploadAttemptAt())
                     : null);
-                stmt.setString(12, metadata.getMinioBucket());
-                stmt.setString(13, metadata.getMinioObjectKey());
-                stmt.setTimestamp(14, Timestamp.from(createdAt));
-                stmt.setTimestamp(15, Timestamp.from(now));
+                stmt.setString(13, metadata.getMinioBucket());
+                stmt.setString(14, metadata.getMinioObjectKey());
+                stmt.setTimestamp(15, Timestamp.from(createdAt));
+                stmt.setTimestamp(16, Timestamp.from(now));
                 stmt.addBatch();
             }
             stmt.executeBatch();
@@ -152,8 +168,9 @@ public class JdbcLineScanTileRepository implements LineScanTileRepository {
     public Optional<LineScanTileMetadata> findByManifestAndTileId(UUID manifestId, String tileId) {
         String sql = """
             SELECT id, manifest_id, tile_id, tile_x, tile_y, content_type,
-                byte_size, upload_state, upload_attempts, last_upload_error, last_upload_attempt_at,
-                minio_bucket, minio_object_key, created_at, updated_at
+                byte_size, content_sha256, upload_state, upload_attempts, last_upload_error, last_upload_attempt_at,
+                minio_bucket, minio_object_key, variant_content_type, variant_byte_size, variant_sha256,
+                created_at, updated_at
             FROM line_scan_tiles
             WHERE manifest_id = ? AND tile_id = ?
             """;
@@ -179,8 +196,9 @@ public class JdbcLineScanTileRepository implements LineScanTileRepository {
     public List<LineScanTileMetadata> findByManifestId(UUID manifestId) {
         String sql = """
             SELECT id, manifest_id, tile_id, tile_x, tile_y, content_type,
-                byte_size, upload_state, upload_attempts, last_upload_error, last_upload_attempt_at,
-                minio_bucket, minio_object_key, created_at, updated_at
+                byte_size, content_sha256, upload_state, upload_attempts, last_upload_error, last_upload_attempt_at,
+                minio_bucket, minio_object_key, variant_content_type, variant_byte_size, variant_sha256,
+                created_at, updated_at
             FROM line_scan_tiles
             WHERE manifest_id = ?
             ORDER BY tile_y, tile_x
@@ -204,12 +222,50 @@ public class JdbcLineScanTileRepository implements LineScanTileRepository {
         }
     }
     
+    @Override
+    public List<LineScanTileMetadata> findByManifestIdAndTileIds(UUID manifestId, Collection<String> tileIds) {
+        if (tileIds == null || tileIds.isEmpty()) {
+            return List.of();
+        }
+        List<String> ids = List.copyOf(tileIds);
+        String placeholders = String.join(",", ids.stream().map(id -> "?").toList());
+        String sql = """
+            SELECT id, manifest_id, tile_id, tile_x, tile_y, content_type,
+                byte_size, content_sha256, upload_state, upload_attempts, last_upload_error, last_upload_attempt_at,
+                minio_bucket, minio_object_key, variant_content_type, variant_byte_size, variant_sha256,
+                created_at, updated_at
+            FROM line_scan_tiles
+            WHERE manifest_id = ? AND tile_id IN (%s)
+            """.formatted(placeholders);
+        
+        List<LineScanTileMetadata> tiles = new ArrayList<>();
+        
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setObject(1, manifestId);
+            for (int i = 0; i < ids.size(); i++) {
+                stmt.setString(i + 2, ids.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tiles.add(mapResultSetToMetadata(rs));
+                }
+            }
+            return tiles;
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error finding tiles for manifest", e);
+        }
+    }
+    
     @Override
     public Optional<LineScanTileMetadata> findByRegattaAndTileId(UUID regattaId, String tileId) {
         String sql = """
             SELECT t.id, t.manifest_id, t.tile_id, t.tile_x, t.tile_y, t.content_type,
-                t.byte_size, t.upload_state, t.upload_attempts, t.last_upload_error, t.last_upload_attempt_at,
-                t.minio_bucket, t.minio_object_key, t.created_at, t.updated_at
+                t.byte_size, t.content_sha256, t.upload_state, t.upload_attempts, t.last_upload_error, t.last_upload_attempt_at,
+                t.minio_bucket, t.minio_object_key, t.variant_content_type, t.variant_byte_size, t.variant_sha256,
+                t.created_at, t.updated_at
             FROM line_scan_tiles t
             JOIN line_scan_manifests m ON t.manifest_id = m.id
             WHERE m.regatta_id = ? AND t.tile_id = ?
@@ -234,6 +290,29 @@ public class JdbcLineScanTileRepository implements LineScanTileRepository {
         }
     }
 
+    @Override
+    public Optional<LineScanTileMetadata> lockById(UUID id) {
+        String sql = """
+            SELECT id, manifest_id, tile_id, tile_x, tile_y, content_type,
+                byte_size, content_sha256, upload_state, upload_attempts, last_upload_error, last_upload_attempt_at,
+                minio_bucket, minio_object_key, variant_content_type, variant_byte_size, variant_sha256,
+                created_at, updated_at
+            FROM line_scan_tiles
+            WHERE id = ?
+            FOR UPDATE
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setObject(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? Optional.of(mapResultSetToMetadata(rs)) : Optional.empty();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error locking tile metadata", e);
+        }
+    }
+
     @Override
     public void deleteByManifestId(UUID manifestId) {
         String sql = "DELETE FROM line_scan_tiles WHERE manifest_id = ?";
@@ -283,6 +362,314 @@ public class JdbcLineScanTileRepository implements LineScanTileRepository {
         }
     }
     
+    @Override
+    public void resetVariant(UUID id, boolean transcodePending, Instant now) {
+        String sql = """
+            UPDATE line_scan_tiles
+            SET transcode_state = ?, transcode_attempts = 0, transcode_error = NULL,
+                transcode_next_attempt_at = ?,
+                variant_content_type = NULL, variant_byte_size = NULL, variant_sha256 = NULL
+            WHERE id = ?
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, transcodePending ? "pending" : null);
+            stmt.setTimestamp(2, transcodePending ? Timestamp.from(now) : null);
+            stmt.setObject(3, id);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error resetting tile variant", e);
+        }
+    }
+
+    @Override
+    public List<TileTranscodeTask> claimTranscodeDue(Instant now, Instant claimUntil, int limit) {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<UUID> ids = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement("""
+                         SELECT id
+                         FROM line_scan_tiles
+                         WHERE transcode_state = 'pending'
+                           AND transcode_next_attempt_at <= ?
+                           AND upload_state = 'ready'
+                         ORDER BY transcode_next_attempt_at, id
+                         LIMIT ?
+                         FOR UPDATE SKIP LOCKED
+                         """)) {
+                    stmt.setTimestamp(1, Timestamp.from(now));
+                    stmt.setInt(2, limit);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            ids.add(rs.getObject("id", UUID.class));
+                        }
+                    }
+                }
+                if (ids.isEmpty()) {
+                    conn.commit();
+                    return List.of();
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement("""
+                         UPDATE line_scan_tiles SET transcode_next_attempt_at = ? WHERE id = ?
+                         """)) {
+                    for (UUID id : ids) {
+                        stmt.setTimestamp(1, Timestamp.from(claimUntil));
+                        stmt.setObject(2, id);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+
+                List<TileTranscodeTask> tasks = new ArrayList<>();
+                try (PreparedStatement stmt = conn.prepareStatement("""
+                         SELECT t.id, t.manifest_id, m.regatta_id, m.capture_session_id, t.tile_id, t.content_type,
+                             t.content_sha256, t.transcode_attempts
+                         FROM line_scan_tiles t
+                         JOIN line_scan_manifests m ON t.manifest_id = m.id
+                         WHERE t.id = ?
+                         """)) {
+                    for (UUID id : ids) {
+                        stmt.setObject(1, id);
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            if (rs.next()) {
+                                tasks.add(new TileTranscodeTask(
+                                    rs.getObject("id", UUID.class),
+                                    rs.getObject("manifest_id", UUID.class),
+                                    rs.getObject("regatta_id", UUID.class),
+                                    rs.getObject("capture_session_id", UUID.class),
+                                    rs.getString("tile_id"),
+                                    rs.getString("content_type"),
+                                    rs.getString("content_sha256"),
+                                    rs.getInt("transcode_attempts"),
+                                    claimUntil
+                                ));
+                            }
+                        }
+                    }
+                }
+                conn.commit();
+                return tasks;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error claiming due tile transcodes", e);
+        }
+    }
+
+    @Override
+    public boolean completeTranscode(TileTranscodeTask task, String variantContentType,
+                                     int variantByteSize, String variantSha256) {
+        String sql = """
+            UPDATE line_scan_tiles
+            SET transcode_state = 'ready', transcode_error = NULL, transcode_next_attempt_at = NULL,
+                variant_content_type = ?, variant_byte_size = ?, variant_sha256 = ?
+            WHERE id = ? AND content_sha256 = ? AND transcode_state = 'pending' AND transcode_next_attempt_at = ?
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, variantContentType);
+            stmt.setInt(2, variantByteSize);
+            stmt.setString(3, variantSha256);
+            stmt.setObject(4, task.id());
+            stmt.setString(5, task.contentSha256());
+            stmt.setTimestamp(6, Timestamp.from(task.claimedUntil()));
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error recording tile variant", e);
+        }
+    }
+
+    @Override
+    public void skipTranscode(TileTranscodeTask task) {
+        String sql = """
+            UPDATE line_scan_tiles
+            SET transcode_state = 'skipped', transcode_error = NULL, transcode_next_attempt_at = NULL
+            WHERE id = ? AND content_sha256 = ? AND transcode_state = 'pending' AND transcode_next_attempt_at = ?
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setObject(1, task.id());
+            stmt.setString(2, task.contentSha256());
+            stmt.setTimestamp(3, Timestamp.from(task.claimedUntil()));
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error skipping tile transcode", e);
+        }
+    }
+
+    @Override
+    public void failTranscode(TileTranscodeTask task, String error, Instant nextAttemptAt) {
+        String sql = """
+            UPDATE line_scan_tiles
+            SET transcode_state = ?, transcode_attempts = transcode_attempts + 1, transcode_error = ?,
+                transcode_next_attempt_at = ?
+            WHERE id = ? AND content_sha256 = ? AND transcode_state = 'pending' AND transcode_next_attempt_at = ?
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, nextAttemptAt != null ? "pending" : "failed");
+            stmt.setString(2, error);
+            stmt.setTimestamp(3, nextAttemptAt != null ? Timestamp.from(nextAttemptAt) : null);
+            stmt.setObject(4, task.id());
+            stmt.setString(5, task.contentSha256());
+            stmt.setTimestamp(6, Timestamp.from(task.claimedUntil()));
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error recording failed tile transcode", e);
+        }
+    }
+
+    @Override
+    public Optional<TileTranscodeState> findTranscodeState(UUID id) {
+        String sql = """
+            SELECT transcode_state, variant_sha256, variant_byte_size
+            FROM line_scan_tiles
+            WHERE id = ?
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setObject(1, id);
+            ResultSet rs = stmt.executeQuery();
+            if (!rs.next()) {
+                return Optional.empty();
+            }
+            return Optional.of(new TileTranscodeState(
+                rs.getString("transcode_state"),
+                rs.getString("variant_sha256"),
+                rs.getObject("variant_byte_size", Integer.class)
+            ));
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error finding tile transcode state", e);
+        }
+    }
+
+    @Override
+    public boolean requeueTranscode(UUID id, String variantSha256, Instant now) {
+        String sql = """
+            UPDATE line_scan_tiles
+            SET transcode_state = 'pending', transcode_attempts = 0, transcode_error = NULL,
+                transcode_next_attempt_at = ?,
+                variant_content_type = NULL, variant_byte_size = NULL, variant_sha256 = NULL
+            WHERE id = ? AND variant_sha256 = ?
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.from(now));
+            stmt.setObject(2, id);
+            stmt.setString(3, variantSha256);
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error requeueing tile transcode", e);
+        }
+    }
+    
+    @Override
+    public void queueDetection(UUID id, Instant now) {
+        String sql = """
+            UPDATE line_scan_tiles
+            SET detection_state = 'pending', detection_attempts = 0, detection_next_attempt_at = ?
+            WHERE id = ?
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.from(now));
+            stmt.setObject(2, id);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error queueing tile detection", e);
+        }
+    }
+
+    @Override
+    public List<TileDetectionTask> findDetectionDue(Instant now, int limit) {
+        String sql = """
+            SELECT t.id, m.regatta_id, m.capture_session_id, t.tile_id, t.tile_x, t.tile_y,
+                t.content_sha256, m.x_origin_timestamp_ms, m.ms_per_pixel, t.detection_attempts
+            FROM line_scan_tiles t
+            JOIN line_scan_manifests m ON t.manifest_id = m.id
+            WHERE t.detection_state = 'pending'
+              AND t.detection_next_attempt_at <= ?
+              AND t.upload_state = 'ready'
+            ORDER BY t.detection_next_attempt_at, t.id
+            LIMIT ?
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.from(now));
+            stmt.setInt(2, limit);
+            ResultSet rs = stmt.executeQuery();
+
+            List<TileDetectionTask> tasks = new ArrayList<>();
+            while (rs.next()) {
+                tasks.add(new TileDetectionTask(
+                    rs.getObject("id", UUID.class),
+                    rs.getObject("regatta_id", UUID.class),
+                    rs.getObject("capture_session_id", UUID.class),
+                    rs.getString("tile_id"),
+                    rs.getInt("tile_x"),
+                    rs.getInt("tile_y"),
+                    rs.getString("content_sha256"),
+                    rs.getLong("x_origin_timestamp_ms"),
+                    rs.getDouble("ms_per_pixel"),
+                    rs.getInt("detection_attempts")
+                ));
+            }
+            return tasks;
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error finding due tile detections", e);
+        }
+    }
+
+    @Override
+    public void finishDetection(UUID id, String sourceSha256) {
+        String sql = """
+            UPDATE line_scan_tiles
+            SET detection_state = 'done', detection_next_attempt_at = NULL
+            WHERE id = ? AND content_sha256 = ? AND detection_state = 'pending'
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setObject(1, id);
+            stmt.setString(2, sourceSha256);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error finishing tile detection", e);
+        }
+    }
+
+    @Override
+    public void failDetection(UUID id, String sourceSha256, Instant nextAttemptAt) {
+        String sql = """
+            UPDATE line_scan_tiles
+            SET detection_state = ?, detection_attempts = detection_attempts + 1, detection_next_attempt_at = ?
+            WHERE id = ? AND content_sha256 = ? AND detection_state = 'pending'
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, nextAttemptAt != null ? "pending" : "failed");
+            stmt.setTimestamp(2, nextAttemptAt != null ? Timestamp.from(nextAttemptAt) : null);
+            stmt.setObject(3, id);
+            stmt.setString(4, sourceSha256);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error recording failed tile detection", e);
+        }
+    }
+    
     private LineScanTileMetadata mapResultSetToMetadata(ResultSet rs) throws SQLException {
         Timestamp createdAt = rs.getTimestamp("created_at");
         Timestamp updatedAt = rs.getTimestamp("updated_at");
@@ -295,12 +682,16 @@ public class JdbcLineScanTileRepository implements LineScanTileRepository {
             .tileY(rs.getInt("tile_y"))
             .contentType(rs.getString("content_type"))
             .byteSize(rs.getObject("byte_size", Integer.class))
+            .contentSha256(rs.getString("content_sha256"))
             .uploadState(LineScanTileMetadata.UploadState.fromValue(rs.getString("upload_state")))
             .uploadAttempts(rs.getObject("upload_attempts", Integer.class))
             .lastUploadError(rs.getString("last_upload_error"))
             .lastUploadAttemptAt(lastUploadAttemptAt != null ? lastUploadAttemptAt.toInstant() : null)
             .minioBucket(rs.getString("minio_bucket"))
             .minioObjectKey(rs.getString("minio_object_key"))
+            .variantContentType(rs.getString("variant_content_type"))
+            .variantByteSize(rs.getObject("variant_byte_size", Integer.class))
+            .variantSha256(rs.getString("variant_sha256"))
             .createdAt(createdAt != null ? createdAt.toInstant() : null)
             .updatedAt(updatedAt != null ? updatedAt.toInstant() : null)
             .build();
@@ -0,0 +1,161 @@
+package com.regattadesk.linescan.repository;
+
+import com.regattadesk.linescan.model.TileUploadSession;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * JDBC implementation of LineScanTileUploadRepository.
+ */
+@ApplicationScoped
+public class JdbcLineScanTileUploadRepository implements LineScanTileUploadRepository {
+
+    private final DataSource dataSource;
+
+    @Inject
+    public JdbcLineScanTileUploadRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void create(TileUploadSession session) {
+        String sql = """
+            INSERT INTO line_scan_tile_uploads (
+                id, regatta_id, tile_id, content_type, total_bytes, received_bytes, expected_sha256,
+                expires_at, created_at, updated_at
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            Timestamp now = Timestamp.from(Instant.now());
+            stmt.setObject(1, session.id());
+            stmt.setObject(2, session.regattaId());
+            stmt.setString(3, session.tileId());
+            stmt.setString(4, session.contentType());
+            stmt.setInt(5, session.totalBytes());
+            stmt.setInt(6, session.receivedBytes());
+            stmt.setString(7, session.expectedSha256());
+            stmt.setTimestamp(8, Timestamp.from(session.expiresAt()));
+            stmt.setTimestamp(9, now);
+            stmt.setTimestamp(10, now);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error creating tile upload", e);
+        }
+    }
+
+    @Override
+    public Optional<TileUploadSession> find(UUID regattaId, String tileId, UUID uploadId, boolean forUpdate) {
+        String sql = """
+            SELECT id, regatta_id, tile_id, content_type, total_bytes, received_bytes, expected_sha256, expires_at
+            FROM line_scan_tile_uploads
+            WHERE id = ? AND regatta_id = ? AND tile_id = ?
+            """ + (forUpdate ? " FOR UPDATE" : "");
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setObject(1, uploadId);
+            stmt.setObject(2, regattaId);
+            stmt.setString(3, tileId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                return Optional.of(new TileUploadSession(
+                    rs.getObject("id", UUID.class),
+                    rs.getObject("regatta_id", UUID.class),
+                    rs.getString("tile_id"),
+                    rs.getString("content_type"),
+                    rs.getInt("total_bytes"),
+                    rs.getInt("received_bytes"),
+                    rs.getString("expected_sha256"),
+                    rs.getTimestamp("expires_at").toInstant()
+                ));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error finding tile upload", e);
+        }
+    }
+
+    @Override
+    public void updateProgress(UUID uploadId, int receivedBytes, Instant expiresAt) {
+        String sql = """
+            UPDATE line_scan_tile_uploads
+            SET received_bytes = ?, expires_at = ?, updated_at = ?
+            WHERE id = ?
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, receivedBytes);
+            stmt.setTimestamp(2, Timestamp.from(expiresAt));
+            stmt.setTimestamp(3, Timestamp.from(Instant.now()));
+            stmt.setObject(4, uploadId);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error updating tile upload", e);
+        }
+    }
+
+    @Override
+    public void delete(UUID uploadId) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM line_scan_tile_uploads WHERE id = ?")) {
+            stmt.setObject(1, uploadId);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error deleting tile upload", e);
+        }
+    }
+
+    @Override
+    public List<UUID> findExpired(Instant now, int limit) {
+        String sql = """
+            SELECT id FROM line_scan_tile_uploads
+            WHERE expires_at <= ?
+            ORDER BY expires_at, id
+            LIMIT ?
+            """;
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.from(now));
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                List<UUID> ids = new ArrayList<>();
+                while (rs.next()) {
+                    ids.add(rs.getObject("id", UUID.class));
+                }
+                return ids;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error finding expired tile uploads", e);
+        }
+    }
+
+    @Override
+    public boolean deleteIfExpired(UUID uploadId, Instant now) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "DELETE FROM line_scan_tile_uploads WHERE id = ? AND expires_at <= ?")) {
+            stmt.setObject(1, uploadId);
+            stmt.setTimestamp(2, Timestamp.from(now));
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error deleting expired tile upload", e);
+        }
+    }
+}
@@ -30,7 +30,8 @@ public class JdbcTimingMarkerRepository implements TimingMarkerRepository {
     public List<TimingMarker> findApprovedByRegattaId(UUID regattaId) {
         String sql = """
             SELECT m.id, m.capture_session_id, m.entry_id, m.frame_offset,
-                   m.timestamp_ms, m.is_linked, m.is_approved, m.tile_id, m.tile_x, m.tile_y
+                   m.timestamp_ms, m.is_linked, m.is_approved, m.tile_id, m.tile_x, m.tile_y,
+                   m.source, m.confidence
             FROM timing_markers m
             INNER JOIN capture_sessions cs ON m.capture_session_id = cs.id
             WHERE cs.regatta_id = ?
@@ -57,7 +58,9 @@ public class JdbcTimingMarkerRepository implements TimingMarkerRepository {
                     rs.getBoolean("is_approved"),
                     rs.getString("tile_id"),
                     rs.getObject("tile_x", Integer.class),
-                    rs.getObject("tile_y", Integer.class)
+                    rs.getObject("tile_y", Integer.class),
+                    rs.getString("source"),
+                    rs.getObject("confidence", Double.class)
                 ));
             }
             
@@ -19,15 +19,46 @@ public interface LineScanManifestRepository {
      * Find a manifest by its ID.
      */
     Optional<LineScanManifest> findById(UUID manifestId);
+
+    /**
+     * Find a manifest by its ID without loading its tiles.
+     */
+    Optional<LineScanManifest> findHeaderById(UUID manifestId);
     
     /**
      * Find a manifest by capture session ID.
      */
     Optional<LineScanManifest> findByCaptureSessionId(UUID captureSessionId);
+
+    /**
+     * Find a manifest by capture session ID without loading its tiles.
+     * Used to validate cached per-manifest data against the manifest's {@code updatedAt}.
+     */
+    Optional<LineScanManifest> findHeaderByCaptureSessionId(UUID captureSessionId);
     
     /**
      * Find all manifests with retention states in the given list.
      * Used by retention scheduler to find manifests needing evaluation.
      */
     List<LineScanManifest> findByRetentionStateIn(List<LineScanManifest.RetentionState> states);
+
+    /**
+     * Find the next page of regatta IDs, in ascending order, that have manifests in the given states.
+     *
+     * @param afterRegattaId exclusive keyset lower bound, or null to start from the beginning
+     */
+    List<UUID> findRegattaIdsWithRetentionStateIn(
+        List<LineScanManifest.RetentionState> states,
+        UUID afterRegattaId,
+        int limit
+    );
+
+    /**
+     * Find manifests of the given regattas with retention states in the given list.
+     * Results are ordered by regatta, then creation time.
+     */
+    List<LineScanManifest> findByRegattaIdsAndRetentionStateIn(
+        List<UUID> regattaIds,
+        List<LineScanManifest.RetentionState> states
+    );
 }
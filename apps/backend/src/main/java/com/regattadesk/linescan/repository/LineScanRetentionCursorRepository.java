@@ -0,0 +1,25 @@
+package com.regattadesk.linescan.repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for the persisted resume position of retention runs.
+ */
+public interface LineScanRetentionCursorRepository {
+
+    /**
+     * Find the last regatta fully evaluated by an unfinished run of the given job.
+     */
+    Optional<UUID> findLastRegattaId(String jobName);
+
+    /**
+     * Record the last regatta fully evaluated by the given job.
+     */
+    void saveLastRegattaId(String jobName, UUID regattaId);
+
+    /**
+     * Clear the cursor once a run has covered all regattas.
+     */
+    void clear(String jobName);
+}
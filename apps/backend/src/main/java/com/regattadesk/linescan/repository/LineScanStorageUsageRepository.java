@@ -0,0 +1,43 @@
+package com.regattadesk.linescan.repository;
+
+import com.regattadesk.linescan.model.StorageUsage;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for the incrementally maintained line-scan storage counters.
+ */
+public interface LineScanStorageUsageRepository {
+
+    /**
+     * Create the (zero) counters of a manifest unless they exist.
+     */
+    void ensure(UUID manifestId);
+
+    /**
+     * Adjust a manifest's stored tile count and bytes; deltas may be negative.
+     */
+    void addStored(UUID manifestId, long tileDelta, long byteDelta);
+
+    /**
+     * Move tiles removed by pruning from the stored to the pruned counters.
+     */
+    void recordPruned(UUID manifestId, long tiles, long bytes);
+
+    /**
+     * Find the counters of a manifest.
+     */
+    Optional<StorageUsage> findByManifestId(UUID manifestId);
+
+    /**
+     * Find the counters of all manifests of a regatta.
+     */
+    List<StorageUsage> findByRegattaId(UUID regattaId);
+
+    /**
+     * Sum the counters per regatta, for all regattas with line-scan manifests.
+     */
+    List<StorageUsage> totalsByRegatta();
+}
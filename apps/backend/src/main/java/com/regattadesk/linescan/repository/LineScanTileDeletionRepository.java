@@ -0,0 +1,37 @@
+package com.regattadesk.linescan.repository;
+
+import com.regattadesk.linescan.model.PendingTileDeletion;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for the deferred tile object deletion queue.
+ */
+public interface LineScanTileDeletionRepository {
+
+    /**
+     * Enqueue tile objects for deletion. Intended to run in the transaction that deletes their metadata.
+     */
+    void enqueueAll(List<PendingTileDeletion> deletions);
+
+    /**
+     * Find queue entries whose next attempt is due, oldest first. Entries whose key now holds a
+     * live tile or variant again are flagged {@link PendingTileDeletion#replaced()}.
+     */
+    List<PendingTileDeletion> findDue(Instant now, int limit);
+
+    /**
+     * Remove completed queue entries.
+     *
+     * @return IDs of the entries this call removed; entries already removed by a concurrent
+     *         worker are left out
+     */
+    List<UUID> deleteByIds(List<UUID> ids);
+
+    /**
+     * Record a failed attempt and schedule the next one.
+     */
+    void markFailed(List<UUID> ids, String error, Instant nextAttemptAt);
+}
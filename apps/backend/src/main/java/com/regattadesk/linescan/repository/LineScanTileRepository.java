@@ -1,6 +1,11 @@
 package com.regattadesk.linescan.repository;
 
 import com.regattadesk.linescan.model.LineScanTileMetadata;
+import com.regattadesk.linescan.model.TileDetectionTask;
+import com.regattadesk.linescan.model.TileTranscodeState;
+import com.regattadesk.linescan.model.TileTranscodeTask;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,7 +21,8 @@ public interface LineScanTileRepository {
     LineScanTileMetadata save(LineScanTileMetadata metadata);
 
     /**
-     * Save tile metadata in a batch operation.
+     * Save tile metadata in a batch operation. Tiles that already exist are overwritten and lose
+     * their WebP variant and transcode state.
      */
     void saveAll(List<LineScanTileMetadata> metadata);
     
@@ -29,6 +35,11 @@ public interface LineScanTileRepository {
      * Find all tiles for a manifest.
      */
     List<LineScanTileMetadata> findByManifestId(UUID manifestId);
+
+    /**
+     * Find the given tiles of a manifest; unknown tile IDs are skipped.
+     */
+    List<LineScanTileMetadata> findByManifestIdAndTileIds(UUID manifestId, Collection<String> tileIds);
     
     /**
      * Find tile metadata by regatta ID and tile ID.
@@ -36,6 +47,11 @@ public interface LineScanTileRepository {
      */
     Optional<LineScanTileMetadata> findByRegattaAndTileId(UUID regattaId, String tileId);
 
+    /**
+     * Lock a tile row until the end of the current transaction and return its current state.
+     */
+    Optional<LineScanTileMetadata> lockById(UUID id);
+
     /**
      * Delete all tiles for a manifest.
      */
@@ -46,4 +62,73 @@ public interface LineScanTileRepository {
      * Used during pruning to remove tiles outside marker windows.
      */
     void deleteByIds(List<UUID> tileIds);
+
+    /**
+     * Drop the tile's transcoded variant after a new upload and, if requested, queue the
+     * new content for transcoding.
+     */
+    void resetVariant(UUID id, boolean transcodePending, Instant now);
+
+    /**
+     * Claim uploaded tiles whose transcoding is due, oldest first. Claimed tiles are skipped
+     * by concurrent claims and only become due again at {@code claimUntil}, so each task is
+     * worked on by one worker at a time.
+     */
+    List<TileTranscodeTask> claimTranscodeDue(Instant now, Instant claimUntil, int limit);
+
+    /**
+     * Record a stored variant, unless the tile content changed or the task's claim was lost
+     * since it was claimed.
+     *
+     * @return false if the tile was re-uploaded, deleted or claimed again in the meantime
+     */
+    boolean completeTranscode(TileTranscodeTask task, String variantContentType,
+                              int variantByteSize, String variantSha256);
+
+    /**
+     * Record that no variant is kept because it was not smaller than the original.
+     */
+    void skipTranscode(TileTranscodeTask task);
+
+    /**
+     * Record a failed transcoding attempt.
+     *
+     * @param nextAttemptAt when to retry, or null to give up
+     */
+    void failTranscode(TileTranscodeTask task, String error, Instant nextAttemptAt);
+
+    /**
+     * Find the tile's current transcode state and recorded variant.
+     */
+    Optional<TileTranscodeState> findTranscodeState(UUID id);
+
+    /**
+     * Drop the tile's recorded variant and queue it for transcoding again, unless it records
+     * a different variant by now.
+     *
+     * @return false if the tile no longer records {@code variantSha256}
+     */
+    boolean requeueTranscode(UUID id, String variantSha256, Instant now);
+
+    /**
+     * Queue a freshly uploaded tile for crossing detection.
+     */
+    void queueDetection(UUID id, Instant now);
+
+    /**
+     * Find uploaded tiles whose crossing detection is due, oldest first.
+     */
+    List<TileDetectionTask> findDetectionDue(Instant now, int limit);
+
+    /**
+     * Mark detection done, unless the tile content changed since the task was read.
+     */
+    void finishDetection(UUID id, String sourceSha256);
+
+    /**
+     * Record a failed detection attempt.
+     *
+     * @param nextAttemptAt when to retry, or null to give up
+     */
+    void failDetection(UUID id, String sourceSha256, Instant nextAttemptAt);
 }
@@ -0,0 +1,48 @@
+package com.regattadesk.linescan.repository;
+
+import com.regattadesk.linescan.model.TileUploadSession;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for resumable tile upload sessions.
+ */
+public interface LineScanTileUploadRepository {
+
+    /**
+     * Persist a new upload session.
+     */
+    void create(TileUploadSession session);
+
+    /**
+     * Find an upload session of a regatta's tile.
+     *
+     * @param forUpdate lock the row until the end of the current transaction
+     */
+    Optional<TileUploadSession> find(UUID regattaId, String tileId, UUID uploadId, boolean forUpdate);
+
+    /**
+     * Record the new committed offset and extend the session's expiry.
+     */
+    void updateProgress(UUID uploadId, int receivedBytes, Instant expiresAt);
+
+    /**
+     * Delete an upload session.
+     */
+    void delete(UUID uploadId);
+
+    /**
+     * Find sessions that expired before {@code now}, oldest first.
+     */
+    List<UUID> findExpired(Instant now, int limit);
+
+    /**
+     * Delete an upload session unless a chunk extended its expiry in the meantime.
+     *
+     * @return true if the session was deleted
+     */
+    boolean deleteIfExpired(UUID uploadId, Instant now);
+}
@@ -0,0 +1,140 @@
+package com.regattadesk.linescan.service;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds finish-line crossing candidates in a line-scan tile.
+ *
+ * In a line-scan image every column is one exposure of the finish line, so while the line is
+ * empty each row keeps its background value, and the empty line dominates every tile. The
+ * detector takes each row's median luminance as its background and counts, per column, the
+ * rows deviating from it by more than {@code pixelThreshold} ("activity"). A crossing is the
+ * leading edge of a hull: a column whose activity clears the threshold after a few quiet
+ * columns. The stern is not reported, since the line behind it returns to the background.
+ * Candidates closer than {@code minSeparationPx} to a previous one are suppressed.
+ *
+ * Works on three row buffers and one per-column array; there is no per-pixel allocation.
+ * The first column of a tile cannot be a leading edge and is never reported.
+ */
+public final class CrossingDetector {
+
+    /** Columns before a leading edge that must be quiet, and after it that count towards its peak. */
+    static final int EDGE_WINDOW_PX = 4;
+
+    private final int pixelThreshold;
+    private final double minRowFraction;
+    private final int minSeparationPx;
+
+    /**
+     * @param pixelThreshold  luminance step (0-255) that counts a row as changed
+     * @param minRowFraction  minimum fraction of changed rows for a column to start a candidate
+     * @param minSeparationPx minimum distance between two candidates of the same tile
+     */
+    public CrossingDetector(int pixelThreshold, double minRowFraction, int minSeparationPx) {
+        this.pixelThreshold = Math.max(1, pixelThreshold);
+        this.minRowFraction = Math.max(0.0, Math.min(minRowFraction, 1.0));
+        this.minSeparationPx = Math.max(1, minSeparationPx);
+    }
+
+    public List<Crossing> detect(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (width < 2 || height < 1) {
+            return List.of();
+        }
+
+        int[] activity = columnActivity(image, width, height);
+        int threshold = threshold(activity, height);
+
+        List<Crossing> crossings = new ArrayList<>();
+        int lastCandidate = -minSeparationPx;
+        for (int x = 1; x < width; x++) {
+            if (activity[x] < threshold || x - lastCandidate < minSeparationPx || !quietBefore(activity, x, threshold)) {
+                continue;
+            }
+            int peak = activity[x];
+            for (int i = x + 1; i < Math.min(width, x + EDGE_WINDOW_PX); i++) {
+                peak = Math.max(peak, activity[i]);
+            }
+            crossings.add(new Crossing(x, confidence(peak, threshold)));
+            lastCandidate = x;
+        }
+        return crossings;
+    }
+
+    /**
+     * True if the columns just before {@code x} show an empty line, so {@code x} is a leading
+     * edge and not the stern of a hull passing through.
+     */
+    private static boolean quietBefore(int[] activity, int x, int threshold) {
+        for (int i = Math.max(0, x - EDGE_WINDOW_PX); i < x; i++) {
+            if (activity[i] >= threshold) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Number of rows per column whose luminance deviates from the row's background (median).
+     */
+    private int[] columnActivity(BufferedImage image, int width, int height) {
+        int[] row = new int[width];
+        int[] luma = new int[width];
+        int[] sorted = new int[width];
+        int[] activity = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            for (int x = 0; x < width; x++) {
+                luma[x] = luminance(row[x]);
+            }
+            System.arraycopy(luma, 0, sorted, 0, width);
+            Arrays.sort(sorted);
+            int background = sorted[width / 2];
+            for (int x = 0; x < width; x++) {
+                if (Math.abs(luma[x] - background) > pixelThreshold) {
+                    activity[x]++;
+                }
+            }
+        }
+        return activity;
+    }
+
+    /**
+     * Activity a column needs to start a candidate: the configured row fraction, raised for
+     * noisy tiles to well above the lower-quartile column (the empty line's noise floor).
+     */
+    private int threshold(int[] activity, int height) {
+        int[] sorted = activity.clone();
+        Arrays.sort(sorted);
+        int noiseFloor = sorted[sorted.length / 4];
+        int minimum = (int) Math.ceil(minRowFraction * height);
+        return Math.max(1, Math.max(minimum, 3 * noiseFloor + 1));
+    }
+
+    /**
+     * Map peak activity to {@code [0.5, 1)}: 0.5 at the threshold, 0.75 at twice the threshold.
+     */
+    static double confidence(int peak, int threshold) {
+        return 1.0 - threshold / (2.0 * Math.max(peak, threshold));
+    }
+
+    /**
+     * Rec. 601 luma of an RGB pixel in integer arithmetic.
+     */
+    static int luminance(int rgb) {
+        int r = (rgb >> 16) & 0xFF;
+        int g = (rgb >> 8) & 0xFF;
+        int b = rgb & 0xFF;
+        return (299 * r + 587 * g + 114 * b) / 1000;
+    }
+
+    /**
+     * Crossing candidate at a column of the tile.
+     */
+    public record Crossing(int column, double confidence) {
+    }
+}
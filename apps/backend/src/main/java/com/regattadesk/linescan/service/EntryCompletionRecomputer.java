@@ -0,0 +1,166 @@
+package com.regattadesk.linescan.service;
+
+import com.regattadesk.entry.EntryCompletionUpdatedEvent;
+import com.regattadesk.eventstore.DomainEvent;
+import com.regattadesk.eventstore.EventMetadata;
+import com.regattadesk.eventstore.EventStore;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.jboss.logging.Logger;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Set-based recomputation of marker-derived entry completion.
+ *
+ * Callers collect the entries touched by a marker operation and hand them over once, at the
+ * end of their transaction. Each call evaluates all given entries from a single grouped marker
+ * query, writes only the entries whose outcome changed in one JDBC batch, and appends an
+ * {@link EntryCompletionUpdatedEvent} per changed entry for downstream results projections.
+ */
+@ApplicationScoped
+public class EntryCompletionRecomputer {
+
+    private static final Logger LOG = Logger.getLogger(EntryCompletionRecomputer.class);
+    private static final int MAX_ENTRIES_PER_QUERY = 1000;
+
+    private final DataSource dataSource;
+    private final EventStore eventStore;
+
+    @Inject
+    public EntryCompletionRecomputer(DataSource dataSource, EventStore eventStore) {
+        this.dataSource = dataSource;
+        this.eventStore = eventStore;
+    }
+
+    /**
+     * Recompute completion for the given entries (duplicates and nulls are ignored).
+     *
+     * @return the entries whose completion outcome changed
+     */
+    @Transactional
+    public List<EntryCompletionUpdatedEvent> recompute(Collection<UUID> entryIds) {
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(entryIds));
+        distinct.removeIf(Objects::isNull);
+        if (distinct.isEmpty()) {
+            return List.of();
+        }
+
+        List<EntryCompletionUpdatedEvent> changes = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection()) {
+            for (int i = 0; i < distinct.size(); i += MAX_ENTRIES_PER_QUERY) {
+                List<UUID> chunk = distinct.subList(i, Math.min(i + MAX_ENTRIES_PER_QUERY, distinct.size()));
+                changes.addAll(evaluateChanges(conn, chunk));
+            }
+            writeChanges(conn, changes);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to recompute entry completion", e);
+        }
+
+        for (EntryCompletionUpdatedEvent change : changes) {
+            appendEvent(change);
+        }
+        if (!changes.isEmpty()) {
+            LOG.debugf("Recomputed completion for %d entries, %d changed", distinct.size(), changes.size());
+        }
+        return changes;
+    }
+
+    private List<EntryCompletionUpdatedEvent> evaluateChanges(Connection conn, List<UUID> entryIds)
+        throws SQLException {
+        String placeholders = String.join(",", entryIds.stream().map(id -> "?").toList());
+        String sql = """
+            SELECT e.id, e.regatta_id, e.completion_status, e.marker_start_time_ms, e.marker_finish_time_ms,
+                   COUNT(tm.id) AS linked_count,
+                   COUNT(CASE WHEN tm.is_approved THEN 1 END) AS approved_count,
+                   MIN(CASE WHEN tm.is_approved THEN tm.timestamp_ms END) AS approved_min_ms,
+                   MAX(CASE WHEN tm.is_approved THEN tm.timestamp_ms END) AS approved_max_ms
+            FROM entries e
+            LEFT JOIN timing_markers tm ON tm.entry_id = e.id AND tm.is_linked = TRUE
+            WHERE e.id IN (%s)
+            GROUP BY e.id, e.regatta_id, e.completion_status, e.marker_start_time_ms, e.marker_finish_time_ms
+            """.formatted(placeholders);
+
+        List<EntryCompletionUpdatedEvent> changes = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < entryIds.size(); i++) {
+                stmt.setObject(i + 1, entryIds.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    MarkerCompletionEvaluator.CompletionResult result = MarkerCompletionEvaluator.evaluate(
+                        rs.getLong("linked_count"),
+                        rs.getLong("approved_count"),
+                        rs.getObject("approved_min_ms", Long.class),
+                        rs.getObject("approved_max_ms", Long.class)
+                    );
+                    String currentStatus = rs.getString("completion_status");
+                    Long currentStart = rs.getObject("marker_start_time_ms", Long.class);
+                    Long currentFinish = rs.getObject("marker_finish_time_ms", Long.class);
+                    if (result.completionStatus().equals(currentStatus)
+                        && Objects.equals(result.markerStartTimeMs(), currentStart)
+                        && Objects.equals(result.markerFinishTimeMs(), currentFinish)) {
+                        continue;
+                    }
+                    changes.add(new EntryCompletionUpdatedEvent(
+                        rs.getObject("id", UUID.class),
+                        rs.getObject("regatta_id", UUID.class),
+                        currentStatus,
+                        result.completionStatus(),
+                        result.markerStartTimeMs(),
+                        result.markerFinishTimeMs()
+                    ));
+                }
+            }
+        }
+        return changes;
+    }
+
+    private void writeChanges(Connection conn, List<EntryCompletionUpdatedEvent> changes) throws SQLException {
+        if (changes.isEmpty()) {
+            return;
+        }
+        String sql = """
+            UPDATE entries
+            SET completion_status = ?, marker_start_time_ms = ?, marker_finish_time_ms = ?
+            WHERE id = ?
+            """;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (EntryCompletionUpdatedEvent change : changes) {
+                stmt.setString(1, change.getCompletionStatus());
+                if (change.getMarkerStartTimeMs() == null) {
+                    stmt.setNull(2, java.sql.Types.BIGINT);
+                } else {
+                    stmt.setLong(2, change.getMarkerStartTimeMs());
+                }
+                if (change.getMarkerFinishTimeMs() == null) {
+                    stmt.setNull(3, java.sql.Types.BIGINT);
+                } else {
+                    stmt.setLong(3, change.getMarkerFinishTimeMs());
+                }
+                stmt.setObject(4, change.getEntryId());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private void appendEvent(EntryCompletionUpdatedEvent event) {
+        long expectedVersion = eventStore.getCurrentVersion(event.getEntryId());
+        EventMetadata metadata = EventMetadata.builder()
+            .correlationId(UUID.randomUUID())
+            .build();
+        eventStore.append(event.getEntryId(), "Entry", expectedVersion, List.<DomainEvent>of(event), metadata);
+    }
+}
@@ -0,0 +1,270 @@
+package com.regattadesk.linescan.service;
+
+import com.regattadesk.linescan.model.TileDetectionTask;
+import com.regattadesk.linescan.repository.LineScanTileRepository;
+import com.regattadesk.linescan.storage.TileStorage;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.awt.image.BufferedImage;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Proposes finish-crossing markers for uploaded line-scan tiles.
+ *
+ * {@link LineScanTileService#storeTile} queues every upload in {@code line_scan_tiles}; this
+ * worker decodes each queued tile once on a bounded pool of
+ * {@code linescan.detection.concurrency} threads, runs {@link CrossingDetector} on it and maps
+ * the candidate columns to frame offsets and timestamps with the manifest's time mapping.
+ * Candidates are stored as unapproved markers with {@code source = detected} and a confidence
+ * score via {@link TimingMarkerService#replaceDetectedCandidates}, so a re-uploaded tile
+ * replaces its unreviewed candidates. Storage failures are retried with exponential backoff up
+ * to {@code linescan.detection.max-attempts} times; tiles that cannot be decoded are given up.
+ */
+@ApplicationScoped
+public class LineScanCrossingDetectionWorker {
+
+    private static final Logger LOG = Logger.getLogger(LineScanCrossingDetectionWorker.class);
+
+    static final Duration BASE_RETRY_DELAY = Duration.ofMinutes(1);
+    static final Duration MAX_RETRY_DELAY = Duration.ofHours(1);
+
+    private final LineScanTileRepository tileRepository;
+    private final TileStorage tileStorage;
+    private final TimingMarkerService markerService;
+    private final boolean enabled;
+    private final int maxConcurrency;
+    private final int maxAttempts;
+    private final int pixelThreshold;
+    private final double minRowFraction;
+    private final long minSeparationMs;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private ExecutorService executorService;
+
+    @Inject
+    public LineScanCrossingDetectionWorker(
+        LineScanTileRepository tileRepository,
+        TileStorage tileStorage,
+        TimingMarkerService markerService,
+        @ConfigProperty(name = "linescan.detection.enabled", defaultValue = "true") boolean enabled,
+        @ConfigProperty(name = "linescan.detection.concurrency", defaultValue = "2") int maxConcurrency,
+        @ConfigProperty(name = "linescan.detection.max-attempts", defaultValue = "5") int maxAttempts,
+        @ConfigProperty(name = "linescan.detection.pixel-threshold", defaultValue = "24") int pixelThreshold,
+        @ConfigProperty(name = "linescan.detection.min-row-fraction", defaultValue = "0.05") double minRowFraction,
+        @ConfigProperty(name = "linescan.detection.min-separation-ms", defaultValue = "500") long minSeparationMs
+    ) {
+        this.tileRepository = tileRepository;
+        this.tileStorage = tileStorage;
+        this.markerService = markerService;
+        this.enabled = enabled;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.pixelThreshold = pixelThreshold;
+        this.minRowFraction = minRowFraction;
+        this.minSeparationMs = Math.max(0, minSeparationMs);
+    }
+
+    @PreDestroy
+    synchronized void shutdownExecutor() {
+        if (executorService != null) {
+            executorService.shutdown();
+        }
+    }
+
+    @Scheduled(
+        cron = "{linescan.detection.cron:*/30 * * * * ?}",
+        identity = "linescan-crossing-detection",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    void detectDue() {
+        drain();
+    }
+
+    /**
+     * Runs detection on all currently due tiles.
+     *
+     * @return number of tiles processed successfully
+     */
+    public int drain() {
+        if (!enabled) {
+            return 0;
+        }
+        if (!draining.compareAndSet(false, true)) {
+            LOG.debug("Crossing detection drain already in progress, skipping");
+            return 0;
+        }
+        try {
+            int pageSize = maxConcurrency * 8;
+            int processed = 0;
+            int proposed = 0;
+            List<TileDetectionTask> due;
+            while (!Thread.currentThread().isInterrupted()
+                && !(due = tileRepository.findDetectionDue(Instant.now(), pageSize)).isEmpty()) {
+                int[] page = drainPage(due);
+                processed += page[0];
+                proposed += page[1];
+            }
+            if (processed > 0) {
+                LOG.infof("Ran crossing detection on %d line-scan tiles, %d candidates proposed", processed, proposed);
+            }
+            return processed;
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    /**
+     * @return tiles processed successfully and candidates stored
+     */
+    private int[] drainPage(List<TileDetectionTask> due) {
+        ExecutorService executor = executor();
+        List<Future<Outcome>> futures = new ArrayList<>(due.size());
+        for (TileDetectionTask task : due) {
+            futures.add(executor.submit(() -> detect(task)));
+        }
+
+        int succeeded = 0;
+        int proposed = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            TileDetectionTask task = due.get(i);
+            Outcome outcome;
+            try {
+                outcome = futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                outcome = Outcome.failed(safeErrorMessage(e.getCause()), true);
+            }
+            if (outcome.error() != null) {
+                int attempts = task.attempts() + 1;
+                Instant nextAttemptAt = !outcome.retryable() || attempts >= maxAttempts
+                    ? null
+                    : Instant.now().plus(retryDelay(task.attempts()));
+                tileRepository.failDetection(task.id(), task.contentSha256(), nextAttemptAt);
+                continue;
+            }
+            try {
+                proposed += markerService.replaceDetectedCandidates(
+                    task.regattaId(), task.captureSessionId(), task.tileId(), outcome.candidates(), minSeparationMs
+                ).size();
+                tileRepository.finishDetection(task.id(), task.contentSha256());
+                succeeded++;
+            } catch (RuntimeException e) {
+                LOG.warnf(e, "Failed to store crossing candidates of tile %s", task.tileId());
+                tileRepository.failDetection(task.id(), task.contentSha256(),
+                    task.attempts() + 1 >= maxAttempts ? null : Instant.now().plus(retryDelay(task.attempts())));
+            }
+        }
+        return new int[]{succeeded, proposed};
+    }
+
+    private Outcome detect(TileDetectionTask task) {
+        if (task.msPerPixel() <= 0) {
+            return Outcome.failed("Manifest has no valid time mapping", false);
+        }
+        TileStorage.TileData data;
+        try {
+            data = tileStorage.retrieveTile(task.regattaId(), task.captureSessionId(), task.tileId());
+        } catch (TileStorage.TileStorageException | RuntimeException e) {
+            LOG.warnf(e, "Failed to read tile %s of capture session %s", task.tileId(), task.captureSessionId());
+            return Outcome.failed(safeErrorMessage(e), true);
+        }
+        if (!LineScanTileService.sha256Hex(data.getData()).equals(task.contentSha256())) {
+            // Re-uploaded meanwhile; the upload queued a fresh detection
+            return Outcome.failed("Stored tile does not match its content hash", true);
+        }
+
+        BufferedImage image;
+        try {
+            image = TileImages.decode(task.tileId(), data);
+        } catch (TileStorage.TileStorageException e) {
+            LOG.warnf("Cannot run crossing detection on tile %s: %s", task.tileId(), e.getMessage());
+            return Outcome.failed(safeErrorMessage(e), false);
+        }
+
+        int minSeparationPx = (int) Math.min(Integer.MAX_VALUE, Math.ceil(minSeparationMs / task.msPerPixel()));
+        CrossingDetector detector = new CrossingDetector(pixelThreshold, minRowFraction, minSeparationPx);
+        List<TimingMarkerService.DetectedCandidate> candidates = new ArrayList<>();
+        for (CrossingDetector.Crossing crossing : detector.detect(image)) {
+            long frameOffset = (long) task.tileX() + crossing.column();
+            candidates.add(new TimingMarkerService.DetectedCandidate(
+                frameOffset,
+                task.xOriginTimestampMs() + (long) (frameOffset * task.msPerPixel()),
+                task.tileX(),
+                task.tileY(),
+                crossing.confidence()
+            ));
+        }
+        return Outcome.detected(candidates);
+    }
+
+    static Duration retryDelay(int attempts) {
+        Duration delay = BASE_RETRY_DELAY.multipliedBy(1L << Math.min(attempts, 10));
+        return delay.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay;
+    }
+
+    private synchronized ExecutorService executor() {
+        if (executorService == null) {
+            executorService = new ThreadPoolExecutor(
+                maxConcurrency,
+                maxConcurrency,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new DetectionThreadFactory()
+            );
+        }
+        return executorService;
+    }
+
+    private String safeErrorMessage(Throwable error) {
+        String message = error.getMessage();
+        if (message == null || message.isBlank()) {
+            return error.getClass().getSimpleName();
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+
+    private record Outcome(List<TimingMarkerService.DetectedCandidate> candidates, String error, boolean retryable) {
+
+        static Outcome detected(List<TimingMarkerService.DetectedCandidate> candidates) {
+            return new Outcome(candidates, null, false);
+        }
+
+        static Outcome failed(String error, boolean retryable) {
+            return new Outcome(List.of(), error, retryable);
+        }
+    }
+
+    private static final class DetectionThreadFactory implements ThreadFactory {
+        private final AtomicInteger index = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = Thread.ofPlatform()
+                .name("linescan-crossing-detection-" + index.getAndIncrement())
+                .daemon(true)
+                .unstarted(r);
+            thread.setUncaughtExceptionHandler(
+                (t, e) -> LOG.errorf(e, "Unhandled exception in %s", t.getName()));
+            return thread;
+        }
+    }
+}
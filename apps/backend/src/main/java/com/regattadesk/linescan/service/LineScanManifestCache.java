@@ -0,0 +1,79 @@
+package com.regattadesk.linescan.service;
+
+import com.regattadesk.linescan.model.LineScanManifest;
+import com.regattadesk.linescan.repository.LineScanManifestRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-memory cache of manifest headers (manifests without their tile lists) for the tile
+ * upload and download paths.
+ *
+ * Tile requests only need the manifest's regatta, capture session and formats, which are
+ * otherwise re-read with the full tile list on every call. Headers are kept in a bounded LRU
+ * cache of {@code linescan.manifest-cache.size} entries and invalidated by manifest upserts
+ * and pruning on this instance; the {@code linescan.manifest-cache.ttl} expiry bounds how
+ * long another instance's changes can go unnoticed. Missing manifests are not cached.
+ */
+@ApplicationScoped
+public class LineScanManifestCache {
+
+    static final int DEFAULT_SIZE = 1024;
+    static final Duration DEFAULT_TTL = Duration.ofMinutes(1);
+
+    private final LineScanManifestRepository manifestRepository;
+    private final Duration ttl;
+    private final Map<UUID, CachedHeader> cache;
+
+    @Inject
+    public LineScanManifestCache(
+        LineScanManifestRepository manifestRepository,
+        @ConfigProperty(name = "linescan.manifest-cache.size", defaultValue = "1024") int cacheSize,
+        @ConfigProperty(name = "linescan.manifest-cache.ttl", defaultValue = "PT1M") Duration ttl
+    ) {
+        this.manifestRepository = manifestRepository;
+        this.ttl = ttl;
+        int maxEntries = Math.max(1, cacheSize);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CachedHeader> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Find a manifest header by manifest ID; {@code getTiles()} of the result is empty.
+     */
+    public Optional<LineScanManifest> header(UUID manifestId) {
+        Instant now = Instant.now();
+        CachedHeader cached = cache.get(manifestId);
+        if (cached != null && now.isBefore(cached.expiresAt())) {
+            return Optional.of(cached.header());
+        }
+        Optional<LineScanManifest> loaded = manifestRepository.findHeaderById(manifestId);
+        loaded.ifPresentOrElse(
+            header -> cache.put(manifestId, new CachedHeader(header, now.plus(ttl))),
+            () -> cache.remove(manifestId));
+        return loaded;
+    }
+
+    /**
+     * Drop a manifest after it was changed or pruned.
+     */
+    public void invalidate(UUID manifestId) {
+        cache.remove(manifestId);
+    }
+
+    private record CachedHeader(LineScanManifest header, Instant expiresAt) {
+    }
+}
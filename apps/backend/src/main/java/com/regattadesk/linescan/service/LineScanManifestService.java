@@ -1,12 +1,15 @@
 package com.regattadesk.linescan.service;
 
 import com.regattadesk.linescan.config.MinioConfiguration;
-import com.regattadesk.linescan.config.MinioStorageAdapter;
 import com.regattadesk.linescan.model.LineScanManifest;
 import com.regattadesk.linescan.model.LineScanManifestTile;
 import com.regattadesk.linescan.model.LineScanTileMetadata;
+import com.regattadesk.linescan.model.PendingTileDeletion;
 import com.regattadesk.linescan.repository.LineScanManifestRepository;
+import com.regattadesk.linescan.repository.LineScanStorageUsageRepository;
+import com.regattadesk.linescan.repository.LineScanTileDeletionRepository;
 import com.regattadesk.linescan.repository.LineScanTileRepository;
+import com.regattadesk.linescan.storage.TileStorage;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -14,14 +17,21 @@ import org.jboss.logging.Logger;
 
 import java.util.ArrayList;
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Service for line-scan manifest operations.
  * 
- * Coordinates manifest persistence and tile metadata initialization.
+ * Coordinates manifest persistence and tile metadata initialization. Re-posting a manifest
+ * only writes the tiles that were added or changed, so tiles already uploaded stay available.
+ * The stored objects of tiles it drops or resets are queued for deletion in the same
+ * transaction, as pruning does; their storage usage is released once the deletion worker has
+ * removed them.
  */
 @ApplicationScoped
 public class LineScanManifestService {
@@ -30,19 +40,28 @@ public class LineScanManifestService {
     
     private final LineScanManifestRepository manifestRepository;
     private final LineScanTileRepository tileRepository;
-    private final MinioStorageAdapter storageAdapter;
+    private final TileStorage tileStorage;
     private final MinioConfiguration minioConfig;
+    private final LineScanManifestCache manifestCache;
+    private final LineScanStorageUsageRepository usageRepository;
+    private final LineScanTileDeletionRepository deletionRepository;
     
     @Inject
     public LineScanManifestService(
             LineScanManifestRepository manifestRepository,
             LineScanTileRepository tileRepository,
-            MinioStorageAdapter storageAdapter,
-            MinioConfiguration minioConfig) {
+            TileStorage tileStorage,
+            MinioConfiguration minioConfig,
+            LineScanManifestCache manifestCache,
+            LineScanStorageUsageRepository usageRepository,
+            LineScanTileDeletionRepository deletionRepository) {
         this.manifestRepository = manifestRepository;
         this.tileRepository = tileRepository;
-        this.storageAdapter = storageAdapter;
+        this.tileStorage = tileStorage;
         this.minioConfig = minioConfig;
+        this.manifestCache = manifestCache;
+        this.usageRepository = usageRepository;
+        this.deletionRepository = deletionRepository;
     }
     
     /**
@@ -51,9 +70,9 @@ public class LineScanManifestService {
      * This operation is upsert-based on capture_session_id.
      */
     public LineScanManifest upsertManifest(LineScanManifest manifest) 
-            throws MinioStorageAdapter.MinioStorageException {
-        // Ensure MinIO bucket exists for this regatta
-        storageAdapter.ensureBucket(manifest.getRegattaId());
+            throws TileStorage.TileStorageException {
+        // Ensure the regatta's storage bucket or directory exists
+        tileStorage.ensureBucket(manifest.getRegattaId());
         return upsertManifestTransactional(manifest);
     }
 
@@ -62,14 +81,28 @@ public class LineScanManifestService {
         
         // Save manifest metadata
         LineScanManifest saved = manifestRepository.save(manifest);
+        usageRepository.ensure(saved.getId());
 
-        // Replace tile metadata entries to keep manifest replacement semantics deterministic.
-        tileRepository.deleteByManifestId(saved.getId());
+        // Sync tile metadata against the stored tile set: unchanged tiles keep their upload
+        // state, new or changed tiles are (re)written as pending, dropped tiles are deleted.
+        Map<String, LineScanTileMetadata> existing = new HashMap<>();
+        for (LineScanTileMetadata tile : tileRepository.findByManifestId(saved.getId())) {
+            existing.put(tile.getTileId(), tile);
+        }
 
-        // Save tile metadata entries in one batch
         String bucket = minioConfig.getBucketName(manifest.getRegattaId().toString());
         List<LineScanTileMetadata> metadataBatch = new ArrayList<>();
+        List<PendingTileDeletion> deletions = new ArrayList<>();
+        Instant now = Instant.now();
         for (LineScanManifestTile tile : manifest.getTiles()) {
+            LineScanTileMetadata current = existing.remove(tile.getTileId());
+            if (current != null && isUnchanged(current, tile)) {
+                continue;
+            }
+            if (current != null && LineScanStorageUsageService.isStored(current)) {
+                deletions.addAll(LineScanStorageUsageService.objectDeletions(
+                    current, manifest.getRegattaId(), manifest.getCaptureSessionId(), false, now));
+            }
             String objectKey = minioConfig.getTileObjectKey(
                 manifest.getCaptureSessionId().toString(),
                 tile.getTileId()
@@ -91,14 +124,36 @@ public class LineScanManifestService {
                 .build());
         }
         tileRepository.saveAll(metadataBatch);
+        tileRepository.deleteByIds(existing.values().stream().map(LineScanTileMetadata::getId).toList());
+        for (LineScanTileMetadata removed : existing.values()) {
+            deletions.addAll(LineScanStorageUsageService.objectDeletions(
+                removed, manifest.getRegattaId(), manifest.getCaptureSessionId(), false, now));
+        }
+        deletionRepository.enqueueAll(deletions);
+        manifestCache.invalidate(saved.getId());
         
-        LOG.infof("Upserted manifest: id=%s, regatta=%s, session=%s, tiles=%d",
+        LOG.infof("Upserted manifest: id=%s, regatta=%s, session=%s, tiles=%d, written=%d, removed=%d",
             saved.getId(), saved.getRegattaId(), saved.getCaptureSessionId(), 
-            manifest.getTiles().size());
+            manifest.getTiles().size(), metadataBatch.size(), existing.size());
         
         // Reload to include the latest persisted tile set in the response payload.
         return manifestRepository.findById(saved.getId()).orElse(saved);
     }
+
+    /**
+     * True if the stored tile still matches its manifest entry. Uploaded tiles only need the
+     * same position (their content type and size are those of the actual upload); tiles not
+     * uploaded yet are rewritten when any declared attribute changed.
+     */
+    static boolean isUnchanged(LineScanTileMetadata current, LineScanManifestTile tile) {
+        boolean samePosition = current.getTileX() == tile.getTileX() && current.getTileY() == tile.getTileY();
+        if (current.getUploadState() == LineScanTileMetadata.UploadState.READY) {
+            return samePosition;
+        }
+        return samePosition
+            && Objects.equals(current.getContentType(), tile.getContentType())
+            && Objects.equals(current.getByteSize(), tile.getByteSize());
+    }
     
     /**
      * Retrieve a manifest by ID.
@@ -1,9 +1,9 @@
 package com.regattadesk.linescan.service;
 
-import com.regattadesk.linescan.config.MinioStorageAdapter;
 import com.regattadesk.linescan.model.LineScanManifest;
 import com.regattadesk.linescan.model.LineScanTileMetadata;
 import com.regattadesk.linescan.repository.LineScanManifestRepository;
+import com.regattadesk.linescan.repository.LineScanTileDeletionRepository;
 import com.regattadesk.linescan.repository.LineScanTileRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.transaction.Transactional;
@@ -12,7 +12,6 @@ import org.jboss.logging.Logger;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Executes line-scan data pruning with marker window preservation.
@@ -22,6 +21,11 @@ import java.util.UUID;
  * - Preserves tiles within ±2s (configurable) of approved markers
  * - Updates manifest state to PRUNED
  * - Maintains transactional consistency
+ * 
+ * Tile objects are not deleted from storage inside the transaction. Their keys are
+ * enqueued in the same transaction as the metadata deletion and removed afterwards
+ * by {@link LineScanTileDeletionWorker}, which also moves the usage of uploaded tiles from
+ * the manifest's stored to its pruned storage usage counters once their objects are gone.
  */
 @ApplicationScoped
 public class LineScanPruningService {
@@ -30,16 +34,19 @@ public class LineScanPruningService {
     
     private final LineScanManifestRepository manifestRepository;
     private final LineScanTileRepository tileRepository;
-    private final MinioStorageAdapter storageAdapter;
+    private final LineScanTileDeletionRepository deletionRepository;
+    private final LineScanManifestCache manifestCache;
     
     public LineScanPruningService(
         LineScanManifestRepository manifestRepository,
         LineScanTileRepository tileRepository,
-        MinioStorageAdapter storageAdapter
+        LineScanTileDeletionRepository deletionRepository,
+        LineScanManifestCache manifestCache
     ) {
         this.manifestRepository = manifestRepository;
         this.tileRepository = tileRepository;
-        this.storageAdapter = storageAdapter;
+        this.deletionRepository = deletionRepository;
+        this.manifestCache = manifestCache;
     }
     
     /**
@@ -78,53 +85,35 @@ public class LineScanPruningService {
         }
         
         // Determine which tiles to delete (those outside marker windows)
-        List<UUID> tilesToDelete = new ArrayList<>();
-        List<LineScanTileMetadata> tilesToKeep = new ArrayList<>();
+        MarkerWindowIndex windowIndex = MarkerWindowIndex.of(markerWindows);
+        List<LineScanTileMetadata> tilesToDelete = new ArrayList<>();
+        int tilesToKeep = 0;
         
         for (LineScanTileMetadata tile : allTiles) {
-            boolean inAnyWindow = markerWindows.stream()
-                .anyMatch(window -> isTileInWindow(
-                    tile,
-                    window,
-                    manifest.getXOriginTimestampMs(),
-                    manifest.getMsPerPixel(),
-                    manifest.getTileSizePx()
-                ));
+            long tileStartMs = tileStartMs(tile, manifest.getXOriginTimestampMs(), manifest.getMsPerPixel());
+            long tileEndMs = tileEndMs(
+                tile, manifest.getXOriginTimestampMs(), manifest.getMsPerPixel(), manifest.getTileSizePx());
             
-            if (inAnyWindow) {
-                tilesToKeep.add(tile);
+            if (windowIndex.overlaps(tileStartMs, tileEndMs)) {
+                tilesToKeep++;
             } else {
-                tilesToDelete.add(tile.getId());
+                tilesToDelete.add(tile);
             }
         }
         
         LOG.infof("Manifest %s: keeping %d tiles, deleting %d tiles",
-            manifest.getId(), tilesToKeep.size(), tilesToDelete.size());
-        
-        // Delete tiles from MinIO storage
-        // Convert to Set for O(1) lookup performance
-        java.util.Set<UUID> tilesToDeleteSet = new java.util.HashSet<>(tilesToDelete);
-        for (LineScanTileMetadata tile : allTiles) {
-            if (tilesToDeleteSet.contains(tile.getId())) {
-                try {
-                    storageAdapter.deleteTile(
-                        manifest.getRegattaId(),
-                        manifest.getCaptureSessionId(),
-                        tile.getTileId()
-                    );
-                    LOG.debugf("Deleted tile %s from MinIO",
-                        tile.getTileId());
-                } catch (MinioStorageAdapter.MinioStorageException e) {
-                    LOG.warnf(e, "Failed to delete tile %s from MinIO, continuing with metadata deletion",
-                        tile.getTileId());
-                }
-            }
-        }
+            manifest.getId(), tilesToKeep, tilesToDelete.size());
         
-        // Delete tile metadata from database
         if (!tilesToDelete.isEmpty()) {
-            tileRepository.deleteByIds(tilesToDelete);
-            LOG.infof("Deleted %d tile metadata records for manifest %s",
+            // Delete tile metadata and enqueue object deletion atomically
+            tileRepository.deleteByIds(tilesToDelete.stream().map(LineScanTileMetadata::getId).toList());
+            
+            Instant now = Instant.now();
+            deletionRepository.enqueueAll(tilesToDelete.stream()
+                .flatMap(tile -> LineScanStorageUsageService.objectDeletions(
+                    tile, manifest.getRegattaId(), manifest.getCaptureSessionId(), true, now).stream())
+                .toList());
+            LOG.infof("Deleted %d tile metadata records for manifest %s, queued objects for deletion",
                 tilesToDelete.size(), manifest.getId());
         }
         
@@ -152,8 +141,8 @@ public class LineScanPruningService {
         int tileSizePx
     ) {
         // Calculate tile's time range
-        long tileStartMs = xOriginTimestampMs + (long)(tile.getTileX() * msPerPixel);
-        long tileEndMs = xOriginTimestampMs + (long)((tile.getTileX() + tileSizePx) * msPerPixel);
+        long tileStartMs = tileStartMs(tile, xOriginTimestampMs, msPerPixel);
+        long tileEndMs = tileEndMs(tile, xOriginTimestampMs, msPerPixel, tileSizePx);
         
         // Check for overlap: tile overlaps window if:
         // - tile starts before window ends AND
@@ -163,6 +152,19 @@ public class LineScanPruningService {
         return overlaps;
     }
     
+    private static long tileStartMs(LineScanTileMetadata tile, long xOriginTimestampMs, double msPerPixel) {
+        return LineScanTileTimeIndex.tileStartMs(xOriginTimestampMs, msPerPixel, tile.getTileX());
+    }
+    
+    private static long tileEndMs(
+        LineScanTileMetadata tile,
+        long xOriginTimestampMs,
+        double msPerPixel,
+        int tileSizePx
+    ) {
+        return LineScanTileTimeIndex.tileEndMs(xOriginTimestampMs, msPerPixel, tile.getTileX(), tileSizePx);
+    }
+    
     private void updateManifestToPruned(LineScanManifest manifest) {
         LineScanManifest updated = LineScanManifest.builder()
             .id(manifest.getId())
@@ -184,5 +186,6 @@ public class LineScanPruningService {
             .build();
         
         manifestRepository.save(updated);
+        manifestCache.invalidate(manifest.getId());
     }
 }
@@ -4,47 +4,91 @@ import com.regattadesk.linescan.model.LineScanManifest;
 import com.regattadesk.linescan.model.TimingMarker;
 import com.regattadesk.linescan.repository.EntryRepository;
 import com.regattadesk.linescan.repository.LineScanManifestRepository;
+import com.regattadesk.linescan.repository.LineScanRetentionCursorRepository;
 import com.regattadesk.linescan.repository.RegattaRepository;
 import com.regattadesk.linescan.repository.TimingMarkerRepository;
 import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Scheduled task for evaluating and executing line-scan retention pruning.
- * 
+ *
  * Implements BC06-006 retention scheduler:
  * - Runs periodically (default: hourly)
  * - Evaluates manifests in active retention states
  * - Transitions states based on delay and safety gates
  * - Emits admin alerts when delay elapses before gates satisfied
  * - Executes pruning for eligible manifests
- * 
+ *
+ * Manifests are evaluated regatta by regatta: safety gates and approved markers are
+ * read once per regatta, and regattas are processed on a bounded worker pool in pages
+ * ordered by regatta ID. After each page the last regatta ID is persisted, so a run
+ * that exceeds {@code linescan.retention.max-run-duration} or is interrupted resumes
+ * from that point on the next run.
+ *
  * Resilient to individual manifest failures - continues processing others.
+ * Tile objects of pruned manifests are deleted from storage after the run.
  */
 @ApplicationScoped
 public class LineScanRetentionScheduler {
-    
+
     private static final Logger LOG = Logger.getLogger(LineScanRetentionScheduler.class);
-    
+
+    static final String JOB_NAME = "linescan-retention-evaluator";
+
+    private static final List<LineScanManifest.RetentionState> ACTIVE_STATES = List.of(
+        LineScanManifest.RetentionState.FULL_RETAINED,
+        LineScanManifest.RetentionState.PENDING_DELAY,
+        LineScanManifest.RetentionState.ELIGIBLE_WAITING_ARCHIVE_OR_APPROVALS
+    );
+
     private final LineScanManifestRepository manifestRepository;
     private final LineScanRetentionEvaluator evaluator;
     private final LineScanPruningService pruningService;
     private final RegattaRepository regattaRepository;
     private final EntryRepository entryRepository;
     private final TimingMarkerRepository markerRepository;
-    
+    private final LineScanTileDeletionWorker deletionWorker;
+    private final LineScanRetentionCursorRepository cursorRepository;
+    private final int maxConcurrency;
+    private final int regattaPageSize;
+    private final Duration maxRunDuration;
+    private ExecutorService executorService;
+
+    @Inject
     public LineScanRetentionScheduler(
         LineScanManifestRepository manifestRepository,
         LineScanRetentionEvaluator evaluator,
         LineScanPruningService pruningService,
         RegattaRepository regattaRepository,
         EntryRepository entryRepository,
-        TimingMarkerRepository markerRepository
+        TimingMarkerRepository markerRepository,
+        LineScanTileDeletionWorker deletionWorker,
+        LineScanRetentionCursorRepository cursorRepository,
+        @ConfigProperty(name = "linescan.retention.max-concurrency", defaultValue = "4") int maxConcurrency,
+        @ConfigProperty(name = "linescan.retention.regatta-page-size", defaultValue = "50") int regattaPageSize,
+        @ConfigProperty(name = "linescan.retention.max-run-duration", defaultValue = "PT50M") Duration maxRunDuration
     ) {
         this.manifestRepository = manifestRepository;
         this.evaluator = evaluator;
@@ -52,117 +96,203 @@ public class LineScanRetentionScheduler {
         this.regattaRepository = regattaRepository;
         this.entryRepository = entryRepository;
         this.markerRepository = markerRepository;
+        this.deletionWorker = deletionWorker;
+        this.cursorRepository = cursorRepository;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.regattaPageSize = Math.max(1, regattaPageSize);
+        this.maxRunDuration = maxRunDuration;
     }
-    
+
+    @PreDestroy
+    synchronized void shutdownExecutor() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+
     /**
      * Evaluates and prunes line-scan manifests based on retention policy.
      * Scheduled to run hourly (configurable via Quarkus config).
-     * 
+     *
      * Can be disabled by setting:
      * quarkus.scheduler.enabled=false
      * or by disabling this specific schedule in application.properties
      */
     @Scheduled(
         cron = "{linescan.retention.scheduler.cron:0 0 * * * ?}",
-        identity = "linescan-retention-evaluator"
+        identity = JOB_NAME,
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP
     )
     public void evaluateAndPrune() {
-        LOG.info("Starting line-scan retention evaluation");
-        
         Instant now = Instant.now();
-        
-        // Find all manifests that need evaluation (not PRUNED)
-        List<LineScanManifest.RetentionState> activeStates = List.of(
-            LineScanManifest.RetentionState.FULL_RETAINED,
-            LineScanManifest.RetentionState.PENDING_DELAY,
-            LineScanManifest.RetentionState.ELIGIBLE_WAITING_ARCHIVE_OR_APPROVALS
-        );
-        
-        List<LineScanManifest> manifests = manifestRepository.findByRetentionStateIn(activeStates);
-        
-        if (manifests.isEmpty()) {
+        Instant deadline = now.plus(maxRunDuration);
+        UUID cursor = cursorRepository.findLastRegattaId(JOB_NAME).orElse(null);
+
+        if (cursor != null) {
+            LOG.infof("Resuming line-scan retention evaluation after regatta %s", cursor);
+        } else {
+            LOG.info("Starting line-scan retention evaluation");
+        }
+
+        Tally total = new Tally();
+        int regattas = 0;
+        boolean completed = false;
+
+        while (true) {
+            List<UUID> regattaIds = manifestRepository.findRegattaIdsWithRetentionStateIn(
+                ACTIVE_STATES, cursor, regattaPageSize);
+            if (regattaIds.isEmpty()) {
+                completed = true;
+                break;
+            }
+
+            total.add(evaluateRegattaPage(regattaIds, now));
+            regattas += regattaIds.size();
+
+            cursor = regattaIds.get(regattaIds.size() - 1);
+            cursorRepository.saveLastRegattaId(JOB_NAME, cursor);
+
+            if (regattaIds.size() < regattaPageSize) {
+                completed = true;
+                break;
+            }
+            if (Thread.currentThread().isInterrupted() || !Instant.now().isBefore(deadline)) {
+                LOG.warnf("Line-scan retention run exceeded %s, next run resumes after regatta %s",
+                    maxRunDuration, cursor);
+                break;
+            }
+        }
+
+        if (completed) {
+            cursorRepository.clear(JOB_NAME);
+        }
+
+        if (regattas == 0) {
             LOG.info("No manifests require retention evaluation");
             return;
         }
-        
-        LOG.infof("Evaluating %d manifests for retention", manifests.size());
-        
-        int transitioned = 0;
-        int pruned = 0;
-        int alerted = 0;
-        int errors = 0;
-        
+
+        LOG.infof("Line-scan retention evaluation %s: %d regattas, %d manifests, %d transitioned, "
+                + "%d pruned, %d alerted, %d errors",
+            completed ? "complete" : "paused",
+            regattas, total.evaluated, total.transitioned, total.pruned, total.alerted, total.errors);
+
+        // Pruning transactions have committed; delete the queued tile objects now
+        if (total.pruned > 0) {
+            try {
+                deletionWorker.drain();
+            } catch (Exception e) {
+                LOG.errorf(e, "Error draining tile deletion queue, retry job will pick it up");
+            }
+        }
+    }
+
+    private Tally evaluateRegattaPage(List<UUID> regattaIds, Instant now) {
+        Map<UUID, List<LineScanManifest>> manifestsByRegatta = new LinkedHashMap<>();
+        for (LineScanManifest manifest
+                : manifestRepository.findByRegattaIdsAndRetentionStateIn(regattaIds, ACTIVE_STATES)) {
+            manifestsByRegatta.computeIfAbsent(manifest.getRegattaId(), key -> new ArrayList<>()).add(manifest);
+        }
+
+        ExecutorService executor = executor();
+        List<Future<Tally>> futures = new ArrayList<>(manifestsByRegatta.size());
+        for (Map.Entry<UUID, List<LineScanManifest>> regatta : manifestsByRegatta.entrySet()) {
+            futures.add(executor.submit(() -> evaluateRegatta(regatta.getKey(), regatta.getValue(), now)));
+        }
+
+        Tally tally = new Tally();
+        for (Future<Tally> future : futures) {
+            try {
+                tally.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(pending -> pending.cancel(true));
+                break;
+            } catch (ExecutionException e) {
+                LOG.errorf(e.getCause(), "Unexpected error evaluating regatta retention");
+                tally.errors++;
+            }
+        }
+        return tally;
+    }
+
+    private Tally evaluateRegatta(UUID regattaId, List<LineScanManifest> manifests, Instant now) {
+        Tally tally = new Tally();
+        RegattaContext context;
+        try {
+            context = new RegattaContext(
+                regattaId,
+                regattaRepository.findRegattaEndAt(regattaId).orElse(null),
+                regattaRepository.isArchived(regattaId),
+                entryRepository.areAllEntriesApprovedForRegatta(regattaId)
+            );
+        } catch (Exception e) {
+            LOG.errorf(e, "Error reading retention gates for regatta %s, skipping %d manifests",
+                regattaId, manifests.size());
+            tally.errors += manifests.size();
+            return tally;
+        }
+
         for (LineScanManifest manifest : manifests) {
+            tally.evaluated++;
             try {
-                ActionResult result = evaluateAndPruneManifest(manifest, now);
-                switch (result) {
-                    case PRUNED -> pruned++;
-                    case TRANSITIONED -> transitioned++;
-                    case ALERTED -> alerted++;
-                    case NO_ACTION -> {}
-                }
+                tally.record(evaluateAndPruneManifest(manifest, context, now));
             } catch (Exception e) {
                 LOG.errorf(e, "Error evaluating manifest %s, continuing with others", manifest.getId());
-                errors++;
+                tally.errors++;
             }
         }
-        
-        LOG.infof("Line-scan retention evaluation complete: %d transitioned, %d pruned, %d alerted, %d errors",
-            transitioned, pruned, alerted, errors);
+        return tally;
     }
-    
+
     private enum ActionResult {
         NO_ACTION,
         TRANSITIONED,
         PRUNED,
         ALERTED
     }
-    
+
     /**
      * Evaluates and processes a single manifest.
-     * 
+     *
      * @param manifest The manifest to evaluate
+     * @param context Safety gates and markers of the manifest's regatta
      * @param now Current timestamp for evaluation
      * @return ActionResult indicating what action was taken
      */
     @Transactional
-    protected ActionResult evaluateAndPruneManifest(LineScanManifest manifest, Instant now) {
-        // Check safety gates
-        Instant regattaEndAt = regattaRepository.findRegattaEndAt(manifest.getRegattaId()).orElse(null);
-        boolean regattaArchived = regattaRepository.isArchived(manifest.getRegattaId());
-        boolean allEntriesApproved = entryRepository.areAllEntriesApprovedForRegatta(manifest.getRegattaId());
-        
+    protected ActionResult evaluateAndPruneManifest(LineScanManifest manifest, RegattaContext context, Instant now) {
         // Evaluate retention state
         LineScanRetentionEvaluator.EvaluationResult result = evaluator.evaluate(
             manifest,
-            regattaEndAt,
-            regattaArchived,
-            allEntriesApproved,
+            context.regattaEndAt(),
+            context.regattaArchived(),
+            context.allEntriesApproved(),
             now
         );
-        
+
         // Handle alert condition
         if (result.getAlertReason() != null) {
             emitAdminAlert(manifest, result.getAlertReason());
             return ActionResult.ALERTED;
         }
-        
+
         // Handle state transition
         if (result.shouldTransitionState()) {
             transitionManifestState(manifest, result);
             return ActionResult.TRANSITIONED;
         }
-        
+
         // Handle pruning
         if (result.shouldPrune()) {
-            executeManifestPruning(manifest);
+            executeManifestPruning(manifest, context);
             return ActionResult.PRUNED;
         }
-        
+
         // No action needed
         return ActionResult.NO_ACTION;
     }
-    
+
     private void transitionManifestState(
         LineScanManifest manifest,
         LineScanRetentionEvaluator.EvaluationResult result
@@ -171,7 +301,7 @@ public class LineScanRetentionScheduler {
             manifest.getId(),
             manifest.getRetentionState(),
             result.getTargetState());
-        
+
         LineScanManifest updated = LineScanManifest.builder()
             .id(manifest.getId())
             .regattaId(manifest.getRegattaId())
@@ -192,38 +322,130 @@ public class LineScanRetentionScheduler {
             .createdAt(manifest.getCreatedAt())
             .updatedAt(Instant.now())
             .build();
-        
+
         manifestRepository.save(updated);
     }
-    
-    private void executeManifestPruning(LineScanManifest manifest) {
+
+    private void executeManifestPruning(LineScanManifest manifest, RegattaContext context) {
         LOG.infof("Executing pruning for manifest %s", manifest.getId());
-        
-        // Get approved markers for this regatta
-        List<TimingMarker> approvedMarkers = markerRepository.findApprovedByRegattaId(manifest.getRegattaId());
-        
+
+        // Approved markers are shared by all manifests of the regatta
+        List<TimingMarker> approvedMarkers = context.approvedMarkers();
+
         // Calculate marker windows
-        List<LineScanRetentionEvaluator.TimeWindow> markerWindows = 
+        List<LineScanRetentionEvaluator.TimeWindow> markerWindows =
             evaluator.getMarkerWindows(approvedMarkers, manifest.getPruneWindowSeconds());
-        
+
         LOG.infof("Manifest %s: found %d approved markers, calculated %d preservation windows",
             manifest.getId(), approvedMarkers.size(), markerWindows.size());
-        
+
         // Execute pruning
         pruningService.prune(manifest, markerWindows);
     }
-    
+
     private void emitAdminAlert(LineScanManifest manifest, String alertReason) {
         // Log alert at WARN level for operational visibility
         LOG.warnf("ADMIN ALERT: Manifest %s (regatta %s) - %s",
             manifest.getId(),
             manifest.getRegattaId(),
             alertReason);
-        
+
         // In production, this would also:
         // - Insert record into admin_alerts table
         // - Emit monitoring metric/event
         // - Send notification to configured channels
         // For BC06-006 v0.1, operational logging is sufficient
     }
+
+    private synchronized ExecutorService executor() {
+        if (executorService == null) {
+            executorService = new ThreadPoolExecutor(
+                maxConcurrency,
+                maxConcurrency,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new RetentionThreadFactory()
+            );
+        }
+        return executorService;
+    }
+
+    /**
+     * Regatta-level inputs shared by every manifest of a regatta within one run.
+     * Confined to the worker evaluating that regatta.
+     */
+    protected final class RegattaContext {
+        private final UUID regattaId;
+        private final Instant regattaEndAt;
+        private final boolean regattaArchived;
+        private final boolean allEntriesApproved;
+        private List<TimingMarker> approvedMarkers;
+
+        RegattaContext(UUID regattaId, Instant regattaEndAt, boolean regattaArchived, boolean allEntriesApproved) {
+            this.regattaId = regattaId;
+            this.regattaEndAt = regattaEndAt;
+            this.regattaArchived = regattaArchived;
+            this.allEntriesApproved = allEntriesApproved;
+        }
+
+        Instant regattaEndAt() {
+            return regattaEndAt;
+        }
+
+        boolean regattaArchived() {
+            return regattaArchived;
+        }
+
+        boolean allEntriesApproved() {
+            return allEntriesApproved;
+        }
+
+        List<TimingMarker> approvedMarkers() {
+            if (approvedMarkers == null) {
+                approvedMarkers = markerRepository.findApprovedByRegattaId(regattaId);
+            }
+            return approvedMarkers;
+        }
+    }
+
+    private static final class Tally {
+        int evaluated;
+        int transitioned;
+        int pruned;
+        int alerted;
+        int errors;
+
+        void record(ActionResult result) {
+            switch (result) {
+                case PRUNED -> pruned++;
+                case TRANSITIONED -> transitioned++;
+                case ALERTED -> alerted++;
+                case NO_ACTION -> {}
+            }
+        }
+
+        void add(Tally other) {
+            evaluated += other.evaluated;
+            transitioned += other.transitioned;
+            pruned += other.pruned;
+            alerted += other.alerted;
+            errors += other.errors;
+        }
+    }
+
+    private static final class RetentionThreadFactory implements ThreadFactory {
+        private final AtomicInteger index = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = Thread.ofPlatform()
+                .name("linescan-retention-worker-" + index.getAndIncrement())
+                .daemon(true)
+                .unstarted(r);
+            thread.setUncaughtExceptionHandler(
+                (t, e) -> LOG.errorf(e, "Unhandled exception in %s", t.getName()));
+            return thread;
+        }
+    }
 }
@@ -0,0 +1,175 @@
+package com.regattadesk.linescan.service;
+
+import com.regattadesk.linescan.model.LineScanTileMetadata;
+import com.regattadesk.linescan.model.PendingTileDeletion;
+import com.regattadesk.linescan.model.StorageUsage;
+import com.regattadesk.linescan.repository.LineScanStorageUsageRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Line-scan storage usage per regatta and manifest.
+ *
+ * The counters in {@code line_scan_storage_usage} are maintained incrementally by the
+ * services that change stored tiles ({@link LineScanTileService}, the transcode worker and
+ * {@link LineScanTileDeletionWorker}), so reading them never scans the tile table. Tiles
+ * dropped from a manifest or pruned stay counted until the deletion worker has removed their
+ * objects. Per-regatta totals are also published as Micrometer gauges tagged
+ * with the regatta ID; the gauges read a snapshot refreshed every
+ * {@code linescan.storage-usage.metrics-cron}, so scrapes do not hit the database.
+ */
+@ApplicationScoped
+public class LineScanStorageUsageService {
+
+    private static final Logger LOG = Logger.getLogger(LineScanStorageUsageService.class);
+
+    static final String METRIC_TILES = "linescan.storage.tiles";
+    static final String METRIC_BYTES = "linescan.storage.bytes";
+    static final String METRIC_PRUNED_TILES = "linescan.storage.pruned.tiles";
+    static final String METRIC_PRUNED_BYTES = "linescan.storage.pruned.bytes";
+
+    private final LineScanStorageUsageRepository usageRepository;
+    private final MeterRegistry meterRegistry;
+    private volatile Map<UUID, StorageUsage> snapshot = Map.of();
+    private final Map<UUID, List<Meter>> gauges = new HashMap<>();
+
+    @Inject
+    public LineScanStorageUsageService(LineScanStorageUsageRepository usageRepository, MeterRegistry meterRegistry) {
+        this.usageRepository = usageRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Storage usage of a regatta: its totals and the counters of each manifest.
+     */
+    public RegattaUsage regattaUsage(UUID regattaId) {
+        List<StorageUsage> manifests = usageRepository.findByRegattaId(regattaId);
+        long tiles = 0;
+        long bytes = 0;
+        long prunedTiles = 0;
+        long prunedBytes = 0;
+        for (StorageUsage usage : manifests) {
+            tiles += usage.tileCount();
+            bytes += usage.storedBytes();
+            prunedTiles += usage.prunedTileCount();
+            prunedBytes += usage.prunedBytes();
+        }
+        return new RegattaUsage(new StorageUsage(null, regattaId, tiles, bytes, prunedTiles, prunedBytes), manifests);
+    }
+
+    @Scheduled(
+        cron = "{linescan.storage-usage.metrics-cron:0 * * * * ?}",
+        identity = "linescan-storage-usage-metrics",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    void refreshMetricsScheduled() {
+        refreshMetrics();
+    }
+
+    /**
+     * Reload the per-regatta totals behind the gauges, registering gauges for new regattas
+     * and removing those of regattas without line-scan data.
+     */
+    public synchronized void refreshMetrics() {
+        Map<UUID, StorageUsage> totals = new HashMap<>();
+        for (StorageUsage usage : usageRepository.totalsByRegatta()) {
+            totals.put(usage.regattaId(), usage);
+        }
+        snapshot = totals;
+
+        for (UUID regattaId : totals.keySet()) {
+            gauges.computeIfAbsent(regattaId, this::registerGauges);
+        }
+        gauges.entrySet().removeIf(entry -> {
+            if (totals.containsKey(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().forEach(meterRegistry::remove);
+            return true;
+        });
+        LOG.debugf("Refreshed line-scan storage usage metrics for %d regattas", totals.size());
+    }
+
+    private List<Meter> registerGauges(UUID regattaId) {
+        List<Meter> meters = new ArrayList<>(4);
+        meters.add(gauge(METRIC_TILES, regattaId, "tiles", "Uploaded line-scan tiles stored", StorageUsage::tileCount));
+        meters.add(gauge(METRIC_BYTES, regattaId, "bytes", "Bytes of stored line-scan tiles and variants",
+            StorageUsage::storedBytes));
+        meters.add(gauge(METRIC_PRUNED_TILES, regattaId, "tiles", "Line-scan tiles removed by pruning",
+            StorageUsage::prunedTileCount));
+        meters.add(gauge(METRIC_PRUNED_BYTES, regattaId, "bytes", "Bytes freed by line-scan pruning",
+            StorageUsage::prunedBytes));
+        return meters;
+    }
+
+    private Gauge gauge(String name, UUID regattaId, String unit, String description,
+                        ToDoubleFunction<StorageUsage> value) {
+        return Gauge.builder(name, this, service -> {
+                StorageUsage usage = service.snapshot.get(regattaId);
+                return usage != null ? value.applyAsDouble(usage) : 0.0;
+            })
+            .tag("regatta_id", regattaId.toString())
+            .baseUnit(unit)
+            .description(description)
+            .register(meterRegistry);
+    }
+
+    /**
+     * True if the tile's data counts towards storage usage.
+     */
+    static boolean isStored(LineScanTileMetadata tile) {
+        return tile.getUploadState() == LineScanTileMetadata.UploadState.READY;
+    }
+
+    /**
+     * Bytes a tile contributes to storage usage: the original and its transcoded variant.
+     */
+    static long storedBytes(LineScanTileMetadata tile) {
+        if (!isStored(tile)) {
+            return 0;
+        }
+        return (tile.getByteSize() != null ? tile.getByteSize() : 0)
+            + (tile.getVariantByteSize() != null ? tile.getVariantByteSize() : 0);
+    }
+
+    /**
+     * Deletion queue entries for a tile's original object and, if it has one, its WebP variant.
+     * Each entry releases the usage its object accounts for once the object is deleted.
+     *
+     * @param pruned true to move the released usage to the pruned counters
+     */
+    static List<PendingTileDeletion> objectDeletions(LineScanTileMetadata tile, UUID regattaId,
+                                                     UUID captureSessionId, boolean pruned, Instant now) {
+        boolean stored = isStored(tile);
+        long originalBytes = stored && tile.getByteSize() != null ? tile.getByteSize() : 0;
+        List<PendingTileDeletion> deletions = new ArrayList<>(2);
+        deletions.add(PendingTileDeletion.of(regattaId, captureSessionId, tile.getTileId(),
+            new PendingTileDeletion.UsageRelease(tile.getManifestId(), stored ? 1 : 0, originalBytes, pruned), now));
+        if (tile.getVariantContentType() != null) {
+            long variantBytes = stored && tile.getVariantByteSize() != null ? tile.getVariantByteSize() : 0;
+            deletions.add(PendingTileDeletion.of(regattaId, captureSessionId,
+                LineScanTileService.variantTileId(tile.getTileId()),
+                new PendingTileDeletion.UsageRelease(tile.getManifestId(), 0, variantBytes, pruned), now));
+        }
+        return deletions;
+    }
+
+    /**
+     * Regatta totals ({@code manifestId} null) and per-manifest counters.
+     */
+    public record RegattaUsage(StorageUsage totals, List<StorageUsage> manifests) {
+    }
+}
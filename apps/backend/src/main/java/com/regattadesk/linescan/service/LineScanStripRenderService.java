@@ -0,0 +1,213 @@
+package com.regattadesk.linescan.service;
+
+import com.regattadesk.linescan.model.LineScanManifest;
+import com.regattadesk.linescan.model.LineScanTileMetadata;
+import com.regattadesk.linescan.repository.LineScanTileRepository;
+import com.regattadesk.linescan.storage.TileStorage;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Renders the tiles covering a time window of a capture session into one strip image.
+ *
+ * Covering tiles come from the cached {@link LineScanTileIndexService}; each tile is decoded
+ * once and drawn straight into the (optionally downscaled) output canvas, which is encoded
+ * once as PNG. Results are kept in a bounded LRU cache of {@code linescan.render.cache-size}
+ * strips keyed by manifest version, window, output width and the content hashes of the
+ * covering tiles, so re-uploads and late tiles produce a new strip and a new ETag.
+ * Strips with tiles that are not uploaded yet are rendered transparent there and not cached.
+ */
+@ApplicationScoped
+public class LineScanStripRenderService {
+
+    private static final Logger LOG = Logger.getLogger(LineScanStripRenderService.class);
+    public static final String CONTENT_TYPE = "image/png";
+
+    private final LineScanTileIndexService tileIndexService;
+    private final LineScanTileRepository tileRepository;
+    private final TileStorage tileStorage;
+    private final int maxWidthPx;
+    private final Map<String, RenderedStrip> cache;
+
+    @Inject
+    public LineScanStripRenderService(
+        LineScanTileIndexService tileIndexService,
+        LineScanTileRepository tileRepository,
+        TileStorage tileStorage,
+        @ConfigProperty(name = "linescan.render.max-width-px", defaultValue = "4096") int maxWidthPx,
+        @ConfigProperty(name = "linescan.render.cache-size", defaultValue = "32") int cacheSize
+    ) {
+        this.tileIndexService = tileIndexService;
+        this.tileRepository = tileRepository;
+        this.tileStorage = tileStorage;
+        this.maxWidthPx = Math.max(1, maxWidthPx);
+        int maxEntries = Math.max(1, cacheSize);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RenderedStrip> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Render the strip for {@code [startMs, endMs)} unless the client already holds it.
+     *
+     * @param maxWidth requested maximum output width in pixels, null for full resolution
+     *                 (both capped at {@code linescan.render.max-width-px})
+     * @param ifNoneMatch value of the client's If-None-Match header, may be null
+     * @return empty if the capture session has no manifest in this regatta; a strip without
+     *         data if {@code ifNoneMatch} matches its ETag
+     * @throws IllegalArgumentException if the window covers too many tiles
+     */
+    public Optional<RenderedStrip> render(
+        UUID regattaId,
+        UUID captureSessionId,
+        long startMs,
+        long endMs,
+        Integer maxWidth,
+        String ifNoneMatch
+    ) throws TileStorage.TileStorageException {
+        Optional<LineScanTileIndexService.TileWindow> found =
+            tileIndexService.tilesCovering(regattaId, captureSessionId, startMs, endMs);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        LineScanTileIndexService.TileWindow window = found.get();
+        LineScanManifest manifest = window.manifest();
+        if (manifest.getMsPerPixel() <= 0) {
+            throw new IllegalArgumentException("Manifest has no valid time mapping");
+        }
+
+        Map<String, LineScanTileMetadata> tilesById = window.tiles().isEmpty()
+            ? Map.of()
+            : tileRepository.findByManifestIdAndTileIds(
+                    manifest.getId(),
+                    window.tiles().stream().map(span -> span.tile().getTileId()).toList())
+                .stream()
+                .collect(Collectors.toMap(LineScanTileMetadata::getTileId, Function.identity(), (a, b) -> a));
+
+        double sourceWidth = (endMs - startMs) / manifest.getMsPerPixel();
+        int limit = maxWidth != null ? Math.min(Math.max(maxWidth, 1), maxWidthPx) : maxWidthPx;
+        int outputWidth = (int) Math.max(1, Math.min(Math.ceil(sourceWidth), limit));
+
+        StringBuilder key = new StringBuilder()
+            .append(manifest.getId()).append('|').append(manifest.getUpdatedAt())
+            .append('|').append(startMs).append('|').append(endMs).append('|').append(outputWidth);
+        for (LineScanTileTimeIndex.TileSpan span : window.tiles()) {
+            String tileId = span.tile().getTileId();
+            key.append('|').append(tileId).append('=').append(fingerprint(tilesById.get(tileId)));
+        }
+        String etag = LineScanTileService.sha256Hex(key.toString().getBytes(StandardCharsets.UTF_8));
+
+        if (LineScanTileService.etagMatches(ifNoneMatch, etag)) {
+            return Optional.of(RenderedStrip.notModified(etag));
+        }
+        RenderedStrip cached = cache.get(etag);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        RenderedStrip strip = draw(regattaId, window, tilesById, startMs, sourceWidth, outputWidth, etag);
+        if (strip.missingTiles() == 0) {
+            cache.put(etag, strip);
+        }
+        return Optional.of(strip);
+    }
+
+    private RenderedStrip draw(
+        UUID regattaId,
+        LineScanTileIndexService.TileWindow window,
+        Map<String, LineScanTileMetadata> tilesById,
+        long startMs,
+        double sourceWidth,
+        int outputWidth,
+        String etag
+    ) throws TileStorage.TileStorageException {
+        LineScanManifest manifest = window.manifest();
+        int minY = window.tiles().stream().mapToInt(span -> span.tile().getTileY()).min().orElse(0);
+        int maxY = window.tiles().stream().mapToInt(span -> span.tile().getTileY()).max().orElse(0)
+            + manifest.getTileSizePx();
+        double scale = outputWidth / sourceWidth;
+        int outputHeight = (int) Math.max(1, Math.round((maxY - minY) * scale));
+        double originPx = (startMs - manifest.getXOriginTimestampMs()) / manifest.getMsPerPixel();
+
+        BufferedImage canvas = new BufferedImage(outputWidth, outputHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = canvas.createGraphics();
+        int missing = 0;
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.scale(scale, scale);
+            graphics.translate(-originPx, -minY);
+            for (LineScanTileTimeIndex.TileSpan span : window.tiles()) {
+                String tileId = span.tile().getTileId();
+                LineScanTileMetadata metadata = tilesById.get(tileId);
+                if (metadata == null || metadata.getUploadState() != LineScanTileMetadata.UploadState.READY) {
+                    missing++;
+                    continue;
+                }
+                TileStorage.TileData data;
+                try {
+                    data = tileStorage.retrieveTile(regattaId, manifest.getCaptureSessionId(), tileId);
+                } catch (TileStorage.TileNotFoundException e) {
+                    LOG.warnf("Tile %s of manifest %s is marked ready but missing in storage", tileId, manifest.getId());
+                    missing++;
+                    continue;
+                }
+                graphics.drawImage(TileImages.decode(tileId, data), span.tile().getTileX(), span.tile().getTileY(), null);
+            }
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(canvas, "png", out);
+        } catch (IOException e) {
+            throw new TileStorage.TileStorageException("Failed to encode strip image", e);
+        }
+        LOG.debugf("Rendered strip: manifest=%s, tiles=%d, missing=%d, size=%dx%d, bytes=%d",
+            manifest.getId(), window.tiles().size(), missing, outputWidth, outputHeight, out.size());
+        return new RenderedStrip(etag, out.toByteArray(), outputWidth, outputHeight, missing);
+    }
+
+    private static String fingerprint(LineScanTileMetadata metadata) {
+        if (metadata == null || metadata.getUploadState() != LineScanTileMetadata.UploadState.READY) {
+            return "missing";
+        }
+        return metadata.getContentSha256() != null
+            ? metadata.getContentSha256()
+            : "ready@" + metadata.getLastUploadAttemptAt();
+    }
+
+    /**
+     * An encoded strip; {@code data} is null when the client's copy is current.
+     */
+    public record RenderedStrip(String etag, byte[] data, int width, int height, int missingTiles) {
+
+        static RenderedStrip notModified(String etag) {
+            return new RenderedStrip(etag, null, 0, 0, 0);
+        }
+
+        public boolean notModified() {
+            return data == null;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.regattadesk.linescan.service;
+
+import com.regattadesk.linescan.model.PendingTileDeletion;
+import com.regattadesk.linescan.repository.LineScanStorageUsageRepository;
+import com.regattadesk.linescan.repository.LineScanTileDeletionRepository;
+import com.regattadesk.linescan.storage.TileStorage;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the deferred tile object deletion queue filled by {@link LineScanPruningService} and
+ * {@link LineScanManifestService}.
+ *
+ * Queue entries are grouped per capture session and deleted with multi-object delete
+ * requests of at most {@code linescan.pruning.delete-batch-size} keys, on a bounded pool
+ * of {@code linescan.pruning.delete-concurrency} workers. Runs outside any database
+ * transaction; failed keys stay queued and are retried with exponential backoff. Deleted
+ * entries are removed from the queue together with the storage usage they release, so the
+ * usage counters only drop once the objects are actually gone. Entries whose key has been
+ * stored again by a live tile are not deleted from storage, only released.
+ */
+@ApplicationScoped
+public class LineScanTileDeletionWorker {
+
+    private static final Logger LOG = Logger.getLogger(LineScanTileDeletionWorker.class);
+
+    /** S3-compatible stores accept at most 1000 keys per multi-object delete. */
+    static final int MAX_OBJECTS_PER_REQUEST = 1000;
+    static final Duration BASE_RETRY_DELAY = Duration.ofMinutes(1);
+    static final Duration MAX_RETRY_DELAY = Duration.ofHours(1);
+
+    private final LineScanTileDeletionRepository deletionRepository;
+    private final LineScanStorageUsageRepository usageRepository;
+    private final TileStorage tileStorage;
+    private final int batchSize;
+    private final int maxConcurrency;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private ExecutorService executorService;
+
+    @Inject
+    public LineScanTileDeletionWorker(
+        LineScanTileDeletionRepository deletionRepository,
+        LineScanStorageUsageRepository usageRepository,
+        TileStorage tileStorage,
+        @ConfigProperty(name = "linescan.pruning.delete-batch-size", defaultValue = "500") int batchSize,
+        @ConfigProperty(name = "linescan.pruning.delete-concurrency", defaultValue = "4") int maxConcurrency
+    ) {
+        this.deletionRepository = deletionRepository;
+        this.usageRepository = usageRepository;
+        this.tileStorage = tileStorage;
+        this.batchSize = Math.max(1, Math.min(batchSize, MAX_OBJECTS_PER_REQUEST));
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+
+    @PreDestroy
+    synchronized void shutdownExecutor() {
+        if (executorService != null) {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * Retries queue entries left behind by failed or interrupted drains.
+     */
+    @Scheduled(
+        cron = "{linescan.pruning.deletion-retry.cron:0 */5 * * * ?}",
+        identity = "linescan-tile-deletion-retry",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    void retryDue() {
+        drain();
+    }
+
+    /**
+     * Deletes all currently due queue entries from object storage.
+     *
+     * @return number of tile objects deleted (or confirmed missing)
+     */
+    public int drain() {
+        if (!draining.compareAndSet(false, true)) {
+            LOG.debug("Tile deletion drain already in progress, skipping");
+            return 0;
+        }
+        try {
+            int pageSize = batchSize * maxConcurrency * 4;
+            int deleted = 0;
+            List<PendingTileDeletion> due;
+            while (!Thread.currentThread().isInterrupted()
+                && !(due = deletionRepository.findDue(Instant.now(), pageSize)).isEmpty()) {
+                deleted += drainPage(due);
+            }
+            if (deleted > 0) {
+                LOG.infof("Deleted %d pruned tile objects from storage", deleted);
+            }
+            return deleted;
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    private int drainPage(List<PendingTileDeletion> due) {
+        List<PendingTileDeletion> completed = new ArrayList<>();
+        Map<UUID, List<PendingTileDeletion>> bySession = new LinkedHashMap<>();
+        for (PendingTileDeletion deletion : due) {
+            if (deletion.replaced()) {
+                completed.add(deletion);
+                continue;
+            }
+            bySession.computeIfAbsent(deletion.captureSessionId(), key -> new ArrayList<>()).add(deletion);
+        }
+
+        List<Future<ChunkOutcome>> futures = new ArrayList<>();
+        ExecutorService executor = executor();
+        for (List<PendingTileDeletion> sessionDeletions : bySession.values()) {
+            for (int i = 0; i < sessionDeletions.size(); i += batchSize) {
+                List<PendingTileDeletion> chunk =
+                    sessionDeletions.subList(i, Math.min(i + batchSize, sessionDeletions.size()));
+                futures.add(executor.submit(() -> deleteChunk(chunk)));
+            }
+        }
+
+        List<ChunkOutcome> failures = new ArrayList<>();
+        for (Future<ChunkOutcome> future : futures) {
+            try {
+                ChunkOutcome outcome = future.get();
+                completed.addAll(outcome.completed());
+                if (!outcome.failed().isEmpty()) {
+                    failures.add(outcome);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                LOG.errorf(e.getCause(), "Unexpected tile deletion failure");
+            }
+        }
+
+        complete(completed);
+        Instant now = Instant.now();
+        for (ChunkOutcome failure : failures) {
+            int attempts = failure.failed().stream().mapToInt(PendingTileDeletion::attempts).min().orElse(0);
+            deletionRepository.markFailed(
+                failure.failed().stream().map(PendingTileDeletion::id).toList(),
+                failure.error(),
+                now.plus(retryDelay(attempts))
+            );
+        }
+        return completed.size();
+    }
+
+    /**
+     * Removes completed entries from the queue and releases the storage usage they carry.
+     * Entries another worker removed first have had their usage released by that worker.
+     */
+    @Transactional
+    void complete(List<PendingTileDeletion> completed) {
+        if (completed.isEmpty()) {
+            return;
+        }
+        Set<UUID> removed = new HashSet<>(
+            deletionRepository.deleteByIds(completed.stream().map(PendingTileDeletion::id).toList()));
+
+        Map<UsageKey, long[]> released = new LinkedHashMap<>();
+        for (PendingTileDeletion deletion : completed) {
+            if (!removed.contains(deletion.id())) {
+                continue;
+            }
+            PendingTileDeletion.UsageRelease usage = deletion.usage();
+            if (usage == null || (usage.tiles() == 0 && usage.bytes() == 0)) {
+                continue;
+            }
+            long[] totals = released.computeIfAbsent(
+                new UsageKey(usage.manifestId(), usage.pruned()), key -> new long[2]);
+            totals[0] += usage.tiles();
+            totals[1] += usage.bytes();
+        }
+        released.forEach((key, totals) -> {
+            if (key.pruned()) {
+                usageRepository.recordPruned(key.manifestId(), totals[0], totals[1]);
+            } else {
+                usageRepository.addStored(key.manifestId(), -totals[0], -totals[1]);
+            }
+        });
+    }
+
+    private ChunkOutcome deleteChunk(List<PendingTileDeletion> chunk) {
+        PendingTileDeletion first = chunk.get(0);
+        List<String> tileIds = chunk.stream().map(PendingTileDeletion::tileId).toList();
+        try {
+            Set<String> failedTileIds = tileStorage.deleteTiles(
+                first.regattaId(),
+                first.captureSessionId(),
+                tileIds
+            );
+            List<PendingTileDeletion> completed = new ArrayList<>(chunk.size());
+            List<PendingTileDeletion> failed = new ArrayList<>();
+            for (PendingTileDeletion deletion : chunk) {
+                if (failedTileIds.contains(deletion.tileId())) {
+                    failed.add(deletion);
+                } else {
+                    completed.add(deletion);
+                }
+            }
+            return new ChunkOutcome(completed, failed, "Object storage rejected delete");
+        } catch (TileStorage.TileStorageException | RuntimeException e) {
+            LOG.warnf(e, "Failed to delete %d tile objects for capture session %s, will retry",
+                chunk.size(), first.captureSessionId());
+            return new ChunkOutcome(List.of(), chunk, safeErrorMessage(e));
+        }
+    }
+
+    static Duration retryDelay(int attempts) {
+        Duration delay = BASE_RETRY_DELAY.multipliedBy(1L << Math.min(attempts, 10));
+        return delay.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay;
+    }
+
+    private synchronized ExecutorService executor() {
+        if (executorService == null) {
+            executorService = new ThreadPoolExecutor(
+                maxConcurrency,
+                maxConcurrency,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new DeletionThreadFactory()
+            );
+        }
+        return executorService;
+    }
+
+    private String safeErrorMessage(Throwable error) {
+        String message = error.getMessage();
+        if (message == null || message.isBlank()) {
+            return error.getClass().getSimpleName();
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+
+    private record ChunkOutcome(List<PendingTileDeletion> completed, List<PendingTileDeletion> failed, String error) {
+    }
+
+    private record UsageKey(UUID manifestId, boolean pruned) {
+    }
+
+    private static final class DeletionThreadFactory implements ThreadFactory {
+        private final AtomicInteger index = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = Thread.ofPlatform()
+                .name("linescan-tile-deletion-" + index.getAndIncrement())
+                .daemon(true)
+                .unstarted(r);
+            thread.setUncaughtExceptionHandler(
+                (t, e) -> LOG.errorf(e, "Unhandled exception in %s", t.getName()));
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.regattadesk.linescan.service;
+
+import com.regattadesk.linescan.model.LineScanManifest;
+import com.regattadesk.linescan.repository.LineScanManifestRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Resolves the tiles covering a time window of a capture session.
+ *
+ * Keeps a {@link LineScanTileTimeIndex} per manifest in a bounded LRU cache of
+ * {@code linescan.tile-index.cache-size} entries. Each lookup reads only the manifest row
+ * and reuses the cached index while the manifest's {@code updatedAt} is unchanged; manifest
+ * upserts and pruning both bump it, so stale tile sets are never served.
+ */
+@ApplicationScoped
+public class LineScanTileIndexService {
+
+    /** Window results are sized to fit one tile_urls batch. */
+    public static final int MAX_TILES_PER_WINDOW = LineScanTileService.MAX_TILE_URL_BATCH;
+
+    private final LineScanManifestRepository manifestRepository;
+    private final Map<UUID, LineScanTileTimeIndex> cache;
+
+    @Inject
+    public LineScanTileIndexService(
+        LineScanManifestRepository manifestRepository,
+        @ConfigProperty(name = "linescan.tile-index.cache-size", defaultValue = "256") int cacheSize
+    ) {
+        this.manifestRepository = manifestRepository;
+        int maxEntries = Math.max(1, cacheSize);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, LineScanTileTimeIndex> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Find the tiles overlapping {@code [startMs, endMs)} in the capture session's manifest.
+     *
+     * @return empty if the capture session has no manifest in this regatta
+     * @throws IllegalArgumentException if the window covers more than {@link #MAX_TILES_PER_WINDOW} tiles
+     */
+    public Optional<TileWindow> tilesCovering(UUID regattaId, UUID captureSessionId, long startMs, long endMs) {
+        Optional<LineScanManifest> header = manifestRepository.findHeaderByCaptureSessionId(captureSessionId)
+            .filter(manifest -> manifest.getRegattaId().equals(regattaId));
+        if (header.isEmpty()) {
+            return Optional.empty();
+        }
+
+        LineScanManifest manifest = header.get();
+        LineScanTileTimeIndex index = indexFor(manifest);
+        int count = index.countCovering(startMs, endMs);
+        if (count > MAX_TILES_PER_WINDOW) {
+            throw new IllegalArgumentException(
+                "Window covers " + count + " tiles, at most " + MAX_TILES_PER_WINDOW + " are allowed");
+        }
+        return Optional.of(new TileWindow(manifest, index.covering(startMs, endMs)));
+    }
+
+    LineScanTileTimeIndex indexFor(LineScanManifest header) {
+        LineScanTileTimeIndex cached = cache.get(header.getId());
+        if (cached != null && Objects.equals(cached.version(), header.getUpdatedAt())) {
+            return cached;
+        }
+        LineScanManifest manifest = manifestRepository.findById(header.getId()).orElse(header);
+        LineScanTileTimeIndex index = LineScanTileTimeIndex.of(manifest);
+        cache.put(manifest.getId(), index);
+        return index;
+    }
+
+    /**
+     * Tiles of one manifest covering a window; {@code manifest} carries no tiles.
+     */
+    public record TileWindow(LineScanManifest manifest, List<LineScanTileTimeIndex.TileSpan> tiles) {
+    }
+}
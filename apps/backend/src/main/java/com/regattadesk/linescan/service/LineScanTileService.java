@@ -1,118 +1,430 @@
 package com.regattadesk.linescan.service;
 
-import com.regattadesk.linescan.config.MinioStorageAdapter;
 import com.regattadesk.linescan.model.LineScanManifest;
 import com.regattadesk.linescan.model.LineScanTileMetadata;
 import com.regattadesk.linescan.repository.LineScanManifestRepository;
+import com.regattadesk.linescan.repository.LineScanStorageUsageRepository;
 import com.regattadesk.linescan.repository.LineScanTileRepository;
+import com.regattadesk.linescan.storage.TileStorage;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for line-scan tile operations.
  * 
- * Coordinates tile storage between MinIO and database metadata.
+ * Coordinates tile storage between the storage backend and database metadata.
+ * Manifests are resolved through {@link LineScanManifestCache}, so a tile request costs one
+ * metadata query.
+ * Tiles are content-addressed by SHA-256: retried uploads of identical bytes skip the
+ * storage write, and the hash doubles as the tile ETag.
+ *
+ * Tiles uploaded as PNG for a manifest whose primary format is lossless WebP are queued for
+ * {@link LineScanTileTranscodeWorker}. Once the WebP variant exists, downloads serve it to
+ * clients whose Accept header prefers it, and the original to everyone else. Every upload is
+ * also queued for {@link LineScanCrossingDetectionWorker}. Uploads adjust the manifest's
+ * storage usage counters by the difference to the data they replace.
  */
 @ApplicationScoped
 public class LineScanTileService {
     
     private static final Logger LOG = Logger.getLogger(LineScanTileService.class);
+    private static final Duration DEFAULT_PRESIGNED_URL_TTL = Duration.ofMinutes(5);
+
+    /** Largest tile accepted, in one request or as a resumable upload. */
+    public static final int MAX_TILE_SIZE_BYTES = 10 * 1024 * 1024;
+
+    /** Upper bound on tile IDs per URL batch (a viewport needs far fewer). */
+    public static final int MAX_TILE_URL_BATCH = 256;
+
+    static final String WEBP_PRIMARY_FORMAT = "webp_lossless";
     
     private final LineScanTileRepository tileRepository;
-    private final LineScanManifestRepository manifestRepository;
-    private final MinioStorageAdapter storageAdapter;
+    private final LineScanManifestCache manifestCache;
+    private final LineScanStorageUsageRepository usageRepository;
+    private final TileStorage tileStorage;
+    private final boolean presignedDownloads;
+    private final Duration presignedUrlTtl;
+    private final double verifySampleRate;
     
-    @Inject
     public LineScanTileService(
             LineScanTileRepository tileRepository,
             LineScanManifestRepository manifestRepository,
-            MinioStorageAdapter storageAdapter) {
+            LineScanStorageUsageRepository usageRepository,
+            TileStorage tileStorage) {
+        this(tileRepository,
+            new LineScanManifestCache(manifestRepository, LineScanManifestCache.DEFAULT_SIZE,
+                LineScanManifestCache.DEFAULT_TTL),
+            usageRepository, tileStorage, false, DEFAULT_PRESIGNED_URL_TTL, 0.0);
+    }
+
+    @Inject
+    public LineScanTileService(
+            LineScanTileRepository tileRepository,
+            LineScanManifestCache manifestCache,
+            LineScanStorageUsageRepository usageRepository,
+            TileStorage tileStorage,
+            @ConfigProperty(name = "linescan.tiles.presigned-downloads.enabled", defaultValue = "false")
+            boolean presignedDownloads,
+            @ConfigProperty(name = "linescan.tiles.presigned-downloads.ttl", defaultValue = "PT5M")
+            Duration presignedUrlTtl,
+            @ConfigProperty(name = "linescan.tiles.verify-sample-rate", defaultValue = "0.0")
+            double verifySampleRate) {
         this.tileRepository = tileRepository;
-        this.manifestRepository = manifestRepository;
-        this.storageAdapter = storageAdapter;
+        this.manifestCache = manifestCache;
+        this.usageRepository = usageRepository;
+        this.tileStorage = tileStorage;
+        this.presignedDownloads = presignedDownloads;
+        this.presignedUrlTtl = presignedUrlTtl;
+        this.verifySampleRate = Math.max(0.0, Math.min(verifySampleRate, 1.0));
     }
     
     /**
      * Store a tile (metadata + binary data).
      * 
      * Note: This requires the manifest to have been created first with tile metadata.
+     * Re-uploads of bytes identical to the stored tile are acknowledged without writing.
      */
     @Transactional
-    public void storeTile(UUID regattaId, String tileId, byte[] tileData, String contentType) 
-            throws TileNotFoundException, MinioStorageAdapter.MinioStorageException {
+    public StoreResult storeTile(UUID regattaId, String tileId, byte[] tileData, String contentType) 
+            throws TileNotFoundException, TileStorage.TileStorageException {
         
         // Find the tile metadata
         LineScanTileMetadata existingMetadata = tileRepository.findByRegattaAndTileId(regattaId, tileId)
             .orElseThrow(() -> new TileNotFoundException(
                 "Tile metadata not found. Manifest must be created before uploading tiles: " + tileId));
         
-        // Get manifest to retrieve capture session ID
-        LineScanManifest manifest = manifestRepository.findById(existingMetadata.getManifestId())
+        // Get manifest (cached header) to retrieve capture session ID
+        LineScanManifest manifest = manifestCache.header(existingMetadata.getManifestId())
             .orElseThrow(() -> new TileNotFoundException("Manifest not found for tile: " + tileId));
 
-        int nextAttempt = (existingMetadata.getUploadAttempts() != null ? existingMetadata.getUploadAttempts() : 0) + 1;
+        String contentSha256 = sha256Hex(tileData);
+        if (existingMetadata.getUploadState() == LineScanTileMetadata.UploadState.READY
+                && contentSha256.equals(existingMetadata.getContentSha256())
+                && contentType.equals(existingMetadata.getContentType())) {
+            LOG.debugf("Skipping identical tile upload: regatta=%s, tile=%s", regattaId, tileId);
+            return new StoreResult(contentSha256, false);
+        }
+
+        // Lock the row so concurrent uploads of this tile account against each other's result
+        LineScanTileMetadata current = tileRepository.lockById(existingMetadata.getId())
+            .orElseThrow(() -> new TileNotFoundException("Tile metadata not found: " + tileId));
+        int nextAttempt = (current.getUploadAttempts() != null ? current.getUploadAttempts() : 0) + 1;
         Instant now = Instant.now();
 
         // Persist upload intent first, then attempt object storage.
-        LineScanTileMetadata pending = buildState(existingMetadata, contentType, null,
+        LineScanTileMetadata pending = buildState(current, contentType, null, null,
             LineScanTileMetadata.UploadState.PENDING, nextAttempt, null, now);
         tileRepository.save(pending);
 
         try {
-            storageAdapter.storeTile(
+            tileStorage.storeTile(
                 regattaId,
                 manifest.getCaptureSessionId(),
                 tileId,
                 tileData,
                 contentType
             );
-        } catch (MinioStorageAdapter.MinioStorageException e) {
-            tileRepository.save(buildState(existingMetadata, contentType, null,
+        } catch (TileStorage.TileStorageException e) {
+            tileRepository.save(buildState(current, contentType, null, null,
                 LineScanTileMetadata.UploadState.FAILED, nextAttempt, safeErrorMessage(e), now));
+            recordUsage(current, null);
             throw e;
         } catch (RuntimeException e) {
-            tileRepository.save(buildState(existingMetadata, contentType, null,
+            tileRepository.save(buildState(current, contentType, null, null,
                 LineScanTileMetadata.UploadState.FAILED, nextAttempt, safeErrorMessage(e), now));
-            throw new MinioStorageAdapter.MinioStorageException("Unexpected tile upload failure", e);
+            recordUsage(current, null);
+            throw new TileStorage.TileStorageException("Unexpected tile upload failure", e);
         }
 
-        tileRepository.save(buildState(existingMetadata, contentType, tileData.length,
+        tileRepository.save(buildState(current, contentType, tileData.length, contentSha256,
             LineScanTileMetadata.UploadState.READY, nextAttempt, null, now));
+        tileRepository.resetVariant(current.getId(), needsTranscode(manifest, contentType), now);
+        tileRepository.queueDetection(current.getId(), now);
+        recordUsage(current, tileData.length);
         
         LOG.infof("Stored tile: regatta=%s, tile=%s, size=%d", regattaId, tileId, tileData.length);
+        return new StoreResult(contentSha256, true);
     }
     
     /**
      * Retrieve tile binary data.
      */
-    public MinioStorageAdapter.TileData retrieveTile(UUID regattaId, String tileId) 
-            throws TileNotFoundException, MinioStorageAdapter.MinioStorageException {
+    public TileStorage.TileData retrieveTile(UUID regattaId, String tileId) 
+            throws TileNotFoundException, TileStorage.TileStorageException {
+        return downloadTile(regattaId, tileId, null).data();
+    }
+
+    /**
+     * Retrieve tile binary data unless the client already holds the current version.
+     *
+     * @param ifNoneMatch value of the client's If-None-Match header, may be null
+     * @return the tile ETag (null for tiles uploaded before hashing), and the tile data or
+     *         null data when {@code ifNoneMatch} matches the ETag
+     */
+    public TileDownload downloadTile(UUID regattaId, String tileId, String ifNoneMatch)
+            throws TileNotFoundException, TileStorage.TileStorageException {
+        return downloadTile(regattaId, tileId, null, ifNoneMatch);
+    }
+
+    /**
+     * Retrieve the variant of a tile best matching the client's Accept header, unless the
+     * client already holds it. Falls back to the original if the variant object is missing.
+     *
+     * @param accept value of the client's Accept header, may be null (original format)
+     */
+    public TileDownload downloadTile(UUID regattaId, String tileId, String accept, String ifNoneMatch)
+            throws TileNotFoundException, TileStorage.TileStorageException {
+        ResolvedTile tile = resolveReadyTile(regattaId, tileId);
+        UUID captureSessionId = tile.manifest().getCaptureSessionId();
+        if (servesVariant(tile.metadata(), accept)) {
+            String variantEtag = tile.metadata().getVariantSha256();
+            if (etagMatches(ifNoneMatch, variantEtag)) {
+                return new TileDownload(variantEtag, null);
+            }
+            try {
+                return new TileDownload(variantEtag,
+                    tileStorage.retrieveTile(regattaId, captureSessionId, variantTileId(tileId)));
+            } catch (TileStorage.TileNotFoundException e) {
+                LOG.warnf("Variant of tile %s is recorded but missing in storage, serving original", tileId);
+            }
+        }
+
+        String etag = tile.metadata().getContentSha256();
+        if (etag != null && etagMatches(ifNoneMatch, etag)) {
+            return new TileDownload(etag, null);
+        }
         
+        // Retrieve from tile storage
+        TileStorage.TileData data = tileStorage.retrieveTile(regattaId, captureSessionId, tileId);
+        if (etag != null && shouldVerify() && !etag.equals(sha256Hex(data.getData()))) {
+            LOG.errorf("Tile content hash mismatch: regatta=%s, tile=%s, expected=%s", regattaId, tileId, etag);
+            throw new TileStorage.TileStorageException("Tile content hash mismatch: " + tileId, null);
+        }
+        return new TileDownload(etag, data);
+    }
+
+    /**
+     * Create a short-lived direct download URL for a tile.
+     *
+     * @return empty when presigned downloads are disabled or the storage backend cannot serve
+     *         tiles directly; callers then stream the tile via {@link #retrieveTile}
+     */
+    public Optional<URI> presignedTileUrl(UUID regattaId, String tileId)
+            throws TileNotFoundException, TileStorage.TileStorageException {
+        return presignedTileUrl(regattaId, tileId, null);
+    }
+
+    /**
+     * Create a short-lived direct download URL for the tile variant best matching the
+     * client's Accept header.
+     */
+    public Optional<URI> presignedTileUrl(UUID regattaId, String tileId, String accept)
+            throws TileNotFoundException, TileStorage.TileStorageException {
+        if (!presignedDownloads) {
+            return Optional.empty();
+        }
+        ResolvedTile tile = resolveReadyTile(regattaId, tileId);
+        String objectId = servesVariant(tile.metadata(), accept) ? variantTileId(tileId) : tileId;
+        return tileStorage.presignedDownloadUrl(
+            regattaId, tile.manifest().getCaptureSessionId(), objectId, presignedUrlTtl);
+    }
+
+    /**
+     * Resolve download URLs for a batch of tiles of one manifest (typically a viewport).
+     *
+     * Only the requested tiles are loaded, with a single metadata query. Each URL is a presigned storage URL when
+     * presigned downloads are enabled and supported, otherwise the relative tile endpoint path.
+     * Requested tiles that are unknown or not yet uploaded are reported as missing.
+     */
+    public TileUrlBatch tileUrls(UUID regattaId, UUID manifestId, List<String> tileIds)
+            throws TileNotFoundException, TileStorage.TileStorageException {
+        LineScanManifest manifest = manifestCache.header(manifestId)
+            .filter(m -> m.getRegattaId().equals(regattaId))
+            .orElseThrow(() -> new TileNotFoundException("Manifest not found: " + manifestId));
+
+        Set<String> requested = new LinkedHashSet<>(tileIds);
+        Map<String, LineScanTileMetadata> tilesById = tileRepository.findByManifestIdAndTileIds(manifestId, requested)
+            .stream()
+            .collect(Collectors.toMap(LineScanTileMetadata::getTileId, Function.identity(), (a, b) -> a));
+
+        Instant expiresAt = presignedDownloads ? Instant.now().plus(presignedUrlTtl) : null;
+        List<TileUrl> urls = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (String tileId : requested) {
+            LineScanTileMetadata metadata = tilesById.get(tileId);
+            if (metadata == null || metadata.getUploadState() != LineScanTileMetadata.UploadState.READY) {
+                missing.add(tileId);
+                continue;
+            }
+            Optional<URI> presigned = presignedDownloads
+                ? tileStorage.presignedDownloadUrl(regattaId, manifest.getCaptureSessionId(), tileId, presignedUrlTtl)
+                : Optional.empty();
+            urls.add(presigned
+                .map(url -> new TileUrl(tileId, url.toString(), true))
+                .orElseGet(() -> new TileUrl(tileId, proxyPath(regattaId, tileId), false)));
+        }
+        boolean anyDirect = urls.stream().anyMatch(TileUrl::direct);
+        return new TileUrlBatch(urls, missing, anyDirect ? expiresAt : null);
+    }
+
+    private ResolvedTile resolveReadyTile(UUID regattaId, String tileId) throws TileNotFoundException {
         // Find tile metadata
         LineScanTileMetadata metadata = tileRepository.findByRegattaAndTileId(regattaId, tileId)
             .orElseThrow(() -> new TileNotFoundException("Tile not found: " + tileId));
         
         // Get manifest to retrieve capture session ID
-        LineScanManifest manifest = manifestRepository.findById(metadata.getManifestId())
+        LineScanManifest manifest = manifestCache.header(metadata.getManifestId())
             .orElseThrow(() -> new TileNotFoundException("Manifest not found for tile: " + tileId));
 
         if (metadata.getUploadState() != LineScanTileMetadata.UploadState.READY) {
             throw new TileNotFoundException("Tile data not yet available: " + tileId);
         }
-        
-        // Retrieve from MinIO
-        return storageAdapter.retrieveTile(regattaId, manifest.getCaptureSessionId(), tileId);
+        return new ResolvedTile(metadata, manifest);
+    }
+
+    /**
+     * Adjust storage usage from the tile's previous state (original plus variant, which the
+     * new upload resets) to the newly stored bytes, or to nothing if the upload failed.
+     */
+    private void recordUsage(LineScanTileMetadata previous, Integer storedBytes) {
+        long tileDelta = (storedBytes != null ? 1 : 0) - (LineScanStorageUsageService.isStored(previous) ? 1 : 0);
+        long byteDelta = (storedBytes != null ? storedBytes : 0) - LineScanStorageUsageService.storedBytes(previous);
+        if (tileDelta != 0 || byteDelta != 0) {
+            usageRepository.addStored(previous.getManifestId(), tileDelta, byteDelta);
+        }
+    }
+
+    private static boolean needsTranscode(LineScanManifest manifest, String contentType) {
+        return WEBP_PRIMARY_FORMAT.equals(manifest.getPrimaryFormat())
+            && !WebpTileEncoder.CONTENT_TYPE.equals(contentType);
+    }
+
+    private static boolean servesVariant(LineScanTileMetadata metadata, String accept) {
+        return metadata.getVariantContentType() != null
+            && metadata.getVariantSha256() != null
+            && prefersVariant(accept, metadata.getVariantContentType(), metadata.getContentType());
+    }
+
+    /**
+     * Decide from an Accept header whether to serve the variant instead of the original.
+     *
+     * The variant must be listed explicitly (wildcards do not count, since generic clients
+     * send them without being able to decode every format) with a quality at least that of
+     * the most specific range matching the original. A missing header keeps the original.
+     */
+    static boolean prefersVariant(String accept, String variantType, String originalType) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        double variantQuality = 0.0;
+        double originalQuality = 0.0;
+        int originalSpecificity = -1;
+        String originalRange = originalType.substring(0, originalType.indexOf('/') + 1) + "*";
+        for (String part : accept.split(",")) {
+            String[] params = part.split(";");
+            String range = params[0].trim().toLowerCase();
+            double quality = 1.0;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0.0;
+                    }
+                }
+            }
+            if (range.equals(variantType)) {
+                variantQuality = quality;
+            }
+            int specificity = range.equals(originalType) ? 2
+                : range.equals(originalRange) ? 1
+                : range.equals("*/*") ? 0
+                : -1;
+            if (specificity > originalSpecificity) {
+                originalSpecificity = specificity;
+                originalQuality = quality;
+            }
+        }
+        return variantQuality > 0.0 && variantQuality >= originalQuality;
+    }
+
+    /**
+     * Storage object ID of a tile's transcoded variant, stored next to the original.
+     */
+    static String variantTileId(String tileId) {
+        return tileId + ".webp";
+    }
+
+    private boolean shouldVerify() {
+        return verifySampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < verifySampleRate;
+    }
+
+    /**
+     * Evaluate an If-None-Match header (comma-separated, possibly weak or {@code *}) against an ETag.
+     */
+    static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1);
+            }
+            if (value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String sha256Hex(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String proxyPath(UUID regattaId, String tileId) {
+        String encodedTileId = URLEncoder.encode(tileId, StandardCharsets.UTF_8).replace("+", "%20");
+        return "/api/v1/regattas/" + regattaId + "/line_scan/tiles/" + encodedTileId;
     }
 
     private LineScanTileMetadata buildState(
             LineScanTileMetadata base,
             String contentType,
             Integer byteSize,
+            String contentSha256,
             LineScanTileMetadata.UploadState state,
             Integer attempts,
             String lastError,
@@ -125,6 +437,7 @@ public class LineScanTileService {
             .tileY(base.getTileY())
             .contentType(contentType)
             .byteSize(byteSize)
+            .contentSha256(contentSha256)
             .uploadState(state)
             .uploadAttempts(attempts)
             .lastUploadError(lastError)
@@ -143,6 +456,42 @@ public class LineScanTileService {
         return message.length() <= 500 ? message : message.substring(0, 500);
     }
     
+    private record ResolvedTile(LineScanTileMetadata metadata, LineScanManifest manifest) {
+    }
+
+    /**
+     * Outcome of a tile upload.
+     *
+     * @param written false when identical bytes were already stored and the write was skipped
+     */
+    public record StoreResult(String contentSha256, boolean written) {
+    }
+
+    /**
+     * Tile download; {@code data} is null when the client's cached copy is current.
+     */
+    public record TileDownload(String etag, TileStorage.TileData data) {
+        public boolean notModified() {
+            return data == null;
+        }
+    }
+
+    /**
+     * Download URL for a single tile.
+     *
+     * @param direct true for a presigned storage URL, false for the proxying tile endpoint
+     */
+    public record TileUrl(String tileId, String url, boolean direct) {
+    }
+
+    /**
+     * Download URLs for a batch of tiles.
+     *
+     * @param expiresAt expiry of the presigned URLs, or null if all URLs are proxy paths
+     */
+    public record TileUrlBatch(List<TileUrl> tiles, List<String> missingTileIds, Instant expiresAt) {
+    }
+
     /**
      * Exception thrown when a tile is not found.
      */
@@ -0,0 +1,137 @@
+package com.regattadesk.linescan.service;
+
+import com.regattadesk.linescan.model.LineScanManifest;
+import com.regattadesk.linescan.model.LineScanManifestTile;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Time-interval index over the tiles of one manifest.
+ *
+ * Tiles are sorted once by their start time. All tiles of a manifest share the same width,
+ * so end times are sorted as well, and the tiles covering a window form one contiguous run
+ * found with two binary searches. Overlap uses the same strict rule as
+ * {@link LineScanPruningService#isTileInWindow}.
+ */
+public final class LineScanTileTimeIndex {
+
+    private final UUID manifestId;
+    private final Instant version;
+    private final LineScanManifestTile[] tiles;
+    private final long[] startMs;
+    private final long[] endMs;
+
+    private LineScanTileTimeIndex(
+        UUID manifestId,
+        Instant version,
+        LineScanManifestTile[] tiles,
+        long[] startMs,
+        long[] endMs
+    ) {
+        this.manifestId = manifestId;
+        this.version = version;
+        this.tiles = tiles;
+        this.startMs = startMs;
+        this.endMs = endMs;
+    }
+
+    /**
+     * Build the index for a manifest, versioned by the manifest's {@code updatedAt}.
+     */
+    public static LineScanTileTimeIndex of(LineScanManifest manifest) {
+        List<LineScanManifestTile> sorted = new ArrayList<>(manifest.getTiles());
+        sorted.sort(Comparator.comparingInt(LineScanManifestTile::getTileX)
+            .thenComparingInt(LineScanManifestTile::getTileY));
+
+        LineScanManifestTile[] tiles = sorted.toArray(LineScanManifestTile[]::new);
+        long[] starts = new long[tiles.length];
+        long[] ends = new long[tiles.length];
+        for (int i = 0; i < tiles.length; i++) {
+            starts[i] = tileStartMs(manifest.getXOriginTimestampMs(), manifest.getMsPerPixel(), tiles[i].getTileX());
+            ends[i] = tileEndMs(
+                manifest.getXOriginTimestampMs(), manifest.getMsPerPixel(), tiles[i].getTileX(), manifest.getTileSizePx());
+        }
+        return new LineScanTileTimeIndex(manifest.getId(), manifest.getUpdatedAt(), tiles, starts, ends);
+    }
+
+    static long tileStartMs(long xOriginTimestampMs, double msPerPixel, int tileX) {
+        return xOriginTimestampMs + (long) (tileX * msPerPixel);
+    }
+
+    static long tileEndMs(long xOriginTimestampMs, double msPerPixel, int tileX, int tileSizePx) {
+        return xOriginTimestampMs + (long) ((tileX + tileSizePx) * msPerPixel);
+    }
+
+    /**
+     * @return number of tiles overlapping the half-open window {@code [windowStartMs, windowEndMs)}
+     */
+    public int countCovering(long windowStartMs, long windowEndMs) {
+        return Math.max(0, firstStartingAtOrAfter(windowEndMs) - firstEndingAfter(windowStartMs));
+    }
+
+    /**
+     * @return tiles overlapping the half-open window {@code [windowStartMs, windowEndMs)}, ordered by time
+     */
+    public List<TileSpan> covering(long windowStartMs, long windowEndMs) {
+        int from = firstEndingAfter(windowStartMs);
+        int to = firstStartingAtOrAfter(windowEndMs);
+        if (from >= to) {
+            return List.of();
+        }
+        List<TileSpan> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(new TileSpan(tiles[i], startMs[i], endMs[i]));
+        }
+        return result;
+    }
+
+    private int firstEndingAfter(long timestampMs) {
+        int low = 0;
+        int high = endMs.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (endMs[mid] > timestampMs) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private int firstStartingAtOrAfter(long timestampMs) {
+        int low = 0;
+        int high = startMs.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (startMs[mid] >= timestampMs) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    public UUID manifestId() {
+        return manifestId;
+    }
+
+    public Instant version() {
+        return version;
+    }
+
+    public int size() {
+        return tiles.length;
+    }
+
+    /**
+     * A tile with its capture time range.
+     */
+    public record TileSpan(LineScanManifestTile tile, long startMs, long endMs) {
+    }
+}
@@ -0,0 +1,295 @@
+package com.regattadesk.linescan.service;
+
+import com.regattadesk.linescan.model.TileTranscodeState;
+import com.regattadesk.linescan.model.TileTranscodeTask;
+import com.regattadesk.linescan.repository.LineScanStorageUsageRepository;
+import com.regattadesk.linescan.repository.LineScanTileRepository;
+import com.regattadesk.linescan.storage.TileStorage;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transcodes tiles uploaded in a manifest's fallback format (PNG) into its primary format
+ * (lossless WebP).
+ *
+ * {@link LineScanTileService#storeTile} queues such tiles in {@code line_scan_tiles}; this
+ * worker encodes them on a bounded pool of {@code linescan.transcode.concurrency} threads,
+ * stores the variant next to the original and records it against the content hash it was
+ * made from, so a re-upload in the meantime discards the result. Variants that are not
+ * smaller than the original are not kept; kept variants count towards the manifest's
+ * storage usage. Failures are retried with exponential backoff
+ * up to {@code linescan.transcode.max-attempts} times. Does nothing while no encoder is
+ * configured; queued tiles are picked up once one is.
+ *
+ * Tiles are claimed for {@code linescan.transcode.claim-timeout} before they are encoded, so
+ * concurrent instances do not transcode the same tile; a result is only recorded while its
+ * claim still holds. All variants of a tile share one object key, so a result that could not
+ * be recorded may have overwritten the variant another worker recorded; that variant is then
+ * dropped and the tile transcoded again instead of deleting the object.
+ */
+@ApplicationScoped
+public class LineScanTileTranscodeWorker {
+
+    private static final Logger LOG = Logger.getLogger(LineScanTileTranscodeWorker.class);
+
+    static final Duration BASE_RETRY_DELAY = Duration.ofMinutes(1);
+    static final Duration MAX_RETRY_DELAY = Duration.ofHours(1);
+
+    private final LineScanTileRepository tileRepository;
+    private final LineScanStorageUsageRepository usageRepository;
+    private final TileStorage tileStorage;
+    private final WebpTileEncoder encoder;
+    private final int maxConcurrency;
+    private final int maxAttempts;
+    private final Duration claimTimeout;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private ExecutorService executorService;
+
+    @Inject
+    public LineScanTileTranscodeWorker(
+        LineScanTileRepository tileRepository,
+        LineScanStorageUsageRepository usageRepository,
+        TileStorage tileStorage,
+        WebpTileEncoder encoder,
+        @ConfigProperty(name = "linescan.transcode.concurrency", defaultValue = "2") int maxConcurrency,
+        @ConfigProperty(name = "linescan.transcode.max-attempts", defaultValue = "5") int maxAttempts,
+        @ConfigProperty(name = "linescan.transcode.claim-timeout", defaultValue = "PT10M") Duration claimTimeout
+    ) {
+        this.tileRepository = tileRepository;
+        this.usageRepository = usageRepository;
+        this.tileStorage = tileStorage;
+        this.encoder = encoder;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.claimTimeout = claimTimeout;
+    }
+
+    @PreDestroy
+    synchronized void shutdownExecutor() {
+        if (executorService != null) {
+            executorService.shutdown();
+        }
+    }
+
+    @Scheduled(
+        cron = "{linescan.transcode.cron:*/30 * * * * ?}",
+        identity = "linescan-tile-transcode",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    void transcodeDue() {
+        drain();
+    }
+
+    /**
+     * Transcodes all currently due tiles.
+     *
+     * @return number of tiles processed successfully (variant stored or skipped)
+     */
+    public int drain() {
+        if (!encoder.isAvailable()) {
+            return 0;
+        }
+        if (!draining.compareAndSet(false, true)) {
+            LOG.debug("Tile transcode drain already in progress, skipping");
+            return 0;
+        }
+        try {
+            int pageSize = maxConcurrency * 8;
+            int transcoded = 0;
+            List<TileTranscodeTask> due;
+            while (!Thread.currentThread().isInterrupted() && !(due = claimDue(pageSize)).isEmpty()) {
+                transcoded += drainPage(due);
+            }
+            if (transcoded > 0) {
+                LOG.infof("Transcoded %d line-scan tiles", transcoded);
+            }
+            return transcoded;
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    private List<TileTranscodeTask> claimDue(int limit) {
+        Instant now = Instant.now();
+        // Truncated so the claim reads back equal from the database column
+        Instant claimUntil = now.plus(claimTimeout).truncatedTo(ChronoUnit.MICROS);
+        return tileRepository.claimTranscodeDue(now, claimUntil, limit);
+    }
+
+    private int drainPage(List<TileTranscodeTask> due) {
+        ExecutorService executor = executor();
+        List<Future<Outcome>> futures = new ArrayList<>(due.size());
+        for (TileTranscodeTask task : due) {
+            futures.add(executor.submit(() -> transcode(task)));
+        }
+
+        int succeeded = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            TileTranscodeTask task = due.get(i);
+            Outcome outcome;
+            try {
+                outcome = futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                outcome = Outcome.failed(safeErrorMessage(e.getCause()));
+            }
+            if (record(task, outcome)) {
+                succeeded++;
+            }
+        }
+        return succeeded;
+    }
+
+    private Outcome transcode(TileTranscodeTask task) {
+        try {
+            byte[] original = tileStorage.retrieveTile(task.regattaId(), task.captureSessionId(), task.tileId())
+                .getData();
+            if (!LineScanTileService.sha256Hex(original).equals(task.contentSha256())) {
+                return Outcome.failed("Stored tile does not match its content hash");
+            }
+            byte[] variant = encoder.encodeLossless(original);
+            if (variant.length >= original.length) {
+                return Outcome.skipped();
+            }
+            tileStorage.storeTile(
+                task.regattaId(),
+                task.captureSessionId(),
+                LineScanTileService.variantTileId(task.tileId()),
+                variant,
+                WebpTileEncoder.CONTENT_TYPE
+            );
+            return Outcome.stored(variant.length, LineScanTileService.sha256Hex(variant));
+        } catch (TileStorage.TileStorageException | IOException | RuntimeException e) {
+            LOG.warnf(e, "Failed to transcode tile %s of capture session %s", task.tileId(), task.captureSessionId());
+            return Outcome.failed(safeErrorMessage(e));
+        }
+    }
+
+    private boolean record(TileTranscodeTask task, Outcome outcome) {
+        if (outcome.error() != null) {
+            int attempts = task.attempts() + 1;
+            Instant nextAttemptAt = attempts >= maxAttempts ? null : Instant.now().plus(retryDelay(task.attempts()));
+            tileRepository.failTranscode(task, outcome.error(), nextAttemptAt);
+            return false;
+        }
+        if (outcome.variantSha256() == null) {
+            tileRepository.skipTranscode(task);
+            return true;
+        }
+        boolean recorded = tileRepository.completeTranscode(
+            task, WebpTileEncoder.CONTENT_TYPE, outcome.variantByteSize(), outcome.variantSha256());
+        if (recorded) {
+            usageRepository.addStored(task.manifestId(), 0, outcome.variantByteSize());
+        } else {
+            discardStale(task, outcome.variantSha256());
+        }
+        return recorded;
+    }
+
+    /**
+     * Cleans up after a variant that was stored but could not be recorded because the tile
+     * was re-uploaded, pruned or claimed again meanwhile.
+     */
+    private void discardStale(TileTranscodeTask task, String variantSha256) {
+        TileTranscodeState current = tileRepository.findTranscodeState(task.id()).orElse(null);
+        if (current != null && current.variantSha256() != null) {
+            if (!current.variantSha256().equals(variantSha256)
+                && tileRepository.requeueTranscode(task.id(), current.variantSha256(), Instant.now())) {
+                // Our write replaced the recorded variant; the next transcode stores it again
+                LOG.debugf("Variant of tile %s was overwritten, transcoding it again", task.tileId());
+                usageRepository.addStored(task.manifestId(), 0, -current.variantByteSize());
+            }
+            return;
+        }
+        if (current != null && current.isPending()) {
+            // Another claim stores and records a fresh variant under the same key
+            return;
+        }
+        LOG.debugf("Discarding stale variant of tile %s", task.tileId());
+        try {
+            tileStorage.deleteTile(task.regattaId(), task.captureSessionId(),
+                LineScanTileService.variantTileId(task.tileId()));
+        } catch (TileStorage.TileStorageException e) {
+            LOG.warnf(e, "Failed to delete stale variant of tile %s", task.tileId());
+        }
+    }
+
+    static Duration retryDelay(int attempts) {
+        Duration delay = BASE_RETRY_DELAY.multipliedBy(1L << Math.min(attempts, 10));
+        return delay.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay;
+    }
+
+    private synchronized ExecutorService executor() {
+        if (executorService == null) {
+            executorService = new ThreadPoolExecutor(
+                maxConcurrency,
+                maxConcurrency,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new TranscodeThreadFactory()
+            );
+        }
+        return executorService;
+    }
+
+    private String safeErrorMessage(Throwable error) {
+        String message = error.getMessage();
+        if (message == null || message.isBlank()) {
+            return error.getClass().getSimpleName();
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+
+    private record Outcome(Integer variantByteSize, String variantSha256, String error) {
+
+        static Outcome stored(int variantByteSize, String variantSha256) {
+            return new Outcome(variantByteSize, variantSha256, null);
+        }
+
+        static Outcome skipped() {
+            return new Outcome(null, null, null);
+        }
+
+        static Outcome failed(String error) {
+            return new Outcome(null, null, error);
+        }
+    }
+
+    private static final class TranscodeThreadFactory implements ThreadFactory {
+        private final AtomicInteger index = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = Thread.ofPlatform()
+                .name("linescan-tile-transcode-" + index.getAndIncrement())
+                .daemon(true)
+                .unstarted(r);
+            thread.setUncaughtExceptionHandler(
+                (t, e) -> LOG.errorf(e, "Unhandled exception in %s", t.getName()));
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.regattadesk.linescan.service;
+
+import com.regattadesk.linescan.model.TileUploadSession;
+import com.regattadesk.linescan.repository.LineScanTileRepository;
+import com.regattadesk.linescan.repository.LineScanTileUploadRepository;
+import com.regattadesk.linescan.storage.TileStorage;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Resumable chunked tile uploads.
+ *
+ * A client creates an upload session for a tile with its total size, appends chunks at the
+ * session's current offset and commits it. Chunks are spooled to a file under
+ * {@code linescan.uploads.dir} while the committed offset lives in
+ * {@code line_scan_tile_uploads}, so after a dropped connection the client asks for the
+ * offset and resends only the missing bytes. A chunk that breaks off is discarded as a whole.
+ * Committing hands the assembled bytes to {@link LineScanTileService#storeTile}, which stores
+ * the tile and its metadata exactly like a single-request upload.
+ *
+ * With more than one backend instance the upload directory must be shared between them
+ * (or requests of one session routed to the same instance). Sessions untouched for
+ * {@code linescan.uploads.ttl} are swept together with their files.
+ */
+@ApplicationScoped
+public class LineScanTileUploadService {
+
+    private static final Logger LOG = Logger.getLogger(LineScanTileUploadService.class);
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+    private static final int SWEEP_PAGE_SIZE = 100;
+
+    private final LineScanTileUploadRepository uploadRepository;
+    private final LineScanTileRepository tileRepository;
+    private final LineScanTileService tileService;
+    private final Path uploadDir;
+    private final Duration ttl;
+
+    @Inject
+    public LineScanTileUploadService(
+        LineScanTileUploadRepository uploadRepository,
+        LineScanTileRepository tileRepository,
+        LineScanTileService tileService,
+        @ConfigProperty(name = "linescan.uploads.dir") Optional<String> uploadDir,
+        @ConfigProperty(name = "linescan.uploads.ttl", defaultValue = "PT24H") Duration ttl
+    ) {
+        this.uploadRepository = uploadRepository;
+        this.tileRepository = tileRepository;
+        this.tileService = tileService;
+        this.uploadDir = uploadDir.filter(dir -> !dir.isBlank())
+            .map(Path::of)
+            .orElseGet(() -> Path.of(System.getProperty("java.io.tmpdir"), "regattadesk-tile-uploads"));
+        this.ttl = ttl;
+    }
+
+    /**
+     * Open an upload session for a tile of an existing manifest.
+     *
+     * @param expectedSha256 optional lowercase hex SHA-256 of the complete tile, verified on commit
+     * @throws IllegalArgumentException if the size or hash is invalid
+     */
+    public TileUploadSession create(
+        UUID regattaId,
+        String tileId,
+        String contentType,
+        int totalBytes,
+        String expectedSha256
+    ) throws LineScanTileService.TileNotFoundException {
+        if (totalBytes <= 0 || totalBytes > LineScanTileService.MAX_TILE_SIZE_BYTES) {
+            throw new IllegalArgumentException(
+                "total_bytes must be between 1 and " + LineScanTileService.MAX_TILE_SIZE_BYTES);
+        }
+        if (expectedSha256 != null && !SHA256_HEX.matcher(expectedSha256).matches()) {
+            throw new IllegalArgumentException("sha256 must be 64 lowercase hex characters");
+        }
+        if (tileRepository.findByRegattaAndTileId(regattaId, tileId).isEmpty()) {
+            throw new LineScanTileService.TileNotFoundException(
+                "Tile metadata not found. Manifest must be created before uploading tiles: " + tileId);
+        }
+
+        TileUploadSession session = new TileUploadSession(
+            UUID.randomUUID(), regattaId, tileId, contentType, totalBytes, 0, expectedSha256,
+            Instant.now().plus(ttl));
+        uploadRepository.create(session);
+        LOG.debugf("Opened tile upload %s: regatta=%s, tile=%s, bytes=%d", session.id(), regattaId, tileId, totalBytes);
+        return session;
+    }
+
+    public Optional<TileUploadSession> find(UUID regattaId, String tileId, UUID uploadId) {
+        return uploadRepository.find(regattaId, tileId, uploadId, false);
+    }
+
+    /**
+     * Append a chunk at {@code offset}, which must equal the session's received byte count.
+     *
+     * The request body is spooled to a file of its own before the session row is locked, so a
+     * slow client never holds the lock. {@link #appendSpooledChunk} then re-checks the offset
+     * under the lock and appends the spooled bytes to the upload's part file.
+     *
+     * @return the session with its new offset
+     * @throws OffsetMismatchException if {@code offset} is not the current offset
+     * @throws IllegalArgumentException if the chunk is empty or runs past the declared size
+     * @throws IOException if the chunk could not be read completely or spooled
+     */
+    public TileUploadSession appendChunk(UUID regattaId, String tileId, UUID uploadId, long offset, InputStream chunk)
+            throws UploadNotFoundException, IOException {
+        TileUploadSession session = uploadRepository.find(regattaId, tileId, uploadId, false)
+            .orElseThrow(() -> new UploadNotFoundException("Upload not found: " + uploadId));
+        if (offset != session.receivedBytes()) {
+            throw new OffsetMismatchException(session.receivedBytes());
+        }
+
+        int remaining = session.totalBytes() - session.receivedBytes();
+        Files.createDirectories(uploadDir);
+        Path spooled = Files.createTempFile(uploadDir, uploadId + ".", ".chunk");
+        try {
+            long written;
+            try (FileChannel channel = FileChannel.open(spooled, StandardOpenOption.WRITE)) {
+                written = copy(chunk, channel, remaining);
+            }
+            if (written < 0) {
+                throw new IllegalArgumentException(
+                    "Chunk exceeds the declared tile size, " + remaining + " bytes remaining");
+            }
+            if (written == 0) {
+                throw new IllegalArgumentException("Chunk is empty");
+            }
+            return appendSpooledChunk(regattaId, tileId, uploadId, offset, spooled, written);
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    /**
+     * Append {@code length} spooled bytes at {@code offset} while holding the session row lock.
+     */
+    @Transactional
+    TileUploadSession appendSpooledChunk(UUID regattaId, String tileId, UUID uploadId, long offset, Path spooled,
+                                         long length) throws UploadNotFoundException, IOException {
+        TileUploadSession session = uploadRepository.find(regattaId, tileId, uploadId, true)
+            .orElseThrow(() -> new UploadNotFoundException("Upload not found: " + uploadId));
+        if (offset != session.receivedBytes()) {
+            throw new OffsetMismatchException(session.receivedBytes());
+        }
+
+        try (FileChannel part = FileChannel.open(partFile(uploadId),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileChannel source = FileChannel.open(spooled, StandardOpenOption.READ)) {
+            if (part.size() < offset) {
+                throw new IllegalStateException("Upload data is no longer available, restart the upload");
+            }
+            // Drop bytes of an earlier chunk that broke off after the committed offset
+            part.truncate(offset);
+            long transferred = 0;
+            while (transferred < length) {
+                transferred += part.transferFrom(source, offset + transferred, length - transferred);
+            }
+        }
+
+        int received = session.receivedBytes() + (int) length;
+        Instant expiresAt = Instant.now().plus(ttl);
+        uploadRepository.updateProgress(uploadId, received, expiresAt);
+        return new TileUploadSession(session.id(), session.regattaId(), session.tileId(), session.contentType(),
+            session.totalBytes(), received, session.expectedSha256(), expiresAt);
+    }
+
+    /**
+     * Store the assembled tile and close the session.
+     *
+     * @throws IllegalStateException if not all bytes were received or the spooled data is gone
+     * @throws IllegalArgumentException if the data does not match the announced hash
+     */
+    @Transactional
+    public LineScanTileService.StoreResult commit(UUID regattaId, String tileId, UUID uploadId)
+            throws UploadNotFoundException, LineScanTileService.TileNotFoundException,
+            TileStorage.TileStorageException, IOException {
+        TileUploadSession session = uploadRepository.find(regattaId, tileId, uploadId, true)
+            .orElseThrow(() -> new UploadNotFoundException("Upload not found: " + uploadId));
+        if (!session.complete()) {
+            throw new IllegalStateException("Upload incomplete: " + session.receivedBytes()
+                + " of " + session.totalBytes() + " bytes received");
+        }
+        Path file = partFile(uploadId);
+        byte[] data = Files.isRegularFile(file) ? Files.readAllBytes(file) : new byte[0];
+        if (data.length != session.totalBytes()) {
+            throw new IllegalStateException("Upload data is no longer available, restart the upload");
+        }
+        if (session.expectedSha256() != null
+                && !session.expectedSha256().equals(LineScanTileService.sha256Hex(data))) {
+            throw new IllegalArgumentException("Uploaded data does not match sha256");
+        }
+
+        LineScanTileService.StoreResult result = tileService.storeTile(regattaId, tileId, data, session.contentType());
+        uploadRepository.delete(uploadId);
+        deletePartFile(uploadId);
+        return result;
+    }
+
+    /**
+     * Discard an upload session and its spooled bytes.
+     */
+    @Transactional
+    public void abort(UUID regattaId, String tileId, UUID uploadId) throws UploadNotFoundException {
+        uploadRepository.find(regattaId, tileId, uploadId, true)
+            .orElseThrow(() -> new UploadNotFoundException("Upload not found: " + uploadId));
+        uploadRepository.delete(uploadId);
+        deletePartFile(uploadId);
+    }
+
+    @Scheduled(
+        cron = "{linescan.uploads.sweep-cron:0 */10 * * * ?}",
+        identity = "linescan-tile-upload-sweep",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    void sweepExpired() {
+        int swept = sweep(Instant.now());
+        if (swept > 0) {
+            LOG.infof("Swept %d expired tile uploads", swept);
+        }
+    }
+
+    /**
+     * Delete sessions that expired before {@code now} and their spooled files.
+     *
+     * @return number of sessions deleted
+     */
+    public int sweep(Instant now) {
+        int swept = 0;
+        List<UUID> expired;
+        do {
+            expired = uploadRepository.findExpired(now, SWEEP_PAGE_SIZE);
+            for (UUID uploadId : expired) {
+                if (uploadRepository.deleteIfExpired(uploadId, now)) {
+                    deletePartFile(uploadId);
+                    swept++;
+                }
+            }
+        } while (expired.size() == SWEEP_PAGE_SIZE);
+        return swept;
+    }
+
+    /**
+     * Copy the stream into the channel.
+     *
+     * @return bytes written, or -1 if the stream holds more than {@code limit} bytes
+     */
+    private static long copy(InputStream in, FileChannel channel, int limit) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_BYTES];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            total += read;
+            if (total > limit) {
+                return -1;
+            }
+            ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+            while (chunk.hasRemaining()) {
+                channel.write(chunk);
+            }
+        }
+        return total;
+    }
+
+    Path partFile(UUID uploadId) {
+        return uploadDir.resolve(uploadId + ".part");
+    }
+
+    private void deletePartFile(UUID uploadId) {
+        try {
+            Files.deleteIfExists(partFile(uploadId));
+        } catch (IOException e) {
+            LOG.warnf(e, "Failed to delete spooled data of tile upload %s", uploadId);
+        }
+    }
+
+    public static class UploadNotFoundException extends Exception {
+        public UploadNotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * A chunk did not start at the session's current offset; the client should resume from {@link #currentOffset()}.
+     */
+    public static class OffsetMismatchException extends RuntimeException {
+        private final int currentOffset;
+
+        public OffsetMismatchException(int currentOffset) {
+            super("Chunk must start at offset " + currentOffset);
+            this.currentOffset = currentOffset;
+        }
+
+        public int currentOffset() {
+            return currentOffset;
+        }
+    }
+}
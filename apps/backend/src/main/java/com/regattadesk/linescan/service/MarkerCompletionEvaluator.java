@@ -21,23 +21,42 @@ public final class MarkerCompletionEvaluator {
     }
 
     public static CompletionResult evaluate(List<MarkerEvidence> linkedMarkers) {
-        if (linkedMarkers == null || linkedMarkers.size() < 2) {
+        if (linkedMarkers == null) {
             return CompletionResult.incomplete();
         }
 
-        List<MarkerEvidence> approved = linkedMarkers.stream()
+        LongSummaryStatistics approved = linkedMarkers.stream()
             .filter(MarkerEvidence::isApproved)
-            .toList();
-
-        if (approved.size() < 2) {
-            return CompletionResult.pendingApproval();
-        }
-
-        LongSummaryStatistics summary = approved.stream()
             .mapToLong(MarkerEvidence::timestampMs)
             .summaryStatistics();
 
-        return CompletionResult.completed(summary.getMin(), summary.getMax());
+        return evaluate(
+            linkedMarkers.size(),
+            approved.getCount(),
+            approved.getCount() > 0 ? approved.getMin() : null,
+            approved.getCount() > 0 ? approved.getMax() : null
+        );
+    }
+
+    /**
+     * Evaluate from per-entry aggregates, as produced by a grouped marker query.
+     *
+     * @param minApprovedTimestampMs earliest approved marker timestamp, null if none approved
+     * @param maxApprovedTimestampMs latest approved marker timestamp, null if none approved
+     */
+    public static CompletionResult evaluate(
+        long linkedCount,
+        long approvedCount,
+        Long minApprovedTimestampMs,
+        Long maxApprovedTimestampMs
+    ) {
+        if (linkedCount < 2) {
+            return CompletionResult.incomplete();
+        }
+        if (approvedCount < 2) {
+            return CompletionResult.pendingApproval();
+        }
+        return CompletionResult.completed(minApprovedTimestampMs, maxApprovedTimestampMs);
     }
 
     public record MarkerEvidence(long timestampMs, boolean isApproved) {
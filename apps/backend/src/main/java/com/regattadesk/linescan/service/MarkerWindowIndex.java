@@ -0,0 +1,78 @@
+package com.regattadesk.linescan.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sorted, merged view of marker preservation windows.
+ *
+ * Overlapping or touching windows are merged once at construction, so checking whether
+ * a time range intersects any window is a single binary search instead of a scan over
+ * every window.
+ */
+public final class MarkerWindowIndex {
+
+    private final long[] starts;
+    private final long[] ends;
+
+    private MarkerWindowIndex(long[] starts, long[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    /**
+     * Build an index from possibly unsorted and overlapping windows.
+     */
+    public static MarkerWindowIndex of(List<LineScanRetentionEvaluator.TimeWindow> windows) {
+        List<LineScanRetentionEvaluator.TimeWindow> sorted = new ArrayList<>(windows);
+        sorted.sort(Comparator.comparingLong(LineScanRetentionEvaluator.TimeWindow::startMs));
+
+        long[] starts = new long[sorted.size()];
+        long[] ends = new long[sorted.size()];
+        int count = 0;
+        for (LineScanRetentionEvaluator.TimeWindow window : sorted) {
+            if (count > 0 && window.startMs() <= ends[count - 1]) {
+                ends[count - 1] = Math.max(ends[count - 1], window.endMs());
+            } else {
+                starts[count] = window.startMs();
+                ends[count] = window.endMs();
+                count++;
+            }
+        }
+        return new MarkerWindowIndex(
+            Arrays.copyOf(starts, count),
+            Arrays.copyOf(ends, count)
+        );
+    }
+
+    /**
+     * @return true if the half-open range overlaps any window, using the same
+     *         strict overlap rule as {@link LineScanPruningService#isTileInWindow}
+     */
+    public boolean overlaps(long startMs, long endMs) {
+        // Last merged window starting before endMs is the only candidate: windows are disjoint
+        // and sorted, so every earlier window also ends before this one starts.
+        int low = 0;
+        int high = starts.length - 1;
+        int candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < endMs) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return candidate >= 0 && ends[candidate] > startMs;
+    }
+
+    /**
+     * @return number of disjoint windows after merging
+     */
+    public int size() {
+        return starts.length;
+    }
+}
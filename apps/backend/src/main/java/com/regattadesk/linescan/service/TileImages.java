@@ -0,0 +1,40 @@
+package com.regattadesk.linescan.service;
+
+import com.regattadesk.linescan.storage.TileStorage;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * Decoding of stored tile images (PNG, and WebP via the ImageIO plugin on the class path).
+ */
+final class TileImages {
+
+    static {
+        // Pick up image reader plugins (WebP) from the application class path, and decode
+        // from memory instead of ImageIO's default temp-file cache.
+        ImageIO.scanForPlugins();
+        ImageIO.setUseCache(false);
+    }
+
+    private TileImages() {
+    }
+
+    /**
+     * @throws TileStorage.TileStorageException if the bytes are not a decodable image
+     */
+    static BufferedImage decode(String tileId, TileStorage.TileData data) throws TileStorage.TileStorageException {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(data.getData()));
+            if (image == null) {
+                throw new TileStorage.TileStorageException(
+                    "No image decoder for tile " + tileId + " (" + data.getContentType() + ")", null);
+            }
+            return image;
+        } catch (IOException e) {
+            throw new TileStorage.TileStorageException("Failed to decode tile " + tileId, e);
+        }
+    }
+}
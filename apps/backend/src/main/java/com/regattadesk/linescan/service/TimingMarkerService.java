@@ -7,50 +7,209 @@ import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
 import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
  * Service for marker CRUD/linking and marker-derived entry completion updates.
+ *
+ * Entry completion is recomputed once per operation for all touched entries via
+ * {@link EntryCompletionRecomputer}, so bulk approvals cost one set-based recompute.
  */
 @ApplicationScoped
 public class TimingMarkerService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+
     @Inject
     DataSource dataSource;
 
-    public List<TimingMarker> listByRegatta(UUID regattaId, UUID captureSessionId) {
+    @Inject
+    EntryCompletionRecomputer completionRecomputer;
+
+    /**
+     * List one page of markers ordered by {@code (timestamp_ms, id)}, continuing after {@code cursor}.
+     * Without a {@code limit} all remaining markers are returned as a single page.
+     *
+     * The first page (no cursor) also carries the regatta's current change feed position. It is
+     * read before the page itself, so a client that pages through the full list and then calls
+     * {@link #listChangesSince} with it sees every change made while it was paging.
+     */
+    public MarkerPage listPage(UUID regattaId, UUID captureSessionId, String cursor, Integer limit) {
+        PageCursor after = cursor != null ? PageCursor.decode(cursor) : null;
+        Integer pageSize = limit != null ? Math.min(Math.max(limit, 1), MAX_PAGE_SIZE) : null;
         String sql = """
             SELECT tm.id, tm.capture_session_id, tm.entry_id, tm.frame_offset, tm.timestamp_ms,
-                   tm.is_linked, tm.is_approved, tm.tile_id, tm.tile_x, tm.tile_y
+                   tm.is_linked, tm.is_approved, tm.tile_id, tm.tile_x, tm.tile_y, tm.source, tm.confidence
             FROM timing_markers tm
             JOIN capture_sessions cs ON cs.id = tm.capture_session_id
             WHERE cs.regatta_id = ?
             """ + (captureSessionId != null ? " AND tm.capture_session_id = ?" : "") +
-            " ORDER BY tm.timestamp_ms ASC, tm.id ASC";
+            (after != null ? " AND (tm.timestamp_ms, tm.id) > (?, ?)" : "") +
+            " ORDER BY tm.timestamp_ms ASC, tm.id ASC" + (pageSize != null ? " LIMIT ?" : "");
 
-        try (Connection conn = dataSource.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setObject(1, regattaId);
-            if (captureSessionId != null) {
-                stmt.setObject(2, captureSessionId);
+        try (Connection conn = dataSource.getConnection()) {
+            Long changeSeq = after == null ? currentChangeSeq(conn, regattaId) : null;
+            List<TimingMarker> results = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                stmt.setObject(index++, regattaId);
+                if (captureSessionId != null) {
+                    stmt.setObject(index++, captureSessionId);
+                }
+                if (after != null) {
+                    stmt.setLong(index++, after.timestampMs());
+                    stmt.setObject(index++, after.id());
+                }
+                if (pageSize != null) {
+                    stmt.setInt(index, pageSize + 1);
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        results.add(mapMarker(rs));
+                    }
+                }
+            }
+
+            String nextCursor = null;
+            if (pageSize != null && results.size() > pageSize) {
+                results = results.subList(0, pageSize);
+                TimingMarker last = results.get(pageSize - 1);
+                nextCursor = new PageCursor(last.timestampMs(), last.id()).encode();
             }
+            return new MarkerPage(List.copyOf(results), nextCursor, changeSeq);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list markers", e);
+        }
+    }
 
+    /**
+     * List markers created, updated or deleted after change feed position {@code since}, oldest first.
+     *
+     * Delivery is at-least-once: clients upsert markers by id and drop deleted ids. Deletions cascaded
+     * from a removed capture session or regatta are not reported and require a full reload.
+     *
+     * Markers and tombstones are read in one statement, so both come from the same snapshot. Writers
+     * take the regatta's change feed lock before drawing a {@code change_seq} (see
+     * {@link #lockChangeFeed}), so no open transaction can still commit a number below the returned
+     * {@code nextSince}.
+     */
+    public MarkerChanges listChangesSince(UUID regattaId, UUID captureSessionId, long since, Integer limit) {
+        int pageSize = limit != null ? Math.min(Math.max(limit, 1), MAX_PAGE_SIZE) : MAX_PAGE_SIZE;
+        String sql = """
+            SELECT tm.id, tm.capture_session_id, tm.entry_id, tm.frame_offset, tm.timestamp_ms,
+                   tm.is_linked, tm.is_approved, tm.tile_id, tm.tile_x, tm.tile_y, tm.source, tm.confidence,
+                   tm.change_seq, FALSE AS is_deleted
+            FROM timing_markers tm
+            JOIN capture_sessions cs ON cs.id = tm.capture_session_id
+            WHERE cs.regatta_id = ? AND tm.change_seq > ?
+            """ + (captureSessionId != null ? " AND tm.capture_session_id = ?" : "") + """
+
+            UNION ALL
+            SELECT t.marker_id, t.capture_session_id, NULL, 0, 0,
+                   FALSE, FALSE, NULL, NULL, NULL, NULL, NULL,
+                   t.change_seq, TRUE
+            FROM timing_marker_tombstones t
+            WHERE t.regatta_id = ? AND t.change_seq > ?
+            """ + (captureSessionId != null ? " AND t.capture_session_id = ?" : "") +
+            " ORDER BY change_seq ASC LIMIT ?";
+
+        List<Change> changes = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (int i = 0; i < 2; i++) {
+                stmt.setObject(index++, regattaId);
+                stmt.setLong(index++, since);
+                if (captureSessionId != null) {
+                    stmt.setObject(index++, captureSessionId);
+                }
+            }
+            stmt.setInt(index, pageSize + 1);
             try (ResultSet rs = stmt.executeQuery()) {
-                List<TimingMarker> results = new ArrayList<>();
                 while (rs.next()) {
-                    results.add(mapMarker(rs));
+                    long changeSeq = rs.getLong("change_seq");
+                    if (rs.getBoolean("is_deleted")) {
+                        changes.add(new Change(changeSeq, null, rs.getObject("id", UUID.class)));
+                    } else {
+                        changes.add(new Change(changeSeq, mapMarker(rs), null));
+                    }
                 }
-                return results;
             }
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to list markers", e);
+            throw new RuntimeException("Failed to list marker changes", e);
+        }
+
+        boolean hasMore = changes.size() > pageSize;
+        List<Change> page = hasMore ? changes.subList(0, pageSize) : changes;
+
+        List<TimingMarker> markers = new ArrayList<>();
+        List<UUID> deletedIds = new ArrayList<>();
+        long nextSince = since;
+        for (Change change : page) {
+            if (change.marker() != null) {
+                markers.add(change.marker());
+            } else {
+                deletedIds.add(change.deletedId());
+            }
+            nextSince = change.changeSeq();
+        }
+        return new MarkerChanges(List.copyOf(markers), List.copyOf(deletedIds), nextSince, hasMore);
+    }
+
+    /**
+     * Serialize the change feed writers of a regatta until commit.
+     *
+     * {@code change_seq} is drawn from a sequence when a row is written, not when it commits. Holding a
+     * transaction-scoped advisory lock from before the first write until commit makes the numbers of a
+     * regatta become visible in order. H2 has no advisory locks; the tests write markers one at a time.
+     */
+    private void lockChangeFeed(Connection conn, UUID regattaId) throws SQLException {
+        if (!isPostgres(conn)) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT pg_advisory_xact_lock(?)")) {
+            stmt.setLong(1, regattaId.getMostSignificantBits() ^ regattaId.getLeastSignificantBits());
+            stmt.execute();
+        }
+    }
+
+    private static boolean isPostgres(Connection conn) throws SQLException {
+        return conn.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres");
+    }
+
+    private long currentChangeSeq(Connection conn, UUID regattaId) throws SQLException {
+        String sql = """
+            SELECT GREATEST(
+                COALESCE((
+                    SELECT MAX(tm.change_seq)
+                    FROM timing_markers tm
+                    JOIN capture_sessions cs ON cs.id = tm.capture_session_id
+                    WHERE cs.regatta_id = ?
+                ), 0),
+                COALESCE((SELECT MAX(change_seq) FROM timing_marker_tombstones WHERE regatta_id = ?), 0)
+            )
+            """;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setObject(1, regattaId);
+            stmt.setObject(2, regattaId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
         }
     }
 
@@ -84,6 +243,7 @@ public class TimingMarkerService {
             """;
 
         try (Connection conn = dataSource.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+            lockChangeFeed(conn, regattaId);
             stmt.setObject(1, markerId);
             stmt.setObject(2, captureSessionId);
             stmt.setLong(3, frameOffset);
@@ -107,6 +267,214 @@ public class TimingMarkerService {
         return findById(regattaId, markerId).orElseThrow();
     }
 
+    /**
+     * Create many unlinked markers of one capture session in a single transaction.
+     *
+     * The capture session is validated once and the rows are inserted as one JDBC batch;
+     * the created markers are read from the generated keys (RETURNING on PostgreSQL)
+     * instead of being re-selected. Markers are returned in input order.
+     */
+    @Transactional
+    public List<TimingMarker> createBatch(UUID regattaId, UUID captureSessionId, List<NewMarker> markers) {
+        if (!captureSessionBelongsToRegatta(captureSessionId, regattaId)) {
+            throw new NotFoundException("Capture session not found in this regatta");
+        }
+        if (markers.isEmpty()) {
+            return List.of();
+        }
+
+        String sql = """
+            INSERT INTO timing_markers (
+                id, capture_session_id, frame_offset, timestamp_ms, is_linked, is_approved, tile_id, tile_x, tile_y
+            ) VALUES (?, ?, ?, ?, FALSE, FALSE, ?, ?, ?)
+            """;
+        String[] returnedColumns = {
+            "id", "capture_session_id", "entry_id", "frame_offset", "timestamp_ms",
+            "is_linked", "is_approved", "tile_id", "tile_x", "tile_y", "source", "confidence"
+        };
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, returnedColumns)) {
+            lockChangeFeed(conn, regattaId);
+            for (NewMarker marker : markers) {
+                stmt.setObject(1, UUID.randomUUID());
+                stmt.setObject(2, captureSessionId);
+                stmt.setLong(3, marker.frameOffset());
+                stmt.setLong(4, marker.timestampMs());
+                stmt.setString(5, marker.tileId());
+                if (marker.tileX() == null) {
+                    stmt.setNull(6, java.sql.Types.INTEGER);
+                } else {
+                    stmt.setInt(6, marker.tileX());
+                }
+                if (marker.tileY() == null) {
+                    stmt.setNull(7, java.sql.Types.INTEGER);
+                } else {
+                    stmt.setInt(7, marker.tileY());
+                }
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+
+            List<TimingMarker> created = new ArrayList<>(markers.size());
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                while (rs.next()) {
+                    created.add(mapMarker(rs));
+                }
+            }
+            if (created.size() != markers.size()) {
+                throw new IllegalStateException(
+                    "Expected " + markers.size() + " created markers but got " + created.size());
+            }
+            return created;
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to create marker batch", e);
+        }
+    }
+
+    /**
+     * Replace the unreviewed detected candidates of one tile with a fresh detection result.
+     *
+     * Detected markers of the tile that are neither linked nor approved are deleted (with
+     * tombstones for the change feed); reviewed ones are kept. Candidates within
+     * {@code minSeparationMs} of any remaining marker of the capture session, manual or
+     * detected, are dropped, which also removes duplicates reported by the tiles above and
+     * below the same columns. The rest are inserted as one batch with {@code source = detected}.
+     *
+     * @return the inserted candidates
+     */
+    @Transactional
+    public List<TimingMarker> replaceDetectedCandidates(
+        UUID regattaId,
+        UUID captureSessionId,
+        String tileId,
+        List<DetectedCandidate> candidates,
+        long minSeparationMs
+    ) {
+        String staleSql = """
+            SELECT id FROM timing_markers
+            WHERE capture_session_id = ? AND source = 'detected' AND tile_id = ?
+              AND is_linked = FALSE AND is_approved = FALSE
+            FOR UPDATE
+            """;
+        String nearbySql = """
+            SELECT timestamp_ms FROM timing_markers
+            WHERE capture_session_id = ? AND timestamp_ms BETWEEN ? AND ?
+            ORDER BY timestamp_ms
+            """;
+        String insertSql = """
+            INSERT INTO timing_markers (
+                id, capture_session_id, frame_offset, timestamp_ms, is_linked, is_approved, tile_id, tile_x, tile_y,
+                source, confidence
+            ) VALUES (?, ?, ?, ?, FALSE, FALSE, ?, ?, ?, 'detected', ?)
+            """;
+        String[] returnedColumns = {
+            "id", "capture_session_id", "entry_id", "frame_offset", "timestamp_ms",
+            "is_linked", "is_approved", "tile_id", "tile_x", "tile_y", "source", "confidence"
+        };
+
+        try (Connection conn = dataSource.getConnection()) {
+            lockChangeFeed(conn, regattaId);
+            List<UUID> stale = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(staleSql)) {
+                stmt.setObject(1, captureSessionId);
+                stmt.setString(2, tileId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        stale.add(rs.getObject("id", UUID.class));
+                    }
+                }
+            }
+            if (!stale.isEmpty()) {
+                try (PreparedStatement delete = conn.prepareStatement("DELETE FROM timing_markers WHERE id = ?");
+                     PreparedStatement tombstone = conn.prepareStatement(
+                         "INSERT INTO timing_marker_tombstones (marker_id, regatta_id, capture_session_id) VALUES (?, ?, ?)")) {
+                    for (UUID id : stale) {
+                        delete.setObject(1, id);
+                        delete.addBatch();
+                        tombstone.setObject(1, id);
+                        tombstone.setObject(2, regattaId);
+                        tombstone.setObject(3, captureSessionId);
+                        tombstone.addBatch();
+                    }
+                    delete.executeBatch();
+                    tombstone.executeBatch();
+                }
+            }
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+
+            long from = Long.MAX_VALUE;
+            long to = Long.MIN_VALUE;
+            for (DetectedCandidate candidate : candidates) {
+                from = Math.min(from, candidate.timestampMs());
+                to = Math.max(to, candidate.timestampMs());
+            }
+            long[] nearby;
+            try (PreparedStatement stmt = conn.prepareStatement(nearbySql)) {
+                stmt.setObject(1, captureSessionId);
+                stmt.setLong(2, from - minSeparationMs);
+                stmt.setLong(3, to + minSeparationMs);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    List<Long> timestamps = new ArrayList<>();
+                    while (rs.next()) {
+                        timestamps.add(rs.getLong(1));
+                    }
+                    nearby = timestamps.stream().mapToLong(Long::longValue).toArray();
+                }
+            }
+
+            List<DetectedCandidate> kept = new ArrayList<>(candidates.size());
+            for (DetectedCandidate candidate : candidates) {
+                if (!hasMarkerWithin(nearby, candidate.timestampMs(), minSeparationMs)) {
+                    kept.add(candidate);
+                }
+            }
+            if (kept.isEmpty()) {
+                return List.of();
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(insertSql, returnedColumns)) {
+                for (DetectedCandidate candidate : kept) {
+                    stmt.setObject(1, UUID.randomUUID());
+                    stmt.setObject(2, captureSessionId);
+                    stmt.setLong(3, candidate.frameOffset());
+                    stmt.setLong(4, candidate.timestampMs());
+                    stmt.setString(5, tileId);
+                    stmt.setInt(6, candidate.tileX());
+                    stmt.setInt(7, candidate.tileY());
+                    stmt.setDouble(8, candidate.confidence());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+
+                List<TimingMarker> created = new ArrayList<>(kept.size());
+                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                    while (rs.next()) {
+                        created.add(mapMarker(rs));
+                    }
+                }
+                return created;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to replace detected markers", e);
+        }
+    }
+
+    /**
+     * True if the sorted {@code timestamps} contain a value within {@code separationMs} of {@code timestampMs}.
+     */
+    static boolean hasMarkerWithin(long[] timestamps, long timestampMs, long separationMs) {
+        int index = Arrays.binarySearch(timestamps, timestampMs);
+        if (index >= 0) {
+            return true;
+        }
+        int insertion = -index - 1;
+        return (insertion < timestamps.length && timestamps[insertion] - timestampMs < separationMs)
+            || (insertion > 0 && timestampMs - timestamps[insertion - 1] < separationMs);
+    }
+
     @Transactional
     public TimingMarker update(
         UUID regattaId,
@@ -120,11 +488,13 @@ public class TimingMarkerService {
     ) {
         String sql = """
             UPDATE timing_markers
-            SET frame_offset = ?, timestamp_ms = ?, tile_id = ?, tile_x = ?, tile_y = ?, is_approved = ?
+            SET frame_offset = ?, timestamp_ms = ?, tile_id = ?, tile_x = ?, tile_y = ?, is_approved = ?,
+                change_seq = DEFAULT
             WHERE id = ?
             """;
 
         try (Connection conn = dataSource.getConnection()) {
+            lockChangeFeed(conn, regattaId);
             TimingMarker existing = findById(conn, regattaId, markerId, true)
                 .orElseThrow(() -> new NotFoundException("Marker not found"));
 
@@ -180,7 +550,7 @@ public class TimingMarkerService {
             }
 
             if (existing.entryId() != null) {
-                refreshEntryCompletion(existing.entryId());
+                completionRecomputer.recompute(List.of(existing.entryId()));
             }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to update marker", e);
@@ -189,6 +559,77 @@ public class TimingMarkerService {
         return findById(regattaId, markerId).orElseThrow();
     }
 
+    /**
+     * Approve many linked markers in one transaction, e.g. all markers of a heat.
+     *
+     * Already approved markers are left unchanged. Completion of all affected entries is
+     * recomputed once, after every marker has been approved.
+     */
+    @Transactional
+    public List<TimingMarker> approveBatch(UUID regattaId, List<UUID> markerIds) {
+        List<UUID> distinctIds = List.copyOf(new LinkedHashSet<>(markerIds));
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(",", distinctIds.stream().map(id -> "?").toList());
+        String selectSql = """
+            SELECT tm.id, tm.capture_session_id, tm.entry_id, tm.frame_offset, tm.timestamp_ms,
+                   tm.is_linked, tm.is_approved, tm.tile_id, tm.tile_x, tm.tile_y, tm.source, tm.confidence
+            FROM timing_markers tm
+            JOIN capture_sessions cs ON cs.id = tm.capture_session_id
+            WHERE cs.regatta_id = ? AND tm.id IN (%s)
+            FOR UPDATE
+            """.formatted(placeholders);
+        String updateSql = "UPDATE timing_markers SET is_approved = TRUE, change_seq = DEFAULT WHERE is_approved = FALSE AND id IN (%s)"
+            .formatted(placeholders);
+
+        Map<UUID, TimingMarker> existing = new HashMap<>();
+        try (Connection conn = dataSource.getConnection()) {
+            lockChangeFeed(conn, regattaId);
+            try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+                stmt.setObject(1, regattaId);
+                for (int i = 0; i < distinctIds.size(); i++) {
+                    stmt.setObject(i + 2, distinctIds.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        TimingMarker marker = mapMarker(rs);
+                        existing.put(marker.id(), marker);
+                    }
+                }
+            }
+
+            for (UUID markerId : distinctIds) {
+                TimingMarker marker = existing.get(markerId);
+                if (marker == null) {
+                    throw new NotFoundException("Marker not found: " + markerId);
+                }
+                if (!marker.isLinked()) {
+                    throw new IllegalStateException("Cannot approve an unlinked marker: " + markerId);
+                }
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(updateSql)) {
+                for (int i = 0; i < distinctIds.size(); i++) {
+                    stmt.setObject(i + 1, distinctIds.get(i));
+                }
+                stmt.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to approve markers", e);
+        }
+
+        completionRecomputer.recompute(existing.values().stream().map(TimingMarker::entryId).toList());
+
+        return distinctIds.stream()
+            .map(existing::get)
+            .map(m -> new TimingMarker(
+                m.id(), m.captureSessionId(), m.entryId(), m.frameOffset(), m.timestampMs(),
+                m.isLinked(), true, m.tileId(), m.tileX(), m.tileY(), m.source(), m.confidence()
+            ))
+            .toList();
+    }
+
     @Transactional
     public TimingMarker link(UUID regattaId, UUID markerId, UUID entryId) {
         if (!entryBelongsToRegatta(entryId, regattaId)) {
@@ -206,11 +647,12 @@ public class TimingMarkerService {
 
         String sql = """
             UPDATE timing_markers
-            SET entry_id = ?, is_linked = TRUE
+            SET entry_id = ?, is_linked = TRUE, change_seq = DEFAULT
             WHERE id = ? AND is_approved = FALSE
             """;
 
         try (Connection conn = dataSource.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+            lockChangeFeed(conn, regattaId);
             stmt.setObject(1, entryId);
             stmt.setObject(2, markerId);
             if (stmt.executeUpdate() == 0) {
@@ -220,10 +662,12 @@ public class TimingMarkerService {
             throw new RuntimeException("Failed to link marker", e);
         }
 
-        if (existing.entryId() != null && !existing.entryId().equals(entryId)) {
-            refreshEntryCompletion(existing.entryId());
+        Set<UUID> touchedEntries = new LinkedHashSet<>();
+        touchedEntries.add(entryId);
+        if (existing.entryId() != null) {
+            touchedEntries.add(existing.entryId());
         }
-        refreshEntryCompletion(entryId);
+        completionRecomputer.recompute(touchedEntries);
 
         return findById(regattaId, markerId).orElseThrow();
     }
@@ -238,11 +682,12 @@ public class TimingMarkerService {
 
         String sql = """
             UPDATE timing_markers
-            SET entry_id = NULL, is_linked = FALSE, is_approved = FALSE
+            SET entry_id = NULL, is_linked = FALSE, is_approved = FALSE, change_seq = DEFAULT
             WHERE id = ? AND is_approved = FALSE
             """;
 
         try (Connection conn = dataSource.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+            lockChangeFeed(conn, regattaId);
             stmt.setObject(1, markerId);
             if (stmt.executeUpdate() == 0) {
                 throw new IllegalStateException("Approved markers cannot be unlinked");
@@ -252,7 +697,7 @@ public class TimingMarkerService {
         }
 
         if (existing.entryId() != null) {
-            refreshEntryCompletion(existing.entryId());
+            completionRecomputer.recompute(List.of(existing.entryId()));
         }
 
         return findById(regattaId, markerId).orElseThrow();
@@ -266,74 +711,30 @@ public class TimingMarkerService {
             throw new IllegalStateException("Approved markers cannot be deleted");
         }
 
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                 "DELETE FROM timing_markers WHERE id = ? AND is_approved = FALSE"
-             )) {
-            stmt.setObject(1, markerId);
-            if (stmt.executeUpdate() == 0) {
-                throw new IllegalStateException("Approved markers cannot be deleted");
+        try (Connection conn = dataSource.getConnection()) {
+            lockChangeFeed(conn, regattaId);
+            try (PreparedStatement stmt = conn.prepareStatement(
+                "DELETE FROM timing_markers WHERE id = ? AND is_approved = FALSE"
+            )) {
+                stmt.setObject(1, markerId);
+                if (stmt.executeUpdate() == 0) {
+                    throw new IllegalStateException("Approved markers cannot be deleted");
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO timing_marker_tombstones (marker_id, regatta_id, capture_session_id) VALUES (?, ?, ?)"
+            )) {
+                stmt.setObject(1, markerId);
+                stmt.setObject(2, regattaId);
+                stmt.setObject(3, existing.captureSessionId());
+                stmt.executeUpdate();
             }
         } catch (SQLException e) {
             throw new RuntimeException("Failed to delete marker", e);
         }
 
         if (existing.entryId() != null) {
-            refreshEntryCompletion(existing.entryId());
-        }
-    }
-
-    private void refreshEntryCompletion(UUID entryId) {
-        List<MarkerCompletionEvaluator.MarkerEvidence> linkedMarkers = linkedMarkersForEntry(entryId);
-        MarkerCompletionEvaluator.CompletionResult result = MarkerCompletionEvaluator.evaluate(linkedMarkers);
-
-        String sql = """
-            UPDATE entries
-            SET completion_status = ?, marker_start_time_ms = ?, marker_finish_time_ms = ?
-            WHERE id = ?
-            """;
-
-        try (Connection conn = dataSource.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, result.completionStatus());
-            if (result.markerStartTimeMs() == null) {
-                stmt.setNull(2, java.sql.Types.BIGINT);
-            } else {
-                stmt.setLong(2, result.markerStartTimeMs());
-            }
-            if (result.markerFinishTimeMs() == null) {
-                stmt.setNull(3, java.sql.Types.BIGINT);
-            } else {
-                stmt.setLong(3, result.markerFinishTimeMs());
-            }
-            stmt.setObject(4, entryId);
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to refresh entry completion", e);
-        }
-    }
-
-    private List<MarkerCompletionEvaluator.MarkerEvidence> linkedMarkersForEntry(UUID entryId) {
-        String sql = """
-            SELECT timestamp_ms, is_approved
-            FROM timing_markers
-            WHERE entry_id = ? AND is_linked = TRUE
-            ORDER BY timestamp_ms ASC
-            """;
-
-        try (Connection conn = dataSource.getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setObject(1, entryId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                List<MarkerCompletionEvaluator.MarkerEvidence> markers = new ArrayList<>();
-                while (rs.next()) {
-                    markers.add(new MarkerCompletionEvaluator.MarkerEvidence(
-                        rs.getLong("timestamp_ms"),
-                        rs.getBoolean("is_approved")
-                    ));
-                }
-                return markers;
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to load linked markers", e);
+            completionRecomputer.recompute(List.of(existing.entryId()));
         }
     }
 
@@ -354,7 +755,7 @@ public class TimingMarkerService {
         throws SQLException {
         String sql = """
             SELECT tm.id, tm.capture_session_id, tm.entry_id, tm.frame_offset, tm.timestamp_ms,
-                   tm.is_linked, tm.is_approved, tm.tile_id, tm.tile_x, tm.tile_y
+                   tm.is_linked, tm.is_approved, tm.tile_id, tm.tile_x, tm.tile_y, tm.source, tm.confidence
             FROM timing_markers tm
             JOIN capture_sessions cs ON cs.id = tm.capture_session_id
             WHERE cs.regatta_id = ? AND tm.id = ?
@@ -397,10 +798,67 @@ public class TimingMarkerService {
             rs.getBoolean("is_approved"),
             rs.getString("tile_id"),
             rs.getObject("tile_x", Integer.class),
-            rs.getObject("tile_y", Integer.class)
+            rs.getObject("tile_y", Integer.class),
+            rs.getString("source"),
+            rs.getObject("confidence", Double.class)
         );
     }
 
+    /**
+     * Marker fields supplied by the client for {@link #createBatch}.
+     */
+    public record NewMarker(long frameOffset, long timestampMs, String tileId, Integer tileX, Integer tileY) {
+    }
+
+    /**
+     * Crossing candidate found by {@link LineScanCrossingDetectionWorker}, for {@link #replaceDetectedCandidates}.
+     */
+    public record DetectedCandidate(long frameOffset, long timestampMs, int tileX, int tileY, double confidence) {
+    }
+
+    /**
+     * One keyset page of markers; {@code nextCursor} is null on the last page and
+     * {@code changeSeq} is only set on the first page.
+     */
+    public record MarkerPage(List<TimingMarker> markers, String nextCursor, Long changeSeq) {
+    }
+
+    /**
+     * Markers changed and ids deleted after a change feed position, plus the position to sync from next.
+     */
+    public record MarkerChanges(List<TimingMarker> markers, List<UUID> deletedIds, long nextSince, boolean hasMore) {
+    }
+
+    private record Change(long changeSeq, TimingMarker marker, UUID deletedId) {
+    }
+
+    /**
+     * Opaque keyset position, encoded as URL-safe base64 of {@code timestampMs:id}.
+     */
+    record PageCursor(long timestampMs, UUID id) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((timestampMs + ":" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static PageCursor decode(String cursor) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf(':');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("cursor is invalid");
+                }
+                return new PageCursor(
+                    Long.parseLong(decoded.substring(0, separator)),
+                    UUID.fromString(decoded.substring(separator + 1))
+                );
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("cursor is invalid", e);
+            }
+        }
+    }
+
     public static class NotFoundException extends RuntimeException {
         public NotFoundException(String message) {
             super(message);
@@ -0,0 +1,103 @@
+package com.regattadesk.linescan.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Lossless WebP encoder backed by libwebp's {@code cwebp} command.
+ *
+ * The JDK ships no WebP writer, so encoding is delegated to the binary configured with
+ * {@code linescan.transcode.cwebp-path}; the backend base image installs it at {@code /usr/bin/cwebp}.
+ * When the binary is missing the encoder is unavailable and tiles keep being served in their
+ * uploaded format.
+ */
+@ApplicationScoped
+public class WebpTileEncoder {
+
+    private static final Logger LOG = Logger.getLogger(WebpTileEncoder.class);
+
+    public static final String CONTENT_TYPE = "image/webp";
+
+    private final Optional<String> cwebpPath;
+    private final Duration timeout;
+
+    @Inject
+    public WebpTileEncoder(
+        @ConfigProperty(name = "linescan.transcode.cwebp-path") Optional<String> cwebpPath,
+        @ConfigProperty(name = "linescan.transcode.timeout", defaultValue = "PT30S") Duration timeout
+    ) {
+        this.cwebpPath = cwebpPath.filter(path -> !path.isBlank()).filter(path -> {
+            if (Files.isExecutable(Path.of(path))) {
+                return true;
+            }
+            LOG.warnf("cwebp not found at %s, PNG tiles are not transcoded to WebP", path);
+            return false;
+        });
+        this.timeout = timeout;
+    }
+
+    public boolean isAvailable() {
+        return cwebpPath.isPresent();
+    }
+
+    /**
+     * Encode a PNG (or any image cwebp reads) as lossless WebP, keeping RGB values under
+     * transparent pixels.
+     *
+     * @throws IOException if the encoder is unavailable, fails or exceeds the timeout
+     */
+    public byte[] encodeLossless(byte[] image) throws IOException {
+        if (cwebpPath.isEmpty()) {
+            throw new IOException("No WebP encoder installed (linescan.transcode.cwebp-path)");
+        }
+        Path workDir = Files.createTempDirectory("linescan-transcode-");
+        try {
+            Path input = Files.write(workDir.resolve("input"), image);
+            Path output = workDir.resolve("output.webp");
+            Process process = new ProcessBuilder(List.of(
+                    cwebpPath.get(), "-quiet", "-lossless", "-exact", input.toString(), "-o", output.toString()))
+                .redirectErrorStream(true)
+                .redirectOutput(workDir.resolve("cwebp.log").toFile())
+                .start();
+            boolean finished;
+            try {
+                finished = process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while encoding WebP", e);
+            }
+            if (!finished) {
+                process.destroyForcibly();
+                throw new IOException("cwebp timed out after " + timeout);
+            }
+            if (process.exitValue() != 0 || !Files.isRegularFile(output)) {
+                throw new IOException("cwebp exited with " + process.exitValue() + ": "
+                    + Files.readString(workDir.resolve("cwebp.log")).strip());
+            }
+            return Files.readAllBytes(output);
+        } finally {
+            deleteRecursively(workDir);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException ignored) {
+            // Best effort, the files live in the temp directory
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.regattadesk.linescan.storage;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Typed;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Local filesystem tile storage for single-machine venue deployments.
+ *
+ * Layout: {@code {root}/{regattaId}/{captureSessionId}/{tileId}}, one directory per
+ * capture session. Writes go to a temp file in the session directory and are moved into
+ * place atomically, so readers never observe a partially written tile. Reads memory-map
+ * the tile file. The content type is derived from the PNG/WebP file signature.
+ */
+@ApplicationScoped
+@Typed(FilesystemTileStorage.class)
+public class FilesystemTileStorage implements TileStorage {
+
+    private static final Logger LOG = Logger.getLogger(FilesystemTileStorage.class);
+    private static final long MAX_RETRIEVABLE_TILE_BYTES = 10L * 1024 * 1024;
+    private static final String TEMP_PREFIX = ".tile-";
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private final Path root;
+
+    @Inject
+    public FilesystemTileStorage(
+        @ConfigProperty(name = "linescan.storage.filesystem.root", defaultValue = "data/line-scan") String root
+    ) {
+        this(Path.of(root));
+    }
+
+    public FilesystemTileStorage(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void ensureBucket(UUID regattaId) throws TileStorageException {
+        Path regattaDir = root.resolve(regattaId.toString());
+        try {
+            Files.createDirectories(regattaDir);
+        } catch (IOException e) {
+            throw new TileStorageException("Failed to create tile directory: " + regattaDir, e);
+        }
+    }
+
+    @Override
+    public void storeTile(UUID regattaId, UUID captureSessionId, String tileId,
+                          byte[] tileData, String contentType) throws TileStorageException {
+        Path target = resolveTilePath(regattaId, captureSessionId, tileId);
+        Path sessionDir = target.getParent();
+        Path temp = null;
+        try {
+            Files.createDirectories(sessionDir);
+            temp = Files.createTempFile(sessionDir, TEMP_PREFIX, ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(tileData);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            moveIntoPlace(temp, target);
+            temp = null;
+            LOG.debugf("Stored tile: path=%s, size=%d", target, tileData.length);
+        } catch (IOException e) {
+            throw new TileStorageException("Failed to store tile: " + target, e);
+        } finally {
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    @Override
+    public TileData retrieveTile(UUID regattaId, UUID captureSessionId, String tileId)
+            throws TileStorageException {
+        Path path = resolveTilePath(regattaId, captureSessionId, tileId);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > MAX_RETRIEVABLE_TILE_BYTES) {
+                throw new TileStorageException(
+                    "Tile exceeds maximum retrievable size of " + MAX_RETRIEVABLE_TILE_BYTES + " bytes: " + path,
+                    null
+                );
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            byte[] data = new byte[(int) size];
+            mapped.get(data);
+            LOG.debugf("Retrieved tile: path=%s, size=%d", path, data.length);
+            return new TileData(data, detectContentType(data));
+        } catch (NoSuchFileException e) {
+            throw new TileNotFoundException("Tile not found: " + path);
+        } catch (IOException e) {
+            throw new TileStorageException("Failed to retrieve tile: " + path, e);
+        }
+    }
+
+    @Override
+    public boolean tileExists(UUID regattaId, UUID captureSessionId, String tileId) throws TileStorageException {
+        return Files.isRegularFile(resolveTilePath(regattaId, captureSessionId, tileId));
+    }
+
+    @Override
+    public void deleteTile(UUID regattaId, UUID captureSessionId, String tileId) throws TileStorageException {
+        Path path = resolveTilePath(regattaId, captureSessionId, tileId);
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new TileStorageException("Failed to delete tile: " + path, e);
+        }
+    }
+
+    @Override
+    public Set<String> deleteTiles(UUID regattaId, UUID captureSessionId, List<String> tileIds)
+            throws TileStorageException {
+        Set<String> failedTileIds = new HashSet<>();
+        for (String tileId : tileIds) {
+            try {
+                deleteTile(regattaId, captureSessionId, tileId);
+            } catch (TileStorageException e) {
+                LOG.warnf(e, "Failed to delete tile %s of capture session %s", tileId, captureSessionId);
+                failedTileIds.add(tileId);
+            }
+        }
+        return failedTileIds;
+    }
+
+    /**
+     * Resolve the tile path, rejecting tile IDs that would escape the session directory.
+     */
+    Path resolveTilePath(UUID regattaId, UUID captureSessionId, String tileId) throws TileStorageException {
+        if (tileId == null || tileId.isBlank() || tileId.startsWith(".")
+                || tileId.indexOf('/') >= 0 || tileId.indexOf('\\') >= 0) {
+            throw new TileStorageException("Invalid tile ID for filesystem storage: " + tileId, null);
+        }
+        Path sessionDir = root.resolve(regattaId.toString()).resolve(captureSessionId.toString());
+        Path path = sessionDir.resolve(tileId).normalize();
+        if (!sessionDir.equals(path.getParent())) {
+            throw new TileStorageException("Invalid tile ID for filesystem storage: " + tileId, null);
+        }
+        return path;
+    }
+
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOG.debugf(e, "Failed to remove temp tile file %s", path);
+        }
+    }
+
+    static String detectContentType(byte[] data) {
+        if (startsWith(data, PNG_SIGNATURE, 0)) {
+            return "image/png";
+        }
+        if (data.length >= 12
+                && startsWith(data, new byte[]{'R', 'I', 'F', 'F'}, 0)
+                && startsWith(data, new byte[]{'W', 'E', 'B', 'P'}, 8)) {
+            return "image/webp";
+        }
+        return "application/octet-stream";
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix, int offset) {
+        if (data.length < offset + prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,103 @@
+package com.regattadesk.linescan.storage;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Storage backend for line-scan tile binaries.
+ *
+ * Tiles are addressed by regatta, capture session and tile ID. Implementations are
+ * selected with {@code linescan.storage.backend} (see {@link TileStorageProducer}).
+ */
+public interface TileStorage {
+
+    /**
+     * Ensure the storage container (bucket or directory) for a regatta exists.
+     */
+    void ensureBucket(UUID regattaId) throws TileStorageException;
+
+    /**
+     * Store or replace a tile.
+     */
+    void storeTile(UUID regattaId, UUID captureSessionId, String tileId,
+                   byte[] tileData, String contentType) throws TileStorageException;
+
+    /**
+     * Retrieve a tile.
+     *
+     * @throws TileNotFoundException if the tile does not exist
+     */
+    TileData retrieveTile(UUID regattaId, UUID captureSessionId, String tileId) throws TileStorageException;
+
+    /**
+     * Check if a tile exists.
+     */
+    boolean tileExists(UUID regattaId, UUID captureSessionId, String tileId) throws TileStorageException;
+
+    /**
+     * Delete a tile. Missing tiles are treated as already deleted.
+     */
+    void deleteTile(UUID regattaId, UUID captureSessionId, String tileId) throws TileStorageException;
+
+    /**
+     * Delete several tiles of one capture session. Missing tiles are treated as already deleted.
+     *
+     * @return tile IDs that could not be deleted
+     */
+    Set<String> deleteTiles(UUID regattaId, UUID captureSessionId, List<String> tileIds)
+        throws TileStorageException;
+
+    /**
+     * Create a short-lived URL that lets a client download the tile directly from storage.
+     *
+     * @return empty if the backend cannot serve tiles directly (callers proxy the bytes instead)
+     */
+    default Optional<URI> presignedDownloadUrl(UUID regattaId, UUID captureSessionId, String tileId, Duration ttl)
+            throws TileStorageException {
+        return Optional.empty();
+    }
+
+    /**
+     * Container for tile binary data and content type.
+     */
+    class TileData {
+        private final byte[] data;
+        private final String contentType;
+
+        public TileData(byte[] data, String contentType) {
+            this.data = Arrays.copyOf(data, data.length);
+            this.contentType = contentType;
+        }
+
+        public byte[] getData() {
+            return Arrays.copyOf(data, data.length);
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+
+    /**
+     * Exception thrown when tile storage operations fail.
+     */
+    class TileStorageException extends Exception {
+        public TileStorageException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * Exception thrown when a tile is not found in storage.
+     */
+    class TileNotFoundException extends TileStorageException {
+        public TileNotFoundException(String message) {
+            super(message, null);
+        }
+    }
+}
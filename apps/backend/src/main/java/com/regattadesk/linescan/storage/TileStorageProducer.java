@@ -0,0 +1,39 @@
+package com.regattadesk.linescan.storage;
+
+import com.regattadesk.linescan.config.MinioStorageAdapter;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.Produces;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.Locale;
+
+/**
+ * Selects the tile storage backend from {@code linescan.storage.backend}.
+ *
+ * Supported values are {@code minio} (default) and {@code filesystem}. Only the selected
+ * implementation is instantiated, so venue deployments using the filesystem backend do
+ * not need a reachable MinIO server.
+ */
+@ApplicationScoped
+public class TileStorageProducer {
+
+    private static final Logger LOG = Logger.getLogger(TileStorageProducer.class);
+
+    @ConfigProperty(name = "linescan.storage.backend", defaultValue = "minio")
+    String backend;
+
+    @Produces
+    @ApplicationScoped
+    TileStorage tileStorage(Instance<MinioStorageAdapter> minio, Instance<FilesystemTileStorage> filesystem) {
+        String normalized = backend == null ? "" : backend.trim().toLowerCase(Locale.ROOT);
+        TileStorage storage = switch (normalized) {
+            case "minio" -> minio.get();
+            case "filesystem" -> filesystem.get();
+            default -> throw new IllegalStateException("Unsupported linescan.storage.backend: " + backend);
+        };
+        LOG.infof("Using %s line-scan tile storage", normalized);
+        return storage;
+    }
+}
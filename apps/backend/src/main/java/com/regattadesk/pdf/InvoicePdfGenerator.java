@@ -0,0 +1,180 @@
+package com.regattadesk.pdf;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import com.regattadesk.formatting.DateTimeFormatters;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Printable club invoices, on the standard RegattaDesk page layout and header/footer.
+ *
+ * Rendering is stateless and uses the shared fonts of {@link PdfGenerator}, so invoices
+ * can be rendered concurrently.
+ */
+public final class InvoicePdfGenerator {
+
+    private InvoicePdfGenerator() {
+    }
+
+    public static byte[] generateInvoicePdf(InvoiceDocument invoice, Locale locale,
+                                            ZoneId regattaTimezone, Clock clock) throws IOException {
+        if (invoice == null) {
+            throw new IllegalArgumentException("invoice is required");
+        }
+        if (regattaTimezone == null) {
+            throw new IllegalArgumentException("regattaTimezone is required");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("clock is required");
+        }
+        Locale effectiveLocale = locale != null ? locale : Locale.ENGLISH;
+        boolean dutch = PdfGenerator.isDutch(effectiveLocale);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Document document = PdfGenerator.createDocument();
+        try {
+            PdfWriter writer = PdfWriter.getInstance(document, baos);
+            ZonedDateTime now = ZonedDateTime.ofInstant(clock.instant(), regattaTimezone);
+            writer.setPageEvent(new PdfGenerator.RegattaDeskHeaderFooter(
+                invoice.regattaName(), now, null, null, effectiveLocale
+            ));
+
+            document.open();
+
+            Font titleFont = PdfGenerator.regattaFont(16, Font.BOLD);
+            Font bodyFont = PdfGenerator.regattaFont(PdfGenerator.FONT_SIZE_BODY, Font.NORMAL);
+            Font boldFont = PdfGenerator.regattaFont(PdfGenerator.FONT_SIZE_BODY, Font.BOLD);
+
+            Paragraph title = new Paragraph(
+                (dutch ? "Factuur " : "Invoice ") + invoice.invoiceNumber(), titleFont);
+            title.setSpacingAfter(12);
+            document.add(title);
+
+            PdfPTable details = new PdfPTable(new float[]{1, 3});
+            details.setWidthPercentage(60);
+            details.setHorizontalAlignment(Element.ALIGN_LEFT);
+            addDetail(details, "Club", invoice.clubName(), boldFont, bodyFont);
+            addDetail(details, dutch ? "Factuurdatum" : "Invoice date",
+                formatDate(invoice.generatedAt(), regattaTimezone, effectiveLocale), boldFont, bodyFont);
+            addDetail(details, dutch ? "Betalingskenmerk" : "Payment reference",
+                invoice.invoiceNumber(), boldFont, bodyFont);
+            if (invoice.paidAt() != null) {
+                addDetail(details, dutch ? "Betaald op" : "Paid on",
+                    formatDate(invoice.paidAt(), regattaTimezone, effectiveLocale), boldFont, bodyFont);
+            }
+            document.add(details);
+
+            PdfPTable table = new PdfPTable(new float[]{1, 4, 4, 2});
+            table.setWidthPercentage(100);
+            table.setSpacingBefore(16);
+            table.setHeaderRows(1);
+
+            String[] headers = dutch
+                ? new String[]{"Rugnr.", "Ploeg", "Veld", "Bedrag"}
+                : new String[]{"Bib", "Crew", "Event", "Amount"};
+            for (String header : headers) {
+                PdfPCell cell = new PdfPCell(new Phrase(header, boldFont));
+                cell.setGrayFill(0.9f);
+                cell.setPadding(5);
+                table.addCell(cell);
+            }
+
+            for (InvoiceLine line : invoice.lines()) {
+                table.addCell(cell(line.bib() == null ? "" : line.bib().toString(), bodyFont, Element.ALIGN_LEFT));
+                table.addCell(cell(line.crewName(), bodyFont, Element.ALIGN_LEFT));
+                table.addCell(cell(line.eventName(), bodyFont, Element.ALIGN_LEFT));
+                table.addCell(cell(formatAmount(invoice.currency(), line.amount()), bodyFont, Element.ALIGN_RIGHT));
+            }
+
+            PdfPCell totalLabel = cell(dutch ? "Totaal" : "Total", boldFont, Element.ALIGN_RIGHT);
+            totalLabel.setColspan(3);
+            table.addCell(totalLabel);
+            table.addCell(cell(formatAmount(invoice.currency(), invoice.totalAmount()), boldFont, Element.ALIGN_RIGHT));
+
+            document.add(table);
+        } catch (DocumentException e) {
+            throw new IOException("Error generating invoice PDF", e);
+        } finally {
+            document.close();
+        }
+
+        return baos.toByteArray();
+    }
+
+    private static void addDetail(PdfPTable table, String label, String value, Font labelFont, Font valueFont) {
+        PdfPCell labelCell = new PdfPCell(new Phrase(label, labelFont));
+        labelCell.setBorder(Rectangle.NO_BORDER);
+        labelCell.setPadding(2);
+        table.addCell(labelCell);
+        PdfPCell valueCell = new PdfPCell(new Phrase(value != null ? value : "", valueFont));
+        valueCell.setBorder(Rectangle.NO_BORDER);
+        valueCell.setPadding(2);
+        table.addCell(valueCell);
+    }
+
+    private static PdfPCell cell(String value, Font font, int alignment) {
+        PdfPCell cell = new PdfPCell(new Phrase(value != null ? value : "", font));
+        cell.setPadding(4);
+        cell.setHorizontalAlignment(alignment);
+        return cell;
+    }
+
+    private static String formatDate(Instant instant, ZoneId regattaTimezone, Locale locale) {
+        if (instant == null) {
+            return "";
+        }
+        return DateTimeFormatters.formatDateDisplay(ZonedDateTime.ofInstant(instant, regattaTimezone), locale);
+    }
+
+    private static String formatAmount(String currency, BigDecimal amount) {
+        if (amount == null) {
+            return "";
+        }
+        return currency + " " + amount.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    /**
+     * Invoice content to render.
+     *
+     * @param regattaName   regatta name for the page header
+     * @param invoiceNumber invoice number, also printed as the payment reference
+     * @param paidAt        payment time, or null while unpaid
+     */
+    public record InvoiceDocument(
+        String regattaName,
+        String invoiceNumber,
+        String clubName,
+        String currency,
+        BigDecimal totalAmount,
+        Instant generatedAt,
+        Instant paidAt,
+        List<InvoiceLine> lines
+    ) {
+    }
+
+    public record InvoiceLine(
+        Integer bib,
+        String crewName,
+        String eventName,
+        BigDecimal amount
+    ) {
+    }
+}
@@ -10,6 +10,8 @@ import java.time.Clock;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * PDF generation service for RegattaDesk.
@@ -38,15 +40,23 @@ public class PdfGenerator {
     
     // Font sizes (in points)
     private static final float FONT_SIZE_TITLE = 14f;
-    private static final float FONT_SIZE_BODY = 10f;
-    private static final float FONT_SIZE_META = 8f;
+    static final float FONT_SIZE_BODY = 10f;
+    static final float FONT_SIZE_META = 8f;
 
     static {
         // Register system font directories so Liberation Sans can be resolved when available.
         FontFactory.registerDirectories();
     }
 
-    private static Font regattaFont(float size, int style) {
+    // Fonts are resolved once per size and style and shared by all documents; they are not
+    // modified after creation.
+    private static final Map<String, Font> FONTS = new ConcurrentHashMap<>();
+
+    static Font regattaFont(float size, int style) {
+        return FONTS.computeIfAbsent(size + ":" + style, key -> loadFont(size, style));
+    }
+
+    private static Font loadFont(float size, int style) {
         Font font = FontFactory.getFont(PDF_FONT_FAMILY, BaseFont.IDENTITY_H, true, size, style);
         if (font.getBaseFont() == null && font.getFamily() == Font.UNDEFINED) {
             return new Font(Font.HELVETICA, size, style);
@@ -70,7 +80,7 @@ public class PdfGenerator {
         return isDutch(locale) ? "Pagina" : "Page";
     }
 
-    private static boolean isDutch(Locale locale) {
+    static boolean isDutch(Locale locale) {
         return locale != null && "nl".equals(locale.getLanguage());
     }
     
@@ -3,6 +3,7 @@ package com.regattadesk.regatta.api;
 import com.regattadesk.entry.EntryDto;
 import com.regattadesk.entry.EntryNotFoundException;
 import com.regattadesk.entry.EntryService;
+import com.regattadesk.finance.event.FinanceProjectionHandler;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -30,6 +31,9 @@ public class RegattaSetupService {
     @Inject
     EntryService entryService;
 
+    @Inject
+    FinanceProjectionHandler financeProjectionHandler;
+
     public EventGroupResponse createEventGroup(UUID regattaId, EventGroupCreateRequest request) {
         UUID id = UUID.randomUUID();
         Instant now = Instant.now();
@@ -195,6 +199,7 @@ public class RegattaSetupService {
             if (statement.executeUpdate() == 0) {
                 throw new SetupNotFoundException("Event not found");
             }
+            financeProjectionHandler.markRegattaSummaryStale(connection, regattaId);
         } catch (SetupNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -477,6 +482,7 @@ public class RegattaSetupService {
             if (statement.executeUpdate() == 0) {
                 throw new SetupNotFoundException("Entry not found");
             }
+            financeProjectionHandler.markRegattaSummaryStale(connection, regattaId);
         } catch (SetupNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -0,0 +1,19 @@
+-- Deferred object-storage deletions for pruned line-scan tiles.
+-- Pruning removes tile metadata transactionally and enqueues the object keys here;
+-- a worker drains the queue with multi-object deletes outside the transaction and
+-- reschedules failed keys with backoff.
+
+CREATE TABLE line_scan_tile_deletions (
+    id UUID PRIMARY KEY,
+    regatta_id UUID NOT NULL,
+    capture_session_id UUID NOT NULL,
+    tile_id VARCHAR(255) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0 CHECK (attempts >= 0),
+    last_error TEXT,
+    next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_line_scan_tile_deletions_due ON line_scan_tile_deletions(next_attempt_at);
+
+COMMENT ON TABLE line_scan_tile_deletions IS 'Retry queue for tile objects removed from metadata but not yet deleted from storage';
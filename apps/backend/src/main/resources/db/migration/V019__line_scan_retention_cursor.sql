@@ -0,0 +1,15 @@
+-- Resumable line-scan retention evaluation.
+-- The retention scheduler walks regattas in regatta_id order and records the last fully
+-- evaluated regatta here, so a run that overruns or is interrupted resumes instead of
+-- restarting from the first regatta.
+
+CREATE TABLE line_scan_retention_cursors (
+    job_name VARCHAR(100) PRIMARY KEY,
+    last_regatta_id UUID NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- Supports keyset iteration over regattas with manifests in active retention states
+CREATE INDEX idx_line_scan_manifests_state_regatta ON line_scan_manifests(retention_state, regatta_id);
+
+COMMENT ON TABLE line_scan_retention_cursors IS 'Resume position of interrupted line-scan retention runs';
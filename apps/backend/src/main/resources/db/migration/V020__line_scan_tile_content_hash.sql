@@ -0,0 +1,7 @@
+-- Content hash of uploaded line-scan tiles.
+-- Used to skip storage writes for retried uploads of identical bytes, as the tile ETag,
+-- and to verify tile integrity on (sampled) reads.
+
+ALTER TABLE line_scan_tiles ADD COLUMN content_sha256 VARCHAR(64);
+
+COMMENT ON COLUMN line_scan_tiles.content_sha256 IS 'Hex-encoded SHA-256 of the stored tile bytes';
@@ -0,0 +1,25 @@
+-- Change feed for operator marker sync.
+-- Every marker insert and update takes a fresh value from timing_marker_change_seq and every
+-- deletion leaves a tombstone with its own value, so clients can fetch only the markers changed
+-- since their last sync. The (capture_session_id, timestamp_ms, id) index backs keyset paging.
+
+CREATE SEQUENCE timing_marker_change_seq;
+
+ALTER TABLE timing_markers
+    ADD COLUMN change_seq BIGINT NOT NULL DEFAULT nextval('timing_marker_change_seq');
+
+CREATE INDEX idx_timing_markers_change_seq ON timing_markers(change_seq);
+CREATE INDEX idx_timing_markers_session_timestamp_id ON timing_markers(capture_session_id, timestamp_ms, id);
+
+CREATE TABLE timing_marker_tombstones (
+    marker_id UUID PRIMARY KEY,
+    regatta_id UUID NOT NULL REFERENCES regattas(id) ON DELETE CASCADE,
+    capture_session_id UUID NOT NULL,
+    change_seq BIGINT NOT NULL DEFAULT nextval('timing_marker_change_seq'),
+    deleted_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_timing_marker_tombstones_regatta_seq ON timing_marker_tombstones(regatta_id, change_seq);
+
+COMMENT ON COLUMN timing_markers.change_seq IS 'Change feed position, reassigned on every update';
+COMMENT ON TABLE timing_marker_tombstones IS 'Deleted markers, reported to delta sync clients';
@@ -0,0 +1,21 @@
+-- Transcoded variants of line-scan tiles.
+-- Tiles uploaded in a manifest's fallback format (PNG) are queued for transcoding into the
+-- primary format (lossless WebP). The variant is stored next to the original object under
+-- "<tile_id>.webp" and served to clients that accept it; the original stays authoritative.
+
+ALTER TABLE line_scan_tiles
+    ADD COLUMN transcode_state VARCHAR(20)
+        CHECK (transcode_state IN ('pending', 'ready', 'skipped', 'failed')),
+    ADD COLUMN transcode_attempts INTEGER NOT NULL DEFAULT 0 CHECK (transcode_attempts >= 0),
+    ADD COLUMN transcode_error TEXT,
+    ADD COLUMN transcode_next_attempt_at TIMESTAMPTZ,
+    ADD COLUMN variant_content_type VARCHAR(50) CHECK (variant_content_type IN ('image/webp', 'image/png')),
+    ADD COLUMN variant_byte_size INTEGER CHECK (variant_byte_size >= 0),
+    ADD COLUMN variant_sha256 VARCHAR(64);
+
+CREATE INDEX idx_line_scan_tiles_transcode_due
+    ON line_scan_tiles(transcode_next_attempt_at)
+    WHERE transcode_state = 'pending';
+
+COMMENT ON COLUMN line_scan_tiles.transcode_state IS 'NULL when no variant is needed; skipped when the variant was not smaller';
+COMMENT ON COLUMN line_scan_tiles.variant_sha256 IS 'Hex-encoded SHA-256 of the stored variant bytes';
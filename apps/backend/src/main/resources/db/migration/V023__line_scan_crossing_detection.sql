@@ -0,0 +1,21 @@
+-- Automatic finish-crossing candidates.
+-- Uploaded tiles are queued for column-wise crossing detection; candidates are stored as
+-- unlinked, unapproved timing markers with source 'detected' and a confidence score, which
+-- operators approve or delete like manual markers.
+
+ALTER TABLE timing_markers
+    ADD COLUMN source VARCHAR(20) NOT NULL DEFAULT 'manual' CHECK (source IN ('manual', 'detected')),
+    ADD COLUMN confidence DOUBLE PRECISION CHECK (confidence >= 0 AND confidence <= 1);
+
+CREATE INDEX idx_timing_markers_session_source_tile ON timing_markers(capture_session_id, source, tile_id);
+
+ALTER TABLE line_scan_tiles
+    ADD COLUMN detection_state VARCHAR(20) CHECK (detection_state IN ('pending', 'done', 'failed')),
+    ADD COLUMN detection_attempts INTEGER NOT NULL DEFAULT 0 CHECK (detection_attempts >= 0),
+    ADD COLUMN detection_next_attempt_at TIMESTAMPTZ;
+
+CREATE INDEX idx_line_scan_tiles_detection_due
+    ON line_scan_tiles(detection_next_attempt_at)
+    WHERE detection_state = 'pending';
+
+COMMENT ON COLUMN timing_markers.confidence IS 'Detector confidence (0-1) for detected markers, NULL for manual ones';
@@ -0,0 +1,21 @@
+-- Resumable chunked tile uploads.
+-- A client creates an upload session for a tile, appends chunks at the offset recorded
+-- here (the bytes are spooled to a file under linescan.uploads.dir) and commits the
+-- session, which stores the assembled tile like a single PUT. Abandoned sessions expire.
+
+CREATE TABLE line_scan_tile_uploads (
+    id UUID PRIMARY KEY,
+    regatta_id UUID NOT NULL,
+    tile_id VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    total_bytes INTEGER NOT NULL CHECK (total_bytes > 0),
+    received_bytes INTEGER NOT NULL DEFAULT 0 CHECK (received_bytes >= 0 AND received_bytes <= total_bytes),
+    expected_sha256 VARCHAR(64),
+    expires_at TIMESTAMPTZ NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_line_scan_tile_uploads_expires ON line_scan_tile_uploads(expires_at);
+
+COMMENT ON TABLE line_scan_tile_uploads IS 'Open resumable tile upload sessions and their committed byte offsets';
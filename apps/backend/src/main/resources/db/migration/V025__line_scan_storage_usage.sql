@@ -0,0 +1,30 @@
+-- Storage usage accounting for line-scan tiles.
+-- One row per manifest with the number and bytes of uploaded tiles (originals plus their
+-- transcoded variants) and what pruning removed. The counters are adjusted incrementally
+-- when tiles are stored, replaced, transcoded, dropped from the manifest or pruned;
+-- per-regatta figures are the sum over the regatta's manifests.
+
+CREATE TABLE line_scan_storage_usage (
+    manifest_id UUID PRIMARY KEY REFERENCES line_scan_manifests(id) ON DELETE CASCADE,
+    regatta_id UUID NOT NULL,
+    tile_count BIGINT NOT NULL DEFAULT 0,
+    stored_bytes BIGINT NOT NULL DEFAULT 0,
+    pruned_tile_count BIGINT NOT NULL DEFAULT 0,
+    pruned_bytes BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_line_scan_storage_usage_regatta ON line_scan_storage_usage(regatta_id);
+
+-- Start from the tiles uploaded so far
+INSERT INTO line_scan_storage_usage (manifest_id, regatta_id, tile_count, stored_bytes)
+SELECT m.id,
+       m.regatta_id,
+       COALESCE(SUM(CASE WHEN t.upload_state = 'ready' THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(CASE WHEN t.upload_state = 'ready'
+           THEN COALESCE(t.byte_size, 0) + COALESCE(t.variant_byte_size, 0) ELSE 0 END), 0)
+FROM line_scan_manifests m
+LEFT JOIN line_scan_tiles t ON t.manifest_id = m.id
+GROUP BY m.id, m.regatta_id;
+
+COMMENT ON TABLE line_scan_storage_usage IS 'Incrementally maintained tile storage counters per line-scan manifest';
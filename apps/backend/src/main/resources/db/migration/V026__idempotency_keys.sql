@@ -0,0 +1,62 @@
+-- Idempotency keys for finance operations.
+-- One row per (scope, actor, key) with the fingerprint of the request it was first used for
+-- and a pointer to the stored result: an event (result_id = aggregate, result_sequence =
+-- sequence number) or a row of the operation's own table (result_id only). Rows are written
+-- in the same transaction as the operation and swept once expires_at has passed.
+
+CREATE TABLE idempotency_keys (
+    scope VARCHAR(128) NOT NULL,
+    actor VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(128) NOT NULL,
+    request_fingerprint VARCHAR(64) NOT NULL,
+    result_id UUID NOT NULL,
+    result_sequence BIGINT,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    expires_at TIMESTAMPTZ NOT NULL,
+    PRIMARY KEY (scope, actor, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_expires ON idempotency_keys(expires_at);
+
+-- Keep keys of the last 7 days (the default TTL) replayable: bulk payment summaries...
+INSERT INTO idempotency_keys (
+    scope, actor, idempotency_key, request_fingerprint, result_id, result_sequence, created_at, expires_at
+)
+SELECT DISTINCT ON (aggregate_id, payload ->> 'requestedBy', payload ->> 'idempotencyKey')
+       'payments.mark_bulk:' || aggregate_id::text,
+       payload ->> 'requestedBy',
+       payload ->> 'idempotencyKey',
+       encode(sha256(convert_to(
+           (payload ->> 'targetStatus') || '|' || (payload ->> 'requestFingerprint'), 'UTF8')), 'hex'),
+       aggregate_id,
+       sequence_number,
+       created_at,
+       created_at + INTERVAL '7 days'
+FROM event_store
+WHERE event_type = 'BulkPaymentStatusMarked'
+  AND payload ->> 'idempotencyKey' IS NOT NULL
+  AND payload ->> 'requestedBy' IS NOT NULL
+  AND payload ->> 'targetStatus' IS NOT NULL
+  AND payload ->> 'requestFingerprint' IS NOT NULL
+  AND created_at > now() - INTERVAL '7 days'
+ORDER BY aggregate_id, payload ->> 'requestedBy', payload ->> 'idempotencyKey', created_at DESC;
+
+-- ...and invoice generation jobs
+INSERT INTO idempotency_keys (
+    scope, actor, idempotency_key, request_fingerprint, result_id, result_sequence, created_at, expires_at
+)
+SELECT DISTINCT ON (regatta_id, requested_by, idempotency_key)
+       'invoices.generate:' || regatta_id::text,
+       requested_by,
+       idempotency_key,
+       request_fingerprint,
+       job_id,
+       NULL,
+       created_at,
+       created_at + INTERVAL '7 days'
+FROM invoice_generation_jobs
+WHERE idempotency_key IS NOT NULL
+  AND created_at > now() - INTERVAL '7 days'
+ORDER BY regatta_id, requested_by, idempotency_key, created_at DESC;
+
+COMMENT ON TABLE idempotency_keys IS 'Idempotency keys of finance operations with a pointer to their result';
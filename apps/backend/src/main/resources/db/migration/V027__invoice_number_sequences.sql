@@ -0,0 +1,21 @@
+-- Per-regatta invoice number sequences and invoice generation job progress.
+-- Invoice numbers are allocated by incrementing the regatta's row in the transaction that
+-- inserts the invoice, so concurrent generation cannot hand out a number twice and a rolled
+-- back invoice does not leave a gap.
+
+CREATE TABLE invoice_number_sequences (
+    regatta_id UUID PRIMARY KEY REFERENCES regattas(id) ON DELETE CASCADE,
+    last_number BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- Continue after the invoices numbered so far
+INSERT INTO invoice_number_sequences (regatta_id, last_number)
+SELECT regatta_id, COUNT(*)
+FROM invoices
+GROUP BY regatta_id;
+
+ALTER TABLE invoice_generation_jobs ADD COLUMN total_clubs INTEGER;
+ALTER TABLE invoice_generation_jobs ADD COLUMN processed_clubs INTEGER NOT NULL DEFAULT 0;
+
+COMMENT ON TABLE invoice_number_sequences IS 'Last allocated invoice sequence number per regatta';
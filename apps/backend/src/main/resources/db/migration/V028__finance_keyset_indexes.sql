@@ -0,0 +1,6 @@
+-- Keyset pagination support for the finance entry list, which pages on
+-- (LOWER(crews.display_name), entries.id). No index is needed: the keyset is bounded by
+-- entries.regatta_id (idx_entries_regatta), and the joined crew names of one regatta are
+-- sorted per query, so a global index on crews would never drive it.
+-- Invoices page on the existing idx_invoices_regatta (regatta_id, generated_at DESC, id DESC).
+-- This migration intentionally changes nothing.
@@ -0,0 +1,36 @@
+-- Per-regatta finance aggregates maintained by the finance projection.
+-- Payment and invoice events apply deltas; entry changes outside finance events mark the
+-- row stale and it is rebuilt from entries and invoices on the next read.
+
+CREATE TABLE finance_regatta_summaries (
+    regatta_id UUID PRIMARY KEY REFERENCES regattas(id) ON DELETE CASCADE,
+    unpaid_entry_count INTEGER NOT NULL DEFAULT 0,
+    paid_entry_count INTEGER NOT NULL DEFAULT 0,
+    draft_invoice_count INTEGER NOT NULL DEFAULT 0,
+    sent_invoice_count INTEGER NOT NULL DEFAULT 0,
+    paid_invoice_count INTEGER NOT NULL DEFAULT 0,
+    cancelled_invoice_count INTEGER NOT NULL DEFAULT 0,
+    outstanding_amount NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    paid_amount NUMERIC(12, 2) NOT NULL DEFAULT 0,
+    stale BOOLEAN NOT NULL DEFAULT FALSE,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+INSERT INTO finance_regatta_summaries (
+    regatta_id, unpaid_entry_count, paid_entry_count,
+    draft_invoice_count, sent_invoice_count, paid_invoice_count, cancelled_invoice_count,
+    outstanding_amount, paid_amount
+)
+SELECT
+    r.id,
+    (SELECT COUNT(*) FROM entries e WHERE e.regatta_id = r.id AND e.payment_status = 'unpaid'),
+    (SELECT COUNT(*) FROM entries e WHERE e.regatta_id = r.id AND e.payment_status = 'paid'),
+    (SELECT COUNT(*) FROM invoices i WHERE i.regatta_id = r.id AND i.status = 'draft'),
+    (SELECT COUNT(*) FROM invoices i WHERE i.regatta_id = r.id AND i.status = 'sent'),
+    (SELECT COUNT(*) FROM invoices i WHERE i.regatta_id = r.id AND i.status = 'paid'),
+    (SELECT COUNT(*) FROM invoices i WHERE i.regatta_id = r.id AND i.status = 'cancelled'),
+    (SELECT COALESCE(SUM(i.total_amount), 0) FROM invoices i
+        WHERE i.regatta_id = r.id AND i.status IN ('draft', 'sent')),
+    (SELECT COALESCE(SUM(i.total_amount), 0) FROM invoices i
+        WHERE i.regatta_id = r.id AND i.status = 'paid')
+FROM regattas r;
@@ -0,0 +1,4 @@
+-- Finance ledger export support: entries are streamed in (created_at, id) order,
+-- optionally restricted to a created_at range, across regattas.
+
+CREATE INDEX idx_entries_created_at ON entries (created_at, id);
@@ -0,0 +1,12 @@
+-- Storage usage released by queued tile object deletions.
+-- Each queue entry carries the tiles and bytes its object accounts for in
+-- line_scan_storage_usage. LineScanTileDeletionWorker applies them once the object is
+-- actually gone: pruned objects move to the pruned counters, the others are subtracted
+-- from the stored counters.
+
+ALTER TABLE line_scan_tile_deletions ADD COLUMN manifest_id UUID;
+ALTER TABLE line_scan_tile_deletions ADD COLUMN released_tiles INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE line_scan_tile_deletions ADD COLUMN released_bytes BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE line_scan_tile_deletions ADD COLUMN pruned BOOLEAN NOT NULL DEFAULT FALSE;
+
+COMMENT ON COLUMN line_scan_tile_deletions.manifest_id IS 'Manifest whose storage usage the object is counted in; NULL for entries queued before usage tracking';
@@ -0,0 +1,14 @@
+-- Deferred object-storage deletions for pruned line-scan tiles (H2 compatible).
+
+CREATE TABLE line_scan_tile_deletions (
+    id UUID PRIMARY KEY,
+    regatta_id UUID NOT NULL,
+    capture_session_id UUID NOT NULL,
+    tile_id CHARACTER VARYING(255) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0 CHECK (attempts >= 0),
+    last_error CLOB,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_line_scan_tile_deletions_due ON line_scan_tile_deletions(next_attempt_at);
@@ -0,0 +1,9 @@
+-- Resumable line-scan retention evaluation (H2 compatible).
+
+CREATE TABLE line_scan_retention_cursors (
+    job_name CHARACTER VARYING(100) PRIMARY KEY,
+    last_regatta_id UUID NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_line_scan_manifests_state_regatta ON line_scan_manifests(retention_state, regatta_id);
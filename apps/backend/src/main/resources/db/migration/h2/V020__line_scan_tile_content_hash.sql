@@ -0,0 +1,4 @@
+-- Content hash of uploaded line-scan tiles (H2 compatible).
+
+-- Keep updated_at the last column, UpdateTimestampTrigger writes to it by position.
+ALTER TABLE line_scan_tiles ADD COLUMN content_sha256 CHARACTER VARYING(64) BEFORE updated_at;
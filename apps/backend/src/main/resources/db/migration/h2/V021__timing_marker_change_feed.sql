@@ -0,0 +1,20 @@
+-- Change feed for operator marker sync (H2 compatible)
+
+CREATE SEQUENCE timing_marker_change_seq;
+
+-- Keep updated_at the last column, UpdateTimestampTrigger writes to it by position.
+ALTER TABLE timing_markers
+    ADD COLUMN change_seq BIGINT NOT NULL DEFAULT NEXT VALUE FOR timing_marker_change_seq BEFORE updated_at;
+
+CREATE INDEX idx_timing_markers_change_seq ON timing_markers(change_seq);
+CREATE INDEX idx_timing_markers_session_timestamp_id ON timing_markers(capture_session_id, timestamp_ms, id);
+
+CREATE TABLE timing_marker_tombstones (
+    marker_id UUID PRIMARY KEY,
+    regatta_id UUID NOT NULL REFERENCES regattas(id) ON DELETE CASCADE,
+    capture_session_id UUID NOT NULL,
+    change_seq BIGINT NOT NULL DEFAULT NEXT VALUE FOR timing_marker_change_seq,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_timing_marker_tombstones_regatta_seq ON timing_marker_tombstones(regatta_id, change_seq);
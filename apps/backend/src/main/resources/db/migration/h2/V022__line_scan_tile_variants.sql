@@ -0,0 +1,15 @@
+-- Transcoded variants of line-scan tiles (H2 compatible).
+
+-- Keep updated_at the last column, UpdateTimestampTrigger writes to it by position.
+ALTER TABLE line_scan_tiles ADD COLUMN transcode_state CHARACTER VARYING(20)
+    CHECK (transcode_state IN ('pending', 'ready', 'skipped', 'failed')) BEFORE updated_at;
+ALTER TABLE line_scan_tiles ADD COLUMN transcode_attempts INTEGER NOT NULL DEFAULT 0
+    CHECK (transcode_attempts >= 0) BEFORE updated_at;
+ALTER TABLE line_scan_tiles ADD COLUMN transcode_error CLOB BEFORE updated_at;
+ALTER TABLE line_scan_tiles ADD COLUMN transcode_next_attempt_at TIMESTAMP WITH TIME ZONE BEFORE updated_at;
+ALTER TABLE line_scan_tiles ADD COLUMN variant_content_type CHARACTER VARYING(50)
+    CHECK (variant_content_type IN ('image/webp', 'image/png')) BEFORE updated_at;
+ALTER TABLE line_scan_tiles ADD COLUMN variant_byte_size INTEGER CHECK (variant_byte_size >= 0) BEFORE updated_at;
+ALTER TABLE line_scan_tiles ADD COLUMN variant_sha256 CHARACTER VARYING(64) BEFORE updated_at;
+
+CREATE INDEX idx_line_scan_tiles_transcode_due ON line_scan_tiles(transcode_state, transcode_next_attempt_at);
@@ -0,0 +1,17 @@
+-- Automatic finish-crossing candidates (H2 compatible).
+
+-- Keep updated_at the last column, UpdateTimestampTrigger writes to it by position.
+ALTER TABLE timing_markers ADD COLUMN source CHARACTER VARYING(20) NOT NULL DEFAULT 'manual'
+    CHECK (source IN ('manual', 'detected')) BEFORE updated_at;
+ALTER TABLE timing_markers ADD COLUMN confidence DOUBLE PRECISION
+    CHECK (confidence >= 0 AND confidence <= 1) BEFORE updated_at;
+
+CREATE INDEX idx_timing_markers_session_source_tile ON timing_markers(capture_session_id, source, tile_id);
+
+ALTER TABLE line_scan_tiles ADD COLUMN detection_state CHARACTER VARYING(20)
+    CHECK (detection_state IN ('pending', 'done', 'failed')) BEFORE updated_at;
+ALTER TABLE line_scan_tiles ADD COLUMN detection_attempts INTEGER NOT NULL DEFAULT 0
+    CHECK (detection_attempts >= 0) BEFORE updated_at;
+ALTER TABLE line_scan_tiles ADD COLUMN detection_next_attempt_at TIMESTAMP WITH TIME ZONE BEFORE updated_at;
+
+CREATE INDEX idx_line_scan_tiles_detection_due ON line_scan_tiles(detection_state, detection_next_attempt_at);
@@ -0,0 +1,16 @@
+-- Resumable chunked tile uploads (H2 compatible).
+
+CREATE TABLE line_scan_tile_uploads (
+    id UUID PRIMARY KEY,
+    regatta_id UUID NOT NULL,
+    tile_id CHARACTER VARYING(255) NOT NULL,
+    content_type CHARACTER VARYING(100) NOT NULL,
+    total_bytes INTEGER NOT NULL CHECK (total_bytes > 0),
+    received_bytes INTEGER NOT NULL DEFAULT 0 CHECK (received_bytes >= 0 AND received_bytes <= total_bytes),
+    expected_sha256 CHARACTER VARYING(64),
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_line_scan_tile_uploads_expires ON line_scan_tile_uploads(expires_at);
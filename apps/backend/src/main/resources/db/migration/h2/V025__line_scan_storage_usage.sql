@@ -0,0 +1,23 @@
+-- Storage usage accounting for line-scan tiles (H2 compatible).
+
+CREATE TABLE line_scan_storage_usage (
+    manifest_id UUID PRIMARY KEY REFERENCES line_scan_manifests(id) ON DELETE CASCADE,
+    regatta_id UUID NOT NULL,
+    tile_count BIGINT NOT NULL DEFAULT 0,
+    stored_bytes BIGINT NOT NULL DEFAULT 0,
+    pruned_tile_count BIGINT NOT NULL DEFAULT 0,
+    pruned_bytes BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_line_scan_storage_usage_regatta ON line_scan_storage_usage(regatta_id);
+
+INSERT INTO line_scan_storage_usage (manifest_id, regatta_id, tile_count, stored_bytes)
+SELECT m.id,
+       m.regatta_id,
+       COALESCE(SUM(CASE WHEN t.upload_state = 'ready' THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(CASE WHEN t.upload_state = 'ready'
+           THEN COALESCE(t.byte_size, 0) + COALESCE(t.variant_byte_size, 0) ELSE 0 END), 0)
+FROM line_scan_manifests m
+LEFT JOIN line_scan_tiles t ON t.manifest_id = m.id
+GROUP BY m.id, m.regatta_id;
@@ -0,0 +1,40 @@
+-- Idempotency keys for finance operations (H2 compatible).
+-- Bulk payment keys are not backfilled from event payloads here; the test database starts empty.
+
+CREATE TABLE idempotency_keys (
+    scope CHARACTER VARYING(128) NOT NULL,
+    actor CHARACTER VARYING(255) NOT NULL,
+    idempotency_key CHARACTER VARYING(128) NOT NULL,
+    request_fingerprint CHARACTER VARYING(64) NOT NULL,
+    result_id UUID NOT NULL,
+    result_sequence BIGINT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (scope, actor, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_expires ON idempotency_keys(expires_at);
+
+INSERT INTO idempotency_keys (
+    scope, actor, idempotency_key, request_fingerprint, result_id, result_sequence, created_at, expires_at
+)
+SELECT 'invoices.generate:' || CAST(j.regatta_id AS CHARACTER VARYING),
+       j.requested_by,
+       j.idempotency_key,
+       j.request_fingerprint,
+       j.job_id,
+       NULL,
+       j.created_at,
+       DATEADD('DAY', 7, j.created_at)
+FROM invoice_generation_jobs j
+WHERE j.idempotency_key IS NOT NULL
+  AND j.created_at > DATEADD('DAY', -7, CURRENT_TIMESTAMP)
+  AND NOT EXISTS (
+      SELECT 1
+      FROM invoice_generation_jobs newer
+      WHERE newer.regatta_id = j.regatta_id
+        AND newer.requested_by = j.requested_by
+        AND newer.idempotency_key = j.idempotency_key
+        AND (newer.created_at > j.created_at
+             OR (newer.created_at = j.created_at AND newer.job_id > j.job_id))
+  );
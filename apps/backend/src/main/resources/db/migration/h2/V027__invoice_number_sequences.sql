@@ -0,0 +1,15 @@
+-- Per-regatta invoice number sequences and invoice generation job progress (H2 compatible).
+
+CREATE TABLE invoice_number_sequences (
+    regatta_id UUID PRIMARY KEY REFERENCES regattas(id) ON DELETE CASCADE,
+    last_number BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO invoice_number_sequences (regatta_id, last_number)
+SELECT regatta_id, COUNT(*)
+FROM invoices
+GROUP BY regatta_id;
+
+ALTER TABLE invoice_generation_jobs ADD COLUMN total_clubs INTEGER;
+ALTER TABLE invoice_generation_jobs ADD COLUMN processed_clubs INTEGER NOT NULL DEFAULT 0;
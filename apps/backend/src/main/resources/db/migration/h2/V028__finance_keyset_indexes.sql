@@ -0,0 +1,3 @@
+-- Keyset pagination support for the finance entry list (H2 compatible).
+-- The keyset is bounded by entries.regatta_id, not by an index, so like the PostgreSQL
+-- migration this one intentionally changes nothing and only keeps the version numbers aligned.
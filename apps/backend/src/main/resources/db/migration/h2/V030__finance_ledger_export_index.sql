@@ -0,0 +1,4 @@
+-- Finance ledger export support (H2 compatible).
+-- Entries are streamed in (created_at, id) order, optionally restricted to a created_at range.
+
+CREATE INDEX IF NOT EXISTS idx_entries_created_at ON entries (created_at, id);
@@ -0,0 +1,20 @@
+-- Database-backed invoice generation job queue (H2 compatible).
+-- Jobs are claimed by any replica with FOR UPDATE SKIP LOCKED and held under a heartbeat
+-- lease; a job whose lease expires is reclaimed, a failed attempt is retried with backoff.
+
+ALTER TABLE invoice_generation_jobs ADD COLUMN attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE invoice_generation_jobs ADD COLUMN next_attempt_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE invoice_generation_jobs ADD COLUMN lease_owner VARCHAR(255);
+ALTER TABLE invoice_generation_jobs ADD COLUMN lease_expires_at TIMESTAMP WITH TIME ZONE;
+
+DROP INDEX IF EXISTS idx_invoice_generation_jobs_status;
+
+CREATE INDEX IF NOT EXISTS idx_invoice_generation_jobs_claim
+    ON invoice_generation_jobs(status, created_at);
+
+-- Invoices created by a job, so a retried attempt continues where the previous one stopped
+ALTER TABLE invoices ADD COLUMN generation_job_id UUID
+    REFERENCES invoice_generation_jobs(job_id) ON DELETE SET NULL;
+
+CREATE INDEX IF NOT EXISTS idx_invoices_generation_job
+    ON invoices(generation_job_id);
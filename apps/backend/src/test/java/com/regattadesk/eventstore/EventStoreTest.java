@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -399,4 +400,69 @@ class EventStoreTest {
         assertEquals(aggregateId, envelope.getAggregateId());
         assertNotNull(envelope.getMetadata());
     }
+
+    @Test
+    void testAppendAllToNewAndExistingAggregates() {
+        UUID existingId = UUID.randomUUID();
+        UUID newId = UUID.randomUUID();
+        eventStore.append(existingId, "TestAggregate", -1,
+                List.of(new TestEvent("Event1", existingId, "data1")), EventMetadata.builder().build());
+
+        Map<UUID, Long> versions = eventStore.getCurrentVersions(List.of(existingId, newId));
+        assertEquals(Map.of(existingId, 1L), versions);
+
+        EventMetadata metadata = EventMetadata.builder()
+                .correlationId(UUID.randomUUID())
+                .build();
+        eventStore.appendAll(List.of(
+                new StreamAppend(existingId, "TestAggregate", 1,
+                        List.of(new TestEvent("Event2", existingId, "data2"))),
+                new StreamAppend(newId, "OtherAggregate", -1, List.of(
+                        new TestEvent("Event1", newId, "data1"),
+                        new TestEvent("Event2", newId, "data2")))
+        ), metadata);
+
+        assertEquals(Map.of(existingId, 2L, newId, 2L), eventStore.getCurrentVersions(List.of(existingId, newId)));
+        List<EventEnvelope> existingStream = eventStore.readStream(existingId);
+        assertEquals(2, existingStream.size());
+        assertEquals(2, existingStream.get(1).getSequenceNumber());
+        List<EventEnvelope> newStream = eventStore.readStream(newId);
+        assertEquals(2, newStream.size());
+        assertEquals("OtherAggregate", newStream.get(0).getAggregateType());
+        assertEquals(metadata.getCorrelationId(), newStream.get(1).getMetadata().getCorrelationId());
+    }
+
+    @Test
+    void testAppendAllConflictAppendsNothing() {
+        UUID existingId = UUID.randomUUID();
+        UUID newId = UUID.randomUUID();
+        eventStore.append(existingId, "TestAggregate", -1,
+                List.of(new TestEvent("Event1", existingId, "data1")), EventMetadata.builder().build());
+
+        ConcurrencyException exception = assertThrows(ConcurrencyException.class, () ->
+                eventStore.appendAll(List.of(
+                        new StreamAppend(newId, "TestAggregate", -1,
+                                List.of(new TestEvent("Event1", newId, "data1"))),
+                        new StreamAppend(existingId, "TestAggregate", 0,
+                                List.of(new TestEvent("Event2", existingId, "data2")))
+                ), EventMetadata.builder().build()));
+
+        assertEquals(existingId, exception.getAggregateId());
+        assertEquals(1, exception.getActualVersion());
+        assertEquals(-1, eventStore.getCurrentVersion(newId));
+        assertEquals(1, eventStore.readStream(existingId).size());
+    }
+
+    @Test
+    void testAppendAllRejectsDuplicateAggregate() {
+        UUID aggregateId = UUID.randomUUID();
+
+        assertThrows(IllegalArgumentException.class, () ->
+                eventStore.appendAll(List.of(
+                        new StreamAppend(aggregateId, "TestAggregate", -1,
+                                List.of(new TestEvent("Event1", aggregateId, "data1"))),
+                        new StreamAppend(aggregateId, "TestAggregate", -1,
+                                List.of(new TestEvent("Event2", aggregateId, "data2")))
+                ), EventMetadata.builder().build()));
+    }
 }
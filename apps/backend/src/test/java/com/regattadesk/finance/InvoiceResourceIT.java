@@ -1,25 +1,41 @@
 package com.regattadesk.finance;
 
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.parser.PdfTextExtractor;
+import com.regattadesk.finance.service.IdempotencyKeyService;
+import com.regattadesk.finance.service.InvoiceGenerationJobRunner;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 
 import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 class InvoiceResourceIT {
@@ -27,6 +43,12 @@ class InvoiceResourceIT {
     @Inject
     DataSource dataSource;
 
+    @Inject
+    IdempotencyKeyService idempotencyKeys;
+
+    @Inject
+    InvoiceGenerationJobRunner jobRunner;
+
     @Test
     void invoiceLifecycle_endpointsSupportGenerateListDetailAndMarkPaid() throws Exception {
         TestData data = seedInvoiceData();
@@ -132,7 +154,7 @@ class InvoiceResourceIT {
         String clubTwoInvoiceId = awaitCompletedJob(data.regattaId, UUID.fromString(secondJobId));
         assertNotNull(clubTwoInvoiceId);
 
-        given()
+        String cursor = given()
             .header("Remote-User", "fin-user")
             .header("Remote-Groups", "financial_manager")
             .when()
@@ -140,8 +162,37 @@ class InvoiceResourceIT {
             .then()
             .statusCode(200)
             .body("data", hasSize(1))
+            .body("data[0].id", equalTo(clubTwoInvoiceId))
             .body("pagination.has_more", equalTo(true))
-            .body("pagination.next_cursor", equalTo("1"));
+            .body("pagination.next_cursor", notNullValue())
+            .extract()
+            .path("pagination.next_cursor");
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .queryParam("limit", 1)
+            .queryParam("cursor", cursor)
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/invoices")
+            .then()
+            .statusCode(200)
+            .body("data", hasSize(1))
+            .body("data[0].id", equalTo(clubOneInvoiceId))
+            .body("pagination.has_more", equalTo(false));
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .queryParam("limit", 1)
+            .queryParam("cursor", "1")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/invoices")
+            .then()
+            .statusCode(200)
+            .body("data", hasSize(1))
+            .body("data[0].id", equalTo(clubOneInvoiceId))
+            .body("pagination.has_more", equalTo(false));
 
         given()
             .header("Remote-User", "fin-user")
@@ -341,6 +392,507 @@ class InvoiceResourceIT {
         org.junit.jupiter.api.Assertions.assertNotEquals(initialJobId, differentPayloadJobId);
     }
 
+    @Test
+    void generateInvoices_replaysJobAfterIdempotencyKeyExpired() throws Exception {
+        TestData data = seedInvoiceData();
+        String body = """
+            {
+              "club_ids": ["%s"],
+              "idempotency_key": "invoice-job-expired"
+            }
+            """.formatted(data.clubOneId);
+
+        String initialJobId = given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .contentType("application/json")
+            .body(body)
+            .when()
+            .post("/api/v1/regattas/" + data.regattaId + "/invoices/generate")
+            .then()
+            .statusCode(202)
+            .extract()
+            .path("job_id");
+
+        assertTrue(idempotencyKeys.find(
+            IdempotencyKeyService.scope(IdempotencyKeyService.INVOICE_GENERATION_OPERATION, data.regattaId),
+            "fin-user",
+            "invoice-job-expired").isPresent());
+        assertTrue(idempotencyKeys.purgeExpired(Instant.now().plus(Duration.ofDays(8))) >= 1);
+
+        String replayedJobId = given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .contentType("application/json")
+            .body(body)
+            .when()
+            .post("/api/v1/regattas/" + data.regattaId + "/invoices/generate")
+            .then()
+            .statusCode(202)
+            .extract()
+            .path("job_id");
+
+        assertEquals(initialJobId, replayedJobId);
+    }
+
+    @Test
+    void generateInvoices_allClubsInParallelWithSequentialNumbersAndProgress() throws Exception {
+        TestData data = seedInvoiceData();
+
+        String jobId = given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .contentType("application/json")
+            .body("{}")
+            .when()
+            .post("/api/v1/regattas/" + data.regattaId + "/invoices/generate")
+            .then()
+            .statusCode(202)
+            .extract()
+            .path("job_id");
+        awaitCompletedJob(data.regattaId, UUID.fromString(jobId));
+
+        List<String> invoiceIds = given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/invoices/jobs/" + jobId)
+            .then()
+            .statusCode(200)
+            .body("total_clubs", equalTo(2))
+            .body("processed_clubs", equalTo(2))
+            .body("invoice_ids", hasSize(2))
+            .extract()
+            .path("invoice_ids");
+
+        Set<String> sequenceNumbers = new HashSet<>();
+        for (String invoiceId : invoiceIds) {
+            String invoiceNumber = given()
+                .header("Remote-User", "fin-user")
+                .header("Remote-Groups", "financial_manager")
+                .when()
+                .get("/api/v1/regattas/" + data.regattaId + "/invoices/" + invoiceId)
+                .then()
+                .statusCode(200)
+                .extract()
+                .path("invoice_number");
+            sequenceNumbers.add(invoiceNumber.split("-")[3]);
+        }
+        assertEquals(Set.of("0001", "0002"), sequenceNumbers);
+    }
+
+    @Test
+    void downloadInvoicePdfs_streamsOnePdfPerJobInvoiceAsZip() throws Exception {
+        TestData data = seedInvoiceData();
+
+        String jobId = given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .contentType("application/json")
+            .body("{}")
+            .when()
+            .post("/api/v1/regattas/" + data.regattaId + "/invoices/generate")
+            .then()
+            .statusCode(202)
+            .extract()
+            .path("job_id");
+        String invoiceId = awaitCompletedJob(data.regattaId, UUID.fromString(jobId));
+
+        byte[] zip = given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/invoices/jobs/" + jobId + "/pdf")
+            .then()
+            .statusCode(200)
+            .contentType("application/zip")
+            .extract()
+            .asByteArray();
+
+        Set<String> clubs = new HashSet<>();
+        try (ZipInputStream entries = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = entries.getNextEntry()) != null) {
+                assertTrue(entry.getName().startsWith("INV-") && entry.getName().endsWith(".pdf"), entry.getName());
+                String text = extractFirstPageText(entries.readAllBytes());
+                assertTrue(text.contains("Invoice IT Regatta"), text);
+                assertTrue(text.contains("EUR"), text);
+                clubs.add(text.contains("Invoice Club One") ? "one" : text.contains("Invoice Club Two") ? "two" : text);
+            }
+        }
+        assertEquals(Set.of("one", "two"), clubs);
+
+        byte[] pdf = given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/invoices/" + invoiceId + "/pdf")
+            .then()
+            .statusCode(200)
+            .contentType("application/pdf")
+            .extract()
+            .asByteArray();
+        assertEquals("%PDF-", new String(pdf, 0, 5, StandardCharsets.US_ASCII));
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/invoices/jobs/" + UUID.randomUUID() + "/pdf")
+            .then()
+            .statusCode(404);
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/invoices/" + UUID.randomUUID() + "/pdf")
+            .then()
+            .statusCode(404);
+    }
+
+    @Test
+    void financeSummary_tracksInvoiceGenerationAndPayment() throws Exception {
+        TestData data = seedInvoiceData();
+
+        int unpaidEntries = given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/finance/summary")
+            .then()
+            .statusCode(200)
+            .body("paid_entries", equalTo(0))
+            .body("invoices.draft", equalTo(0))
+            .body("outstanding_amount", equalTo(0.0f))
+            .extract()
+            .path("unpaid_entries");
+
+        String jobId = given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .contentType("application/json")
+            .body("{\"club_ids\": [\"" + data.clubOneId + "\"]}")
+            .when()
+            .post("/api/v1/regattas/" + data.regattaId + "/invoices/generate")
+            .then()
+            .statusCode(202)
+            .extract()
+            .path("job_id");
+        String invoiceId = awaitCompletedJob(data.regattaId, UUID.fromString(jobId));
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/finance/summary")
+            .then()
+            .statusCode(200)
+            .body("invoices.draft", equalTo(1))
+            .body("invoices.paid", equalTo(0))
+            .body("outstanding_amount", equalTo(25.00f))
+            .body("currency", equalTo("EUR"));
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .contentType("application/json")
+            .body("{\"paid_by\": \"cashier-1\"}")
+            .when()
+            .post("/api/v1/regattas/" + data.regattaId + "/invoices/" + invoiceId + "/mark_paid")
+            .then()
+            .statusCode(200);
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/finance/summary")
+            .then()
+            .statusCode(200)
+            .body("invoices.draft", equalTo(0))
+            .body("invoices.paid", equalTo(1))
+            .body("outstanding_amount", equalTo(0.0f))
+            .body("paid_amount", equalTo(25.00f))
+            .body("paid_entries", equalTo(2))
+            .body("unpaid_entries", equalTo(unpaidEntries - 2));
+    }
+
+    @Test
+    void reconcilePayments_marksInvoiceMatchedByNumberPaid() throws Exception {
+        TestData data = seedInvoiceData();
+
+        String jobId = given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .contentType("application/json")
+            .body("{\"club_ids\": [\"" + data.clubOneId + "\"]}")
+            .when()
+            .post("/api/v1/regattas/" + data.regattaId + "/invoices/generate")
+            .then()
+            .statusCode(202)
+            .extract()
+            .path("job_id");
+        String invoiceId = awaitCompletedJob(data.regattaId, UUID.fromString(jobId));
+        String invoiceNumber = given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/invoices/" + invoiceId)
+            .then()
+            .statusCode(200)
+            .extract()
+            .path("invoice_number");
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .contentType("text/csv")
+            .body("date,amount,description\n"
+                + "2026-03-09,20.00,Invoice " + invoiceNumber + "\n"
+                + "2026-03-10,25.00,Invoice " + invoiceNumber + "\n")
+            .when()
+            .post("/api/v1/regattas/" + data.regattaId + "/payments/reconcile")
+            .then()
+            .statusCode(200)
+            .body("matched_lines", equalTo(1))
+            .body("unmatched_lines[0].reason", equalTo("AMOUNT_MISMATCH"))
+            .body("updated_count", equalTo(2))
+            .body("invoices_paid", equalTo(1));
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/invoices/" + invoiceId)
+            .then()
+            .statusCode(200)
+            .body("status", equalTo("paid"))
+            .body("paid_at", equalTo("2026-03-10T00:00:00Z"));
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/entries/" + data.entryOneId + "/payment_status")
+            .then()
+            .statusCode(200)
+            .body("payment_status", equalTo("paid"));
+    }
+
+    @Test
+    void financeLedger_streamsEntryAndInvoiceRowsAsCsvAndNdjson() throws Exception {
+        TestData data = seedInvoiceData();
+
+        String jobId = given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .contentType("application/json")
+            .body("{\"club_ids\": [\"" + data.clubOneId + "\"]}")
+            .when()
+            .post("/api/v1/regattas/" + data.regattaId + "/invoices/generate")
+            .then()
+            .statusCode(202)
+            .extract()
+            .path("job_id");
+        String invoiceId = awaitCompletedJob(data.regattaId, UUID.fromString(jobId));
+        String today = LocalDate.now(ZoneOffset.UTC).toString();
+
+        String csv = given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .queryParam("regatta_id", data.regattaId)
+            .queryParam("from", today)
+            .queryParam("to", today)
+            .when()
+            .get("/api/v1/staff/finance/ledger")
+            .then()
+            .statusCode(200)
+            .contentType(containsString("text/csv"))
+            .header("Content-Disposition", containsString("finance-ledger.csv"))
+            .extract()
+            .asString();
+
+        List<String> lines = csv.lines().toList();
+        assertEquals(4, lines.size(), csv);
+        assertTrue(lines.get(0).startsWith("regatta_id,regatta_name,entry_id,bib,club_id,club_name"), lines.get(0));
+        assertEquals(2, lines.stream().filter(line -> line.contains(invoiceId)).count(), csv);
+        assertTrue(lines.stream().anyMatch(line -> line.contains(data.entryOneId.toString())
+            && line.contains("Invoice Club One") && line.contains(",12.50,EUR")), csv);
+        assertTrue(lines.stream().anyMatch(line -> line.contains("Invoice Club Two") && line.endsWith(",,,,,,EUR")), csv);
+
+        String ndjson = given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .queryParam("regatta_id", data.regattaId)
+            .queryParam("format", "ndjson")
+            .when()
+            .get("/api/v1/staff/finance/ledger")
+            .then()
+            .statusCode(200)
+            .contentType(containsString("application/x-ndjson"))
+            .extract()
+            .asString();
+
+        List<String> records = ndjson.lines().toList();
+        assertEquals(3, records.size(), ndjson);
+        assertTrue(records.stream().allMatch(record -> record.startsWith("{\"regatta_id\":\"" + data.regattaId + "\"")), ndjson);
+        assertEquals(2, records.stream().filter(record -> record.contains("\"invoice_id\":\"" + invoiceId + "\"")).count(), ndjson);
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .queryParam("regatta_id", data.regattaId)
+            .queryParam("from", LocalDate.now(ZoneOffset.UTC).plusDays(1).toString())
+            .when()
+            .get("/api/v1/staff/finance/ledger")
+            .then()
+            .statusCode(200)
+            .body(equalTo(lines.get(0) + "\r\n"));
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .queryParam("from", "2026-03-02")
+            .queryParam("to", "2026-03-01")
+            .when()
+            .get("/api/v1/staff/finance/ledger")
+            .then()
+            .statusCode(400);
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .queryParam("format", "xlsx")
+            .when()
+            .get("/api/v1/staff/finance/ledger")
+            .then()
+            .statusCode(400);
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .queryParam("from", "03/01/2026")
+            .when()
+            .get("/api/v1/staff/finance/ledger")
+            .then()
+            .statusCode(400);
+    }
+
+    @Test
+    void generationJob_orphanedByStoppedReplicaIsReclaimedAfterLeaseExpiry() throws Exception {
+        TestData data = seedInvoiceData();
+        UUID jobId = insertOrphanedJob(data.regattaId, 1);
+
+        jobRunner.pollJobs();
+        awaitCompletedJob(data.regattaId, jobId);
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/invoices/jobs/" + jobId)
+            .then()
+            .statusCode(200)
+            .body("total_clubs", equalTo(2))
+            .body("processed_clubs", equalTo(2))
+            .body("invoice_ids", hasSize(2));
+        assertEquals(2, readJobAttempts(jobId));
+    }
+
+    @Test
+    void generationJob_failsWhenReclaimedAfterItsLastAttempt() throws Exception {
+        TestData data = seedInvoiceData();
+        UUID jobId = insertOrphanedJob(data.regattaId, 3);
+
+        jobRunner.pollJobs();
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/invoices/jobs/" + jobId)
+            .then()
+            .statusCode(200)
+            .body("status", equalTo("failed"))
+            .body("error_message", containsString("abandoned after 3 attempts"));
+    }
+
+    @Test
+    void generationJob_waitsWhileAnotherJobOfTheRegattaHoldsALease() throws Exception {
+        TestData data = seedInvoiceData();
+        insertRunningJob(data.regattaId, "busy-replica");
+        UUID jobId = insertOrphanedJob(data.regattaId, 1);
+
+        jobRunner.pollJobs();
+
+        assertEquals(1, readJobAttempts(jobId));
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/invoices/jobs/" + jobId)
+            .then()
+            .statusCode(200)
+            .body("status", equalTo("running"))
+            .body("invoice_ids", hasSize(0));
+    }
+
+    private void insertRunningJob(UUID regattaId, String leaseOwner) throws Exception {
+        UUID jobId = UUID.randomUUID();
+        Timestamp now = Timestamp.from(Instant.now());
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("""
+                 INSERT INTO invoice_generation_jobs (
+                     job_id, regatta_id, status, requested_by, request_fingerprint, attempts,
+                     lease_owner, lease_expires_at, created_at, updated_at
+                 ) VALUES (?, ?, 'running', 'fin-user', ?, 1, ?, ?, ?, ?)
+                 """)) {
+            stmt.setObject(1, jobId);
+            stmt.setObject(2, regattaId);
+            stmt.setString(3, jobId.toString());
+            stmt.setString(4, leaseOwner);
+            stmt.setTimestamp(5, Timestamp.from(Instant.now().plus(Duration.ofMinutes(10))));
+            stmt.setTimestamp(6, now);
+            stmt.setTimestamp(7, now);
+            stmt.executeUpdate();
+        }
+    }
+
+    private UUID insertOrphanedJob(UUID regattaId, int attempts) throws Exception {
+        UUID jobId = UUID.randomUUID();
+        Timestamp createdAt = Timestamp.from(Instant.now().minus(Duration.ofMinutes(10)));
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("""
+                 INSERT INTO invoice_generation_jobs (
+                     job_id, regatta_id, status, requested_by, request_fingerprint, attempts,
+                     lease_owner, lease_expires_at, created_at, updated_at
+                 ) VALUES (?, ?, 'running', 'fin-user', ?, ?, 'stopped-replica', ?, ?, ?)
+                 """)) {
+            stmt.setObject(1, jobId);
+            stmt.setObject(2, regattaId);
+            stmt.setString(3, jobId.toString());
+            stmt.setInt(4, attempts);
+            stmt.setTimestamp(5, Timestamp.from(Instant.now().minus(Duration.ofMinutes(1))));
+            stmt.setTimestamp(6, createdAt);
+            stmt.setTimestamp(7, createdAt);
+            stmt.executeUpdate();
+        }
+        return jobId;
+    }
+
+    private int readJobAttempts(UUID jobId) throws Exception {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT attempts FROM invoice_generation_jobs WHERE job_id = ?")) {
+            stmt.setObject(1, jobId);
+            try (var rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
     private String awaitCompletedJob(UUID regattaId, UUID jobId) throws Exception {
         for (int attempt = 0; attempt < 50; attempt++) {
             var response = given()
@@ -365,6 +917,15 @@ class InvoiceResourceIT {
         throw new AssertionError("Invoice generation job did not complete in time");
     }
 
+    private static String extractFirstPageText(byte[] pdf) throws Exception {
+        PdfReader reader = new PdfReader(pdf);
+        try {
+            return new PdfTextExtractor(reader).getTextFromPage(1).replaceAll("\\s+", " ");
+        } finally {
+            reader.close();
+        }
+    }
+
     private int countAuditEvents(String eventType, UUID aggregateId) throws Exception {
         String sql = """
             SELECT COUNT(*) AS c
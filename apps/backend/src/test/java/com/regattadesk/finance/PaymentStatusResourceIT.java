@@ -1,5 +1,9 @@
 package com.regattadesk.finance;
 
+import com.regattadesk.entry.EntryCreatedEvent;
+import com.regattadesk.entry.EntryProjectionHandler;
+import com.regattadesk.eventstore.EventEnvelope;
+import com.regattadesk.finance.event.FinanceProjectionHandler;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
@@ -16,6 +20,8 @@ import java.util.UUID;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @QuarkusTest
@@ -24,6 +30,12 @@ class PaymentStatusResourceIT {
     @Inject
     DataSource dataSource;
 
+    @Inject
+    FinanceProjectionHandler financeProjectionHandler;
+
+    @Inject
+    EntryProjectionHandler entryProjectionHandler;
+
     @Test
     void entryPaymentStatus_canBeUpdatedAndIsAuditable() throws Exception {
         TestData data = seedFinanceData();
@@ -246,6 +258,57 @@ class PaymentStatusResourceIT {
             .body("processed_count", equalTo(2))
             .body("updated_count", equalTo(2))
             .body("failed_count", equalTo(0));
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/entries/" + data.entryTwoId + "/payment_status")
+            .then()
+            .statusCode(200)
+            .body("payment_status", equalTo("paid"))
+            .body("payment_reference", equalTo("CLUB-BULK-31"))
+            .body("paid_by", equalTo("fin-user"));
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/clubs/" + data.clubId + "/payment_status")
+            .then()
+            .statusCode(200)
+            .body("payment_status", equalTo("paid"))
+            .body("paid_entry_count", equalTo(2));
+    }
+
+    @Test
+    void bulkMarkPaymentStatus_reportsMissingClubs() throws Exception {
+        TestData data = seedFinanceData();
+        UUID missingClubId = UUID.randomUUID();
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .contentType("application/json")
+            .body("""
+                {
+                  "club_ids": ["%s", "%s"],
+                  "entry_ids": ["%s"],
+                  "payment_status": "paid"
+                }
+                """.formatted(missingClubId, data.clubId, data.entryOneId))
+            .when()
+            .post("/api/v1/regattas/" + data.regattaId + "/payments/mark_bulk")
+            .then()
+            .statusCode(200)
+            .body("success", equalTo(false))
+            .body("total_requested", equalTo(3))
+            .body("updated_count", equalTo(2))
+            .body("failed_count", equalTo(1))
+            .body("failures[0].code", equalTo("CLUB_NOT_FOUND"));
+
+        assertEquals(1, countAuditEvents("BulkPaymentStatusMarked", data.regattaId));
+        assertEquals(1, countAuditEvents("EntryPaymentStatusUpdated", data.entryOneId));
     }
 
     @Test
@@ -330,7 +393,7 @@ class PaymentStatusResourceIT {
     void financeDiscoveryEndpoints_applyPaginationBounds() throws Exception {
         TestData data = seedFinanceData();
 
-        given()
+        String cursor = given()
             .header("Remote-User", "fin-user")
             .header("Remote-Groups", "financial_manager")
             .queryParam("limit", 1)
@@ -340,7 +403,46 @@ class PaymentStatusResourceIT {
             .statusCode(200)
             .body("entries.size()", equalTo(1))
             .body("pagination.has_more", equalTo(true))
-            .body("pagination.next_cursor", equalTo("1"));
+            .body("pagination.next_cursor", notNullValue())
+            .extract()
+            .path("pagination.next_cursor");
+
+        String firstEntryId = given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .queryParam("limit", 1)
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/finance/entries")
+            .then()
+            .extract()
+            .path("entries[0].entry_id");
+
+        String secondEntryId = given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .queryParam("limit", 1)
+            .queryParam("cursor", cursor)
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/finance/entries")
+            .then()
+            .statusCode(200)
+            .body("entries.size()", equalTo(1))
+            .body("entries[0].entry_id", not(equalTo(firstEntryId)))
+            .extract()
+            .path("entries[0].entry_id");
+
+        // Numeric offset cursors issued before keyset paging still resolve to the same page
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .queryParam("limit", 1)
+            .queryParam("cursor", "1")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/finance/entries")
+            .then()
+            .statusCode(200)
+            .body("entries.size()", equalTo(1))
+            .body("entries[0].entry_id", equalTo(secondEntryId));
 
         given()
             .header("Remote-User", "fin-user")
@@ -350,7 +452,7 @@ class PaymentStatusResourceIT {
             .get("/api/v1/regattas/" + data.regattaId + "/finance/clubs")
             .then()
             .statusCode(400)
-            .body("error.message", equalTo("cursor must be a non-negative integer no greater than 10000"));
+            .body("error.message", equalTo("cursor is invalid"));
 
         given()
             .header("Remote-User", "fin-user")
@@ -363,6 +465,263 @@ class PaymentStatusResourceIT {
             .body("error.message", equalTo("cursor must be a non-negative integer no greater than 10000"));
     }
 
+    @Test
+    void financeSummary_appliesPaymentUpdatesAndRebuildsWhenStale() throws Exception {
+        TestData data = seedFinanceData();
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "info_desk")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/finance/summary")
+            .then()
+            .statusCode(200)
+            .body("regatta_id", equalTo(data.regattaId.toString()))
+            .body("billable_entries", equalTo(2))
+            .body("paid_entries", equalTo(0))
+            .body("unpaid_entries", equalTo(2));
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .contentType("application/json")
+            .body("""
+                {
+                  "payment_status": "paid"
+                }
+                """)
+            .when()
+            .put("/api/v1/regattas/" + data.regattaId + "/entries/" + data.entryOneId + "/payment_status")
+            .then()
+            .statusCode(200);
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "info_desk")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/finance/summary")
+            .then()
+            .statusCode(200)
+            .body("paid_entries", equalTo(1))
+            .body("unpaid_entries", equalTo(1));
+
+        try (Connection conn = dataSource.getConnection()) {
+            financeProjectionHandler.markRegattaSummaryStale(conn, data.regattaId);
+            try (PreparedStatement stmt = conn.prepareStatement(
+                     "UPDATE finance_regatta_summaries SET paid_entry_count = 0 WHERE regatta_id = ?")) {
+                stmt.setObject(1, data.regattaId);
+                stmt.executeUpdate();
+            }
+        }
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "info_desk")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/finance/summary")
+            .then()
+            .statusCode(200)
+            .body("billable_entries", equalTo(2))
+            .body("paid_entries", equalTo(1));
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "info_desk")
+            .when()
+            .get("/api/v1/regattas/" + UUID.randomUUID() + "/finance/summary")
+            .then()
+            .statusCode(404);
+    }
+
+    @Test
+    void financeSummary_countsCreatedEntriesWithoutRebuilding() throws Exception {
+        TestData data = seedFinanceData();
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "info_desk")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/finance/summary")
+            .then()
+            .statusCode(200)
+            .body("unpaid_entries", equalTo(2));
+
+        EntryCreatedEvent created;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT event_id, block_id, crew_id FROM entries WHERE id = ?")) {
+            stmt.setObject(1, data.entryOneId);
+            try (var rs = stmt.executeQuery()) {
+                rs.next();
+                created = new EntryCreatedEvent(UUID.randomUUID(), data.regattaId, (UUID) rs.getObject("event_id"),
+                    (UUID) rs.getObject("block_id"), (UUID) rs.getObject("crew_id"), data.clubId);
+            }
+        }
+        EventEnvelope envelope = EventEnvelope.builder()
+            .eventId(UUID.randomUUID())
+            .aggregateId(created.getAggregateId())
+            .aggregateType("Entry")
+            .eventType(created.getEventType())
+            .sequenceNumber(1)
+            .payload(created)
+            .createdAt(Instant.now())
+            .build();
+        entryProjectionHandler.handle(envelope);
+        // A replayed event must not count the entry twice
+        entryProjectionHandler.handle(envelope);
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT unpaid_entry_count, stale FROM finance_regatta_summaries WHERE regatta_id = ?")) {
+            stmt.setObject(1, data.regattaId);
+            try (var rs = stmt.executeQuery()) {
+                rs.next();
+                assertEquals(3, rs.getInt("unpaid_entry_count"));
+                assertEquals(false, rs.getBoolean("stale"));
+            }
+        }
+    }
+
+    @Test
+    void clubPaymentStatuses_areRecomputedSetBasedForBatchesOfClubs() throws Exception {
+        TestData data = seedFinanceData();
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .contentType("application/json")
+            .body("""
+                {
+                  "entry_ids": ["%s", "%s"],
+                  "payment_status": "paid"
+                }
+                """.formatted(data.entryOneId, data.entryTwoId))
+            .when()
+            .post("/api/v1/regattas/" + data.regattaId + "/payments/mark_bulk")
+            .then()
+            .statusCode(200)
+            .body("updated_count", equalTo(2));
+
+        assertEquals("paid:2:2", readClubPaymentStatus(data.regattaId, data.clubId));
+
+        UUID emptyClubId = UUID.randomUUID();
+        try (Connection conn = dataSource.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement("""
+                INSERT INTO clubs (id, name, short_name, created_at, updated_at)
+                VALUES (?, 'Empty Finance Club', 'EFC', ?, ?)
+                """)) {
+                Timestamp now = Timestamp.from(Instant.now());
+                stmt.setObject(1, emptyClubId);
+                stmt.setTimestamp(2, now);
+                stmt.setTimestamp(3, now);
+                stmt.executeUpdate();
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(
+                     "UPDATE entries SET payment_status = 'unpaid' WHERE id = ?")) {
+                stmt.setObject(1, data.entryTwoId);
+                stmt.executeUpdate();
+            }
+
+            financeProjectionHandler.recomputeClubPaymentStatuses(
+                conn, data.regattaId, List.of(data.clubId, emptyClubId));
+        }
+
+        assertEquals("unpaid:2:1", readClubPaymentStatus(data.regattaId, data.clubId));
+        assertEquals("unpaid:0:0", readClubPaymentStatus(data.regattaId, emptyClubId));
+    }
+
+    @Test
+    void reconcilePayments_marksEntriesMatchedByPaymentReferenceAndReportsUnmatchedLines() throws Exception {
+        TestData data = seedFinanceData();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("UPDATE entries SET payment_reference = ? WHERE id = ?")) {
+            stmt.setString(1, "RD-ENTRY-" + data.entryOneId.toString().substring(0, 8));
+            stmt.setObject(2, data.entryOneId);
+            stmt.executeUpdate();
+        }
+        String statement = """
+            Booking Date;Amount;Reference
+            2026-03-10;12,50;"Crew one rd-entry-%s; thanks"
+            2026-03-10;12,50;UNKNOWN-REF
+
+            2026-03-11;5,00;
+            2026-03-12;10,00;RD-ENTRY-%s
+            """.formatted(data.entryOneId.toString().substring(0, 8), data.entryOneId.toString().substring(0, 8));
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .contentType("text/csv")
+            .body(statement)
+            .when()
+            .post("/api/v1/regattas/" + data.regattaId + "/payments/reconcile")
+            .then()
+            .statusCode(200)
+            .body("total_lines", equalTo(4))
+            .body("matched_lines", equalTo(1))
+            .body("unmatched_count", equalTo(3))
+            .body("updated_count", equalTo(1))
+            .body("unmatched_lines[0].line_number", equalTo(3))
+            .body("unmatched_lines[0].reason", equalTo("NO_MATCH"))
+            .body("unmatched_lines[1].line_number", equalTo(5))
+            .body("unmatched_lines[1].reason", equalTo("NO_REFERENCE"))
+            .body("unmatched_lines[2].line_number", equalTo(6))
+            .body("unmatched_lines[2].reason", equalTo("AMOUNT_MISMATCH"))
+            .body("unmatched_truncated", equalTo(false));
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .when()
+            .get("/api/v1/regattas/" + data.regattaId + "/entries/" + data.entryOneId + "/payment_status")
+            .then()
+            .statusCode(200)
+            .body("payment_status", equalTo("paid"));
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .contentType("text/csv")
+            .body(statement)
+            .when()
+            .post("/api/v1/regattas/" + data.regattaId + "/payments/reconcile")
+            .then()
+            .statusCode(200)
+            .body("updated_count", equalTo(0))
+            .body("unchanged_count", equalTo(1));
+
+        given()
+            .header("Remote-User", "fin-user")
+            .header("Remote-Groups", "financial_manager")
+            .contentType("text/csv")
+            .body("Amount;Booking Date\n12,50;2026-03-10\n")
+            .when()
+            .post("/api/v1/regattas/" + data.regattaId + "/payments/reconcile")
+            .then()
+            .statusCode(400)
+            .body("error.message", equalTo("Statement header has no reference column"));
+    }
+
+    private String readClubPaymentStatus(UUID regattaId, UUID clubId) throws Exception {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("""
+                 SELECT payment_status, billable_entry_count, paid_entry_count
+                 FROM club_payment_statuses
+                 WHERE regatta_id = ? AND club_id = ?
+                 """)) {
+            stmt.setObject(1, regattaId);
+            stmt.setObject(2, clubId);
+            try (var rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                return rs.getString("payment_status") + ":"
+                    + rs.getInt("billable_entry_count") + ":"
+                    + rs.getInt("paid_entry_count");
+            }
+        }
+    }
+
     private int countAuditEvents(String eventType, UUID aggregateId) throws Exception {
         String sql = """
             SELECT COUNT(*) AS c
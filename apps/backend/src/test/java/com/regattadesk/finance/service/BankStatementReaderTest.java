@@ -0,0 +1,80 @@
+package com.regattadesk.finance.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BankStatementReaderTest {
+
+    @Test
+    void next_detectsSemicolonDelimiterAndHandlesQuotedFields() throws Exception {
+        try (BankStatementReader reader = new BankStatementReader(statement("""
+            \uFEFFBooking Date;Amount;Remittance Information
+            2026-03-10;12,50;"Invoice RD-1; ""club"" payment"
+
+            2026-03-11;5,00;
+            """))) {
+            BankStatementReader.StatementLine first = reader.next();
+            assertEquals(2, first.lineNumber());
+            assertEquals("Invoice RD-1; \"club\" payment", first.reference());
+            assertEquals("12,50", first.amount());
+            assertEquals("2026-03-10", first.bookingDate());
+
+            BankStatementReader.StatementLine second = reader.next();
+            assertEquals(4, second.lineNumber());
+            assertNull(second.reference());
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void next_readsCommaSeparatedStatementWithoutOptionalColumns() throws Exception {
+        try (BankStatementReader reader = new BankStatementReader(statement("""
+            id,description
+            1,RD-2026-0001
+            """))) {
+            BankStatementReader.StatementLine line = reader.next();
+            assertEquals("RD-2026-0001", line.reference());
+            assertNull(line.amount());
+            assertNull(line.bookingDate());
+        }
+    }
+
+    @Test
+    void next_rejectsStatementWithoutReferenceColumn() {
+        BankStatementReader reader = new BankStatementReader(statement("amount;date\n1;2026-03-10\n"));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, reader::next);
+        assertEquals("Statement header has no reference column", error.getMessage());
+    }
+
+    @Test
+    void next_rejectsEmptyStatement() {
+        BankStatementReader reader = new BankStatementReader(statement("\n\n"));
+
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+
+    @Test
+    void parseAmount_handlesDecimalCommaGroupingAndSigns() {
+        assertEquals(new BigDecimal("12.50"), BankStatementReader.parseAmount("12,50"));
+        assertEquals(new BigDecimal("1234.56"), BankStatementReader.parseAmount("1.234,56"));
+        assertEquals(new BigDecimal("1234.56"), BankStatementReader.parseAmount("1,234.56"));
+        assertEquals(new BigDecimal("1234"), BankStatementReader.parseAmount("1,234"));
+        assertEquals(new BigDecimal("-5.00"), BankStatementReader.parseAmount("EUR -5.00"));
+        assertNull(BankStatementReader.parseAmount("n/a"));
+        assertNull(BankStatementReader.parseAmount(null));
+    }
+
+    private static InputStream statement(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
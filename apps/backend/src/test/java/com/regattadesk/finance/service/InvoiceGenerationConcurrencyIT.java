@@ -0,0 +1,259 @@
+package com.regattadesk.finance.service;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs overlapping invoice generation jobs for the same regatta.
+ */
+@QuarkusTest
+class InvoiceGenerationConcurrencyIT {
+
+    private static final int CLUBS = 3;
+    private static final int ENTRIES_PER_CLUB = 4;
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    InvoiceService invoiceService;
+
+    @Test
+    void overlappingJobs_invoiceEachEntryOnce() throws Exception {
+        UUID regattaId = seedRegatta();
+        UUID jobA = insertRunningJob(regattaId, "replica-a");
+        UUID jobB = insertRunningJob(regattaId, "replica-b");
+
+        CyclicBarrier start = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<UUID>> runA = executor.submit(() -> {
+                start.await();
+                return invoiceService.generateInvoices(jobA, regattaId, List.of(), "fin-user", "replica-a");
+            });
+            Future<List<UUID>> runB = executor.submit(() -> {
+                start.await();
+                return invoiceService.generateInvoices(jobB, regattaId, List.of(), "fin-user", "replica-b");
+            });
+            List<UUID> invoiceIds = new ArrayList<>(runA.get(60, TimeUnit.SECONDS));
+            invoiceIds.addAll(runB.get(60, TimeUnit.SECONDS));
+
+            Map<UUID, Integer> invoicesPerEntry = readInvoicesPerEntry(regattaId);
+            assertEquals(CLUBS * ENTRIES_PER_CLUB, invoicesPerEntry.size());
+            invoicesPerEntry.forEach((entryId, invoices) ->
+                assertEquals(1, invoices, "entry " + entryId + " invoiced " + invoices + " times"));
+            assertEquals(invoiceIds.size(), countInvoices(regattaId));
+            assertEquals(0, countInvoicesWithWrongTotal(regattaId));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<UUID, Integer> readInvoicesPerEntry(UUID regattaId) throws Exception {
+        Map<UUID, Integer> counts = new HashMap<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("""
+                 SELECT ie.entry_id, COUNT(*) AS c
+                 FROM invoice_entries ie
+                 JOIN invoices i ON i.id = ie.invoice_id
+                 WHERE i.regatta_id = ? AND i.status <> 'cancelled'
+                 GROUP BY ie.entry_id
+                 """)) {
+            stmt.setObject(1, regattaId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    counts.put((UUID) rs.getObject("entry_id"), rs.getInt("c"));
+                }
+            }
+        }
+        return counts;
+    }
+
+    private int countInvoices(UUID regattaId) throws Exception {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT COUNT(*) FROM invoices WHERE regatta_id = ?")) {
+            stmt.setObject(1, regattaId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private int countInvoicesWithWrongTotal(UUID regattaId) throws Exception {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("""
+                 SELECT COUNT(*)
+                 FROM invoices i
+                 WHERE i.regatta_id = ?
+                   AND i.total_amount <> (SELECT COALESCE(SUM(ie.amount), 0) FROM invoice_entries ie WHERE ie.invoice_id = i.id)
+                 """)) {
+            stmt.setObject(1, regattaId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private UUID insertRunningJob(UUID regattaId, String leaseOwner) throws Exception {
+        UUID jobId = UUID.randomUUID();
+        Timestamp now = Timestamp.from(Instant.now());
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("""
+                 INSERT INTO invoice_generation_jobs (
+                     job_id, regatta_id, status, requested_by, request_fingerprint, attempts,
+                     lease_owner, lease_expires_at, created_at, updated_at
+                 ) VALUES (?, ?, 'running', 'fin-user', ?, 1, ?, ?, ?, ?)
+                 """)) {
+            stmt.setObject(1, jobId);
+            stmt.setObject(2, regattaId);
+            stmt.setString(3, jobId.toString());
+            stmt.setString(4, leaseOwner);
+            stmt.setTimestamp(5, Timestamp.from(Instant.now().plus(Duration.ofMinutes(10))));
+            stmt.setTimestamp(6, now);
+            stmt.setTimestamp(7, now);
+            stmt.executeUpdate();
+        }
+        return jobId;
+    }
+
+    private UUID seedRegatta() throws Exception {
+        UUID regattaId = UUID.randomUUID();
+        UUID categoryId = UUID.randomUUID();
+        UUID boatTypeId = UUID.randomUUID();
+        UUID blockId = UUID.randomUUID();
+        UUID eventId = UUID.randomUUID();
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            Timestamp now = Timestamp.from(Instant.now());
+
+            try (PreparedStatement stmt = conn.prepareStatement("""
+                INSERT INTO regattas (id, name, time_zone, status, entry_fee, currency, draw_revision, results_revision, created_at, updated_at)
+                VALUES (?, 'Overlapping Jobs Regatta', 'Europe/Amsterdam', 'draft', ?, 'EUR', 0, 0, ?, ?)
+                """)) {
+                stmt.setObject(1, regattaId);
+                stmt.setBigDecimal(2, BigDecimal.valueOf(12.50));
+                stmt.setTimestamp(3, now);
+                stmt.setTimestamp(4, now);
+                stmt.executeUpdate();
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement("""
+                INSERT INTO categories (id, name, gender, is_global, created_at, updated_at)
+                VALUES (?, 'Senior', 'ANY', TRUE, ?, ?)
+                """)) {
+                stmt.setObject(1, categoryId);
+                stmt.setTimestamp(2, now);
+                stmt.setTimestamp(3, now);
+                stmt.executeUpdate();
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement("""
+                INSERT INTO boat_types (id, code, name, rowers, coxswain, sculling, created_at, updated_at)
+                VALUES (?, ?, 'Overlap Boat', 1, FALSE, TRUE, ?, ?)
+                """)) {
+                stmt.setObject(1, boatTypeId);
+                stmt.setString(2, "OV" + UUID.randomUUID().toString().substring(0, 6));
+                stmt.setTimestamp(3, now);
+                stmt.setTimestamp(4, now);
+                stmt.executeUpdate();
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement("""
+                INSERT INTO blocks (id, regatta_id, name, start_time, event_interval_seconds, crew_interval_seconds, display_order, created_at, updated_at)
+                VALUES (?, ?, 'Overlap Block', ?, 300, 60, 0, ?, ?)
+                """)) {
+                stmt.setObject(1, blockId);
+                stmt.setObject(2, regattaId);
+                stmt.setTimestamp(3, now);
+                stmt.setTimestamp(4, now);
+                stmt.setTimestamp(5, now);
+                stmt.executeUpdate();
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement("""
+                INSERT INTO events (id, regatta_id, category_id, boat_type_id, name, display_order, created_at, updated_at)
+                VALUES (?, ?, ?, ?, 'Overlap Event', 0, ?, ?)
+                """)) {
+                stmt.setObject(1, eventId);
+                stmt.setObject(2, regattaId);
+                stmt.setObject(3, categoryId);
+                stmt.setObject(4, boatTypeId);
+                stmt.setTimestamp(5, now);
+                stmt.setTimestamp(6, now);
+                stmt.executeUpdate();
+            }
+
+            try (PreparedStatement clubStmt = conn.prepareStatement("""
+                     INSERT INTO clubs (id, name, short_name, created_at, updated_at)
+                     VALUES (?, ?, ?, ?, ?)
+                     """);
+                 PreparedStatement crewStmt = conn.prepareStatement("""
+                     INSERT INTO crews (id, display_name, is_composite, club_id, created_at, updated_at)
+                     VALUES (?, ?, FALSE, ?, ?, ?)
+                     """);
+                 PreparedStatement entryStmt = conn.prepareStatement("""
+                     INSERT INTO entries (id, regatta_id, event_id, block_id, crew_id, billing_club_id, status, payment_status, created_at, updated_at)
+                     VALUES (?, ?, ?, ?, ?, ?, 'entered', 'unpaid', ?, ?)
+                     """)) {
+                for (int club = 0; club < CLUBS; club++) {
+                    UUID clubId = UUID.randomUUID();
+                    clubStmt.setObject(1, clubId);
+                    clubStmt.setString(2, "Overlap Club " + club);
+                    clubStmt.setString(3, "OC" + club);
+                    clubStmt.setTimestamp(4, now);
+                    clubStmt.setTimestamp(5, now);
+                    clubStmt.executeUpdate();
+
+                    for (int entry = 0; entry < ENTRIES_PER_CLUB; entry++) {
+                        UUID crewId = UUID.randomUUID();
+                        crewStmt.setObject(1, crewId);
+                        crewStmt.setString(2, "Overlap Crew " + club + "-" + entry);
+                        crewStmt.setObject(3, clubId);
+                        crewStmt.setTimestamp(4, now);
+                        crewStmt.setTimestamp(5, now);
+                        crewStmt.executeUpdate();
+
+                        entryStmt.setObject(1, UUID.randomUUID());
+                        entryStmt.setObject(2, regattaId);
+                        entryStmt.setObject(3, eventId);
+                        entryStmt.setObject(4, blockId);
+                        entryStmt.setObject(5, crewId);
+                        entryStmt.setObject(6, clubId);
+                        entryStmt.setTimestamp(7, now);
+                        entryStmt.setTimestamp(8, now);
+                        entryStmt.executeUpdate();
+                    }
+                }
+            }
+
+            conn.commit();
+            conn.setAutoCommit(true);
+        }
+        return regattaId;
+    }
+}
@@ -0,0 +1,65 @@
+package com.regattadesk.linescan;
+
+import com.regattadesk.linescan.service.CrossingDetector;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CrossingDetector on synthetic line-scan tiles.
+ */
+class CrossingDetectorTest {
+
+    private final CrossingDetector detector = new CrossingDetector(24, 0.05, 16);
+
+    @Test
+    void detect_reportsLeadingEdgeOfHullButNotItsStern() {
+        List<CrossingDetector.Crossing> crossings = detector.detect(tile(40, 90, 4));
+
+        assertEquals(1, crossings.size());
+        assertEquals(40, crossings.get(0).column());
+        assertTrue(crossings.get(0).confidence() >= 0.5 && crossings.get(0).confidence() < 1.0);
+    }
+
+    @Test
+    void detect_reportsHullRunningOffTheTileEnd() {
+        List<CrossingDetector.Crossing> crossings = detector.detect(tile(80, 128, 4));
+
+        assertEquals(List.of(80), crossings.stream().map(CrossingDetector.Crossing::column).toList());
+    }
+
+    @Test
+    void detect_ignoresEmptyAndNoisyTiles() {
+        assertTrue(detector.detect(tile(0, 0, 4)).isEmpty());
+        assertTrue(detector.detect(tile(0, 0, 30)).isEmpty());
+    }
+
+    @Test
+    void detect_ignoresHullAlreadyPresentAtTileStart() {
+        assertTrue(detector.detect(tile(0, 30, 4)).isEmpty());
+    }
+
+    /**
+     * 128x64 tile of a graded background with per-pixel noise and a dark hull across rows
+     * 20-35 between columns {@code from} and {@code to}.
+     */
+    private static BufferedImage tile(int from, int to, int noise) {
+        BufferedImage image = new BufferedImage(128, 64, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(1);
+        for (int y = 0; y < 64; y++) {
+            for (int x = 0; x < 128; x++) {
+                int value = 100 + (y * 3) % 50 + random.nextInt(2 * noise + 1) - noise;
+                if (x >= from && x < to && y >= 20 && y < 36) {
+                    value = 20 + random.nextInt(30);
+                }
+                value = Math.max(0, Math.min(255, value));
+                image.setRGB(x, y, (value << 16) | (value << 8) | value);
+            }
+        }
+        return image;
+    }
+}
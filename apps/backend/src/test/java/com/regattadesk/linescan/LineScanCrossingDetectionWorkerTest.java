@@ -0,0 +1,124 @@
+package com.regattadesk.linescan;
+
+import com.regattadesk.linescan.model.TileDetectionTask;
+import com.regattadesk.linescan.repository.LineScanTileRepository;
+import com.regattadesk.linescan.service.LineScanCrossingDetectionWorker;
+import com.regattadesk.linescan.service.TimingMarkerService;
+import com.regattadesk.linescan.storage.TileStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LineScanCrossingDetectionWorker.
+ */
+@ExtendWith(MockitoExtension.class)
+class LineScanCrossingDetectionWorkerTest {
+
+    @Mock
+    private LineScanTileRepository tileRepository;
+
+    @Mock
+    private TileStorage tileStorage;
+
+    @Mock
+    private TimingMarkerService markerService;
+
+    private LineScanCrossingDetectionWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new LineScanCrossingDetectionWorker(
+            tileRepository, tileStorage, markerService, true, 2, 3, 24, 0.05, 100);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void drain_mapsLeadingEdgeToMarkerTimeAndFinishesTile() throws Exception {
+        byte[] png = hullTile(40);
+        TileDetectionTask task = task("tile_512_0", 512, png, 0);
+        when(tileRepository.findDetectionDue(any(Instant.class), anyInt())).thenReturn(List.of(task), List.of());
+        when(tileStorage.retrieveTile(task.regattaId(), task.captureSessionId(), "tile_512_0"))
+            .thenReturn(new TileStorage.TileData(png, "image/png"));
+        when(markerService.replaceDetectedCandidates(any(), any(), any(), any(), anyLong())).thenReturn(List.of());
+
+        assertEquals(1, worker.drain());
+
+        ArgumentCaptor<List<TimingMarkerService.DetectedCandidate>> candidates = ArgumentCaptor.forClass(List.class);
+        verify(markerService).replaceDetectedCandidates(
+            eq(task.regattaId()), eq(task.captureSessionId()), eq("tile_512_0"), candidates.capture(), eq(100L));
+        assertEquals(1, candidates.getValue().size());
+        TimingMarkerService.DetectedCandidate candidate = candidates.getValue().get(0);
+        assertEquals(552, candidate.frameOffset());
+        assertEquals(1_000_000L + 552 * 2, candidate.timestampMs());
+        assertEquals(512, candidate.tileX());
+        verify(tileRepository).finishDetection(task.id(), task.contentSha256());
+    }
+
+    @Test
+    void drain_givesUpOnUndecodableTileAndRetriesStorageErrors() throws Exception {
+        byte[] garbage = {1, 2, 3};
+        TileDetectionTask undecodable = task("tile_0_0", 0, garbage, 0);
+        TileDetectionTask unreadable = task("tile_128_0", 128, garbage, 0);
+        when(tileRepository.findDetectionDue(any(Instant.class), anyInt()))
+            .thenReturn(List.of(undecodable, unreadable), List.of());
+        when(tileStorage.retrieveTile(undecodable.regattaId(), undecodable.captureSessionId(), "tile_0_0"))
+            .thenReturn(new TileStorage.TileData(garbage, "image/png"));
+        when(tileStorage.retrieveTile(unreadable.regattaId(), unreadable.captureSessionId(), "tile_128_0"))
+            .thenThrow(new TileStorage.TileStorageException("MinIO unavailable", null));
+
+        assertEquals(0, worker.drain());
+
+        verify(tileRepository).failDetection(undecodable.id(), undecodable.contentSha256(), null);
+        verify(tileRepository).failDetection(eq(unreadable.id()), eq(unreadable.contentSha256()),
+            argThat(next -> next != null && next.isAfter(Instant.now())));
+        verifyNoInteractions(markerService);
+    }
+
+    @Test
+    void drain_doesNothingWhenDisabled() {
+        worker = new LineScanCrossingDetectionWorker(
+            tileRepository, tileStorage, markerService, false, 2, 3, 24, 0.05, 100);
+
+        assertEquals(0, worker.drain());
+
+        verifyNoInteractions(tileRepository, tileStorage, markerService);
+    }
+
+    private static TileDetectionTask task(String tileId, int tileX, byte[] data, int attempts) throws Exception {
+        String sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        return new TileDetectionTask(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), tileId, tileX, 0,
+            sha256, 1_000_000L, 2.0, attempts);
+    }
+
+    /**
+     * 128x64 PNG of a uniform background with a 32 px dark hull starting at column {@code from}.
+     */
+    private static byte[] hullTile(int from) throws Exception {
+        BufferedImage image = new BufferedImage(128, 64, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 64; y++) {
+            for (int x = 0; x < 128; x++) {
+                image.setRGB(x, y, x >= from && x < from + 32 && y >= 20 && y < 36 ? 0x202020 : 0xA0A0A0);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
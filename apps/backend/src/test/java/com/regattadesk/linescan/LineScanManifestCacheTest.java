@@ -0,0 +1,61 @@
+package com.regattadesk.linescan;
+
+import com.regattadesk.linescan.model.LineScanManifest;
+import com.regattadesk.linescan.repository.LineScanManifestRepository;
+import com.regattadesk.linescan.service.LineScanManifestCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LineScanManifestCacheTest {
+
+    @Mock
+    private LineScanManifestRepository manifestRepository;
+
+    @Test
+    void header_isServedFromCacheUntilInvalidated() {
+        UUID manifestId = UUID.randomUUID();
+        LineScanManifest header = LineScanManifest.builder()
+            .id(manifestId)
+            .regattaId(UUID.randomUUID())
+            .captureSessionId(UUID.randomUUID())
+            .tileSizePx(512)
+            .primaryFormat("webp_lossless")
+            .xOriginTimestampMs(1000L)
+            .msPerPixel(0.5)
+            .build();
+        when(manifestRepository.findHeaderById(manifestId)).thenReturn(Optional.of(header));
+        LineScanManifestCache cache = new LineScanManifestCache(manifestRepository, 16, Duration.ofMinutes(1));
+
+        assertEquals(Optional.of(header), cache.header(manifestId));
+        assertEquals(Optional.of(header), cache.header(manifestId));
+        verify(manifestRepository, times(1)).findHeaderById(manifestId);
+
+        cache.invalidate(manifestId);
+        cache.header(manifestId);
+        verify(manifestRepository, times(2)).findHeaderById(manifestId);
+    }
+
+    @Test
+    void header_doesNotCacheMissingManifests() {
+        UUID manifestId = UUID.randomUUID();
+        when(manifestRepository.findHeaderById(manifestId)).thenReturn(Optional.empty());
+        LineScanManifestCache cache = new LineScanManifestCache(manifestRepository, 16, Duration.ofMinutes(1));
+
+        assertTrue(cache.header(manifestId).isEmpty());
+        assertTrue(cache.header(manifestId).isEmpty());
+        verify(manifestRepository, times(2)).findHeaderById(manifestId);
+    }
+}
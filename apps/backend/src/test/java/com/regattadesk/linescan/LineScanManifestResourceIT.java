@@ -308,6 +308,95 @@ public class LineScanManifestResourceIT {
             .body("tiles[0].tile_id", equalTo("tile_0_0"));
     }
 
+    @Test
+    public void testGetTileWindow_returnsCoveringTilesAndFollowsManifestReplacement() {
+        UUID regattaId = UUID.randomUUID();
+        UUID captureSessionId = UUID.randomUUID();
+        String token = validOperatorToken(regattaId);
+        String windowPath = "/api/v1/regattas/" + regattaId + "/line_scan/manifests/tile_window"
+            + "?capture_session_id=" + captureSessionId + "&start_ms=10600&end_ms=11100";
+
+        Map<String, Object> request = Map.of(
+            "capture_session_id", captureSessionId.toString(),
+            "tile_size_px", 512,
+            "primary_format", "webp_lossless",
+            "x_origin_timestamp_ms", 10000L,
+            "ms_per_pixel", 1.0,
+            "tiles", List.of(
+                Map.of("tile_id", "tile_0_0", "tile_x", 0, "tile_y", 0, "content_type", "image/webp"),
+                Map.of("tile_id", "tile_2_0", "tile_x", 1024, "tile_y", 0, "content_type", "image/webp"),
+                Map.of("tile_id", "tile_1_0", "tile_x", 512, "tile_y", 0, "content_type", "image/webp")
+            )
+        );
+
+        given()
+            .header("X-Operator-Token", token)
+            .contentType(ContentType.JSON)
+            .body(request)
+        .when()
+            .post("/api/v1/regattas/" + regattaId + "/line_scan/manifests")
+        .then()
+            .statusCode(201);
+
+        given()
+            .header("X-Operator-Token", token)
+        .when()
+            .get(windowPath)
+        .then()
+            .statusCode(200)
+            .body("capture_session_id", equalTo(captureSessionId.toString()))
+            .body("tiles", hasSize(2))
+            .body("tiles[0].tile_id", equalTo("tile_1_0"))
+            .body("tiles[0].start_ms", equalTo(10512))
+            .body("tiles[0].end_ms", equalTo(11024))
+            .body("tiles[1].tile_id", equalTo("tile_2_0"));
+
+        Map<String, Object> replacement = Map.of(
+            "capture_session_id", captureSessionId.toString(),
+            "tile_size_px", 512,
+            "primary_format", "webp_lossless",
+            "x_origin_timestamp_ms", 10000L,
+            "ms_per_pixel", 1.0,
+            "tiles", List.of(
+                Map.of("tile_id", "tile_1_0", "tile_x", 512, "tile_y", 0, "content_type", "image/webp")
+            )
+        );
+
+        given()
+            .header("X-Operator-Token", token)
+            .contentType(ContentType.JSON)
+            .body(replacement)
+        .when()
+            .post("/api/v1/regattas/" + regattaId + "/line_scan/manifests")
+        .then()
+            .statusCode(201);
+
+        given()
+            .header("X-Operator-Token", token)
+        .when()
+            .get(windowPath)
+        .then()
+            .statusCode(200)
+            .body("tiles", hasSize(1))
+            .body("tiles[0].tile_id", equalTo("tile_1_0"));
+
+        given()
+            .header("X-Operator-Token", token)
+        .when()
+            .get("/api/v1/regattas/" + regattaId + "/line_scan/manifests/tile_window"
+                + "?capture_session_id=" + UUID.randomUUID() + "&start_ms=10600&end_ms=11100")
+        .then()
+            .statusCode(404);
+
+        given()
+            .header("X-Operator-Token", token)
+        .when()
+            .get("/api/v1/regattas/" + regattaId + "/line_scan/manifests/tile_window"
+                + "?capture_session_id=" + captureSessionId + "&start_ms=11100&end_ms=10600")
+        .then()
+            .statusCode(400);
+    }
+
     @Test
     public void testUpsertManifest_withInvalidTileSize_returnsBadRequest() {
         UUID regattaId = UUID.randomUUID();
@@ -1,13 +1,17 @@
 package com.regattadesk.linescan;
 
 import com.regattadesk.linescan.config.MinioConfiguration;
-import com.regattadesk.linescan.config.MinioStorageAdapter;
 import com.regattadesk.linescan.model.LineScanManifest;
 import com.regattadesk.linescan.model.LineScanManifestTile;
 import com.regattadesk.linescan.model.LineScanTileMetadata;
+import com.regattadesk.linescan.model.PendingTileDeletion;
 import com.regattadesk.linescan.repository.LineScanManifestRepository;
+import com.regattadesk.linescan.repository.LineScanStorageUsageRepository;
+import com.regattadesk.linescan.repository.LineScanTileDeletionRepository;
 import com.regattadesk.linescan.repository.LineScanTileRepository;
+import com.regattadesk.linescan.service.LineScanManifestCache;
 import com.regattadesk.linescan.service.LineScanManifestService;
+import com.regattadesk.linescan.storage.TileStorage;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -20,7 +24,10 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,17 +39,26 @@ class LineScanManifestServiceTest {
     @Mock
     private LineScanTileRepository tileRepository;
     @Mock
-    private MinioStorageAdapter storageAdapter;
+    private TileStorage tileStorage;
     @Mock
     private MinioConfiguration minioConfiguration;
+    @Mock
+    private LineScanManifestCache manifestCache;
+    @Mock
+    private LineScanStorageUsageRepository usageRepository;
+    @Mock
+    private LineScanTileDeletionRepository deletionRepository;
 
     @Test
-    void upsertManifest_replacesTilesAndReturnsReloadedAggregate() throws Exception {
+    void upsertManifest_writesNewTilesAndReturnsReloadedAggregate() throws Exception {
         LineScanManifestService service = new LineScanManifestService(
             manifestRepository,
             tileRepository,
-            storageAdapter,
-            minioConfiguration
+            tileStorage,
+            minioConfiguration,
+            manifestCache,
+            usageRepository,
+            deletionRepository
         );
 
         UUID regattaId = UUID.randomUUID();
@@ -89,16 +105,125 @@ class LineScanManifestServiceTest {
 
         LineScanManifest result = service.upsertManifest(input);
 
-        verify(storageAdapter).ensureBucket(regattaId);
-        verify(tileRepository).deleteByManifestId(manifestId);
+        verify(tileStorage).ensureBucket(regattaId);
+        verify(tileRepository, never()).deleteByManifestId(any());
         verify(tileRepository).saveAll(argThat((List<LineScanTileMetadata> list) -> {
             assertEquals(2, list.size());
             assertTrue(list.stream().allMatch(tile -> tile.getUploadState() == LineScanTileMetadata.UploadState.PENDING));
             assertTrue(list.stream().allMatch(tile -> tile.getUploadAttempts() != null && tile.getUploadAttempts() == 0));
             return true;
         }));
+        verify(manifestCache).invalidate(manifestId);
+        verify(usageRepository).ensure(manifestId);
         verify(manifestRepository).findById(manifestId);
         assertEquals(manifestId, result.getId());
         assertEquals(1, result.getTiles().size());
     }
+
+    @Test
+    void upsertManifest_keepsUploadedTilesAndSyncsOnlyTheDifference() throws Exception {
+        LineScanManifestService service = new LineScanManifestService(
+            manifestRepository,
+            tileRepository,
+            tileStorage,
+            minioConfiguration,
+            manifestCache,
+            usageRepository,
+            deletionRepository
+        );
+
+        UUID regattaId = UUID.randomUUID();
+        UUID captureSessionId = UUID.randomUUID();
+        UUID manifestId = UUID.randomUUID();
+        LineScanManifest input = LineScanManifest.builder()
+            .regattaId(regattaId)
+            .captureSessionId(captureSessionId)
+            .tileSizePx(512)
+            .primaryFormat("webp_lossless")
+            .xOriginTimestampMs(1000L)
+            .msPerPixel(0.5)
+            .tiles(List.of(
+                new LineScanManifestTile("tile_0_0", 0, 0, "image/webp", null),
+                new LineScanManifestTile("tile_512_0", 512, 0, "image/webp", null),
+                new LineScanManifestTile("tile_1024_0", 1024, 0, "image/webp", null)
+            ))
+            .build();
+        LineScanManifest persisted = LineScanManifest.builder()
+            .id(manifestId)
+            .regattaId(regattaId)
+            .captureSessionId(captureSessionId)
+            .tileSizePx(512)
+            .primaryFormat("webp_lossless")
+            .xOriginTimestampMs(1000L)
+            .msPerPixel(0.5)
+            .tiles(List.of())
+            .build();
+        LineScanTileMetadata uploaded = storedTile(manifestId, "tile_0_0", 0, "image/png", 1234,
+            LineScanTileMetadata.UploadState.READY);
+        LineScanTileMetadata moved = storedTile(manifestId, "tile_512_0", 256, "image/webp", 700,
+            LineScanTileMetadata.UploadState.READY);
+        LineScanTileMetadata dropped = LineScanTileMetadata.builder()
+            .id(UUID.randomUUID())
+            .manifestId(manifestId)
+            .tileId("tile_9_0")
+            .tileX(4608)
+            .tileY(0)
+            .contentType("image/png")
+            .byteSize(300)
+            .uploadState(LineScanTileMetadata.UploadState.READY)
+            .uploadAttempts(1)
+            .minioBucket("regatta-bucket")
+            .minioObjectKey("session/tile_9_0")
+            .variantContentType("image/webp")
+            .variantByteSize(200)
+            .build();
+
+        when(manifestRepository.save(any(LineScanManifest.class))).thenReturn(persisted);
+        when(manifestRepository.findById(manifestId)).thenReturn(Optional.of(persisted));
+        when(tileRepository.findByManifestId(manifestId)).thenReturn(List.of(uploaded, moved, dropped));
+        when(minioConfiguration.getBucketName(regattaId.toString())).thenReturn("regatta-bucket");
+        when(minioConfiguration.getTileObjectKey(eq(captureSessionId.toString()), any()))
+            .thenAnswer(invocation -> "session/" + invocation.getArgument(1));
+
+        service.upsertManifest(input);
+
+        verify(tileRepository).saveAll(argThat((List<LineScanTileMetadata> list) -> {
+            assertEquals(List.of("tile_512_0", "tile_1024_0"),
+                list.stream().map(LineScanTileMetadata::getTileId).toList());
+            assertEquals(512, list.get(0).getTileX());
+            return true;
+        }));
+        verify(tileRepository).deleteByIds(List.of(dropped.getId()));
+        verify(deletionRepository).enqueueAll(argThat((List<PendingTileDeletion> list) -> {
+            assertEquals(List.of("tile_512_0", "tile_9_0", "tile_9_0.webp"),
+                list.stream().map(PendingTileDeletion::tileId).toList());
+            assertEquals(List.of(
+                new PendingTileDeletion.UsageRelease(manifestId, 1, 700, false),
+                new PendingTileDeletion.UsageRelease(manifestId, 1, 300, false),
+                new PendingTileDeletion.UsageRelease(manifestId, 0, 200, false)
+            ), list.stream().map(PendingTileDeletion::usage).toList());
+            assertTrue(list.stream().allMatch(deletion -> deletion.captureSessionId().equals(captureSessionId)));
+            return true;
+        }));
+        verify(tileRepository, never()).deleteByManifestId(any());
+        verify(usageRepository, never()).addStored(any(), anyLong(), anyLong());
+        verify(manifestCache).invalidate(manifestId);
+    }
+
+    private static LineScanTileMetadata storedTile(UUID manifestId, String tileId, int tileX, String contentType,
+                                                   Integer byteSize, LineScanTileMetadata.UploadState state) {
+        return LineScanTileMetadata.builder()
+            .id(UUID.randomUUID())
+            .manifestId(manifestId)
+            .tileId(tileId)
+            .tileX(tileX)
+            .tileY(0)
+            .contentType(contentType)
+            .byteSize(byteSize)
+            .uploadState(state)
+            .uploadAttempts(state == LineScanTileMetadata.UploadState.READY ? 1 : 0)
+            .minioBucket("regatta-bucket")
+            .minioObjectKey("session/" + tileId)
+            .build();
+    }
 }
@@ -1,10 +1,12 @@
 package com.regattadesk.linescan;
 
-import com.regattadesk.linescan.config.MinioStorageAdapter;
 import com.regattadesk.linescan.model.LineScanManifest;
 import com.regattadesk.linescan.model.LineScanTileMetadata;
+import com.regattadesk.linescan.model.PendingTileDeletion;
 import com.regattadesk.linescan.repository.LineScanManifestRepository;
+import com.regattadesk.linescan.repository.LineScanTileDeletionRepository;
 import com.regattadesk.linescan.repository.LineScanTileRepository;
+import com.regattadesk.linescan.service.LineScanManifestCache;
 import com.regattadesk.linescan.service.LineScanPruningService;
 import com.regattadesk.linescan.service.LineScanRetentionEvaluator;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,7 +30,7 @@ import static org.mockito.Mockito.*;
  * 
  * Tests pruning execution logic including:
  * - Marker window preservation (±2s around approved markers)
- * - Tile deletion from storage
+ * - Tile object deletion enqueued for after the transaction
  * - Manifest state updates
  * - Transaction boundary handling
  */
@@ -42,7 +44,10 @@ class LineScanPruningServiceTest {
     private LineScanTileRepository tileRepository;
     
     @Mock
-    private MinioStorageAdapter storageAdapter;
+    private LineScanTileDeletionRepository deletionRepository;
+    
+    @Mock
+    private LineScanManifestCache manifestCache;
     
     private LineScanPruningService pruningService;
     
@@ -51,7 +56,8 @@ class LineScanPruningServiceTest {
         pruningService = new LineScanPruningService(
             manifestRepository,
             tileRepository,
-            storageAdapter
+            deletionRepository,
+            manifestCache
         );
     }
     
@@ -96,7 +102,7 @@ class LineScanPruningServiceTest {
             createTileMetadata(manifestId, "tile_14_0", 7168), // x=7168: 17168-17679ms - DELETE
             createTileMetadata(manifestId, "tile_22_0", 11264), // x=11264: 21264-21775ms - DELETE
             createTileMetadata(manifestId, "tile_23_0", 11776), // x=11776: 21776-22287ms - DELETE
-            createTileMetadata(manifestId, "tile_24_0", 12288), // x=12288: 22288-22799ms - KEEP (near 23000)
+            createTileMetadata(manifestId, "tile_24_0", 12288), // x=12288: 22288-22799ms - DELETE (ends before 23000)
             createTileMetadata(manifestId, "tile_25_0", 12800), // x=12800: 22800-23311ms - KEEP
             createTileMetadata(manifestId, "tile_28_0", 14336), // x=14336: 24336-24847ms - KEEP
             createTileMetadata(manifestId, "tile_29_0", 14848), // x=14848: 24848-25359ms - KEEP
@@ -119,16 +125,26 @@ class LineScanPruningServiceTest {
         List<UUID> deletedIds = deletedIdsCaptor.getValue();
         assertTrue(deletedIds.size() > 0, "Should delete tiles outside marker windows");
         
-        // Verify MinIO deletion was called for deleted tiles
-        verify(storageAdapter, atLeastOnce()).deleteTile(
-            eq(manifest.getRegattaId()),
-            eq(manifest.getCaptureSessionId()),
-            anyString()
+        // Verify object deletion was enqueued for exactly the deleted tiles
+        ArgumentCaptor<List<PendingTileDeletion>> queuedCaptor = ArgumentCaptor.forClass(List.class);
+        verify(deletionRepository).enqueueAll(queuedCaptor.capture());
+        List<String> queuedTileIds = queuedCaptor.getValue().stream()
+            .map(PendingTileDeletion::tileId)
+            .toList();
+        assertEquals(
+            List.of("tile_0_0", "tile_1_0", "tile_2_0", "tile_3_0", "tile_4_0",
+                "tile_14_0", "tile_22_0", "tile_23_0", "tile_24_0", "tile_34_0", "tile_50_0"),
+            queuedTileIds
         );
+        assertEquals(queuedTileIds.size(), deletedIds.size());
+        assertTrue(queuedCaptor.getValue().stream()
+            .allMatch(deletion -> deletion.regattaId().equals(regattaId)
+                && deletion.captureSessionId().equals(captureSessionId)));
         
         // Verify manifest state was updated
         ArgumentCaptor<LineScanManifest> manifestCaptor = ArgumentCaptor.forClass(LineScanManifest.class);
         verify(manifestRepository).save(manifestCaptor.capture());
+        verify(manifestCache).invalidate(manifestId);
         
         LineScanManifest updated = manifestCaptor.getValue();
         assertEquals(PRUNED, updated.getRetentionState());
@@ -176,6 +192,12 @@ class LineScanPruningServiceTest {
         
         List<UUID> deletedIds = deletedIdsCaptor.getValue();
         assertEquals(3, deletedIds.size(), "Should delete all tiles when no marker windows");
+        ArgumentCaptor<List<PendingTileDeletion>> enqueuedCaptor = ArgumentCaptor.forClass(List.class);
+        verify(deletionRepository).enqueueAll(enqueuedCaptor.capture());
+        assertEquals(3, enqueuedCaptor.getValue().size());
+        for (PendingTileDeletion deletion : enqueuedCaptor.getValue()) {
+            assertEquals(new PendingTileDeletion.UsageRelease(manifestId, 1, 1024, true), deletion.usage());
+        }
         
         // Verify manifest was marked as pruned
         ArgumentCaptor<LineScanManifest> manifestCaptor = ArgumentCaptor.forClass(LineScanManifest.class);
@@ -217,6 +239,7 @@ class LineScanPruningServiceTest {
         
         // Should not attempt to delete tiles
         verify(tileRepository, never()).deleteByIds(anyList());
+        verify(deletionRepository, never()).enqueueAll(anyList());
     }
     
     @Test
@@ -243,7 +266,7 @@ class LineScanPruningServiceTest {
         );
         
         assertTrue(exception.getMessage().contains("already pruned"));
-        verifyNoInteractions(tileRepository, storageAdapter, manifestRepository);
+        verifyNoInteractions(tileRepository, deletionRepository, manifestRepository);
     }
     
     @Test
@@ -269,7 +292,7 @@ class LineScanPruningServiceTest {
         );
         
         assertTrue(exception.getMessage().contains("not eligible"));
-        verifyNoInteractions(tileRepository, storageAdapter, manifestRepository);
+        verifyNoInteractions(tileRepository, deletionRepository, manifestRepository);
     }
     
     @Test
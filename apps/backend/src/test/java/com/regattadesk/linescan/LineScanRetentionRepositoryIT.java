@@ -64,6 +64,27 @@ class LineScanRetentionRepositoryIT {
         assertTrue(results.isEmpty(), "Null states list should return empty results");
     }
     
+    @Test
+    void findRegattaIdsWithRetentionStateIn_afterCursor_executesWithoutError() {
+        List<UUID> results = manifestRepository.findRegattaIdsWithRetentionStateIn(
+            List.of(LineScanManifest.RetentionState.FULL_RETAINED),
+            UUID.randomUUID(),
+            10
+        );
+        
+        assertNotNull(results, "Should return a list (possibly empty)");
+    }
+    
+    @Test
+    void findByRegattaIdsAndRetentionStateIn_executesWithoutError() {
+        List<LineScanManifest> results = manifestRepository.findByRegattaIdsAndRetentionStateIn(
+            List.of(UUID.randomUUID(), UUID.randomUUID()),
+            List.of(LineScanManifest.RetentionState.PENDING_DELAY)
+        );
+        
+        assertTrue(results.isEmpty(), "Unknown regattas should return empty results");
+    }
+    
     @Test
     void regattaRepository_isArchived_executesWithoutError() {
         // Query with random ID - should return false but not throw
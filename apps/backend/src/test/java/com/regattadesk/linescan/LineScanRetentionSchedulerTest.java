@@ -4,18 +4,21 @@ import com.regattadesk.linescan.model.LineScanManifest;
 import com.regattadesk.linescan.model.TimingMarker;
 import com.regattadesk.linescan.repository.EntryRepository;
 import com.regattadesk.linescan.repository.LineScanManifestRepository;
+import com.regattadesk.linescan.repository.LineScanRetentionCursorRepository;
 import com.regattadesk.linescan.repository.LineScanTileRepository;
 import com.regattadesk.linescan.repository.RegattaRepository;
 import com.regattadesk.linescan.repository.TimingMarkerRepository;
 import com.regattadesk.linescan.service.LineScanPruningService;
 import com.regattadesk.linescan.service.LineScanRetentionEvaluator;
 import com.regattadesk.linescan.service.LineScanRetentionScheduler;
+import com.regattadesk.linescan.service.LineScanTileDeletionWorker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -63,6 +66,12 @@ class LineScanRetentionSchedulerTest {
     @Mock
     TimingMarkerRepository markerRepository;
     
+    @Mock
+    LineScanTileDeletionWorker deletionWorker;
+    
+    @Mock
+    LineScanRetentionCursorRepository cursorRepository;
+    
     @BeforeEach
     void setUp() {
         scheduler = new LineScanRetentionScheduler(
@@ -71,7 +80,12 @@ class LineScanRetentionSchedulerTest {
             pruningService,
             regattaRepository,
             entryRepository,
-            markerRepository
+            markerRepository,
+            deletionWorker,
+            cursorRepository,
+            2,
+            50,
+            Duration.ofMinutes(50)
         );
     }
     
@@ -110,7 +124,7 @@ class LineScanRetentionSchedulerTest {
         );
         
         // Mock repository responses
-        when(manifestRepository.findByRetentionStateIn(anyList())).thenReturn(List.of(manifest));
+        stubManifests(List.of(manifest));
         when(regattaRepository.findRegattaEndAt(regattaId)).thenReturn(Optional.of(Instant.now().minus(20, ChronoUnit.DAYS)));
         when(regattaRepository.isArchived(regattaId)).thenReturn(true);
         when(entryRepository.areAllEntriesApprovedForRegatta(regattaId)).thenReturn(true);
@@ -151,7 +165,7 @@ class LineScanRetentionSchedulerTest {
             .updatedAt(Instant.now())
             .build();
         
-        when(manifestRepository.findByRetentionStateIn(anyList())).thenReturn(List.of(manifest));
+        stubManifests(List.of(manifest));
         when(regattaRepository.findRegattaEndAt(regattaId)).thenReturn(Optional.of(Instant.now().minus(20, ChronoUnit.DAYS)));
         when(regattaRepository.isArchived(regattaId)).thenReturn(true);
         when(entryRepository.areAllEntriesApprovedForRegatta(regattaId)).thenReturn(true);
@@ -197,7 +211,7 @@ class LineScanRetentionSchedulerTest {
             .updatedAt(Instant.now())
             .build();
         
-        when(manifestRepository.findByRetentionStateIn(anyList())).thenReturn(List.of(manifest));
+        stubManifests(List.of(manifest));
         when(regattaRepository.findRegattaEndAt(regattaId)).thenReturn(Optional.of(Instant.now().minus(20, ChronoUnit.DAYS)));
         when(regattaRepository.isArchived(regattaId)).thenReturn(false);
         when(entryRepository.areAllEntriesApprovedForRegatta(regattaId)).thenReturn(false);
@@ -239,7 +253,7 @@ class LineScanRetentionSchedulerTest {
             .updatedAt(Instant.now())
             .build();
         
-        when(manifestRepository.findByRetentionStateIn(anyList())).thenReturn(List.of(manifest));
+        stubManifests(List.of(manifest));
         when(regattaRepository.findRegattaEndAt(regattaId)).thenReturn(Optional.of(Instant.now().minus(10, ChronoUnit.DAYS)));
         when(regattaRepository.isArchived(regattaId)).thenReturn(false);
         when(entryRepository.areAllEntriesApprovedForRegatta(regattaId)).thenReturn(false);
@@ -278,7 +292,7 @@ class LineScanRetentionSchedulerTest {
             .build();
         
         // Scheduler should not query pruned manifests
-        when(manifestRepository.findByRetentionStateIn(anyList())).thenReturn(List.of());
+        stubManifests(List.of());
         
         scheduler.evaluateAndPrune();
         
@@ -295,8 +309,7 @@ class LineScanRetentionSchedulerTest {
         LineScanManifest manifest1 = createManifest(regattaId1, PENDING_DELAY);
         LineScanManifest manifest2 = createManifest(regattaId2, ELIGIBLE_WAITING_ARCHIVE_OR_APPROVALS);
         
-        when(manifestRepository.findByRetentionStateIn(anyList()))
-            .thenReturn(List.of(manifest1, manifest2));
+        stubManifests(List.of(manifest1, manifest2));
         
         // Regatta 1: not archived, not approved
         when(regattaRepository.findRegattaEndAt(regattaId1)).thenReturn(Optional.of(Instant.now().minus(20, ChronoUnit.DAYS)));
@@ -335,8 +348,7 @@ class LineScanRetentionSchedulerTest {
         LineScanManifest manifest1 = createManifest(regattaId1, ELIGIBLE_WAITING_ARCHIVE_OR_APPROVALS);
         LineScanManifest manifest2 = createManifest(regattaId2, ELIGIBLE_WAITING_ARCHIVE_OR_APPROVALS);
         
-        when(manifestRepository.findByRetentionStateIn(anyList()))
-            .thenReturn(List.of(manifest1, manifest2));
+        stubManifests(List.of(manifest1, manifest2));
         
         when(regattaRepository.findRegattaEndAt(any())).thenReturn(Optional.of(Instant.now().minus(20, ChronoUnit.DAYS)));
         when(regattaRepository.isArchived(any())).thenReturn(true);
@@ -359,6 +371,95 @@ class LineScanRetentionSchedulerTest {
         verify(pruningService).prune(eq(manifest2), anyList());
     }
     
+    @Test
+    void evaluateAndPrune_manifestsOfSameRegatta_readGatesAndMarkersOnce() {
+        UUID regattaId = UUID.randomUUID();
+        
+        LineScanManifest manifest1 = createManifest(regattaId, ELIGIBLE_WAITING_ARCHIVE_OR_APPROVALS);
+        LineScanManifest manifest2 = createManifest(regattaId, ELIGIBLE_WAITING_ARCHIVE_OR_APPROVALS);
+        LineScanManifest manifest3 = createManifest(regattaId, ELIGIBLE_WAITING_ARCHIVE_OR_APPROVALS);
+        
+        stubManifests(List.of(manifest1, manifest2, manifest3));
+        when(regattaRepository.findRegattaEndAt(regattaId)).thenReturn(Optional.of(Instant.now().minus(20, ChronoUnit.DAYS)));
+        when(regattaRepository.isArchived(regattaId)).thenReturn(true);
+        when(entryRepository.areAllEntriesApprovedForRegatta(regattaId)).thenReturn(true);
+        when(markerRepository.findApprovedByRegattaId(regattaId)).thenReturn(List.of());
+        when(evaluator.evaluate(any(), any(), eq(true), eq(true), any(Instant.class)))
+            .thenReturn(LineScanRetentionEvaluator.EvaluationResult.readyToPrune(List.of()));
+        when(evaluator.getMarkerWindows(any(), anyInt())).thenReturn(List.of());
+        
+        scheduler.evaluateAndPrune();
+        
+        verify(regattaRepository, times(1)).findRegattaEndAt(regattaId);
+        verify(regattaRepository, times(1)).isArchived(regattaId);
+        verify(entryRepository, times(1)).areAllEntriesApprovedForRegatta(regattaId);
+        verify(markerRepository, times(1)).findApprovedByRegattaId(regattaId);
+        verify(pruningService, times(3)).prune(any(), anyList());
+        verify(deletionWorker).drain();
+    }
+    
+    @Test
+    void evaluateAndPrune_completedRun_clearsCursor() {
+        UUID cursor = UUID.randomUUID();
+        when(cursorRepository.findLastRegattaId(anyString())).thenReturn(Optional.of(cursor));
+        when(manifestRepository.findRegattaIdsWithRetentionStateIn(anyList(), eq(cursor), anyInt()))
+            .thenReturn(List.of());
+        
+        scheduler.evaluateAndPrune();
+        
+        verify(manifestRepository).findRegattaIdsWithRetentionStateIn(anyList(), eq(cursor), anyInt());
+        verify(cursorRepository).clear(anyString());
+        verify(evaluator, never()).evaluate(any(), any(), anyBoolean(), anyBoolean(), any());
+    }
+    
+    @Test
+    void evaluateAndPrune_runOutOfTime_persistsCursorForNextRun() {
+        LineScanRetentionScheduler budgetedScheduler = new LineScanRetentionScheduler(
+            manifestRepository,
+            evaluator,
+            pruningService,
+            regattaRepository,
+            entryRepository,
+            markerRepository,
+            deletionWorker,
+            cursorRepository,
+            2,
+            1,
+            Duration.ZERO
+        );
+        UUID regattaId = UUID.randomUUID();
+        LineScanManifest manifest = createManifest(regattaId, FULL_RETAINED);
+        
+        when(manifestRepository.findRegattaIdsWithRetentionStateIn(anyList(), isNull(), eq(1)))
+            .thenReturn(List.of(regattaId));
+        when(manifestRepository.findByRegattaIdsAndRetentionStateIn(eq(List.of(regattaId)), anyList()))
+            .thenReturn(List.of(manifest));
+        when(regattaRepository.findRegattaEndAt(regattaId)).thenReturn(Optional.empty());
+        when(evaluator.evaluate(eq(manifest), isNull(), eq(false), eq(false), any(Instant.class)))
+            .thenReturn(LineScanRetentionEvaluator.EvaluationResult.noAction());
+        
+        budgetedScheduler.evaluateAndPrune();
+        
+        verify(cursorRepository).saveLastRegattaId(anyString(), eq(regattaId));
+        verify(cursorRepository, never()).clear(anyString());
+        verify(manifestRepository, times(1)).findRegattaIdsWithRetentionStateIn(anyList(), any(), anyInt());
+        verify(deletionWorker, never()).drain();
+    }
+    
+    private void stubManifests(List<LineScanManifest> manifests) {
+        List<UUID> regattaIds = manifests.stream()
+            .map(LineScanManifest::getRegattaId)
+            .distinct()
+            .sorted()
+            .toList();
+        when(manifestRepository.findRegattaIdsWithRetentionStateIn(anyList(), isNull(), anyInt()))
+            .thenReturn(regattaIds);
+        if (!regattaIds.isEmpty()) {
+            when(manifestRepository.findByRegattaIdsAndRetentionStateIn(eq(regattaIds), anyList()))
+                .thenReturn(manifests);
+        }
+    }
+    
     private LineScanManifest createManifest(UUID regattaId, LineScanManifest.RetentionState state) {
         return LineScanManifest.builder()
             .id(UUID.randomUUID())
@@ -0,0 +1,76 @@
+package com.regattadesk.linescan;
+
+import com.regattadesk.linescan.model.StorageUsage;
+import com.regattadesk.linescan.repository.LineScanStorageUsageRepository;
+import com.regattadesk.linescan.service.LineScanStorageUsageService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LineScanStorageUsageService.
+ */
+@ExtendWith(MockitoExtension.class)
+class LineScanStorageUsageServiceTest {
+
+    @Mock
+    private LineScanStorageUsageRepository usageRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LineScanStorageUsageService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new LineScanStorageUsageService(usageRepository, meterRegistry);
+    }
+
+    @Test
+    void regattaUsage_sumsManifestCounters() {
+        UUID regattaId = UUID.randomUUID();
+        StorageUsage first = new StorageUsage(UUID.randomUUID(), regattaId, 10, 4000, 2, 800);
+        StorageUsage second = new StorageUsage(UUID.randomUUID(), regattaId, 5, 1000, 0, 0);
+        when(usageRepository.findByRegattaId(regattaId)).thenReturn(List.of(first, second));
+
+        LineScanStorageUsageService.RegattaUsage usage = service.regattaUsage(regattaId);
+
+        assertEquals(new StorageUsage(null, regattaId, 15, 5000, 2, 800), usage.totals());
+        assertEquals(List.of(first, second), usage.manifests());
+    }
+
+    @Test
+    void refreshMetrics_publishesPerRegattaGaugesAndDropsVanishedRegattas() {
+        UUID kept = UUID.randomUUID();
+        UUID dropped = UUID.randomUUID();
+        when(usageRepository.totalsByRegatta()).thenReturn(
+            List.of(new StorageUsage(null, kept, 3, 300, 1, 100), new StorageUsage(null, dropped, 1, 50, 0, 0)),
+            List.of(new StorageUsage(null, kept, 4, 420, 1, 100)));
+
+        service.refreshMetrics();
+
+        assertEquals(300.0, gauge("linescan.storage.bytes", kept).value());
+        assertEquals(1.0, gauge("linescan.storage.tiles", dropped).value());
+        assertEquals(100.0, gauge("linescan.storage.pruned.bytes", kept).value());
+
+        service.refreshMetrics();
+
+        assertEquals(420.0, gauge("linescan.storage.bytes", kept).value());
+        assertEquals(4.0, gauge("linescan.storage.tiles", kept).value());
+        assertNull(meterRegistry.find("linescan.storage.tiles").tag("regatta_id", dropped.toString()).gauge());
+    }
+
+    private Gauge gauge(String name, UUID regattaId) {
+        return meterRegistry.get(name).tag("regatta_id", regattaId.toString()).gauge();
+    }
+}
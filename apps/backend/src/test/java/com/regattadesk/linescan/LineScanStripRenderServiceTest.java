@@ -0,0 +1,178 @@
+package com.regattadesk.linescan;
+
+import com.regattadesk.linescan.model.LineScanManifest;
+import com.regattadesk.linescan.model.LineScanManifestTile;
+import com.regattadesk.linescan.model.LineScanTileMetadata;
+import com.regattadesk.linescan.repository.LineScanTileRepository;
+import com.regattadesk.linescan.service.LineScanStripRenderService;
+import com.regattadesk.linescan.service.LineScanTileIndexService;
+import com.regattadesk.linescan.service.LineScanTileTimeIndex;
+import com.regattadesk.linescan.storage.TileStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LineScanStripRenderService compositing and caching.
+ */
+@ExtendWith(MockitoExtension.class)
+class LineScanStripRenderServiceTest {
+
+    @Mock
+    private LineScanTileIndexService tileIndexService;
+    @Mock
+    private LineScanTileRepository tileRepository;
+    @Mock
+    private TileStorage tileStorage;
+
+    private LineScanStripRenderService service;
+    private UUID regattaId;
+    private UUID captureSessionId;
+    private LineScanManifest manifest;
+    private LineScanManifestTile red;
+    private LineScanManifestTile blue;
+
+    @BeforeEach
+    void setUp() {
+        service = new LineScanStripRenderService(tileIndexService, tileRepository, tileStorage, 4096, 8);
+        regattaId = UUID.randomUUID();
+        captureSessionId = UUID.randomUUID();
+        manifest = LineScanManifest.builder()
+            .id(UUID.randomUUID())
+            .regattaId(regattaId)
+            .captureSessionId(captureSessionId)
+            .tileSizePx(4)
+            .primaryFormat("webp_lossless")
+            .xOriginTimestampMs(0L)
+            .msPerPixel(1.0)
+            .updatedAt(Instant.parse("2026-06-01T10:00:00Z"))
+            .build();
+        red = new LineScanManifestTile("tile_0_0", 0, 0, "image/png", null);
+        blue = new LineScanManifestTile("tile_1_0", 4, 0, "image/png", null);
+    }
+
+    private void windowOf(LineScanManifestTile... tiles) {
+        List<LineScanTileTimeIndex.TileSpan> spans = java.util.Arrays.stream(tiles)
+            .map(tile -> new LineScanTileTimeIndex.TileSpan(tile, tile.getTileX(), tile.getTileX() + 4L))
+            .toList();
+        when(tileIndexService.tilesCovering(eq(regattaId), eq(captureSessionId), anyLong(), anyLong()))
+            .thenReturn(Optional.of(new LineScanTileIndexService.TileWindow(manifest, spans)));
+    }
+
+    private LineScanTileMetadata ready(LineScanManifestTile tile, String sha256) {
+        return LineScanTileMetadata.builder()
+            .manifestId(manifest.getId())
+            .tileId(tile.getTileId())
+            .tileX(tile.getTileX())
+            .tileY(tile.getTileY())
+            .contentType("image/png")
+            .contentSha256(sha256)
+            .uploadState(LineScanTileMetadata.UploadState.READY)
+            .build();
+    }
+
+    private static byte[] png(Color color) throws Exception {
+        BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 4; x++) {
+            for (int y = 0; y < 4; y++) {
+                image.setRGB(x, y, color.getRGB());
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static BufferedImage decode(byte[] data) throws Exception {
+        return ImageIO.read(new ByteArrayInputStream(data));
+    }
+
+    @Test
+    void render_compositesCoveringTilesAndCachesEncodedStrip() throws Exception {
+        windowOf(red, blue);
+        when(tileRepository.findByManifestIdAndTileIds(eq(manifest.getId()), any()))
+            .thenReturn(List.of(ready(red, "a".repeat(64)), ready(blue, "b".repeat(64))));
+        when(tileStorage.retrieveTile(regattaId, captureSessionId, "tile_0_0"))
+            .thenReturn(new TileStorage.TileData(png(Color.RED), "image/png"));
+        when(tileStorage.retrieveTile(regattaId, captureSessionId, "tile_1_0"))
+            .thenReturn(new TileStorage.TileData(png(Color.BLUE), "image/png"));
+
+        LineScanStripRenderService.RenderedStrip strip =
+            service.render(regattaId, captureSessionId, 2L, 6L, null, null).orElseThrow();
+
+        assertEquals(0, strip.missingTiles());
+        BufferedImage image = decode(strip.data());
+        assertEquals(4, image.getWidth());
+        assertEquals(4, image.getHeight());
+        assertEquals(Color.RED.getRGB(), image.getRGB(1, 1));
+        assertEquals(Color.BLUE.getRGB(), image.getRGB(2, 1));
+
+        LineScanStripRenderService.RenderedStrip again =
+            service.render(regattaId, captureSessionId, 2L, 6L, null, null).orElseThrow();
+        assertSame(strip, again);
+        verify(tileStorage, times(1)).retrieveTile(regattaId, captureSessionId, "tile_0_0");
+
+        assertTrue(service.render(regattaId, captureSessionId, 2L, 6L, null, "\"" + strip.etag() + "\"")
+            .orElseThrow()
+            .notModified());
+    }
+
+    @Test
+    void render_leavesMissingTilesTransparentAndDoesNotCache() throws Exception {
+        windowOf(red, blue);
+        when(tileRepository.findByManifestIdAndTileIds(eq(manifest.getId()), any()))
+            .thenReturn(List.of(ready(red, "a".repeat(64))));
+        when(tileStorage.retrieveTile(regattaId, captureSessionId, "tile_0_0"))
+            .thenReturn(new TileStorage.TileData(png(Color.RED), "image/png"));
+
+        LineScanStripRenderService.RenderedStrip strip =
+            service.render(regattaId, captureSessionId, 0L, 8L, null, null).orElseThrow();
+        service.render(regattaId, captureSessionId, 0L, 8L, null, null);
+
+        assertEquals(1, strip.missingTiles());
+        BufferedImage image = decode(strip.data());
+        assertEquals(8, image.getWidth());
+        assertEquals(0, image.getRGB(6, 1) >>> 24);
+        verify(tileStorage, times(2)).retrieveTile(regattaId, captureSessionId, "tile_0_0");
+    }
+
+    @Test
+    void render_downscalesToRequestedWidth() throws Exception {
+        windowOf(red, blue);
+        when(tileRepository.findByManifestIdAndTileIds(eq(manifest.getId()), any()))
+            .thenReturn(List.of(ready(red, "a".repeat(64)), ready(blue, "b".repeat(64))));
+        when(tileStorage.retrieveTile(regattaId, captureSessionId, "tile_0_0"))
+            .thenReturn(new TileStorage.TileData(png(Color.RED), "image/png"));
+        when(tileStorage.retrieveTile(regattaId, captureSessionId, "tile_1_0"))
+            .thenReturn(new TileStorage.TileData(png(Color.BLUE), "image/png"));
+
+        LineScanStripRenderService.RenderedStrip strip =
+            service.render(regattaId, captureSessionId, 0L, 8L, 2, null).orElseThrow();
+
+        assertEquals(2, strip.width());
+        assertEquals(1, strip.height());
+        BufferedImage image = decode(strip.data());
+        assertEquals(2, image.getWidth());
+        assertEquals(1, image.getHeight());
+    }
+}
@@ -0,0 +1,172 @@
+package com.regattadesk.linescan;
+
+import com.regattadesk.linescan.model.PendingTileDeletion;
+import com.regattadesk.linescan.repository.LineScanStorageUsageRepository;
+import com.regattadesk.linescan.repository.LineScanTileDeletionRepository;
+import com.regattadesk.linescan.service.LineScanTileDeletionWorker;
+import com.regattadesk.linescan.storage.TileStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LineScanTileDeletionWorker queue draining.
+ */
+@ExtendWith(MockitoExtension.class)
+class LineScanTileDeletionWorkerTest {
+
+    @Mock
+    private LineScanTileDeletionRepository deletionRepository;
+
+    @Mock
+    private LineScanStorageUsageRepository usageRepository;
+
+    @Mock
+    private TileStorage tileStorage;
+
+    private LineScanTileDeletionWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new LineScanTileDeletionWorker(deletionRepository, usageRepository, tileStorage, 2, 2);
+    }
+
+    @Test
+    void drain_deletesInChunksPerSession() throws Exception {
+        UUID regattaId = UUID.randomUUID();
+        UUID sessionA = UUID.randomUUID();
+        UUID sessionB = UUID.randomUUID();
+        List<PendingTileDeletion> due = List.of(
+            pending(regattaId, sessionA, "a1"),
+            pending(regattaId, sessionA, "a2"),
+            pending(regattaId, sessionA, "a3"),
+            pending(regattaId, sessionB, "b1")
+        );
+        when(deletionRepository.findDue(any(Instant.class), anyInt())).thenReturn(due, List.of());
+        when(tileStorage.deleteTiles(any(), any(), anyList())).thenReturn(Set.of());
+
+        int deleted = worker.drain();
+
+        assertEquals(4, deleted);
+        verify(tileStorage).deleteTiles(regattaId, sessionA, List.of("a1", "a2"));
+        verify(tileStorage).deleteTiles(regattaId, sessionA, List.of("a3"));
+        verify(tileStorage).deleteTiles(regattaId, sessionB, List.of("b1"));
+
+        ArgumentCaptor<List<UUID>> completedCaptor = ArgumentCaptor.forClass(List.class);
+        verify(deletionRepository).deleteByIds(completedCaptor.capture());
+        assertEquals(4, completedCaptor.getValue().size());
+        verify(deletionRepository, never()).markFailed(anyList(), anyString(), any());
+    }
+
+    @Test
+    void drain_reschedulesRejectedAndFailedChunks() throws Exception {
+        UUID regattaId = UUID.randomUUID();
+        UUID sessionA = UUID.randomUUID();
+        UUID sessionB = UUID.randomUUID();
+        PendingTileDeletion a1 = pending(regattaId, sessionA, "a1");
+        PendingTileDeletion a2 = pending(regattaId, sessionA, "a2");
+        PendingTileDeletion b1 = pending(regattaId, sessionB, "b1");
+        when(deletionRepository.findDue(any(Instant.class), anyInt())).thenReturn(List.of(a1, a2, b1), List.of());
+        when(tileStorage.deleteTiles(regattaId, sessionA, List.of("a1", "a2"))).thenReturn(Set.of("a2"));
+        when(tileStorage.deleteTiles(regattaId, sessionB, List.of("b1")))
+            .thenThrow(new TileStorage.TileStorageException("unreachable", null));
+
+        Instant before = Instant.now();
+        int deleted = worker.drain();
+
+        assertEquals(1, deleted);
+        verify(deletionRepository).deleteByIds(List.of(a1.id()));
+
+        ArgumentCaptor<Instant> nextAttemptCaptor = ArgumentCaptor.forClass(Instant.class);
+        verify(deletionRepository).markFailed(eq(List.of(a2.id())), anyString(), nextAttemptCaptor.capture());
+        verify(deletionRepository).markFailed(eq(List.of(b1.id())), eq("unreachable"), any());
+        assertTrue(nextAttemptCaptor.getValue().isAfter(before));
+    }
+
+    @Test
+    void drain_releasesUsageOnlyForDeletedObjects() throws Exception {
+        UUID regattaId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+        UUID manifestId = UUID.randomUUID();
+        Instant due = Instant.now().minusSeconds(1);
+        PendingTileDeletion dropped = PendingTileDeletion.of(regattaId, sessionId, "t1",
+            new PendingTileDeletion.UsageRelease(manifestId, 1, 300, false), due);
+        PendingTileDeletion droppedVariant = PendingTileDeletion.of(regattaId, sessionId, "t1.webp",
+            new PendingTileDeletion.UsageRelease(manifestId, 0, 100, false), due);
+        PendingTileDeletion pruned = PendingTileDeletion.of(regattaId, sessionId, "t2",
+            new PendingTileDeletion.UsageRelease(manifestId, 1, 400, true), due);
+        PendingTileDeletion rejected = PendingTileDeletion.of(regattaId, sessionId, "t3",
+            new PendingTileDeletion.UsageRelease(manifestId, 1, 500, true), due);
+        when(deletionRepository.findDue(any(Instant.class), anyInt()))
+            .thenReturn(List.of(dropped, droppedVariant, pruned, rejected), List.of());
+        when(tileStorage.deleteTiles(any(), any(), anyList())).thenReturn(Set.of("t3"));
+        when(deletionRepository.deleteByIds(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertEquals(3, worker.drain());
+
+        verify(usageRepository).addStored(manifestId, -1, -400);
+        verify(usageRepository).recordPruned(manifestId, 1, 400);
+        verifyNoMoreInteractions(usageRepository);
+        verify(deletionRepository).markFailed(eq(List.of(rejected.id())), anyString(), any());
+    }
+
+    @Test
+    void drain_replacedEntries_releaseUsageWithoutDeletingObject() throws Exception {
+        UUID regattaId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+        UUID manifestId = UUID.randomUUID();
+        PendingTileDeletion replaced = new PendingTileDeletion(UUID.randomUUID(), regattaId, sessionId, "t1", 0,
+            Instant.now().minusSeconds(1), new PendingTileDeletion.UsageRelease(manifestId, 1, 300, false), true);
+        when(deletionRepository.findDue(any(Instant.class), anyInt())).thenReturn(List.of(replaced), List.of());
+        when(deletionRepository.deleteByIds(List.of(replaced.id()))).thenReturn(List.of(replaced.id()));
+
+        assertEquals(1, worker.drain());
+
+        verifyNoInteractions(tileStorage);
+        verify(usageRepository).addStored(manifestId, -1, -300);
+    }
+
+    @Test
+    void drain_entriesRemovedByAnotherWorker_doNotReleaseUsageAgain() throws Exception {
+        UUID regattaId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+        UUID manifestId = UUID.randomUUID();
+        Instant due = Instant.now().minusSeconds(1);
+        PendingTileDeletion ours = PendingTileDeletion.of(regattaId, sessionId, "t1",
+            new PendingTileDeletion.UsageRelease(manifestId, 1, 300, false), due);
+        PendingTileDeletion theirs = PendingTileDeletion.of(regattaId, sessionId, "t2",
+            new PendingTileDeletion.UsageRelease(manifestId, 1, 400, false), due);
+        when(deletionRepository.findDue(any(Instant.class), anyInt())).thenReturn(List.of(ours, theirs), List.of());
+        when(tileStorage.deleteTiles(any(), any(), anyList())).thenReturn(Set.of());
+        when(deletionRepository.deleteByIds(List.of(ours.id(), theirs.id()))).thenReturn(List.of(ours.id()));
+
+        worker.drain();
+
+        verify(usageRepository).addStored(manifestId, -1, -300);
+        verifyNoMoreInteractions(usageRepository);
+    }
+
+    @Test
+    void drain_emptyQueue_doesNothing() {
+        when(deletionRepository.findDue(any(Instant.class), anyInt())).thenReturn(List.of());
+
+        assertEquals(0, worker.drain());
+        verifyNoInteractions(tileStorage);
+    }
+
+    private PendingTileDeletion pending(UUID regattaId, UUID sessionId, String tileId) {
+        return PendingTileDeletion.of(regattaId, sessionId, tileId, Instant.now().minusSeconds(1));
+    }
+}
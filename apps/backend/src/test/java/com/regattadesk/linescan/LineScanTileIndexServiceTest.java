@@ -0,0 +1,105 @@
+package com.regattadesk.linescan;
+
+import com.regattadesk.linescan.model.LineScanManifest;
+import com.regattadesk.linescan.model.LineScanManifestTile;
+import com.regattadesk.linescan.repository.LineScanManifestRepository;
+import com.regattadesk.linescan.service.LineScanTileIndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LineScanTileIndexService caching and window limits.
+ */
+@ExtendWith(MockitoExtension.class)
+class LineScanTileIndexServiceTest {
+
+    @Mock
+    private LineScanManifestRepository manifestRepository;
+
+    private LineScanTileIndexService service;
+    private UUID regattaId;
+    private UUID captureSessionId;
+    private UUID manifestId;
+
+    @BeforeEach
+    void setUp() {
+        service = new LineScanTileIndexService(manifestRepository, 16);
+        regattaId = UUID.randomUUID();
+        captureSessionId = UUID.randomUUID();
+        manifestId = UUID.randomUUID();
+    }
+
+    private LineScanManifest manifest(Instant updatedAt, List<LineScanManifestTile> tiles) {
+        return LineScanManifest.builder()
+            .id(manifestId)
+            .regattaId(regattaId)
+            .captureSessionId(captureSessionId)
+            .tileSizePx(512)
+            .primaryFormat("webp_lossless")
+            .xOriginTimestampMs(10000L)
+            .msPerPixel(1.0)
+            .tiles(tiles)
+            .updatedAt(updatedAt)
+            .build();
+    }
+
+    @Test
+    void tilesCovering_reusesIndexUntilManifestVersionChanges() {
+        Instant v1 = Instant.parse("2026-06-01T10:00:00Z");
+        Instant v2 = v1.plusSeconds(5);
+        List<LineScanManifestTile> tiles = List.of(
+            new LineScanManifestTile("tile_0_0", 0, 0, "image/webp", null),
+            new LineScanManifestTile("tile_1_0", 512, 0, "image/webp", null)
+        );
+        when(manifestRepository.findHeaderByCaptureSessionId(captureSessionId))
+            .thenReturn(Optional.of(manifest(v1, List.of())))
+            .thenReturn(Optional.of(manifest(v1, List.of())))
+            .thenReturn(Optional.of(manifest(v2, List.of())));
+        when(manifestRepository.findById(manifestId))
+            .thenReturn(Optional.of(manifest(v1, tiles)))
+            .thenReturn(Optional.of(manifest(v2, tiles.subList(0, 1))));
+
+        assertEquals(2, service.tilesCovering(regattaId, captureSessionId, 10000L, 11000L).orElseThrow().tiles().size());
+        assertEquals(2, service.tilesCovering(regattaId, captureSessionId, 10000L, 11000L).orElseThrow().tiles().size());
+        assertEquals(1, service.tilesCovering(regattaId, captureSessionId, 10000L, 11000L).orElseThrow().tiles().size());
+
+        verify(manifestRepository, times(2)).findById(manifestId);
+    }
+
+    @Test
+    void tilesCovering_otherRegattaIsEmpty() {
+        when(manifestRepository.findHeaderByCaptureSessionId(captureSessionId))
+            .thenReturn(Optional.of(manifest(Instant.now(), List.of())));
+
+        assertTrue(service.tilesCovering(UUID.randomUUID(), captureSessionId, 0L, 1000L).isEmpty());
+    }
+
+    @Test
+    void tilesCovering_rejectsWindowsLargerThanOneUrlBatch() {
+        Instant version = Instant.now();
+        List<LineScanManifestTile> tiles = new ArrayList<>();
+        for (int i = 0; i <= LineScanTileIndexService.MAX_TILES_PER_WINDOW; i++) {
+            tiles.add(new LineScanManifestTile("tile_" + i + "_0", i * 512, 0, "image/webp", null));
+        }
+        when(manifestRepository.findHeaderByCaptureSessionId(captureSessionId))
+            .thenReturn(Optional.of(manifest(version, List.of())));
+        when(manifestRepository.findById(manifestId)).thenReturn(Optional.of(manifest(version, tiles)));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> service.tilesCovering(regattaId, captureSessionId, 0L, Long.MAX_VALUE));
+    }
+}
@@ -1,28 +1,38 @@
 package com.regattadesk.linescan;
 
-import com.regattadesk.linescan.config.MinioStorageAdapter;
 import com.regattadesk.linescan.model.LineScanManifest;
 import com.regattadesk.linescan.model.LineScanTileMetadata;
 import com.regattadesk.linescan.repository.LineScanManifestRepository;
+import com.regattadesk.linescan.repository.LineScanStorageUsageRepository;
 import com.regattadesk.linescan.repository.LineScanTileRepository;
+import com.regattadesk.linescan.service.LineScanManifestCache;
 import com.regattadesk.linescan.service.LineScanTileService;
+import com.regattadesk.linescan.storage.TileStorage;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,7 +43,9 @@ class LineScanTileServiceTest {
     @Mock
     private LineScanManifestRepository manifestRepository;
     @Mock
-    private MinioStorageAdapter storageAdapter;
+    private LineScanStorageUsageRepository usageRepository;
+    @Mock
+    private TileStorage tileStorage;
 
     @Test
     void storeTile_marksPendingThenReady() throws Exception {
@@ -45,13 +57,14 @@ class LineScanTileServiceTest {
         LineScanManifest manifest = baseManifest(regattaId, captureSessionId, manifestId);
 
         when(tileRepository.findByRegattaAndTileId(regattaId, "tile_0_0")).thenReturn(Optional.of(metadata));
-        when(manifestRepository.findById(manifestId)).thenReturn(Optional.of(manifest));
+        when(tileRepository.lockById(metadata.getId())).thenReturn(Optional.of(metadata));
+        when(manifestRepository.findHeaderById(manifestId)).thenReturn(Optional.of(manifest));
 
-        LineScanTileService service = new LineScanTileService(tileRepository, manifestRepository, storageAdapter);
+        LineScanTileService service = new LineScanTileService(tileRepository, manifestRepository, usageRepository, tileStorage);
 
         service.storeTile(regattaId, "tile_0_0", new byte[]{1, 2, 3}, "image/webp");
 
-        verify(storageAdapter).storeTile(eq(regattaId), eq(captureSessionId), eq("tile_0_0"), any(byte[].class), eq("image/webp"));
+        verify(tileStorage).storeTile(eq(regattaId), eq(captureSessionId), eq("tile_0_0"), any(byte[].class), eq("image/webp"));
 
         ArgumentCaptor<LineScanTileMetadata> metadataCaptor = ArgumentCaptor.forClass(LineScanTileMetadata.class);
         verify(tileRepository, times(2)).save(metadataCaptor.capture());
@@ -66,6 +79,39 @@ class LineScanTileServiceTest {
         assertEquals(1, ready.getUploadAttempts());
         assertEquals(3, ready.getByteSize());
         assertNull(ready.getLastUploadError());
+        verify(usageRepository).addStored(manifestId, 1, 3);
+    }
+
+    @Test
+    void storeTile_accountsReplacedTileAndItsVariant() throws Exception {
+        UUID regattaId = UUID.randomUUID();
+        UUID manifestId = UUID.randomUUID();
+        LineScanTileMetadata stored = LineScanTileMetadata.builder()
+            .id(UUID.randomUUID())
+            .manifestId(manifestId)
+            .tileId("tile_0_0")
+            .contentType("image/png")
+            .byteSize(10)
+            .contentSha256("previous")
+            .uploadState(LineScanTileMetadata.UploadState.READY)
+            .uploadAttempts(1)
+            .variantContentType("image/webp")
+            .variantByteSize(4)
+            .variantSha256("variant")
+            .minioBucket("bucket")
+            .minioObjectKey("session/tile_0_0")
+            .build();
+        when(tileRepository.findByRegattaAndTileId(regattaId, "tile_0_0")).thenReturn(Optional.of(stored));
+        when(tileRepository.lockById(stored.getId())).thenReturn(Optional.of(stored));
+        when(manifestRepository.findHeaderById(manifestId))
+            .thenReturn(Optional.of(baseManifest(regattaId, UUID.randomUUID(), manifestId)));
+
+        LineScanTileService service = new LineScanTileService(tileRepository, manifestRepository, usageRepository, tileStorage);
+
+        service.storeTile(regattaId, "tile_0_0", new byte[]{1, 2, 3}, "image/png");
+
+        // 10 original + 4 variant bytes replaced by a 3-byte tile whose variant is pending
+        verify(usageRepository).addStored(manifestId, 0, -11);
     }
 
     @Test
@@ -78,15 +124,16 @@ class LineScanTileServiceTest {
         LineScanManifest manifest = baseManifest(regattaId, captureSessionId, manifestId);
 
         when(tileRepository.findByRegattaAndTileId(regattaId, "tile_0_0")).thenReturn(Optional.of(metadata));
-        when(manifestRepository.findById(manifestId)).thenReturn(Optional.of(manifest));
-        doThrow(new MinioStorageAdapter.MinioStorageException("minio down", null))
-            .when(storageAdapter)
+        when(tileRepository.lockById(metadata.getId())).thenReturn(Optional.of(metadata));
+        when(manifestRepository.findHeaderById(manifestId)).thenReturn(Optional.of(manifest));
+        doThrow(new TileStorage.TileStorageException("minio down", null))
+            .when(tileStorage)
             .storeTile(eq(regattaId), eq(captureSessionId), eq("tile_0_0"), any(byte[].class), eq("image/png"));
 
-        LineScanTileService service = new LineScanTileService(tileRepository, manifestRepository, storageAdapter);
+        LineScanTileService service = new LineScanTileService(tileRepository, manifestRepository, usageRepository, tileStorage);
 
-        MinioStorageAdapter.MinioStorageException error = assertThrows(
-            MinioStorageAdapter.MinioStorageException.class,
+        TileStorage.TileStorageException error = assertThrows(
+            TileStorage.TileStorageException.class,
             () -> service.storeTile(regattaId, "tile_0_0", new byte[]{7}, "image/png")
         );
 
@@ -100,6 +147,7 @@ class LineScanTileServiceTest {
         assertEquals(2, failed.getUploadAttempts());
         assertEquals("minio down", failed.getLastUploadError());
         assertNull(failed.getByteSize());
+        verifyNoInteractions(usageRepository);
     }
 
     @Test
@@ -112,9 +160,9 @@ class LineScanTileServiceTest {
         LineScanManifest manifest = baseManifest(regattaId, captureSessionId, manifestId);
 
         when(tileRepository.findByRegattaAndTileId(regattaId, "tile_0_0")).thenReturn(Optional.of(pending));
-        when(manifestRepository.findById(manifestId)).thenReturn(Optional.of(manifest));
+        when(manifestRepository.findHeaderById(manifestId)).thenReturn(Optional.of(manifest));
 
-        LineScanTileService service = new LineScanTileService(tileRepository, manifestRepository, storageAdapter);
+        LineScanTileService service = new LineScanTileService(tileRepository, manifestRepository, usageRepository, tileStorage);
 
         LineScanTileService.TileNotFoundException error = assertThrows(
             LineScanTileService.TileNotFoundException.class,
@@ -124,6 +172,246 @@ class LineScanTileServiceTest {
         assertEquals("Tile data not yet available: tile_0_0", error.getMessage());
     }
 
+    @Test
+    void storeTile_recordsContentHashAndSkipsIdenticalReupload() throws Exception {
+        UUID regattaId = UUID.randomUUID();
+        UUID manifestId = UUID.randomUUID();
+        UUID captureSessionId = UUID.randomUUID();
+        byte[] data = {1, 2, 3};
+        String sha256 = "039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81";
+
+        LineScanTileMetadata pending = baseMetadata(manifestId, "tile_0_0", LineScanTileMetadata.UploadState.PENDING, 0);
+        when(tileRepository.findByRegattaAndTileId(regattaId, "tile_0_0")).thenReturn(Optional.of(pending));
+        when(tileRepository.lockById(pending.getId())).thenReturn(Optional.of(pending));
+        when(manifestRepository.findHeaderById(manifestId))
+            .thenReturn(Optional.of(baseManifest(regattaId, captureSessionId, manifestId)));
+
+        LineScanTileService service = new LineScanTileService(tileRepository, manifestRepository, usageRepository, tileStorage);
+
+        LineScanTileService.StoreResult first = service.storeTile(regattaId, "tile_0_0", data, "image/webp");
+        assertTrue(first.written());
+        assertEquals(sha256, first.contentSha256());
+
+        ArgumentCaptor<LineScanTileMetadata> metadataCaptor = ArgumentCaptor.forClass(LineScanTileMetadata.class);
+        verify(tileRepository, times(2)).save(metadataCaptor.capture());
+        LineScanTileMetadata ready = metadataCaptor.getAllValues().get(1);
+        assertEquals(sha256, ready.getContentSha256());
+
+        when(tileRepository.findByRegattaAndTileId(regattaId, "tile_0_0")).thenReturn(Optional.of(ready));
+
+        LineScanTileService.StoreResult retry = service.storeTile(regattaId, "tile_0_0", data.clone(), "image/webp");
+        assertFalse(retry.written());
+        verify(tileStorage, times(1)).storeTile(any(), any(), any(), any(byte[].class), any());
+        verify(tileRepository, times(2)).save(any());
+    }
+
+    @Test
+    void downloadTile_returnsNotModifiedWithoutReadingStorage() throws Exception {
+        UUID regattaId = UUID.randomUUID();
+        UUID manifestId = UUID.randomUUID();
+        LineScanTileMetadata ready = LineScanTileMetadata.builder()
+            .manifestId(manifestId)
+            .tileId("tile_0_0")
+            .contentType("image/webp")
+            .contentSha256("abc123")
+            .uploadState(LineScanTileMetadata.UploadState.READY)
+            .build();
+        when(tileRepository.findByRegattaAndTileId(regattaId, "tile_0_0")).thenReturn(Optional.of(ready));
+        when(manifestRepository.findHeaderById(manifestId))
+            .thenReturn(Optional.of(baseManifest(regattaId, UUID.randomUUID(), manifestId)));
+
+        LineScanTileService service = new LineScanTileService(tileRepository, manifestRepository, usageRepository, tileStorage);
+
+        LineScanTileService.TileDownload download =
+            service.downloadTile(regattaId, "tile_0_0", "W/\"other\", \"abc123\"");
+
+        assertTrue(download.notModified());
+        assertEquals("abc123", download.etag());
+        verifyNoInteractions(tileStorage);
+    }
+
+    @Test
+    void downloadTile_rejectsCorruptTileWhenVerificationSampled() throws Exception {
+        UUID regattaId = UUID.randomUUID();
+        UUID manifestId = UUID.randomUUID();
+        UUID captureSessionId = UUID.randomUUID();
+        LineScanTileMetadata ready = LineScanTileMetadata.builder()
+            .manifestId(manifestId)
+            .tileId("tile_0_0")
+            .contentType("image/webp")
+            .contentSha256("039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81")
+            .uploadState(LineScanTileMetadata.UploadState.READY)
+            .build();
+        when(tileRepository.findByRegattaAndTileId(regattaId, "tile_0_0")).thenReturn(Optional.of(ready));
+        when(manifestRepository.findHeaderById(manifestId))
+            .thenReturn(Optional.of(baseManifest(regattaId, captureSessionId, manifestId)));
+        when(tileStorage.retrieveTile(regattaId, captureSessionId, "tile_0_0"))
+            .thenReturn(new TileStorage.TileData(new byte[]{1, 2, 4}, "image/webp"));
+
+        LineScanTileService service = new LineScanTileService(
+            tileRepository, manifestCache(), usageRepository, tileStorage, false, Duration.ofMinutes(5), 1.0);
+
+        assertThrows(TileStorage.TileStorageException.class, () -> service.downloadTile(regattaId, "tile_0_0", null));
+    }
+
+    @Test
+    void presignedTileUrl_isEmptyWhenDisabled() throws Exception {
+        LineScanTileService service = new LineScanTileService(tileRepository, manifestRepository, usageRepository, tileStorage);
+
+        assertTrue(service.presignedTileUrl(UUID.randomUUID(), "tile_0_0").isEmpty());
+        verifyNoInteractions(tileRepository, manifestRepository, tileStorage);
+    }
+
+    @Test
+    void presignedTileUrl_presignsReadyTileWhenEnabled() throws Exception {
+        UUID regattaId = UUID.randomUUID();
+        UUID manifestId = UUID.randomUUID();
+        UUID captureSessionId = UUID.randomUUID();
+        Duration ttl = Duration.ofMinutes(2);
+        URI url = URI.create("http://minio:9000/bucket/line-scan/tile_0_0?X-Amz-Signature=abc");
+
+        when(tileRepository.findByRegattaAndTileId(regattaId, "tile_0_0"))
+            .thenReturn(Optional.of(baseMetadata(manifestId, "tile_0_0", LineScanTileMetadata.UploadState.READY, 1)));
+        when(manifestRepository.findHeaderById(manifestId))
+            .thenReturn(Optional.of(baseManifest(regattaId, captureSessionId, manifestId)));
+        when(tileStorage.presignedDownloadUrl(regattaId, captureSessionId, "tile_0_0", ttl))
+            .thenReturn(Optional.of(url));
+
+        LineScanTileService service =
+            new LineScanTileService(tileRepository, manifestCache(), usageRepository, tileStorage, true, ttl, 0.0);
+
+        assertEquals(Optional.of(url), service.presignedTileUrl(regattaId, "tile_0_0"));
+        verify(tileStorage, never()).retrieveTile(any(), any(), any());
+    }
+
+    @Test
+    void tileUrls_presignsReadyTilesAndReportsMissingOnes() throws Exception {
+        UUID regattaId = UUID.randomUUID();
+        UUID manifestId = UUID.randomUUID();
+        UUID captureSessionId = UUID.randomUUID();
+        Duration ttl = Duration.ofMinutes(5);
+
+        when(manifestRepository.findHeaderById(manifestId))
+            .thenReturn(Optional.of(baseManifest(regattaId, captureSessionId, manifestId)));
+        when(tileRepository.findByManifestIdAndTileIds(eq(manifestId), any())).thenReturn(List.of(
+            baseMetadata(manifestId, "tile_0_0", LineScanTileMetadata.UploadState.READY, 1),
+            baseMetadata(manifestId, "tile_1_0", LineScanTileMetadata.UploadState.PENDING, 1)
+        ));
+        when(tileStorage.presignedDownloadUrl(regattaId, captureSessionId, "tile_0_0", ttl))
+            .thenReturn(Optional.of(URI.create("http://minio:9000/signed/tile_0_0")));
+
+        LineScanTileService service =
+            new LineScanTileService(tileRepository, manifestCache(), usageRepository, tileStorage, true, ttl, 0.0);
+
+        LineScanTileService.TileUrlBatch batch =
+            service.tileUrls(regattaId, manifestId, List.of("tile_0_0", "tile_1_0", "tile_9_9", "tile_0_0"));
+
+        assertEquals(1, batch.tiles().size());
+        assertEquals("http://minio:9000/signed/tile_0_0", batch.tiles().get(0).url());
+        assertTrue(batch.tiles().get(0).direct());
+        assertEquals(List.of("tile_1_0", "tile_9_9"), batch.missingTileIds());
+        assertNotNull(batch.expiresAt());
+    }
+
+    @Test
+    void tileUrls_fallsBackToProxyPathWhenBackendCannotPresign() throws Exception {
+        UUID regattaId = UUID.randomUUID();
+        UUID manifestId = UUID.randomUUID();
+        UUID captureSessionId = UUID.randomUUID();
+        Duration ttl = Duration.ofMinutes(5);
+
+        when(manifestRepository.findHeaderById(manifestId))
+            .thenReturn(Optional.of(baseManifest(regattaId, captureSessionId, manifestId)));
+        when(tileRepository.findByManifestIdAndTileIds(eq(manifestId), any())).thenReturn(List.of(
+            baseMetadata(manifestId, "tile_0_0", LineScanTileMetadata.UploadState.READY, 1)
+        ));
+        when(tileStorage.presignedDownloadUrl(regattaId, captureSessionId, "tile_0_0", ttl))
+            .thenReturn(Optional.empty());
+
+        LineScanTileService service =
+            new LineScanTileService(tileRepository, manifestCache(), usageRepository, tileStorage, true, ttl, 0.0);
+
+        LineScanTileService.TileUrlBatch batch = service.tileUrls(regattaId, manifestId, List.of("tile_0_0"));
+
+        assertEquals("/api/v1/regattas/" + regattaId + "/line_scan/tiles/tile_0_0", batch.tiles().get(0).url());
+        assertFalse(batch.tiles().get(0).direct());
+        assertNull(batch.expiresAt());
+    }
+
+    @Test
+    void tileUrls_rejectsManifestOfAnotherRegatta() {
+        UUID manifestId = UUID.randomUUID();
+        when(manifestRepository.findHeaderById(manifestId))
+            .thenReturn(Optional.of(baseManifest(UUID.randomUUID(), UUID.randomUUID(), manifestId)));
+
+        LineScanTileService service = new LineScanTileService(tileRepository, manifestRepository, usageRepository, tileStorage);
+
+        assertThrows(LineScanTileService.TileNotFoundException.class,
+            () -> service.tileUrls(UUID.randomUUID(), manifestId, List.of("tile_0_0")));
+    }
+
+    @Test
+    void storeTile_queuesPngUploadForWebpManifestForTranscoding() throws Exception {
+        UUID regattaId = UUID.randomUUID();
+        UUID manifestId = UUID.randomUUID();
+        LineScanTileMetadata metadata = baseMetadata(manifestId, "tile_0_0", LineScanTileMetadata.UploadState.PENDING, 0);
+        when(tileRepository.findByRegattaAndTileId(regattaId, "tile_0_0")).thenReturn(Optional.of(metadata));
+        when(tileRepository.lockById(metadata.getId())).thenReturn(Optional.of(metadata));
+        when(manifestRepository.findHeaderById(manifestId))
+            .thenReturn(Optional.of(baseManifest(regattaId, UUID.randomUUID(), manifestId)));
+
+        LineScanTileService service = new LineScanTileService(tileRepository, manifestRepository, usageRepository, tileStorage);
+
+        service.storeTile(regattaId, "tile_0_0", new byte[]{1, 2, 3}, "image/png");
+        verify(tileRepository).resetVariant(eq(metadata.getId()), eq(true), any());
+
+        service.storeTile(regattaId, "tile_0_0", new byte[]{4, 5, 6}, "image/webp");
+        verify(tileRepository).resetVariant(eq(metadata.getId()), eq(false), any());
+        verify(tileRepository, times(2)).queueDetection(eq(metadata.getId()), any());
+    }
+
+    @Test
+    void downloadTile_servesWebpVariantOnlyWhenAccepted() throws Exception {
+        UUID regattaId = UUID.randomUUID();
+        UUID manifestId = UUID.randomUUID();
+        UUID captureSessionId = UUID.randomUUID();
+        LineScanTileMetadata ready = LineScanTileMetadata.builder()
+            .manifestId(manifestId)
+            .tileId("tile_0_0")
+            .contentType("image/png")
+            .contentSha256("png-sha")
+            .variantContentType("image/webp")
+            .variantByteSize(1)
+            .variantSha256("webp-sha")
+            .uploadState(LineScanTileMetadata.UploadState.READY)
+            .build();
+        when(tileRepository.findByRegattaAndTileId(regattaId, "tile_0_0")).thenReturn(Optional.of(ready));
+        when(manifestRepository.findHeaderById(manifestId))
+            .thenReturn(Optional.of(baseManifest(regattaId, captureSessionId, manifestId)));
+        when(tileStorage.retrieveTile(regattaId, captureSessionId, "tile_0_0.webp"))
+            .thenReturn(new TileStorage.TileData(new byte[]{9}, "image/webp"));
+        when(tileStorage.retrieveTile(regattaId, captureSessionId, "tile_0_0"))
+            .thenReturn(new TileStorage.TileData(new byte[]{1, 2, 3}, "image/png"));
+
+        LineScanTileService service = new LineScanTileService(tileRepository, manifestRepository, usageRepository, tileStorage);
+
+        LineScanTileService.TileDownload webp =
+            service.downloadTile(regattaId, "tile_0_0", "image/avif,image/webp,*/*;q=0.8", null);
+        assertEquals("webp-sha", webp.etag());
+        assertEquals("image/webp", webp.data().getContentType());
+
+        assertEquals("png-sha", service.downloadTile(regattaId, "tile_0_0", "*/*", null).etag());
+        assertEquals("png-sha", service.downloadTile(regattaId, "tile_0_0", null, null).etag());
+        assertEquals("png-sha",
+            service.downloadTile(regattaId, "tile_0_0", "image/png, image/webp;q=0.5", null).etag());
+        assertTrue(service.downloadTile(regattaId, "tile_0_0", "image/webp", "\"webp-sha\"").notModified());
+        verify(manifestRepository, times(1)).findHeaderById(manifestId);
+    }
+
+    private LineScanManifestCache manifestCache() {
+        return new LineScanManifestCache(manifestRepository, 16, Duration.ofMinutes(1));
+    }
+
     private LineScanManifest baseManifest(UUID regattaId, UUID captureSessionId, UUID manifestId) {
         return LineScanManifest.builder()
             .id(manifestId)
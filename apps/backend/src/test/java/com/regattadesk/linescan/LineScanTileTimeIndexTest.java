@@ -0,0 +1,73 @@
+package com.regattadesk.linescan;
+
+import com.regattadesk.linescan.model.LineScanManifest;
+import com.regattadesk.linescan.model.LineScanManifestTile;
+import com.regattadesk.linescan.service.LineScanTileTimeIndex;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LineScanTileTimeIndex window lookups.
+ */
+class LineScanTileTimeIndexTest {
+
+    private static LineScanManifest manifest(List<LineScanManifestTile> tiles) {
+        return LineScanManifest.builder()
+            .id(UUID.randomUUID())
+            .regattaId(UUID.randomUUID())
+            .captureSessionId(UUID.randomUUID())
+            .tileSizePx(512)
+            .primaryFormat("webp_lossless")
+            .xOriginTimestampMs(10000L)
+            .msPerPixel(1.0)
+            .tiles(tiles)
+            .updatedAt(Instant.parse("2026-06-01T10:00:00Z"))
+            .build();
+    }
+
+    @Test
+    void covering_returnsContiguousTilesInTimeOrder() {
+        LineScanTileTimeIndex index = LineScanTileTimeIndex.of(manifest(List.of(
+            new LineScanManifestTile("tile_2_0", 1024, 0, "image/webp", null),
+            new LineScanManifestTile("tile_0_0", 0, 0, "image/webp", null),
+            new LineScanManifestTile("tile_1_1", 512, 512, "image/webp", null),
+            new LineScanManifestTile("tile_1_0", 512, 0, "image/webp", null),
+            new LineScanManifestTile("tile_3_0", 1536, 0, "image/webp", null)
+        )));
+
+        List<LineScanTileTimeIndex.TileSpan> spans = index.covering(10600L, 11100L);
+
+        assertEquals(List.of("tile_1_0", "tile_1_1", "tile_2_0"),
+            spans.stream().map(span -> span.tile().getTileId()).toList());
+        assertEquals(10512L, spans.get(0).startMs());
+        assertEquals(11024L, spans.get(0).endMs());
+        assertEquals(3, index.countCovering(10600L, 11100L));
+    }
+
+    @Test
+    void covering_usesStrictBoundaries() {
+        LineScanTileTimeIndex index = LineScanTileTimeIndex.of(manifest(List.of(
+            new LineScanManifestTile("tile_0_0", 0, 0, "image/webp", null),
+            new LineScanManifestTile("tile_1_0", 512, 0, "image/webp", null)
+        )));
+
+        assertEquals(List.of("tile_1_0"),
+            index.covering(10512L, 11024L).stream().map(span -> span.tile().getTileId()).toList());
+        assertTrue(index.covering(9000L, 10000L).isEmpty());
+        assertTrue(index.covering(11024L, 12000L).isEmpty());
+        assertEquals(0, index.countCovering(11024L, 12000L));
+    }
+
+    @Test
+    void of_withoutTiles_coversNothing() {
+        LineScanTileTimeIndex index = LineScanTileTimeIndex.of(manifest(List.of()));
+
+        assertEquals(0, index.size());
+        assertTrue(index.covering(0L, Long.MAX_VALUE).isEmpty());
+    }
+}
@@ -0,0 +1,193 @@
+package com.regattadesk.linescan;
+
+import com.regattadesk.linescan.model.TileTranscodeState;
+import com.regattadesk.linescan.model.TileTranscodeTask;
+import com.regattadesk.linescan.repository.LineScanStorageUsageRepository;
+import com.regattadesk.linescan.repository.LineScanTileRepository;
+import com.regattadesk.linescan.service.LineScanTileTranscodeWorker;
+import com.regattadesk.linescan.service.WebpTileEncoder;
+import com.regattadesk.linescan.storage.TileStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LineScanTileTranscodeWorker.
+ */
+@ExtendWith(MockitoExtension.class)
+class LineScanTileTranscodeWorkerTest {
+
+    private static final byte[] ORIGINAL = {1, 2, 3};
+    private static final String ORIGINAL_SHA256 = "039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81";
+    private static final byte[] VARIANT = {9};
+    private static final String VARIANT_SHA256 = "2b4c342f5433ebe591a1da77e013d1b72475562d48578dca8b84bac6651c3cb9";
+    private static final Instant CLAIMED_UNTIL = Instant.parse("2026-01-01T00:10:00Z");
+
+    @Mock
+    private LineScanTileRepository tileRepository;
+
+    @Mock
+    private LineScanStorageUsageRepository usageRepository;
+
+    @Mock
+    private TileStorage tileStorage;
+
+    @Mock
+    private WebpTileEncoder encoder;
+
+    private LineScanTileTranscodeWorker worker;
+    private TileTranscodeTask task;
+
+    @BeforeEach
+    void setUp() {
+        worker = new LineScanTileTranscodeWorker(tileRepository, usageRepository, tileStorage, encoder, 2, 3, Duration.ofMinutes(10));
+        task = new TileTranscodeTask(
+            UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "tile_0_0", "image/png", ORIGINAL_SHA256, 0,
+            CLAIMED_UNTIL);
+    }
+
+    @Test
+    void drain_storesSmallerVariantAgainstSourceHash() throws Exception {
+        when(encoder.isAvailable()).thenReturn(true);
+        when(tileRepository.claimTranscodeDue(any(Instant.class), any(Instant.class), anyInt())).thenReturn(List.of(task), List.of());
+        when(tileStorage.retrieveTile(task.regattaId(), task.captureSessionId(), "tile_0_0"))
+            .thenReturn(new TileStorage.TileData(ORIGINAL, "image/png"));
+        when(encoder.encodeLossless(any())).thenReturn(VARIANT);
+        when(tileRepository.completeTranscode(task, "image/webp", 1, VARIANT_SHA256))
+            .thenReturn(true);
+
+        assertEquals(1, worker.drain());
+
+        verify(tileStorage).storeTile(task.regattaId(), task.captureSessionId(), "tile_0_0.webp", VARIANT, "image/webp");
+        verify(usageRepository).addStored(task.manifestId(), 0, 1);
+        verify(tileRepository, never()).failTranscode(any(), any(), any());
+    }
+
+    @Test
+    void drain_discardsVariantOfTileChangedMeanwhile() throws Exception {
+        when(encoder.isAvailable()).thenReturn(true);
+        when(tileRepository.claimTranscodeDue(any(Instant.class), any(Instant.class), anyInt())).thenReturn(List.of(task), List.of());
+        when(tileStorage.retrieveTile(task.regattaId(), task.captureSessionId(), "tile_0_0"))
+            .thenReturn(new TileStorage.TileData(ORIGINAL, "image/png"));
+        when(encoder.encodeLossless(any())).thenReturn(VARIANT);
+        when(tileRepository.completeTranscode(any(), any(), anyInt(), any())).thenReturn(false);
+        when(tileRepository.findTranscodeState(task.id()))
+            .thenReturn(Optional.of(new TileTranscodeState(null, null, null)));
+
+        assertEquals(0, worker.drain());
+
+        verify(tileStorage).deleteTile(task.regattaId(), task.captureSessionId(), "tile_0_0.webp");
+        verifyNoInteractions(usageRepository);
+    }
+
+    @Test
+    void drain_keepsVariantOfTileClaimedAgainMeanwhile() throws Exception {
+        when(encoder.isAvailable()).thenReturn(true);
+        when(tileRepository.claimTranscodeDue(any(Instant.class), any(Instant.class), anyInt()))
+            .thenReturn(List.of(task), List.of());
+        when(tileStorage.retrieveTile(task.regattaId(), task.captureSessionId(), "tile_0_0"))
+            .thenReturn(new TileStorage.TileData(ORIGINAL, "image/png"));
+        when(encoder.encodeLossless(any())).thenReturn(VARIANT);
+        when(tileRepository.completeTranscode(any(), any(), anyInt(), any())).thenReturn(false);
+        when(tileRepository.findTranscodeState(task.id()))
+            .thenReturn(Optional.of(new TileTranscodeState("pending", null, null)));
+
+        assertEquals(0, worker.drain());
+
+        verify(tileStorage, never()).deleteTile(any(), any(), any());
+        verifyNoInteractions(usageRepository);
+    }
+
+    @Test
+    void drain_keepsVariantRecordedByAnotherWorker() throws Exception {
+        when(encoder.isAvailable()).thenReturn(true);
+        when(tileRepository.claimTranscodeDue(any(Instant.class), any(Instant.class), anyInt()))
+            .thenReturn(List.of(task), List.of());
+        when(tileStorage.retrieveTile(task.regattaId(), task.captureSessionId(), "tile_0_0"))
+            .thenReturn(new TileStorage.TileData(ORIGINAL, "image/png"));
+        when(encoder.encodeLossless(any())).thenReturn(VARIANT);
+        when(tileRepository.completeTranscode(any(), any(), anyInt(), any())).thenReturn(false);
+        when(tileRepository.findTranscodeState(task.id()))
+            .thenReturn(Optional.of(new TileTranscodeState("ready", VARIANT_SHA256, 1)));
+
+        assertEquals(0, worker.drain());
+
+        verify(tileStorage, never()).deleteTile(any(), any(), any());
+        verify(tileRepository, never()).requeueTranscode(any(), any(), any());
+        verifyNoInteractions(usageRepository);
+    }
+
+    @Test
+    void drain_requeuesTileWhoseRecordedVariantWasOverwritten() throws Exception {
+        when(encoder.isAvailable()).thenReturn(true);
+        when(tileRepository.claimTranscodeDue(any(Instant.class), any(Instant.class), anyInt()))
+            .thenReturn(List.of(task), List.of());
+        when(tileStorage.retrieveTile(task.regattaId(), task.captureSessionId(), "tile_0_0"))
+            .thenReturn(new TileStorage.TileData(ORIGINAL, "image/png"));
+        when(encoder.encodeLossless(any())).thenReturn(VARIANT);
+        when(tileRepository.completeTranscode(any(), any(), anyInt(), any())).thenReturn(false);
+        when(tileRepository.findTranscodeState(task.id()))
+            .thenReturn(Optional.of(new TileTranscodeState("ready", "other-sha256", 2)));
+        when(tileRepository.requeueTranscode(eq(task.id()), eq("other-sha256"), any(Instant.class))).thenReturn(true);
+
+        assertEquals(0, worker.drain());
+
+        verify(tileStorage, never()).deleteTile(any(), any(), any());
+        verify(usageRepository).addStored(task.manifestId(), 0, -2);
+    }
+
+    @Test
+    void drain_skipsVariantThatIsNotSmaller() throws Exception {
+        when(encoder.isAvailable()).thenReturn(true);
+        when(tileRepository.claimTranscodeDue(any(Instant.class), any(Instant.class), anyInt())).thenReturn(List.of(task), List.of());
+        when(tileStorage.retrieveTile(task.regattaId(), task.captureSessionId(), "tile_0_0"))
+            .thenReturn(new TileStorage.TileData(ORIGINAL, "image/png"));
+        when(encoder.encodeLossless(any())).thenReturn(new byte[]{1, 2, 3, 4});
+
+        assertEquals(1, worker.drain());
+
+        verify(tileRepository).skipTranscode(task);
+        verify(tileStorage, never()).storeTile(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void drain_reschedulesFailuresAndGivesUpAfterMaxAttempts() throws Exception {
+        TileTranscodeTask lastAttempt = new TileTranscodeTask(
+            UUID.randomUUID(), task.manifestId(), task.regattaId(), task.captureSessionId(), "tile_1_0", "image/png", ORIGINAL_SHA256, 2,
+            CLAIMED_UNTIL);
+        when(encoder.isAvailable()).thenReturn(true);
+        when(tileRepository.claimTranscodeDue(any(Instant.class), any(Instant.class), anyInt()))
+            .thenReturn(List.of(task, lastAttempt), List.of());
+        when(tileStorage.retrieveTile(eq(task.regattaId()), eq(task.captureSessionId()), anyString()))
+            .thenReturn(new TileStorage.TileData(ORIGINAL, "image/png"));
+        when(encoder.encodeLossless(any())).thenThrow(new IOException("cwebp exited with 255"));
+
+        assertEquals(0, worker.drain());
+
+        verify(tileRepository).failTranscode(eq(task), eq("cwebp exited with 255"),
+            argThat(next -> next != null && next.isAfter(Instant.now())));
+        verify(tileRepository).failTranscode(lastAttempt, "cwebp exited with 255", null);
+    }
+
+    @Test
+    void drain_doesNothingWithoutEncoder() {
+        when(encoder.isAvailable()).thenReturn(false);
+
+        assertEquals(0, worker.drain());
+
+        verifyNoInteractions(tileRepository, tileStorage);
+    }
+}
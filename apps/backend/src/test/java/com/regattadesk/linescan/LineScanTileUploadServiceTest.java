@@ -0,0 +1,184 @@
+package com.regattadesk.linescan;
+
+import com.regattadesk.linescan.model.TileUploadSession;
+import com.regattadesk.linescan.repository.LineScanTileRepository;
+import com.regattadesk.linescan.repository.LineScanTileUploadRepository;
+import com.regattadesk.linescan.service.LineScanTileService;
+import com.regattadesk.linescan.service.LineScanTileUploadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LineScanTileUploadService.
+ */
+@ExtendWith(MockitoExtension.class)
+class LineScanTileUploadServiceTest {
+
+    private static final byte[] TILE = {1, 2, 3, 4, 5, 6, 7};
+    private static final String OTHER_SHA256 = "a4d6a4d0b1d9b5b1d3c5e1f2a0b9c8d7e6f5a4b3c2d1e0f9a8b7c6d5e4f3a2b1";
+
+    @Mock
+    private LineScanTileUploadRepository uploadRepository;
+
+    @Mock
+    private LineScanTileRepository tileRepository;
+
+    @Mock
+    private LineScanTileService tileService;
+
+    @TempDir
+    Path uploadDir;
+
+    private LineScanTileUploadService service;
+    private UUID regattaId;
+
+    @BeforeEach
+    void setUp() {
+        service = new LineScanTileUploadService(
+            uploadRepository, tileRepository, tileService, Optional.of(uploadDir.toString()), Duration.ofHours(1));
+        regattaId = UUID.randomUUID();
+    }
+
+    @Test
+    void create_rejectsUnknownTileAndOversizedUploads() {
+        when(tileRepository.findByRegattaAndTileId(regattaId, "tile_9_9")).thenReturn(Optional.empty());
+
+        assertThrows(LineScanTileService.TileNotFoundException.class,
+            () -> service.create(regattaId, "tile_9_9", "image/png", 10, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> service.create(regattaId, "tile_0_0", "image/png", LineScanTileService.MAX_TILE_SIZE_BYTES + 1, null));
+        verify(uploadRepository, never()).create(any());
+    }
+
+    @Test
+    void appendChunk_resumesAtCommittedOffsetAndCommitStoresAssembledTile() throws Exception {
+        TileUploadSession session = session(0, null);
+        when(uploadRepository.find(regattaId, "tile_0_0", session.id(), false))
+            .thenReturn(Optional.of(session), Optional.of(withReceived(session, 4)), Optional.of(withReceived(session, 4)));
+        when(uploadRepository.find(regattaId, "tile_0_0", session.id(), true))
+            .thenReturn(Optional.of(session), Optional.of(withReceived(session, 4)),
+                Optional.of(withReceived(session, TILE.length)));
+        when(tileService.storeTile(eq(regattaId), eq("tile_0_0"), any(), eq("image/png")))
+            .thenReturn(new LineScanTileService.StoreResult("sha", true));
+
+        // First chunk arrives; a retry after a lost response is rejected with the current offset
+        assertEquals(4, service.appendChunk(regattaId, "tile_0_0", session.id(), 0, chunk(0, 4)).receivedBytes());
+        LineScanTileUploadService.OffsetMismatchException mismatch = assertThrows(
+            LineScanTileUploadService.OffsetMismatchException.class,
+            () -> service.appendChunk(regattaId, "tile_0_0", session.id(), 0, chunk(0, 4)));
+        assertEquals(4, mismatch.currentOffset());
+
+        assertEquals(TILE.length,
+            service.appendChunk(regattaId, "tile_0_0", session.id(), 4, chunk(4, TILE.length)).receivedBytes());
+        service.commit(regattaId, "tile_0_0", session.id());
+
+        ArgumentCaptor<byte[]> stored = ArgumentCaptor.forClass(byte[].class);
+        verify(tileService).storeTile(eq(regattaId), eq("tile_0_0"), stored.capture(), eq("image/png"));
+        assertArrayEquals(TILE, stored.getValue());
+        verify(uploadRepository).updateProgress(eq(session.id()), eq(4), any());
+        verify(uploadRepository).delete(session.id());
+        assertFalse(Files.exists(uploadDir.resolve(session.id() + ".part")));
+    }
+
+    @Test
+    void appendChunk_rejectsBytesBeyondDeclaredSize() throws Exception {
+        TileUploadSession session = session(0, null);
+        when(uploadRepository.find(regattaId, "tile_0_0", session.id(), false)).thenReturn(Optional.of(session));
+
+        assertThrows(IllegalArgumentException.class, () -> service.appendChunk(
+            regattaId, "tile_0_0", session.id(), 0, new ByteArrayInputStream(new byte[TILE.length + 1])));
+
+        verify(uploadRepository, never()).find(any(), any(), any(), eq(true));
+        verify(uploadRepository, never()).updateProgress(any(), anyInt(), any());
+        assertFalse(Files.exists(uploadDir.resolve(session.id() + ".part")));
+        assertEquals(0, countFiles(uploadDir));
+    }
+
+    @Test
+    void appendChunk_rechecksOffsetUnderLockAfterSpooling() throws Exception {
+        TileUploadSession session = session(0, null);
+        when(uploadRepository.find(regattaId, "tile_0_0", session.id(), false)).thenReturn(Optional.of(session));
+        // Another request appended the same chunk while this one was spooling
+        when(uploadRepository.find(regattaId, "tile_0_0", session.id(), true))
+            .thenReturn(Optional.of(withReceived(session, 4)));
+
+        LineScanTileUploadService.OffsetMismatchException mismatch = assertThrows(
+            LineScanTileUploadService.OffsetMismatchException.class,
+            () -> service.appendChunk(regattaId, "tile_0_0", session.id(), 0, chunk(0, 4)));
+
+        assertEquals(4, mismatch.currentOffset());
+        verify(uploadRepository, never()).updateProgress(any(), anyInt(), any());
+        assertEquals(0, countFiles(uploadDir));
+    }
+
+    @Test
+    void commit_rejectsIncompleteUploadAndHashMismatch() throws Exception {
+        TileUploadSession partial = session(3, null);
+        TileUploadSession complete = session(TILE.length, OTHER_SHA256);
+        Files.write(uploadDir.resolve(complete.id() + ".part"), TILE);
+        when(uploadRepository.find(regattaId, "tile_0_0", partial.id(), true)).thenReturn(Optional.of(partial));
+        when(uploadRepository.find(regattaId, "tile_0_0", complete.id(), true)).thenReturn(Optional.of(complete));
+
+        assertThrows(IllegalStateException.class, () -> service.commit(regattaId, "tile_0_0", partial.id()));
+        assertThrows(IllegalArgumentException.class, () -> service.commit(regattaId, "tile_0_0", complete.id()));
+
+        verifyNoInteractions(tileService);
+    }
+
+    @Test
+    void sweep_deletesExpiredSessionsAndTheirFiles() throws Exception {
+        UUID expired = UUID.randomUUID();
+        UUID extended = UUID.randomUUID();
+        Files.write(uploadDir.resolve(expired + ".part"), TILE);
+        Files.write(uploadDir.resolve(extended + ".part"), TILE);
+        Instant now = Instant.now();
+        when(uploadRepository.findExpired(eq(now), anyInt())).thenReturn(List.of(expired, extended));
+        when(uploadRepository.deleteIfExpired(expired, now)).thenReturn(true);
+        when(uploadRepository.deleteIfExpired(extended, now)).thenReturn(false);
+
+        assertEquals(1, service.sweep(now));
+
+        assertFalse(Files.exists(uploadDir.resolve(expired + ".part")));
+        assertTrue(Files.exists(uploadDir.resolve(extended + ".part")));
+    }
+
+    private TileUploadSession session(int receivedBytes, String sha256) {
+        return new TileUploadSession(UUID.randomUUID(), regattaId, "tile_0_0", "image/png", TILE.length,
+            receivedBytes, sha256, Instant.now().plus(Duration.ofHours(1)));
+    }
+
+    private static TileUploadSession withReceived(TileUploadSession session, int receivedBytes) {
+        return new TileUploadSession(session.id(), session.regattaId(), session.tileId(), session.contentType(),
+            session.totalBytes(), receivedBytes, session.expectedSha256(), session.expiresAt());
+    }
+
+    private static long countFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    private static ByteArrayInputStream chunk(int from, int to) {
+        return new ByteArrayInputStream(TILE, from, to - from);
+    }
+}
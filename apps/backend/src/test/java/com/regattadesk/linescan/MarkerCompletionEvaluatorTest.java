@@ -45,4 +45,16 @@ class MarkerCompletionEvaluatorTest {
         assertEquals(1_100L, result.markerStartTimeMs());
         assertEquals(1_400L, result.markerFinishTimeMs());
     }
+
+    @Test
+    void evaluate_fromAggregates_matchesMarkerListRules() {
+        assertEquals("incomplete", MarkerCompletionEvaluator.evaluate(1, 1, 1_000L, 1_000L).completionStatus());
+        assertEquals("pending_approval", MarkerCompletionEvaluator.evaluate(3, 1, 1_000L, 1_000L).completionStatus());
+
+        var result = MarkerCompletionEvaluator.evaluate(3, 2, 1_100L, 1_400L);
+
+        assertEquals("completed", result.completionStatus());
+        assertEquals(1_100L, result.markerStartTimeMs());
+        assertEquals(1_400L, result.markerFinishTimeMs());
+    }
 }
@@ -10,6 +10,7 @@ import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -272,6 +273,233 @@ class MarkerResourceIT {
             .statusCode(400);
     }
 
+    @Test
+    void batchCreate_insertsAllMarkersOfSessionInInputOrder() throws Exception {
+        TestData data = createTestData();
+
+        given()
+            .header("X-Operator-Token", data.token())
+            .contentType("application/json")
+            .body(Map.of(
+                "capture_session_id", data.captureSessionId().toString(),
+                "markers", List.of(
+                    Map.of("frame_offset", 300, "timestamp_ms", 3_000),
+                    Map.of("frame_offset", 100, "timestamp_ms", 1_000, "tile_id", "tile_0", "tile_x", 0, "tile_y", 0),
+                    Map.of("frame_offset", 200, "timestamp_ms", 2_000)
+                )
+            ))
+        .when()
+            .post("/api/v1/regattas/" + data.regattaId() + "/operator/markers/batch")
+        .then()
+            .statusCode(201)
+            .body("data", hasSize(3))
+            .body("data[0].timestamp_ms", equalTo(3000))
+            .body("data[1].tile_id", equalTo("tile_0"))
+            .body("data[1].capture_session_id", equalTo(data.captureSessionId().toString()))
+            .body("data[2].is_linked", equalTo(false));
+
+        given()
+            .header("X-Operator-Token", data.token())
+        .when()
+            .get("/api/v1/regattas/" + data.regattaId() + "/operator/markers?capture_session_id=" + data.captureSessionId())
+        .then()
+            .statusCode(200)
+            .body("data", hasSize(3))
+            .body("data[0].timestamp_ms", equalTo(1000));
+    }
+
+    @Test
+    void batchCreate_rejectsUnknownSessionAndInvalidItemsWithoutInserting() throws Exception {
+        TestData data = createTestData();
+
+        given()
+            .header("X-Operator-Token", data.token())
+            .contentType("application/json")
+            .body(Map.of(
+                "capture_session_id", UUID.randomUUID().toString(),
+                "markers", List.of(Map.of("frame_offset", 1, "timestamp_ms", 10))
+            ))
+        .when()
+            .post("/api/v1/regattas/" + data.regattaId() + "/operator/markers/batch")
+        .then()
+            .statusCode(404);
+
+        given()
+            .header("X-Operator-Token", data.token())
+            .contentType("application/json")
+            .body(Map.of(
+                "capture_session_id", data.captureSessionId().toString(),
+                "markers", List.of(
+                    Map.of("frame_offset", 1, "timestamp_ms", 10),
+                    Map.of("frame_offset", -1, "timestamp_ms", 20)
+                )
+            ))
+        .when()
+            .post("/api/v1/regattas/" + data.regattaId() + "/operator/markers/batch")
+        .then()
+            .statusCode(400);
+
+        given()
+            .header("X-Operator-Token", data.token())
+        .when()
+            .get("/api/v1/regattas/" + data.regattaId() + "/operator/markers")
+        .then()
+            .statusCode(200)
+            .body("data", hasSize(0));
+    }
+
+    @Test
+    void approveBatch_approvesLinkedMarkersAndCompletesEntryOnce() throws Exception {
+        TestData data = createTestData();
+        String markerOneId = createMarker(data.regattaId(), data.token(), data.captureSessionId(), 100L, 1_000L);
+        String markerTwoId = createMarker(data.regattaId(), data.token(), data.captureSessionId(), 200L, 2_000L);
+        String unlinkedMarkerId = createMarker(data.regattaId(), data.token(), data.captureSessionId(), 300L, 3_000L);
+
+        linkMarker(data.regattaId(), data.token(), markerOneId, data.entryId());
+        linkMarker(data.regattaId(), data.token(), markerTwoId, data.entryId());
+        assertEntryCompletion(data.entryId(), "pending_approval", null, null);
+
+        given()
+            .header("X-Operator-Token", data.token())
+            .contentType("application/json")
+            .body(Map.of("marker_ids", List.of(markerOneId, unlinkedMarkerId)))
+        .when()
+            .post("/api/v1/regattas/" + data.regattaId() + "/operator/markers/approve")
+        .then()
+            .statusCode(409)
+            .body("error.code", equalTo("CONFLICT"));
+
+        given()
+            .header("X-Operator-Token", data.token())
+            .contentType("application/json")
+            .body(Map.of("marker_ids", List.of(markerOneId, UUID.randomUUID().toString())))
+        .when()
+            .post("/api/v1/regattas/" + data.regattaId() + "/operator/markers/approve")
+        .then()
+            .statusCode(404);
+
+        assertEntryCompletion(data.entryId(), "pending_approval", null, null);
+
+        given()
+            .header("X-Operator-Token", data.token())
+            .contentType("application/json")
+            .body(Map.of("marker_ids", List.of(markerTwoId, markerOneId, markerTwoId)))
+        .when()
+            .post("/api/v1/regattas/" + data.regattaId() + "/operator/markers/approve")
+        .then()
+            .statusCode(200)
+            .body("data", hasSize(2))
+            .body("data[0].id", equalTo(markerTwoId))
+            .body("data[0].is_approved", equalTo(true))
+            .body("data[0].source", equalTo("manual"))
+            .body("data[1].is_approved", equalTo(true));
+
+        assertEntryCompletion(data.entryId(), "completed", 1_000L, 2_000L);
+    }
+
+    @Test
+    void list_pagesByTimestampAndSyncsChangesSinceCursor() throws Exception {
+        TestData data = createTestData();
+        String markersPath = "/api/v1/regattas/" + data.regattaId() + "/operator/markers";
+        String earlyId = createMarker(data.regattaId(), data.token(), data.captureSessionId(), 100L, 1_000L);
+        String lateId = createMarker(data.regattaId(), data.token(), data.captureSessionId(), 300L, 3_000L);
+        String middleId = createMarker(data.regattaId(), data.token(), data.captureSessionId(), 200L, 2_000L);
+
+        var firstPage = given()
+            .header("X-Operator-Token", data.token())
+        .when()
+            .get(markersPath + "?limit=2")
+        .then()
+            .statusCode(200)
+            .body("data", hasSize(2))
+            .body("data[0].id", equalTo(earlyId))
+            .body("data[1].id", equalTo(middleId))
+            .body("pagination.has_more", equalTo(true))
+            .body("next_since", notNullValue())
+            .extract()
+            .response();
+        String cursor = firstPage.path("pagination.next_cursor");
+        long since = ((Number) firstPage.path("next_since")).longValue();
+
+        given()
+            .header("X-Operator-Token", data.token())
+        .when()
+            .get(markersPath + "?limit=2&cursor=" + cursor)
+        .then()
+            .statusCode(200)
+            .body("data", hasSize(1))
+            .body("data[0].id", equalTo(lateId))
+            .body("pagination.has_more", equalTo(false))
+            .body("next_since", nullValue());
+
+        given()
+            .header("X-Operator-Token", data.token())
+        .when()
+            .get(markersPath + "?since=" + since)
+        .then()
+            .statusCode(200)
+            .body("data", hasSize(0))
+            .body("deleted_ids", hasSize(0))
+            .body("next_since", equalTo((int) since));
+
+        linkMarker(data.regattaId(), data.token(), earlyId, data.entryId());
+        given()
+            .header("X-Operator-Token", data.token())
+        .when()
+            .delete(markersPath + "/" + middleId)
+        .then()
+            .statusCode(204);
+
+        var changes = given()
+            .header("X-Operator-Token", data.token())
+        .when()
+            .get(markersPath + "?since=" + since)
+        .then()
+            .statusCode(200)
+            .body("data", hasSize(1))
+            .body("data[0].id", equalTo(earlyId))
+            .body("data[0].is_linked", equalTo(true))
+            .body("deleted_ids", equalTo(List.of(middleId)))
+            .body("pagination.has_more", equalTo(false))
+            .extract()
+            .response();
+        long nextSince = ((Number) changes.path("next_since")).longValue();
+        assertThat(nextSince > since, equalTo(true));
+
+        given()
+            .header("X-Operator-Token", data.token())
+        .when()
+            .get(markersPath + "?since=" + nextSince)
+        .then()
+            .statusCode(200)
+            .body("data", hasSize(0))
+            .body("deleted_ids", hasSize(0));
+
+        given()
+            .header("X-Operator-Token", data.token())
+        .when()
+            .get(markersPath)
+        .then()
+            .statusCode(200)
+            .body("data", hasSize(2))
+            .body("pagination.has_more", equalTo(false))
+            .body("pagination.next_cursor", nullValue());
+
+        given()
+            .header("X-Operator-Token", data.token())
+        .when()
+            .get(markersPath + "?cursor=not-a-cursor")
+        .then()
+            .statusCode(400);
+
+        given()
+            .header("X-Operator-Token", data.token())
+        .when()
+            .get(markersPath + "?since=" + since + "&cursor=" + cursor)
+        .then()
+            .statusCode(400);
+    }
+
     private String createMarker(UUID regattaId, String token, UUID captureSessionId, long frameOffset, long timestampMs) {
         return given()
             .header("X-Operator-Token", token)
@@ -0,0 +1,59 @@
+package com.regattadesk.linescan;
+
+import com.regattadesk.linescan.service.LineScanRetentionEvaluator.TimeWindow;
+import com.regattadesk.linescan.service.MarkerWindowIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MarkerWindowIndex interval lookups.
+ */
+class MarkerWindowIndexTest {
+
+    @Test
+    void of_mergesOverlappingAndUnsortedWindows() {
+        MarkerWindowIndex index = MarkerWindowIndex.of(List.of(
+            new TimeWindow(23000L, 27000L),
+            new TimeWindow(13000L, 17000L),
+            new TimeWindow(15000L, 19000L),
+            new TimeWindow(19000L, 20000L)
+        ));
+
+        assertEquals(2, index.size());
+        assertTrue(index.overlaps(19500L, 19600L), "Touching window should be merged");
+    }
+
+    @Test
+    void overlaps_usesStrictBoundaries() {
+        MarkerWindowIndex index = MarkerWindowIndex.of(List.of(new TimeWindow(13000L, 17000L)));
+
+        assertTrue(index.overlaps(12560L, 13072L));
+        assertTrue(index.overlaps(16656L, 17168L));
+        assertTrue(index.overlaps(12000L, 18000L));
+        assertFalse(index.overlaps(12000L, 13000L));
+        assertFalse(index.overlaps(17000L, 17500L));
+    }
+
+    @Test
+    void overlaps_rangeBetweenWindows_returnsFalse() {
+        MarkerWindowIndex index = MarkerWindowIndex.of(List.of(
+            new TimeWindow(13000L, 17000L),
+            new TimeWindow(23000L, 27000L)
+        ));
+
+        assertFalse(index.overlaps(17168L, 17680L));
+        assertFalse(index.overlaps(22288L, 22800L));
+        assertTrue(index.overlaps(22800L, 23312L));
+    }
+
+    @Test
+    void overlaps_noWindows_returnsFalse() {
+        MarkerWindowIndex index = MarkerWindowIndex.of(List.of());
+
+        assertEquals(0, index.size());
+        assertFalse(index.overlaps(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+}
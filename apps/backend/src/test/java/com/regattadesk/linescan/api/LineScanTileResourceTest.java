@@ -4,11 +4,16 @@ import com.regattadesk.linescan.service.LineScanTileService;
 import jakarta.ws.rs.core.Response;
 import org.junit.jupiter.api.Test;
 
+import java.net.URI;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 class LineScanTileResourceTest {
 
@@ -29,4 +34,36 @@ class LineScanTileResourceTest {
         assertEquals(400, response.getStatus());
         verifyNoInteractions(tileService);
     }
+
+    @Test
+    void downloadTile_redirectsToPresignedUrlWhenAvailable() throws Exception {
+        LineScanTileService tileService = mock(LineScanTileService.class);
+        LineScanTileResource resource = new LineScanTileResource(tileService);
+        UUID regattaId = UUID.randomUUID();
+        URI presigned = URI.create("http://minio:9000/bucket/line-scan/session/tile_0_0?X-Amz-Signature=abc");
+        when(tileService.presignedTileUrl(regattaId, "tile_0_0", "image/webp")).thenReturn(Optional.of(presigned));
+
+        Response response =
+            resource.downloadTile(regattaId, "tile_0_0", null, "staff@example.org", "image/webp", null);
+
+        assertEquals(302, response.getStatus());
+        assertEquals(presigned, response.getLocation());
+        assertEquals("Accept", response.getHeaderString("Vary"));
+        verify(tileService, never()).downloadTile(regattaId, "tile_0_0", "image/webp", null);
+    }
+
+    @Test
+    void downloadTile_returnsNotModifiedForMatchingEtag() throws Exception {
+        LineScanTileService tileService = mock(LineScanTileService.class);
+        LineScanTileResource resource = new LineScanTileResource(tileService);
+        UUID regattaId = UUID.randomUUID();
+        when(tileService.presignedTileUrl(regattaId, "tile_0_0", null)).thenReturn(Optional.empty());
+        when(tileService.downloadTile(regattaId, "tile_0_0", null, "\"abc\""))
+            .thenReturn(new LineScanTileService.TileDownload("abc", null));
+
+        Response response = resource.downloadTile(regattaId, "tile_0_0", null, "staff@example.org", null, "\"abc\"");
+
+        assertEquals(304, response.getStatus());
+        assertEquals("abc", response.getEntityTag().getValue());
+    }
 }
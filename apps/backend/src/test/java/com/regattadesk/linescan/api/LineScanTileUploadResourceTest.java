@@ -0,0 +1,48 @@
+package com.regattadesk.linescan.api;
+
+import com.regattadesk.linescan.service.LineScanTileUploadService;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class LineScanTileUploadResourceTest {
+
+    @Test
+    void appendChunk_requiresUploadOffset() {
+        LineScanTileUploadService uploadService = mock(LineScanTileUploadService.class);
+        LineScanTileUploadResource resource = new LineScanTileUploadResource(uploadService);
+
+        Response response = resource.appendChunk(UUID.randomUUID(), "tile_0_0", UUID.randomUUID(),
+            "test-operator-token", null, new ByteArrayInputStream(new byte[]{1}));
+
+        assertEquals(400, response.getStatus());
+        verifyNoInteractions(uploadService);
+    }
+
+    @Test
+    void appendChunk_reportsCurrentOffsetOnConflict() throws Exception {
+        LineScanTileUploadService uploadService = mock(LineScanTileUploadService.class);
+        LineScanTileUploadResource resource = new LineScanTileUploadResource(uploadService);
+        UUID regattaId = UUID.randomUUID();
+        UUID uploadId = UUID.randomUUID();
+        when(uploadService.appendChunk(eq(regattaId), eq("tile_0_0"), eq(uploadId), anyLong(), any(InputStream.class)))
+            .thenThrow(new LineScanTileUploadService.OffsetMismatchException(4096));
+
+        Response response = resource.appendChunk(regattaId, "tile_0_0", uploadId,
+            "test-operator-token", 0L, new ByteArrayInputStream(new byte[]{1}));
+
+        assertEquals(409, response.getStatus());
+        assertEquals("4096", response.getHeaderString("Upload-Offset"));
+    }
+}
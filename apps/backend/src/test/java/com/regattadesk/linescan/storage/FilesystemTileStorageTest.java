@@ -0,0 +1,99 @@
+package com.regattadesk.linescan.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FilesystemTileStorage.
+ */
+class FilesystemTileStorageTest {
+
+    private static final byte[] PNG_BYTES = {
+        (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13
+    };
+    private static final byte[] WEBP_BYTES = {
+        'R', 'I', 'F', 'F', 4, 0, 0, 0, 'W', 'E', 'B', 'P', 'V', 'P', '8', ' '
+    };
+
+    @TempDir
+    Path root;
+
+    private FilesystemTileStorage storage;
+    private UUID regattaId;
+    private UUID sessionId;
+
+    @BeforeEach
+    void setUp() {
+        storage = new FilesystemTileStorage(root);
+        regattaId = UUID.randomUUID();
+        sessionId = UUID.randomUUID();
+    }
+
+    @Test
+    void storeAndRetrieve_roundTripsPngTile() throws Exception {
+        storage.storeTile(regattaId, sessionId, "tile_0_0", PNG_BYTES, "image/png");
+
+        TileStorage.TileData tile = storage.retrieveTile(regattaId, sessionId, "tile_0_0");
+
+        assertArrayEquals(PNG_BYTES, tile.getData());
+        assertEquals("image/png", tile.getContentType());
+        assertTrue(Files.isRegularFile(
+            root.resolve(regattaId.toString()).resolve(sessionId.toString()).resolve("tile_0_0")));
+    }
+
+    @Test
+    void storeTile_replacesExistingTileWithoutLeavingTempFiles() throws Exception {
+        storage.storeTile(regattaId, sessionId, "tile_0_0", PNG_BYTES, "image/png");
+        storage.storeTile(regattaId, sessionId, "tile_0_0", WEBP_BYTES, "image/webp");
+
+        TileStorage.TileData tile = storage.retrieveTile(regattaId, sessionId, "tile_0_0");
+
+        assertArrayEquals(WEBP_BYTES, tile.getData());
+        assertEquals("image/webp", tile.getContentType());
+        try (var files = Files.list(root.resolve(regattaId.toString()).resolve(sessionId.toString()))) {
+            assertEquals(List.of("tile_0_0"), files.map(p -> p.getFileName().toString()).toList());
+        }
+    }
+
+    @Test
+    void retrieveTile_missingTileThrowsTileNotFound() {
+        assertThrows(TileStorage.TileNotFoundException.class,
+            () -> storage.retrieveTile(regattaId, sessionId, "missing"));
+    }
+
+    @Test
+    void deleteTiles_removesTilesAndIgnoresMissingOnes() throws Exception {
+        storage.storeTile(regattaId, sessionId, "tile_0_0", PNG_BYTES, "image/png");
+        storage.storeTile(regattaId, sessionId, "tile_1_0", PNG_BYTES, "image/png");
+
+        Set<String> failed = storage.deleteTiles(regattaId, sessionId, List.of("tile_0_0", "tile_1_0", "missing"));
+
+        assertTrue(failed.isEmpty());
+        assertFalse(storage.tileExists(regattaId, sessionId, "tile_0_0"));
+        assertFalse(storage.tileExists(regattaId, sessionId, "tile_1_0"));
+    }
+
+    @Test
+    void resolveTilePath_rejectsPathTraversal() {
+        assertThrows(TileStorage.TileStorageException.class,
+            () -> storage.resolveTilePath(regattaId, sessionId, "../escape"));
+        assertThrows(TileStorage.TileStorageException.class,
+            () -> storage.resolveTilePath(regattaId, sessionId, ".."));
+        assertThrows(TileStorage.TileStorageException.class,
+            () -> storage.resolveTilePath(regattaId, sessionId, "nested/tile"));
+    }
+
+    @Test
+    void detectContentType_fallsBackToOctetStream() {
+        assertEquals("application/octet-stream", FilesystemTileStorage.detectContentType(new byte[]{1, 2, 3}));
+    }
+}
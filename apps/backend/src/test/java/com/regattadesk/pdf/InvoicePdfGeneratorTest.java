@@ -0,0 +1,85 @@
+package com.regattadesk.pdf;
+
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.parser.PdfTextExtractor;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvoicePdfGeneratorTest {
+    private static final Clock UTC_CLOCK = Clock.fixed(Instant.parse("2026-02-06T13:30:00Z"), ZoneOffset.UTC);
+
+    private static InvoicePdfGenerator.InvoiceDocument invoice(Instant paidAt) {
+        return new InvoicePdfGenerator.InvoiceDocument(
+            "Amsterdam Head Race 2026",
+            "INV-20260206-ABCDEF12-0001-12345678",
+            "Rowing Club A",
+            "EUR",
+            new BigDecimal("25.00"),
+            Instant.parse("2026-02-05T10:00:00Z"),
+            paidAt,
+            List.of(
+                new InvoicePdfGenerator.InvoiceLine(42, "Sample Crew A", "Men's Eight", new BigDecimal("12.50")),
+                new InvoicePdfGenerator.InvoiceLine(null, "Sample Crew B", "Men's Eight", new BigDecimal("12.5"))
+            )
+        );
+    }
+
+    private static String extractFirstPageText(byte[] pdf) throws IOException {
+        PdfReader reader = new PdfReader(pdf);
+        try {
+            return new PdfTextExtractor(reader).getTextFromPage(1).replaceAll("\\s+", " ").trim();
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    void generateInvoicePdf_rendersHeaderDetailsLinesAndTotal() throws IOException {
+        byte[] pdf = InvoicePdfGenerator.generateInvoicePdf(
+            invoice(null), Locale.ENGLISH, ZoneId.of("Europe/Amsterdam"), UTC_CLOCK);
+
+        String text = extractFirstPageText(pdf);
+        assertTrue(text.contains("Amsterdam Head Race 2026"));
+        assertTrue(text.contains("Invoice INV-20260206-ABCDEF12-0001-12345678"));
+        assertTrue(text.contains("Rowing Club A"));
+        assertTrue(text.contains("Sample Crew A"));
+        assertTrue(text.contains("EUR 12.50"));
+        assertTrue(text.contains("Total EUR 25.00"));
+        assertFalse(text.contains("Paid on"));
+    }
+
+    @Test
+    void generateInvoicePdf_usesDutchLabelsAndShowsPaymentDate() throws IOException {
+        byte[] pdf = InvoicePdfGenerator.generateInvoicePdf(
+            invoice(Instant.parse("2026-03-10T12:00:00Z")),
+            Locale.forLanguageTag("nl"),
+            ZoneId.of("Europe/Amsterdam"),
+            UTC_CLOCK
+        );
+
+        String text = extractFirstPageText(pdf);
+        assertTrue(text.contains("Factuur INV-20260206-ABCDEF12-0001-12345678"));
+        assertTrue(text.contains("Betaald op"));
+        assertTrue(text.contains("10-03-2026"));
+        assertTrue(text.contains("Totaal EUR 25.00"));
+        assertTrue(text.contains("Pagina 1"));
+    }
+
+    @Test
+    void generateInvoicePdf_requiresTimezone() {
+        assertThrows(IllegalArgumentException.class,
+            () -> InvoicePdfGenerator.generateInvoicePdf(invoice(null), Locale.ENGLISH, null, UTC_CLOCK));
+    }
+}
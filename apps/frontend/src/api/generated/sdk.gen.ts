@@ -2,7 +2,7 @@
 
 import type { Client, Options as Options2, TDataShape } from './client';
 import { client } from './client.gen';
-import type { DeleteApiV1AthletesByAthleteIdData, DeleteApiV1AthletesByAthleteIdResponses, DeleteApiV1RegattasByRegattaIdBibPoolsByPoolIdData, DeleteApiV1RegattasByRegattaIdBibPoolsByPoolIdErrors, DeleteApiV1RegattasByRegattaIdBibPoolsByPoolIdResponses, DeleteApiV1RegattasByRegattaIdBlocksByBlockIdData, DeleteApiV1RegattasByRegattaIdBlocksByBlockIdResponses, DeleteApiV1RegattasByRegattaIdCrewsByCrewIdData, DeleteApiV1RegattasByRegattaIdCrewsByCrewIdErrors, DeleteApiV1RegattasByRegattaIdCrewsByCrewIdResponses, DeleteApiV1RegattasByRegattaIdEntriesByEntryIdData, DeleteApiV1RegattasByRegattaIdEntriesByEntryIdErrors, DeleteApiV1RegattasByRegattaIdEntriesByEntryIdResponses, DeleteApiV1RegattasByRegattaIdEventGroupsByEventGroupIdData, DeleteApiV1RegattasByRegattaIdEventGroupsByEventGroupIdErrors, DeleteApiV1RegattasByRegattaIdEventGroupsByEventGroupIdResponses, DeleteApiV1RegattasByRegattaIdEventsByEventIdData, DeleteApiV1RegattasByRegattaIdEventsByEventIdErrors, DeleteApiV1RegattasByRegattaIdEventsByEventIdResponses, DeleteApiV1RegattasByRegattaIdOperatorMarkersByMarkerIdData, DeleteApiV1RegattasByRegattaIdOperatorMarkersByMarkerIdResponses, GetApiHealthData, GetApiHealthResponses, GetApiV1AthletesByAthleteIdData, GetApiV1AthletesByAthleteIdResponses, GetApiV1AthletesData, GetApiV1AthletesResponses, GetApiV1EntriesByIdData, GetApiV1EntriesByIdResponses, GetApiV1JobsByJobIdData, GetApiV1JobsByJobIdDownloadData, GetApiV1JobsByJobIdDownloadErrors, GetApiV1JobsByJobIdDownloadResponses, GetApiV1JobsByJobIdErrors, GetApiV1JobsByJobIdResponses, GetApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdData, GetApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdResponses, GetApiV1RegattasByRegattaIdAdjudicationInvestigationsData, GetApiV1RegattasByRegattaIdAdjudicationInvestigationsResponses, GetApiV1RegattasByRegattaIdBibPoolsData, GetApiV1RegattasByRegattaIdBibPoolsResponses, GetApiV1RegattasByRegattaIdBlocksData, GetApiV1RegattasByRegattaIdBlocksResponses, GetApiV1RegattasByRegattaIdClubsByClubIdPaymentStatusData, GetApiV1RegattasByRegattaIdClubsByClubIdPaymentStatusResponses, GetApiV1RegattasByRegattaIdCrewsData, GetApiV1RegattasByRegattaIdCrewsResponses, GetApiV1RegattasByRegattaIdData, GetApiV1RegattasByRegattaIdEntriesByEntryIdPaymentStatusData, GetApiV1RegattasByRegattaIdEntriesByEntryIdPaymentStatusResponses, GetApiV1RegattasByRegattaIdEntriesData, GetApiV1RegattasByRegattaIdEntriesResponses, GetApiV1RegattasByRegattaIdEventGroupsData, GetApiV1RegattasByRegattaIdEventGroupsResponses, GetApiV1RegattasByRegattaIdEventsData, GetApiV1RegattasByRegattaIdEventsResponses, GetApiV1RegattasByRegattaIdFinanceClubsData, GetApiV1RegattasByRegattaIdFinanceClubsErrors, GetApiV1RegattasByRegattaIdFinanceClubsResponses, GetApiV1RegattasByRegattaIdFinanceEntriesData, GetApiV1RegattasByRegattaIdFinanceEntriesErrors, GetApiV1RegattasByRegattaIdFinanceEntriesResponses, GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdData, GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdErrors, GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdResponses, GetApiV1RegattasByRegattaIdInvoicesData, GetApiV1RegattasByRegattaIdInvoicesErrors, GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdData, GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdErrors, GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdResponses, GetApiV1RegattasByRegattaIdInvoicesResponses, GetApiV1RegattasByRegattaIdLineScanManifestsByManifestIdData, GetApiV1RegattasByRegattaIdLineScanManifestsByManifestIdResponses, GetApiV1RegattasByRegattaIdLineScanTilesByTileIdData, GetApiV1RegattasByRegattaIdLineScanTilesByTileIdResponses, GetApiV1RegattasByRegattaIdOperatorCaptureSessionsByCaptureSessionIdData, GetApiV1RegattasByRegattaIdOperatorCaptureSessionsByCaptureSessionIdErrors, GetApiV1RegattasByRegattaIdOperatorCaptureSessionsByCaptureSessionIdResponses, GetApiV1RegattasByRegattaIdOperatorCaptureSessionsData, GetApiV1RegattasByRegattaIdOperatorCaptureSessionsErrors, GetApiV1RegattasByRegattaIdOperatorCaptureSessionsResponses, GetApiV1RegattasByRegattaIdOperatorMarkersData, GetApiV1RegattasByRegattaIdOperatorMarkersResponses, GetApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdData, GetApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdErrors, GetApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdResponses, GetApiV1RegattasByRegattaIdOperatorStationHandoffsData, GetApiV1RegattasByRegattaIdOperatorStationHandoffsErrors, GetApiV1RegattasByRegattaIdOperatorStationHandoffsResponses, GetApiV1RegattasByRegattaIdOperatorTokensByTokenIdExportPdfData, GetApiV1RegattasByRegattaIdOperatorTokensByTokenIdExportPdfResponses, GetApiV1RegattasByRegattaIdOperatorTokensData, GetApiV1RegattasByRegattaIdOperatorTokensResponses, GetApiV1RegattasByRegattaIdResponses, GetApiV1RulesetsByRulesetIdData, GetApiV1RulesetsByRulesetIdResponses, GetApiV1RulesetsData, GetApiV1RulesetsResponses, GetPublicRegattasByRegattaIdEventsData, GetPublicRegattasByRegattaIdEventsResponses, GetPublicRegattasByRegattaIdVersionsData, GetPublicRegattasByRegattaIdVersionsResponses, GetPublicVbyDrawByResultsRegattasByRegattaIdResultsData, GetPublicVbyDrawByResultsRegattasByRegattaIdResultsResponses, GetPublicVbyDrawByResultsRegattasByRegattaIdScheduleData, GetPublicVbyDrawByResultsRegattasByRegattaIdScheduleResponses, PatchApiV1AthletesByAthleteIdData, PatchApiV1AthletesByAthleteIdResponses, PatchApiV1EntriesByIdPaymentStatusData, PatchApiV1EntriesByIdPaymentStatusResponses, PatchApiV1RegattasByRegattaIdBibPoolsByPoolIdData, PatchApiV1RegattasByRegattaIdBibPoolsByPoolIdErrors, PatchApiV1RegattasByRegattaIdBibPoolsByPoolIdResponses, PatchApiV1RegattasByRegattaIdBlocksByBlockIdData, PatchApiV1RegattasByRegattaIdBlocksByBlockIdResponses, PatchApiV1RegattasByRegattaIdCrewsByCrewIdData, PatchApiV1RegattasByRegattaIdCrewsByCrewIdErrors, PatchApiV1RegattasByRegattaIdCrewsByCrewIdResponses, PatchApiV1RegattasByRegattaIdEntriesByEntryIdData, PatchApiV1RegattasByRegattaIdEntriesByEntryIdErrors, PatchApiV1RegattasByRegattaIdEntriesByEntryIdResponses, PatchApiV1RegattasByRegattaIdEventGroupsByEventGroupIdData, PatchApiV1RegattasByRegattaIdEventGroupsByEventGroupIdErrors, PatchApiV1RegattasByRegattaIdEventGroupsByEventGroupIdResponses, PatchApiV1RegattasByRegattaIdEventsByEventIdData, PatchApiV1RegattasByRegattaIdEventsByEventIdErrors, PatchApiV1RegattasByRegattaIdEventsByEventIdResponses, PatchApiV1RegattasByRegattaIdOperatorMarkersByMarkerIdData, PatchApiV1RegattasByRegattaIdOperatorMarkersByMarkerIdResponses, PatchApiV1RulesetsByRulesetIdData, PatchApiV1RulesetsByRulesetIdResponses, PostApiV1AthletesData, PostApiV1AthletesErrors, PostApiV1AthletesResponses, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdDsqData, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdDsqErrors, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdDsqResponses, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdExcludeData, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdExcludeErrors, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdExcludeResponses, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdPenaltyData, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdPenaltyErrors, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdPenaltyResponses, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdRevertDsqData, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdRevertDsqErrors, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdRevertDsqResponses, PostApiV1RegattasByRegattaIdAdjudicationInvestigationsData, PostApiV1RegattasByRegattaIdAdjudicationInvestigationsErrors, PostApiV1RegattasByRegattaIdAdjudicationInvestigationsResponses, PostApiV1RegattasByRegattaIdBibPoolsData, PostApiV1RegattasByRegattaIdBibPoolsErrors, PostApiV1RegattasByRegattaIdBibPoolsReorderData, PostApiV1RegattasByRegattaIdBibPoolsReorderErrors, PostApiV1RegattasByRegattaIdBibPoolsReorderResponses, PostApiV1RegattasByRegattaIdBibPoolsResponses, PostApiV1RegattasByRegattaIdBlocksData, PostApiV1RegattasByRegattaIdBlocksErrors, PostApiV1RegattasByRegattaIdBlocksReorderData, PostApiV1RegattasByRegattaIdBlocksReorderErrors, PostApiV1RegattasByRegattaIdBlocksReorderResponses, PostApiV1RegattasByRegattaIdBlocksResponses, PostApiV1RegattasByRegattaIdCrewsData, PostApiV1RegattasByRegattaIdCrewsErrors, PostApiV1RegattasByRegattaIdCrewsResponses, PostApiV1RegattasByRegattaIdDrawGenerateData, PostApiV1RegattasByRegattaIdDrawGenerateErrors, PostApiV1RegattasByRegattaIdDrawGenerateResponses, PostApiV1RegattasByRegattaIdDrawPublishData, PostApiV1RegattasByRegattaIdDrawPublishResponses, PostApiV1RegattasByRegattaIdDrawUnpublishData, PostApiV1RegattasByRegattaIdDrawUnpublishResponses, PostApiV1RegattasByRegattaIdEntriesByEntryIdReinstateData, PostApiV1RegattasByRegattaIdEntriesByEntryIdReinstateErrors, PostApiV1RegattasByRegattaIdEntriesByEntryIdReinstateResponses, PostApiV1RegattasByRegattaIdEntriesByEntryIdWithdrawData, PostApiV1RegattasByRegattaIdEntriesByEntryIdWithdrawErrors, PostApiV1RegattasByRegattaIdEntriesByEntryIdWithdrawResponses, PostApiV1RegattasByRegattaIdEntriesData, PostApiV1RegattasByRegattaIdEntriesErrors, PostApiV1RegattasByRegattaIdEntriesResponses, PostApiV1RegattasByRegattaIdEventGroupsData, PostApiV1RegattasByRegattaIdEventGroupsErrors, PostApiV1RegattasByRegattaIdEventGroupsResponses, PostApiV1RegattasByRegattaIdEventsData, PostApiV1RegattasByRegattaIdEventsErrors, PostApiV1RegattasByRegattaIdEventsResponses, PostApiV1RegattasByRegattaIdExportPrintablesData, PostApiV1RegattasByRegattaIdExportPrintablesErrors, PostApiV1RegattasByRegattaIdExportPrintablesResponses, PostApiV1RegattasByRegattaIdInvoicesByInvoiceIdMarkPaidData, PostApiV1RegattasByRegattaIdInvoicesByInvoiceIdMarkPaidErrors, PostApiV1RegattasByRegattaIdInvoicesByInvoiceIdMarkPaidResponses, PostApiV1RegattasByRegattaIdInvoicesGenerateData, PostApiV1RegattasByRegattaIdInvoicesGenerateErrors, PostApiV1RegattasByRegattaIdInvoicesGenerateResponses, PostApiV1RegattasByRegattaIdLineScanManifestsData, PostApiV1RegattasByRegattaIdLineScanManifestsErrors, PostApiV1RegattasByRegattaIdLineScanManifestsResponses, PostApiV1RegattasByRegattaIdOperatorCaptureSessionsByCaptureSessionIdCloseData, PostApiV1RegattasByRegattaIdOperatorCaptureSessionsByCaptureSessionIdCloseErrors, PostApiV1RegattasByRegattaIdOperatorCaptureSessionsByCaptureSessionIdCloseResponses, PostApiV1RegattasByRegattaIdOperatorCaptureSessionsByCaptureSessionIdSyncStateData, PostApiV1RegattasByRegattaIdOperatorCaptureSessionsByCaptureSessionIdSyncStateErrors, PostApiV1RegattasByRegattaIdOperatorCaptureSessionsByCaptureSessionIdSyncStateResponses, PostApiV1RegattasByRegattaIdOperatorCaptureSessionsData, PostApiV1RegattasByRegattaIdOperatorCaptureSessionsErrors, PostApiV1RegattasByRegattaIdOperatorCaptureSessionsResponses, PostApiV1RegattasByRegattaIdOperatorMarkersByMarkerIdLinkData, PostApiV1RegattasByRegattaIdOperatorMarkersByMarkerIdLinkErrors, PostApiV1RegattasByRegattaIdOperatorMarkersByMarkerIdLinkResponses, PostApiV1RegattasByRegattaIdOperatorMarkersByMarkerIdUnlinkData, PostApiV1RegattasByRegattaIdOperatorMarkersByMarkerIdUnlinkResponses, PostApiV1RegattasByRegattaIdOperatorMarkersData, PostApiV1RegattasByRegattaIdOperatorMarkersErrors, PostApiV1RegattasByRegattaIdOperatorMarkersResponses, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdAdminRevealPinData, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdAdminRevealPinErrors, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdAdminRevealPinResponses, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdCancelData, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdCancelErrors, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdCancelResponses, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdCompleteData, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdCompleteErrors, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdCompleteResponses, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdRevealPinData, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdRevealPinErrors, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdRevealPinResponses, PostApiV1RegattasByRegattaIdOperatorStationHandoffsData, PostApiV1RegattasByRegattaIdOperatorStationHandoffsErrors, PostApiV1RegattasByRegattaIdOperatorStationHandoffsResponses, PostApiV1RegattasByRegattaIdOperatorTokensByTokenIdRevokeData, PostApiV1RegattasByRegattaIdOperatorTokensByTokenIdRevokeResponses, PostApiV1RegattasByRegattaIdOperatorTokensData, PostApiV1RegattasByRegattaIdOperatorTokensErrors, PostApiV1RegattasByRegattaIdOperatorTokensResponses, PostApiV1RegattasByRegattaIdPaymentsMarkBulkData, PostApiV1RegattasByRegattaIdPaymentsMarkBulkErrors, PostApiV1RegattasByRegattaIdPaymentsMarkBulkResponses, PostApiV1RulesetsByRulesetIdDuplicateData, PostApiV1RulesetsByRulesetIdDuplicateErrors, PostApiV1RulesetsByRulesetIdDuplicateResponses, PostApiV1RulesetsByRulesetIdPromoteData, PostApiV1RulesetsByRulesetIdPromoteResponses, PostApiV1RulesetsData, PostApiV1RulesetsErrors, PostApiV1RulesetsResponses, PostPublicSessionData, PostPublicSessionResponses, PutApiV1RegattasByRegattaIdClubsByClubIdPaymentStatusData, PutApiV1RegattasByRegattaIdClubsByClubIdPaymentStatusErrors, PutApiV1RegattasByRegattaIdClubsByClubIdPaymentStatusResponses, PutApiV1RegattasByRegattaIdEntriesByEntryIdPaymentStatusData, PutApiV1RegattasByRegattaIdEntriesByEntryIdPaymentStatusErrors, PutApiV1RegattasByRegattaIdEntriesByEntryIdPaymentStatusResponses, PutApiV1RegattasByRegattaIdLineScanTilesByTileIdData, PutApiV1RegattasByRegattaIdLineScanTilesByTileIdResponses } from './types.gen';
+import type { DeleteApiV1AthletesByAthleteIdData, DeleteApiV1AthletesByAthleteIdResponses, DeleteApiV1RegattasByRegattaIdBibPoolsByPoolIdData, DeleteApiV1RegattasByRegattaIdBibPoolsByPoolIdErrors, DeleteApiV1RegattasByRegattaIdBibPoolsByPoolIdResponses, DeleteApiV1RegattasByRegattaIdBlocksByBlockIdData, DeleteApiV1RegattasByRegattaIdBlocksByBlockIdResponses, DeleteApiV1RegattasByRegattaIdCrewsByCrewIdData, DeleteApiV1RegattasByRegattaIdCrewsByCrewIdErrors, DeleteApiV1RegattasByRegattaIdCrewsByCrewIdResponses, DeleteApiV1RegattasByRegattaIdEntriesByEntryIdData, DeleteApiV1RegattasByRegattaIdEntriesByEntryIdErrors, DeleteApiV1RegattasByRegattaIdEntriesByEntryIdResponses, DeleteApiV1RegattasByRegattaIdEventGroupsByEventGroupIdData, DeleteApiV1RegattasByRegattaIdEventGroupsByEventGroupIdErrors, DeleteApiV1RegattasByRegattaIdEventGroupsByEventGroupIdResponses, DeleteApiV1RegattasByRegattaIdEventsByEventIdData, DeleteApiV1RegattasByRegattaIdEventsByEventIdErrors, DeleteApiV1RegattasByRegattaIdEventsByEventIdResponses, DeleteApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdData, DeleteApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdResponses, DeleteApiV1RegattasByRegattaIdOperatorMarkersByMarkerIdData, DeleteApiV1RegattasByRegattaIdOperatorMarkersByMarkerIdResponses, GetApiHealthData, GetApiHealthResponses, GetApiV1AthletesByAthleteIdData, GetApiV1AthletesByAthleteIdResponses, GetApiV1AthletesData, GetApiV1AthletesResponses, GetApiV1EntriesByIdData, GetApiV1EntriesByIdResponses, GetApiV1JobsByJobIdData, GetApiV1JobsByJobIdDownloadData, GetApiV1JobsByJobIdDownloadErrors, GetApiV1JobsByJobIdDownloadResponses, GetApiV1JobsByJobIdErrors, GetApiV1JobsByJobIdResponses, GetApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdData, GetApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdResponses, GetApiV1RegattasByRegattaIdAdjudicationInvestigationsData, GetApiV1RegattasByRegattaIdAdjudicationInvestigationsResponses, GetApiV1RegattasByRegattaIdBibPoolsData, GetApiV1RegattasByRegattaIdBibPoolsResponses, GetApiV1RegattasByRegattaIdBlocksData, GetApiV1RegattasByRegattaIdBlocksResponses, GetApiV1RegattasByRegattaIdClubsByClubIdPaymentStatusData, GetApiV1RegattasByRegattaIdClubsByClubIdPaymentStatusResponses, GetApiV1RegattasByRegattaIdCrewsData, GetApiV1RegattasByRegattaIdCrewsResponses, GetApiV1RegattasByRegattaIdData, GetApiV1RegattasByRegattaIdEntriesByEntryIdPaymentStatusData, GetApiV1RegattasByRegattaIdEntriesByEntryIdPaymentStatusResponses, GetApiV1RegattasByRegattaIdEntriesData, GetApiV1RegattasByRegattaIdEntriesResponses, GetApiV1RegattasByRegattaIdEventGroupsData, GetApiV1RegattasByRegattaIdEventGroupsResponses, GetApiV1RegattasByRegattaIdEventsData, GetApiV1RegattasByRegattaIdEventsResponses, GetApiV1RegattasByRegattaIdFinanceClubsData, GetApiV1RegattasByRegattaIdFinanceClubsErrors, GetApiV1RegattasByRegattaIdFinanceClubsResponses, GetApiV1RegattasByRegattaIdFinanceEntriesData, GetApiV1RegattasByRegattaIdFinanceEntriesErrors, GetApiV1RegattasByRegattaIdFinanceEntriesResponses, GetApiV1RegattasByRegattaIdFinanceSummaryData, GetApiV1RegattasByRegattaIdFinanceSummaryErrors, GetApiV1RegattasByRegattaIdFinanceSummaryResponses, GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdData, GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdErrors, GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdPdfData, GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdPdfErrors, GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdPdfResponses, GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdResponses, GetApiV1RegattasByRegattaIdInvoicesData, GetApiV1RegattasByRegattaIdInvoicesErrors, GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdData, GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdErrors, GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdPdfData, GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdPdfErrors, GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdPdfResponses, GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdResponses, GetApiV1RegattasByRegattaIdInvoicesResponses, GetApiV1RegattasByRegattaIdLineScanManifestsByManifestIdData, GetApiV1RegattasByRegattaIdLineScanManifestsByManifestIdResponses, GetApiV1RegattasByRegattaIdLineScanManifestsByManifestIdTileUrlsData, GetApiV1RegattasByRegattaIdLineScanManifestsByManifestIdTileUrlsResponses, GetApiV1RegattasByRegattaIdLineScanManifestsStorageUsageData, GetApiV1RegattasByRegattaIdLineScanManifestsStorageUsageResponses, GetApiV1RegattasByRegattaIdLineScanManifestsStripData, GetApiV1RegattasByRegattaIdLineScanManifestsStripResponses, GetApiV1RegattasByRegattaIdLineScanManifestsTileWindowData, GetApiV1RegattasByRegattaIdLineScanManifestsTileWindowResponses, GetApiV1RegattasByRegattaIdLineScanTilesByTileIdData, GetApiV1RegattasByRegattaIdLineScanTilesByTileIdResponses, GetApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdData, GetApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdResponses, GetApiV1RegattasByRegattaIdOperatorCaptureSessionsByCaptureSessionIdData, GetApiV1RegattasByRegattaIdOperatorCaptureSessionsByCaptureSessionIdErrors, GetApiV1RegattasByRegattaIdOperatorCaptureSessionsByCaptureSessionIdResponses, GetApiV1RegattasByRegattaIdOperatorCaptureSessionsData, GetApiV1RegattasByRegattaIdOperatorCaptureSessionsErrors, GetApiV1RegattasByRegattaIdOperatorCaptureSessionsResponses, GetApiV1RegattasByRegattaIdOperatorMarkersData, GetApiV1RegattasByRegattaIdOperatorMarkersResponses, GetApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdData, GetApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdErrors, GetApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdResponses, GetApiV1RegattasByRegattaIdOperatorStationHandoffsData, GetApiV1RegattasByRegattaIdOperatorStationHandoffsErrors, GetApiV1RegattasByRegattaIdOperatorStationHandoffsResponses, GetApiV1RegattasByRegattaIdOperatorTokensByTokenIdExportPdfData, GetApiV1RegattasByRegattaIdOperatorTokensByTokenIdExportPdfResponses, GetApiV1RegattasByRegattaIdOperatorTokensData, GetApiV1RegattasByRegattaIdOperatorTokensResponses, GetApiV1RegattasByRegattaIdResponses, GetApiV1RulesetsByRulesetIdData, GetApiV1RulesetsByRulesetIdResponses, GetApiV1RulesetsData, GetApiV1RulesetsResponses, GetApiV1StaffFinanceLedgerData, GetApiV1StaffFinanceLedgerErrors, GetApiV1StaffFinanceLedgerResponses, GetPublicRegattasByRegattaIdEventsData, GetPublicRegattasByRegattaIdEventsResponses, GetPublicRegattasByRegattaIdVersionsData, GetPublicRegattasByRegattaIdVersionsResponses, GetPublicVbyDrawByResultsRegattasByRegattaIdResultsData, GetPublicVbyDrawByResultsRegattasByRegattaIdResultsResponses, GetPublicVbyDrawByResultsRegattasByRegattaIdScheduleData, GetPublicVbyDrawByResultsRegattasByRegattaIdScheduleResponses, PatchApiV1AthletesByAthleteIdData, PatchApiV1AthletesByAthleteIdResponses, PatchApiV1EntriesByIdPaymentStatusData, PatchApiV1EntriesByIdPaymentStatusResponses, PatchApiV1RegattasByRegattaIdBibPoolsByPoolIdData, PatchApiV1RegattasByRegattaIdBibPoolsByPoolIdErrors, PatchApiV1RegattasByRegattaIdBibPoolsByPoolIdResponses, PatchApiV1RegattasByRegattaIdBlocksByBlockIdData, PatchApiV1RegattasByRegattaIdBlocksByBlockIdResponses, PatchApiV1RegattasByRegattaIdCrewsByCrewIdData, PatchApiV1RegattasByRegattaIdCrewsByCrewIdErrors, PatchApiV1RegattasByRegattaIdCrewsByCrewIdResponses, PatchApiV1RegattasByRegattaIdEntriesByEntryIdData, PatchApiV1RegattasByRegattaIdEntriesByEntryIdErrors, PatchApiV1RegattasByRegattaIdEntriesByEntryIdResponses, PatchApiV1RegattasByRegattaIdEventGroupsByEventGroupIdData, PatchApiV1RegattasByRegattaIdEventGroupsByEventGroupIdErrors, PatchApiV1RegattasByRegattaIdEventGroupsByEventGroupIdResponses, PatchApiV1RegattasByRegattaIdEventsByEventIdData, PatchApiV1RegattasByRegattaIdEventsByEventIdErrors, PatchApiV1RegattasByRegattaIdEventsByEventIdResponses, PatchApiV1RegattasByRegattaIdOperatorMarkersByMarkerIdData, PatchApiV1RegattasByRegattaIdOperatorMarkersByMarkerIdResponses, PatchApiV1RulesetsByRulesetIdData, PatchApiV1RulesetsByRulesetIdResponses, PostApiV1AthletesData, PostApiV1AthletesErrors, PostApiV1AthletesResponses, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdDsqData, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdDsqErrors, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdDsqResponses, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdExcludeData, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdExcludeErrors, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdExcludeResponses, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdPenaltyData, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdPenaltyErrors, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdPenaltyResponses, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdRevertDsqData, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdRevertDsqErrors, PostApiV1RegattasByRegattaIdAdjudicationEntriesByEntryIdRevertDsqResponses, PostApiV1RegattasByRegattaIdAdjudicationInvestigationsData, PostApiV1RegattasByRegattaIdAdjudicationInvestigationsErrors, PostApiV1RegattasByRegattaIdAdjudicationInvestigationsResponses, PostApiV1RegattasByRegattaIdBibPoolsData, PostApiV1RegattasByRegattaIdBibPoolsErrors, PostApiV1RegattasByRegattaIdBibPoolsReorderData, PostApiV1RegattasByRegattaIdBibPoolsReorderErrors, PostApiV1RegattasByRegattaIdBibPoolsReorderResponses, PostApiV1RegattasByRegattaIdBibPoolsResponses, PostApiV1RegattasByRegattaIdBlocksData, PostApiV1RegattasByRegattaIdBlocksErrors, PostApiV1RegattasByRegattaIdBlocksReorderData, PostApiV1RegattasByRegattaIdBlocksReorderErrors, PostApiV1RegattasByRegattaIdBlocksReorderResponses, PostApiV1RegattasByRegattaIdBlocksResponses, PostApiV1RegattasByRegattaIdCrewsData, PostApiV1RegattasByRegattaIdCrewsErrors, PostApiV1RegattasByRegattaIdCrewsResponses, PostApiV1RegattasByRegattaIdDrawGenerateData, PostApiV1RegattasByRegattaIdDrawGenerateErrors, PostApiV1RegattasByRegattaIdDrawGenerateResponses, PostApiV1RegattasByRegattaIdDrawPublishData, PostApiV1RegattasByRegattaIdDrawPublishResponses, PostApiV1RegattasByRegattaIdDrawUnpublishData, PostApiV1RegattasByRegattaIdDrawUnpublishResponses, PostApiV1RegattasByRegattaIdEntriesByEntryIdReinstateData, PostApiV1RegattasByRegattaIdEntriesByEntryIdReinstateErrors, PostApiV1RegattasByRegattaIdEntriesByEntryIdReinstateResponses, PostApiV1RegattasByRegattaIdEntriesByEntryIdWithdrawData, PostApiV1RegattasByRegattaIdEntriesByEntryIdWithdrawErrors, PostApiV1RegattasByRegattaIdEntriesByEntryIdWithdrawResponses, PostApiV1RegattasByRegattaIdEntriesData, PostApiV1RegattasByRegattaIdEntriesErrors, PostApiV1RegattasByRegattaIdEntriesResponses, PostApiV1RegattasByRegattaIdEventGroupsData, PostApiV1RegattasByRegattaIdEventGroupsErrors, PostApiV1RegattasByRegattaIdEventGroupsResponses, PostApiV1RegattasByRegattaIdEventsData, PostApiV1RegattasByRegattaIdEventsErrors, PostApiV1RegattasByRegattaIdEventsResponses, PostApiV1RegattasByRegattaIdExportPrintablesData, PostApiV1RegattasByRegattaIdExportPrintablesErrors, PostApiV1RegattasByRegattaIdExportPrintablesResponses, PostApiV1RegattasByRegattaIdInvoicesByInvoiceIdMarkPaidData, PostApiV1RegattasByRegattaIdInvoicesByInvoiceIdMarkPaidErrors, PostApiV1RegattasByRegattaIdInvoicesByInvoiceIdMarkPaidResponses, PostApiV1RegattasByRegattaIdInvoicesGenerateData, PostApiV1RegattasByRegattaIdInvoicesGenerateErrors, PostApiV1RegattasByRegattaIdInvoicesGenerateResponses, PostApiV1RegattasByRegattaIdLineScanManifestsData, PostApiV1RegattasByRegattaIdLineScanManifestsErrors, PostApiV1RegattasByRegattaIdLineScanManifestsResponses, PostApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdCommitData, PostApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdCommitResponses, PostApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsData, PostApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsErrors, PostApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsResponses, PostApiV1RegattasByRegattaIdOperatorCaptureSessionsByCaptureSessionIdCloseData, PostApiV1RegattasByRegattaIdOperatorCaptureSessionsByCaptureSessionIdCloseErrors, PostApiV1RegattasByRegattaIdOperatorCaptureSessionsByCaptureSessionIdCloseResponses, PostApiV1RegattasByRegattaIdOperatorCaptureSessionsByCaptureSessionIdSyncStateData, PostApiV1RegattasByRegattaIdOperatorCaptureSessionsByCaptureSessionIdSyncStateErrors, PostApiV1RegattasByRegattaIdOperatorCaptureSessionsByCaptureSessionIdSyncStateResponses, PostApiV1RegattasByRegattaIdOperatorCaptureSessionsData, PostApiV1RegattasByRegattaIdOperatorCaptureSessionsErrors, PostApiV1RegattasByRegattaIdOperatorCaptureSessionsResponses, PostApiV1RegattasByRegattaIdOperatorMarkersApproveData, PostApiV1RegattasByRegattaIdOperatorMarkersApproveErrors, PostApiV1RegattasByRegattaIdOperatorMarkersApproveResponses, PostApiV1RegattasByRegattaIdOperatorMarkersBatchData, PostApiV1RegattasByRegattaIdOperatorMarkersBatchErrors, PostApiV1RegattasByRegattaIdOperatorMarkersBatchResponses, PostApiV1RegattasByRegattaIdOperatorMarkersByMarkerIdLinkData, PostApiV1RegattasByRegattaIdOperatorMarkersByMarkerIdLinkErrors, PostApiV1RegattasByRegattaIdOperatorMarkersByMarkerIdLinkResponses, PostApiV1RegattasByRegattaIdOperatorMarkersByMarkerIdUnlinkData, PostApiV1RegattasByRegattaIdOperatorMarkersByMarkerIdUnlinkResponses, PostApiV1RegattasByRegattaIdOperatorMarkersData, PostApiV1RegattasByRegattaIdOperatorMarkersErrors, PostApiV1RegattasByRegattaIdOperatorMarkersResponses, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdAdminRevealPinData, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdAdminRevealPinErrors, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdAdminRevealPinResponses, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdCancelData, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdCancelErrors, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdCancelResponses, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdCompleteData, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdCompleteErrors, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdCompleteResponses, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdRevealPinData, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdRevealPinErrors, PostApiV1RegattasByRegattaIdOperatorStationHandoffsByHandoffIdRevealPinResponses, PostApiV1RegattasByRegattaIdOperatorStationHandoffsData, PostApiV1RegattasByRegattaIdOperatorStationHandoffsErrors, PostApiV1RegattasByRegattaIdOperatorStationHandoffsResponses, PostApiV1RegattasByRegattaIdOperatorTokensByTokenIdRevokeData, PostApiV1RegattasByRegattaIdOperatorTokensByTokenIdRevokeResponses, PostApiV1RegattasByRegattaIdOperatorTokensData, PostApiV1RegattasByRegattaIdOperatorTokensErrors, PostApiV1RegattasByRegattaIdOperatorTokensResponses, PostApiV1RegattasByRegattaIdPaymentsMarkBulkData, PostApiV1RegattasByRegattaIdPaymentsMarkBulkErrors, PostApiV1RegattasByRegattaIdPaymentsMarkBulkResponses, PostApiV1RegattasByRegattaIdPaymentsReconcileData, PostApiV1RegattasByRegattaIdPaymentsReconcileErrors, PostApiV1RegattasByRegattaIdPaymentsReconcileResponses, PostApiV1RulesetsByRulesetIdDuplicateData, PostApiV1RulesetsByRulesetIdDuplicateErrors, PostApiV1RulesetsByRulesetIdDuplicateResponses, PostApiV1RulesetsByRulesetIdPromoteData, PostApiV1RulesetsByRulesetIdPromoteResponses, PostApiV1RulesetsData, PostApiV1RulesetsErrors, PostApiV1RulesetsResponses, PostPublicSessionData, PostPublicSessionResponses, PutApiV1RegattasByRegattaIdClubsByClubIdPaymentStatusData, PutApiV1RegattasByRegattaIdClubsByClubIdPaymentStatusErrors, PutApiV1RegattasByRegattaIdClubsByClubIdPaymentStatusResponses, PutApiV1RegattasByRegattaIdEntriesByEntryIdPaymentStatusData, PutApiV1RegattasByRegattaIdEntriesByEntryIdPaymentStatusErrors, PutApiV1RegattasByRegattaIdEntriesByEntryIdPaymentStatusResponses, PutApiV1RegattasByRegattaIdLineScanTilesByTileIdData, PutApiV1RegattasByRegattaIdLineScanTilesByTileIdResponses, PutApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdData, PutApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdResponses } from './types.gen';
 
 export type Options<TData extends TDataShape = TDataShape, ThrowOnError extends boolean = boolean> = Options2<TData, ThrowOnError> & {
     /**
@@ -487,6 +487,11 @@ export const getApiV1RegattasByRegattaIdFinanceClubs = <ThrowOnError extends boo
  */
 export const getApiV1RegattasByRegattaIdFinanceEntries = <ThrowOnError extends boolean = false>(options: Options<GetApiV1RegattasByRegattaIdFinanceEntriesData, ThrowOnError>) => (options.client ?? client).get<GetApiV1RegattasByRegattaIdFinanceEntriesResponses, GetApiV1RegattasByRegattaIdFinanceEntriesErrors, ThrowOnError>({ url: '/api/v1/regattas/{regatta_id}/finance/entries', ...options });
 
+/**
+ * Get Regatta Finance Summary
+ */
+export const getApiV1RegattasByRegattaIdFinanceSummary = <ThrowOnError extends boolean = false>(options: Options<GetApiV1RegattasByRegattaIdFinanceSummaryData, ThrowOnError>) => (options.client ?? client).get<GetApiV1RegattasByRegattaIdFinanceSummaryResponses, GetApiV1RegattasByRegattaIdFinanceSummaryErrors, ThrowOnError>({ url: '/api/v1/regattas/{regatta_id}/finance/summary', ...options });
+
 /**
  * List invoices
  */
@@ -509,6 +514,11 @@ export const postApiV1RegattasByRegattaIdInvoicesGenerate = <ThrowOnError extend
  */
 export const getApiV1RegattasByRegattaIdInvoicesJobsByJobId = <ThrowOnError extends boolean = false>(options: Options<GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdData, ThrowOnError>) => (options.client ?? client).get<GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdResponses, GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdErrors, ThrowOnError>({ url: '/api/v1/regattas/{regatta_id}/invoices/jobs/{job_id}', ...options });
 
+/**
+ * Download the invoice PDFs of a generation job as a ZIP archive
+ */
+export const getApiV1RegattasByRegattaIdInvoicesJobsByJobIdPdf = <ThrowOnError extends boolean = false>(options: Options<GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdPdfData, ThrowOnError>) => (options.client ?? client).get<GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdPdfResponses, GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdPdfErrors, ThrowOnError>({ url: '/api/v1/regattas/{regatta_id}/invoices/jobs/{job_id}/pdf', ...options });
+
 /**
  * Get invoice
  */
@@ -526,6 +536,11 @@ export const postApiV1RegattasByRegattaIdInvoicesByInvoiceIdMarkPaid = <ThrowOnE
     }
 });
 
+/**
+ * Download invoice PDF
+ */
+export const getApiV1RegattasByRegattaIdInvoicesByInvoiceIdPdf = <ThrowOnError extends boolean = false>(options: Options<GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdPdfData, ThrowOnError>) => (options.client ?? client).get<GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdPdfResponses, GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdPdfErrors, ThrowOnError>({ url: '/api/v1/regattas/{regatta_id}/invoices/{invoice_id}/pdf', ...options });
+
 /**
  * Upsert Manifest
  */
@@ -538,11 +553,31 @@ export const postApiV1RegattasByRegattaIdLineScanManifests = <ThrowOnError exten
     }
 });
 
+/**
+ * Get Storage Usage
+ */
+export const getApiV1RegattasByRegattaIdLineScanManifestsStorageUsage = <ThrowOnError extends boolean = false>(options: Options<GetApiV1RegattasByRegattaIdLineScanManifestsStorageUsageData, ThrowOnError>) => (options.client ?? client).get<GetApiV1RegattasByRegattaIdLineScanManifestsStorageUsageResponses, unknown, ThrowOnError>({ url: '/api/v1/regattas/{regatta_id}/line_scan/manifests/storage_usage', ...options });
+
+/**
+ * Render Strip
+ */
+export const getApiV1RegattasByRegattaIdLineScanManifestsStrip = <ThrowOnError extends boolean = false>(options: Options<GetApiV1RegattasByRegattaIdLineScanManifestsStripData, ThrowOnError>) => (options.client ?? client).get<GetApiV1RegattasByRegattaIdLineScanManifestsStripResponses, unknown, ThrowOnError>({ url: '/api/v1/regattas/{regatta_id}/line_scan/manifests/strip', ...options });
+
+/**
+ * Get Tile Window
+ */
+export const getApiV1RegattasByRegattaIdLineScanManifestsTileWindow = <ThrowOnError extends boolean = false>(options: Options<GetApiV1RegattasByRegattaIdLineScanManifestsTileWindowData, ThrowOnError>) => (options.client ?? client).get<GetApiV1RegattasByRegattaIdLineScanManifestsTileWindowResponses, unknown, ThrowOnError>({ url: '/api/v1/regattas/{regatta_id}/line_scan/manifests/tile_window', ...options });
+
 /**
  * Get Manifest
  */
 export const getApiV1RegattasByRegattaIdLineScanManifestsByManifestId = <ThrowOnError extends boolean = false>(options: Options<GetApiV1RegattasByRegattaIdLineScanManifestsByManifestIdData, ThrowOnError>) => (options.client ?? client).get<GetApiV1RegattasByRegattaIdLineScanManifestsByManifestIdResponses, unknown, ThrowOnError>({ url: '/api/v1/regattas/{regatta_id}/line_scan/manifests/{manifest_id}', ...options });
 
+/**
+ * Get Tile Urls
+ */
+export const getApiV1RegattasByRegattaIdLineScanManifestsByManifestIdTileUrls = <ThrowOnError extends boolean = false>(options: Options<GetApiV1RegattasByRegattaIdLineScanManifestsByManifestIdTileUrlsData, ThrowOnError>) => (options.client ?? client).get<GetApiV1RegattasByRegattaIdLineScanManifestsByManifestIdTileUrlsResponses, unknown, ThrowOnError>({ url: '/api/v1/regattas/{regatta_id}/line_scan/manifests/{manifest_id}/tile_urls', ...options });
+
 /**
  * Download Tile
  */
@@ -561,6 +596,46 @@ export const putApiV1RegattasByRegattaIdLineScanTilesByTileId = <ThrowOnError ex
     }
 });
 
+/**
+ * Create
+ */
+export const postApiV1RegattasByRegattaIdLineScanTilesByTileIdUploads = <ThrowOnError extends boolean = false>(options: Options<PostApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsData, ThrowOnError>) => (options.client ?? client).post<PostApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsResponses, PostApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsErrors, ThrowOnError>({
+    url: '/api/v1/regattas/{regatta_id}/line_scan/tiles/{tile_id}/uploads',
+    ...options,
+    headers: {
+        'Content-Type': 'application/json',
+        ...options.headers
+    }
+});
+
+/**
+ * Abort
+ */
+export const deleteApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadId = <ThrowOnError extends boolean = false>(options: Options<DeleteApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdData, ThrowOnError>) => (options.client ?? client).delete<DeleteApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdResponses, unknown, ThrowOnError>({ url: '/api/v1/regattas/{regatta_id}/line_scan/tiles/{tile_id}/uploads/{upload_id}', ...options });
+
+/**
+ * Status
+ */
+export const getApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadId = <ThrowOnError extends boolean = false>(options: Options<GetApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdData, ThrowOnError>) => (options.client ?? client).get<GetApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdResponses, unknown, ThrowOnError>({ url: '/api/v1/regattas/{regatta_id}/line_scan/tiles/{tile_id}/uploads/{upload_id}', ...options });
+
+/**
+ * Append Chunk
+ */
+export const putApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadId = <ThrowOnError extends boolean = false>(options: Options<PutApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdData, ThrowOnError>) => (options.client ?? client).put<PutApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdResponses, unknown, ThrowOnError>({
+    bodySerializer: null,
+    url: '/api/v1/regattas/{regatta_id}/line_scan/tiles/{tile_id}/uploads/{upload_id}',
+    ...options,
+    headers: {
+        'Content-Type': 'application/octet-stream',
+        ...options.headers
+    }
+});
+
+/**
+ * Commit
+ */
+export const postApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdCommit = <ThrowOnError extends boolean = false>(options: Options<PostApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdCommitData, ThrowOnError>) => (options.client ?? client).post<PostApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdCommitResponses, unknown, ThrowOnError>({ url: '/api/v1/regattas/{regatta_id}/line_scan/tiles/{tile_id}/uploads/{upload_id}/commit', ...options });
+
 /**
  * List Sessions
  */
@@ -624,6 +699,30 @@ export const postApiV1RegattasByRegattaIdOperatorMarkers = <ThrowOnError extends
     }
 });
 
+/**
+ * Approve Batch
+ */
+export const postApiV1RegattasByRegattaIdOperatorMarkersApprove = <ThrowOnError extends boolean = false>(options: Options<PostApiV1RegattasByRegattaIdOperatorMarkersApproveData, ThrowOnError>) => (options.client ?? client).post<PostApiV1RegattasByRegattaIdOperatorMarkersApproveResponses, PostApiV1RegattasByRegattaIdOperatorMarkersApproveErrors, ThrowOnError>({
+    url: '/api/v1/regattas/{regatta_id}/operator/markers/approve',
+    ...options,
+    headers: {
+        'Content-Type': 'application/json',
+        ...options.headers
+    }
+});
+
+/**
+ * Create Batch
+ */
+export const postApiV1RegattasByRegattaIdOperatorMarkersBatch = <ThrowOnError extends boolean = false>(options: Options<PostApiV1RegattasByRegattaIdOperatorMarkersBatchData, ThrowOnError>) => (options.client ?? client).post<PostApiV1RegattasByRegattaIdOperatorMarkersBatchResponses, PostApiV1RegattasByRegattaIdOperatorMarkersBatchErrors, ThrowOnError>({
+    url: '/api/v1/regattas/{regatta_id}/operator/markers/batch',
+    ...options,
+    headers: {
+        'Content-Type': 'application/json',
+        ...options.headers
+    }
+});
+
 /**
  * Delete
  */
@@ -746,6 +845,21 @@ export const postApiV1RegattasByRegattaIdPaymentsMarkBulk = <ThrowOnError extend
     }
 });
 
+/**
+ * Reconcile Bank Statement
+ *
+ * Matches a delimited bank statement export against invoice numbers and entry payment references and marks matches paid. A line only matches if its amount equals the invoice total or the entry fees; other lines are reported as AMOUNT_MISMATCH.
+ */
+export const postApiV1RegattasByRegattaIdPaymentsReconcile = <ThrowOnError extends boolean = false>(options: Options<PostApiV1RegattasByRegattaIdPaymentsReconcileData, ThrowOnError>) => (options.client ?? client).post<PostApiV1RegattasByRegattaIdPaymentsReconcileResponses, PostApiV1RegattasByRegattaIdPaymentsReconcileErrors, ThrowOnError>({
+    bodySerializer: null,
+    url: '/api/v1/regattas/{regatta_id}/payments/reconcile',
+    ...options,
+    headers: {
+        'Content-Type': 'text/csv',
+        ...options.headers
+    }
+});
+
 /**
  * List Rulesets
  */
@@ -797,6 +911,11 @@ export const postApiV1RulesetsByRulesetIdDuplicate = <ThrowOnError extends boole
  */
 export const postApiV1RulesetsByRulesetIdPromote = <ThrowOnError extends boolean = false>(options: Options<PostApiV1RulesetsByRulesetIdPromoteData, ThrowOnError>) => (options.client ?? client).post<PostApiV1RulesetsByRulesetIdPromoteResponses, unknown, ThrowOnError>({ url: '/api/v1/rulesets/{ruleset_id}/promote', ...options });
 
+/**
+ * Export the finance ledger
+ */
+export const getApiV1StaffFinanceLedger = <ThrowOnError extends boolean = false>(options?: Options<GetApiV1StaffFinanceLedgerData, ThrowOnError>) => (options?.client ?? client).get<GetApiV1StaffFinanceLedgerResponses, GetApiV1StaffFinanceLedgerErrors, ThrowOnError>({ url: '/api/v1/staff/finance/ledger', ...options });
+
 /**
  * Stream Events
  */
@@ -307,6 +307,18 @@ export type FinanceListPaginationResponse = {
     next_cursor?: string;
 };
 
+export type FinanceRegattaSummaryResponse = {
+    regatta_id?: Uuid;
+    currency?: string;
+    billable_entries?: number;
+    paid_entries?: number;
+    unpaid_entries?: number;
+    invoices?: InvoiceCounts;
+    outstanding_amount?: number;
+    paid_amount?: number;
+    updated_at?: Instant;
+};
+
 export type GenerateDrawRequest = {
     seed?: number;
 };
@@ -318,6 +330,13 @@ export type HealthStatus = {
 
 export type Instant = string;
 
+export type InvoiceCounts = {
+    draft?: number;
+    sent?: number;
+    paid?: number;
+    cancelled?: number;
+};
+
 export type InvoiceEntryLineResponse = {
     entry_id?: Uuid;
     amount?: number;
@@ -335,6 +354,8 @@ export type InvoiceGenerationJobResponse = {
     error_message?: string;
     created_at?: Instant;
     completed_at?: Instant;
+    total_clubs?: number;
+    processed_clubs?: number;
 };
 
 export type InvoiceListPaginationResponse = {
@@ -369,6 +390,14 @@ export type InvoiceResponse = {
     payment_reference?: string;
 };
 
+export type Item = {
+    frame_offset: number;
+    timestamp_ms: number;
+    tile_id?: string;
+    tile_x?: number;
+    tile_y?: number;
+};
+
 export type LineScanManifestUpsertRequest = {
     capture_session_id: Uuid;
     tile_size_px: number;
@@ -383,6 +412,15 @@ export type LineScanManifestUpsertRequest = {
 
 export type LocalDate = string;
 
+export type MarkerBatchApproveRequest = {
+    marker_ids: Array<string>;
+};
+
+export type MarkerBatchCreateRequest = {
+    capture_session_id: Uuid;
+    markers: Array<Item>;
+};
+
 export type MarkerCreateRequest = {
     capture_session_id: Uuid;
     frame_offset: number;
@@ -434,6 +472,18 @@ export type PaymentBulkMarkRequest = {
     idempotency_key?: string;
 };
 
+export type PaymentReconciliationResponse = {
+    total_lines?: number;
+    matched_lines?: number;
+    unmatched_count?: number;
+    updated_count?: number;
+    unchanged_count?: number;
+    failed_count?: number;
+    invoices_paid?: number;
+    unmatched_lines?: Array<UnmatchedLineResponse>;
+    unmatched_truncated?: boolean;
+};
+
 export type PaymentStatusUpdateRequest = {
     payment_status?: string;
     payment_reference?: string;
@@ -496,8 +546,21 @@ export type TileDto = {
     byte_size?: number;
 };
 
+export type TileUploadCreateRequest = {
+    content_type: string;
+    total_bytes: number;
+    sha256?: string;
+};
+
 export type Uuid = string;
 
+export type UnmatchedLineResponse = {
+    line_number?: number;
+    reference?: string;
+    amount?: string;
+    reason?: string;
+};
+
 export type UpdatePaymentStatusRequest = {
     payment_status: string;
     paid_at?: Instant;
@@ -1886,6 +1949,33 @@ export type GetApiV1RegattasByRegattaIdFinanceEntriesResponses = {
 
 export type GetApiV1RegattasByRegattaIdFinanceEntriesResponse = GetApiV1RegattasByRegattaIdFinanceEntriesResponses[keyof GetApiV1RegattasByRegattaIdFinanceEntriesResponses];
 
+export type GetApiV1RegattasByRegattaIdFinanceSummaryData = {
+    body?: never;
+    path: {
+        regatta_id: Uuid;
+    };
+    query?: never;
+    url: '/api/v1/regattas/{regatta_id}/finance/summary';
+};
+
+export type GetApiV1RegattasByRegattaIdFinanceSummaryErrors = {
+    /**
+     * Not Found
+     */
+    404: ErrorResponse;
+};
+
+export type GetApiV1RegattasByRegattaIdFinanceSummaryError = GetApiV1RegattasByRegattaIdFinanceSummaryErrors[keyof GetApiV1RegattasByRegattaIdFinanceSummaryErrors];
+
+export type GetApiV1RegattasByRegattaIdFinanceSummaryResponses = {
+    /**
+     * OK
+     */
+    200: FinanceRegattaSummaryResponse;
+};
+
+export type GetApiV1RegattasByRegattaIdFinanceSummaryResponse = GetApiV1RegattasByRegattaIdFinanceSummaryResponses[keyof GetApiV1RegattasByRegattaIdFinanceSummaryResponses];
+
 export type GetApiV1RegattasByRegattaIdInvoicesData = {
     body?: never;
     path: {
@@ -1973,6 +2063,38 @@ export type GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdResponses = {
 
 export type GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdResponse = GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdResponses[keyof GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdResponses];
 
+export type GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdPdfData = {
+    body?: never;
+    path: {
+        job_id: Uuid;
+        regatta_id: Uuid;
+    };
+    query?: never;
+    url: '/api/v1/regattas/{regatta_id}/invoices/jobs/{job_id}/pdf';
+};
+
+export type GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdPdfErrors = {
+    /**
+     * Not Found
+     */
+    404: ErrorResponse;
+    /**
+     * Conflict
+     */
+    409: ErrorResponse;
+};
+
+export type GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdPdfError = GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdPdfErrors[keyof GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdPdfErrors];
+
+export type GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdPdfResponses = {
+    /**
+     * OK
+     */
+    200: Blob | File;
+};
+
+export type GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdPdfResponse = GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdPdfResponses[keyof GetApiV1RegattasByRegattaIdInvoicesJobsByJobIdPdfResponses];
+
 export type GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdData = {
     body?: never;
     path: {
@@ -2037,6 +2159,34 @@ export type PostApiV1RegattasByRegattaIdInvoicesByInvoiceIdMarkPaidResponses = {
 
 export type PostApiV1RegattasByRegattaIdInvoicesByInvoiceIdMarkPaidResponse = PostApiV1RegattasByRegattaIdInvoicesByInvoiceIdMarkPaidResponses[keyof PostApiV1RegattasByRegattaIdInvoicesByInvoiceIdMarkPaidResponses];
 
+export type GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdPdfData = {
+    body?: never;
+    path: {
+        invoice_id: Uuid;
+        regatta_id: Uuid;
+    };
+    query?: never;
+    url: '/api/v1/regattas/{regatta_id}/invoices/{invoice_id}/pdf';
+};
+
+export type GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdPdfErrors = {
+    /**
+     * Not Found
+     */
+    404: ErrorResponse;
+};
+
+export type GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdPdfError = GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdPdfErrors[keyof GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdPdfErrors];
+
+export type GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdPdfResponses = {
+    /**
+     * OK
+     */
+    200: Blob | File;
+};
+
+export type GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdPdfResponse = GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdPdfResponses[keyof GetApiV1RegattasByRegattaIdInvoicesByInvoiceIdPdfResponses];
+
 export type PostApiV1RegattasByRegattaIdLineScanManifestsData = {
     body: LineScanManifestUpsertRequest;
     headers?: {
@@ -2063,6 +2213,76 @@ export type PostApiV1RegattasByRegattaIdLineScanManifestsResponses = {
     200: unknown;
 };
 
+export type GetApiV1RegattasByRegattaIdLineScanManifestsStorageUsageData = {
+    body?: never;
+    headers?: {
+        'X-Forwarded-User'?: string;
+        'X-Operator-Token'?: string;
+    };
+    path: {
+        regatta_id: Uuid;
+    };
+    query?: never;
+    url: '/api/v1/regattas/{regatta_id}/line_scan/manifests/storage_usage';
+};
+
+export type GetApiV1RegattasByRegattaIdLineScanManifestsStorageUsageResponses = {
+    /**
+     * OK
+     */
+    200: unknown;
+};
+
+export type GetApiV1RegattasByRegattaIdLineScanManifestsStripData = {
+    body?: never;
+    headers?: {
+        'If-None-Match'?: string;
+        'X-Forwarded-User'?: string;
+        'X-Operator-Token'?: string;
+    };
+    path: {
+        regatta_id: Uuid;
+    };
+    query?: {
+        capture_session_id?: Uuid;
+        end_ms?: number;
+        max_width?: number;
+        start_ms?: number;
+    };
+    url: '/api/v1/regattas/{regatta_id}/line_scan/manifests/strip';
+};
+
+export type GetApiV1RegattasByRegattaIdLineScanManifestsStripResponses = {
+    /**
+     * OK
+     */
+    200: unknown;
+};
+
+export type GetApiV1RegattasByRegattaIdLineScanManifestsTileWindowData = {
+    body?: never;
+    headers?: {
+        'X-Forwarded-User'?: string;
+        'X-Operator-Token'?: string;
+    };
+    path: {
+        regatta_id: Uuid;
+    };
+    query?: {
+        capture_session_id?: Uuid;
+        end_ms?: number;
+        start_ms?: number;
+    };
+    url: '/api/v1/regattas/{regatta_id}/line_scan/manifests/tile_window';
+};
+
+export type GetApiV1RegattasByRegattaIdLineScanManifestsTileWindowResponses = {
+    /**
+     * OK
+     */
+    200: unknown;
+};
+
 export type GetApiV1RegattasByRegattaIdLineScanManifestsByManifestIdData = {
     body?: never;
     headers?: {
@@ -2084,9 +2304,33 @@ export type GetApiV1RegattasByRegattaIdLineScanManifestsByManifestIdResponses =
     200: unknown;
 };
 
+export type GetApiV1RegattasByRegattaIdLineScanManifestsByManifestIdTileUrlsData = {
+    body?: never;
+    headers?: {
+        'X-Forwarded-User'?: string;
+        'X-Operator-Token'?: string;
+    };
+    path: {
+        manifest_id: Uuid;
+        regatta_id: Uuid;
+    };
+    query?: {
+        tile_id?: Array<string>;
+    };
+    url: '/api/v1/regattas/{regatta_id}/line_scan/manifests/{manifest_id}/tile_urls';
+};
+
+export type GetApiV1RegattasByRegattaIdLineScanManifestsByManifestIdTileUrlsResponses = {
+    /**
+     * OK
+     */
+    200: unknown;
+};
+
 export type GetApiV1RegattasByRegattaIdLineScanTilesByTileIdData = {
     body?: never;
     headers?: {
+        'If-None-Match'?: string;
         'X-Forwarded-User'?: string;
         'X-Operator-Token'?: string;
     };
@@ -2125,6 +2369,118 @@ export type PutApiV1RegattasByRegattaIdLineScanTilesByTileIdResponses = {
     200: unknown;
 };
 
+export type PostApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsData = {
+    body: TileUploadCreateRequest;
+    headers?: {
+        'X-Operator-Token'?: string;
+    };
+    path: {
+        regatta_id: Uuid;
+        tile_id: string;
+    };
+    query?: never;
+    url: '/api/v1/regattas/{regatta_id}/line_scan/tiles/{tile_id}/uploads';
+};
+
+export type PostApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsErrors = {
+    /**
+     * Bad Request
+     */
+    400: unknown;
+};
+
+export type PostApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsResponses = {
+    /**
+     * OK
+     */
+    200: unknown;
+};
+
+export type DeleteApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdData = {
+    body?: never;
+    headers?: {
+        'X-Operator-Token'?: string;
+    };
+    path: {
+        regatta_id: Uuid;
+        tile_id: string;
+        upload_id: Uuid;
+    };
+    query?: never;
+    url: '/api/v1/regattas/{regatta_id}/line_scan/tiles/{tile_id}/uploads/{upload_id}';
+};
+
+export type DeleteApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdResponses = {
+    /**
+     * OK
+     */
+    200: unknown;
+};
+
+export type GetApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdData = {
+    body?: never;
+    headers?: {
+        'X-Operator-Token'?: string;
+    };
+    path: {
+        regatta_id: Uuid;
+        tile_id: string;
+        upload_id: Uuid;
+    };
+    query?: never;
+    url: '/api/v1/regattas/{regatta_id}/line_scan/tiles/{tile_id}/uploads/{upload_id}';
+};
+
+export type GetApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdResponses = {
+    /**
+     * OK
+     */
+    200: unknown;
+};
+
+export type PutApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdData = {
+    body: Blob | File;
+    headers?: {
+        'Upload-Offset'?: number;
+        'X-Operator-Token'?: string;
+    };
+    path: {
+        regatta_id: Uuid;
+        tile_id: string;
+        upload_id: Uuid;
+    };
+    query?: never;
+    url: '/api/v1/regattas/{regatta_id}/line_scan/tiles/{tile_id}/uploads/{upload_id}';
+};
+
+export type PutApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdResponses = {
+    /**
+     * OK
+     */
+    200: unknown;
+};
+
+export type PostApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdCommitData = {
+    body?: never;
+    headers?: {
+        'X-Operator-Token'?: string;
+    };
+    path: {
+        regatta_id: Uuid;
+        tile_id: string;
+        upload_id: Uuid;
+    };
+    query?: never;
+    url: '/api/v1/regattas/{regatta_id}/line_scan/tiles/{tile_id}/uploads/{upload_id}/commit';
+};
+
+export type PostApiV1RegattasByRegattaIdLineScanTilesByTileIdUploadsByUploadIdCommitResponses = {
+    /**
+     * OK
+     */
+    200: unknown;
+};
+
 export type GetApiV1RegattasByRegattaIdOperatorCaptureSessionsData = {
     body?: never;
     headers?: {
@@ -2326,6 +2682,9 @@ export type GetApiV1RegattasByRegattaIdOperatorMarkersData = {
     };
     query?: {
         capture_session_id?: Uuid;
+        cursor?: string;
+        limit?: number;
+        since?: number;
     };
     url: '/api/v1/regattas/{regatta_id}/operator/markers';
 };
@@ -2363,6 +2722,58 @@ export type PostApiV1RegattasByRegattaIdOperatorMarkersResponses = {
     200: unknown;
 };
 
+export type PostApiV1RegattasByRegattaIdOperatorMarkersApproveData = {
+    body: MarkerBatchApproveRequest;
+    headers?: {
+        'X-Operator-Token'?: string;
+    };
+    path: {
+        regatta_id: Uuid;
+    };
+    query?: never;
+    url: '/api/v1/regattas/{regatta_id}/operator/markers/approve';
+};
+
+export type PostApiV1RegattasByRegattaIdOperatorMarkersApproveErrors = {
+    /**
+     * Bad Request
+     */
+    400: unknown;
+};
+
+export type PostApiV1RegattasByRegattaIdOperatorMarkersApproveResponses = {
+    /**
+     * OK
+     */
+    200: unknown;
+};
+
+export type PostApiV1RegattasByRegattaIdOperatorMarkersBatchData = {
+    body: MarkerBatchCreateRequest;
+    headers?: {
+        'X-Operator-Token'?: string;
+    };
+    path: {
+        regatta_id: Uuid;
+    };
+    query?: never;
+    url: '/api/v1/regattas/{regatta_id}/operator/markers/batch';
+};
+
+export type PostApiV1RegattasByRegattaIdOperatorMarkersBatchErrors = {
+    /**
+     * Bad Request
+     */
+    400: unknown;
+};
+
+export type PostApiV1RegattasByRegattaIdOperatorMarkersBatchResponses = {
+    /**
+     * OK
+     */
+    200: unknown;
+};
+
 export type DeleteApiV1RegattasByRegattaIdOperatorMarkersByMarkerIdData = {
     body?: never;
     headers?: {
@@ -2788,6 +3199,33 @@ export type PostApiV1RegattasByRegattaIdPaymentsMarkBulkResponses = {
     200: unknown;
 };
 
+export type PostApiV1RegattasByRegattaIdPaymentsReconcileData = {
+    body: Blob | File;
+    path: {
+        regatta_id: Uuid;
+    };
+    query?: never;
+    url: '/api/v1/regattas/{regatta_id}/payments/reconcile';
+};
+
+export type PostApiV1RegattasByRegattaIdPaymentsReconcileErrors = {
+    /**
+     * Bad Request
+     */
+    400: ErrorResponse;
+};
+
+export type PostApiV1RegattasByRegattaIdPaymentsReconcileError = PostApiV1RegattasByRegattaIdPaymentsReconcileErrors[keyof PostApiV1RegattasByRegattaIdPaymentsReconcileErrors];
+
+export type PostApiV1RegattasByRegattaIdPaymentsReconcileResponses = {
+    /**
+     * OK
+     */
+    200: PaymentReconciliationResponse;
+};
+
+export type PostApiV1RegattasByRegattaIdPaymentsReconcileResponse = PostApiV1RegattasByRegattaIdPaymentsReconcileResponses[keyof PostApiV1RegattasByRegattaIdPaymentsReconcileResponses];
+
 export type GetApiV1RulesetsData = {
     body?: never;
     path?: never;
@@ -2896,6 +3334,40 @@ export type PostApiV1RulesetsByRulesetIdPromoteResponses = {
     200: unknown;
 };
 
+export type GetApiV1StaffFinanceLedgerData = {
+    body?: never;
+    path?: never;
+    query?: {
+        format?: 'csv' | 'ndjson';
+        /**
+         * First entry creation date (UTC), ISO-8601
+         */
+        from?: string;
+        regatta_id?: Array<string>;
+        /**
+         * Last entry creation date (UTC, inclusive), ISO-8601
+         */
+        to?: string;
+    };
+    url: '/api/v1/staff/finance/ledger';
+};
+
+export type GetApiV1StaffFinanceLedgerErrors = {
+    /**
+     * Bad Request
+     */
+    400: ErrorResponse;
+};
+
+export type GetApiV1StaffFinanceLedgerError = GetApiV1StaffFinanceLedgerErrors[keyof GetApiV1StaffFinanceLedgerErrors];
+
+export type GetApiV1StaffFinanceLedgerResponses = {
+    /**
+     * OK
+     */
+    200: unknown;
+};
+
 export type GetPublicRegattasByRegattaIdEventsData = {
     body?: never;
     path: {